@@ -4,12 +4,14 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 
 @SpringBootApplication
 @EntityScan("dev_eddy.fintech_loan_app.entity")
 @EnableJpaRepositories("dev_eddy.fintech_loan_app.repository")
+@EnableScheduling
 public class FintechLoanAppApplication {
 
 	public static void main(String[] args) {
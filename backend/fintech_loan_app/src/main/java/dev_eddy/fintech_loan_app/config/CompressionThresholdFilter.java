@@ -0,0 +1,216 @@
+package dev_eddy.fintech_loan_app.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * Makes server.compression.min-response-size apply to API responses.
+ * Tomcat can only skip compressing a body whose Content-Length it knows, and
+ * the JSON and binary converters stream without one, so every response got
+ * gzipped, however small. This buffers a body up to the threshold: one that
+ * ends within it goes out with a Content-Length and uncompressed; one that
+ * outgrows it is streamed on and compressed.
+ *
+ * Async responses (event streams, exports) switch to pass-through on their
+ * first flush, so nothing they send is held back.
+ */
+@Component
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+    private final int threshold;
+
+    public CompressionThresholdFilter(
+            @Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize) {
+        this.threshold = (int) minResponseSize.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        BufferingResponse buffering = new BufferingResponse(request, response, threshold);
+        boolean completed = false;
+        try {
+            chain.doFilter(request, buffering);
+            completed = true;
+        } finally {
+            if (!completed) {
+                // Let the error handling render into a clean response
+                buffering.discard();
+            } else if (request.isAsyncStarted()) {
+                buffering.passThrough();
+            } else {
+                buffering.finish();
+            }
+        }
+    }
+
+    private static final class BufferingResponse extends HttpServletResponseWrapper {
+
+        private final HttpServletRequest request;
+        private final int threshold;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private ServletOutputStream target;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        private BufferingResponse(HttpServletRequest request, HttpServletResponse response, int threshold) {
+            super(response);
+            this.request = request;
+            this.threshold = threshold;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                outputStream = new BufferingOutputStream();
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            getOutputStream().flush();
+            if (target != null) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (buffer != null) {
+                buffer.reset();
+            }
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            if (buffer != null) {
+                buffer.reset();
+            }
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            discard();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            discard();
+            super.sendError(sc);
+        }
+
+        private void discard() {
+            if (buffer != null) {
+                buffer.reset();
+            }
+        }
+
+        // Writes what was buffered and streams the rest straight through
+        private void passThrough() throws IOException {
+            if (target != null) {
+                return;
+            }
+            target = super.getOutputStream();
+            buffer.writeTo(target);
+            buffer = null;
+        }
+
+        // The whole body fitted under the threshold
+        private void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (target != null || buffer.size() == 0) {
+                return;
+            }
+            if (!isCommitted()) {
+                setContentLength(buffer.size());
+            }
+            passThrough();
+        }
+
+        private final class BufferingOutputStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                if (target != null) {
+                    target.write(b);
+                    return;
+                }
+                buffer.write(b);
+                if (buffer.size() > threshold) {
+                    passThrough();
+                }
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (target != null) {
+                    target.write(b, off, len);
+                    return;
+                }
+                buffer.write(b, off, len);
+                if (buffer.size() > threshold) {
+                    passThrough();
+                }
+            }
+
+            // Converters flush when done; only a streaming (async) response needs that to reach the client now
+            @Override
+            public void flush() throws IOException {
+                if (target == null && request.isAsyncStarted()) {
+                    passThrough();
+                }
+                if (target != null) {
+                    target.flush();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return target == null || target.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                try {
+                    passThrough();
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                target.setWriteListener(writeListener);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package dev_eddy.fintech_loan_app.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the Hibernate work of each request against the same method/uri tags
+ * as http.server.requests, so slow endpoints can be split into time spent in
+ * the database and everything else.
+ */
+@Component
+public class HibernateRequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public HibernateRequestMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.close();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestQueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            // Not routed to a controller (static resources, 404s)
+            return;
+        }
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern.toString());
+        DistributionSummary.builder("hibernate.request.statements")
+                .description("JDBC statements and batches executed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements() + stats.getBatches());
+        DistributionSummary.builder("hibernate.request.entity.loads")
+                .description("Entities hydrated per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getEntityLoads());
+        DistributionSummary.builder("hibernate.request.flushes")
+                .description("Session flushes per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getFlushes());
+        Timer.builder("hibernate.request.jdbc")
+                .description("Time spent executing JDBC statements per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+    }
+}
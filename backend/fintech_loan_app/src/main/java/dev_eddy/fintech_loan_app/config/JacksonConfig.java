@@ -0,0 +1,85 @@
+package dev_eddy.fintech_loan_app.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Response encodings. JSON stays the default; clients sending
+ * Accept: application/cbor or application/x-jackson-smile get the same
+ * documents in a binary encoding, with timestamps as epoch milliseconds
+ * instead of ISO-8601 strings. Every mapper gets the Blackbird module, which
+ * replaces reflective property access with generated lambdas.
+ */
+@Configuration
+public class JacksonConfig {
+
+    public static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    // Picked up by Spring Boot for its ObjectMapper and every builder it hands out
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binaryMapper(builder.factory(new CBORFactory())));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(binaryMapper(builder.factory(new SmileFactory())));
+    }
+
+    // Also used by the serialization benchmarks, so they measure what the endpoints send
+    public static ObjectMapper binaryMapper(Jackson2ObjectMapperBuilder builder) {
+        SimpleModule epochMillis = new SimpleModule("EpochMillisLocalDateTime");
+        epochMillis.addSerializer(LocalDateTime.class, new EpochMillisSerializer());
+        epochMillis.addDeserializer(LocalDateTime.class, new EpochMillisDeserializer());
+        // Registered after JavaTimeModule, so these take precedence for LocalDateTime
+        return builder.build().registerModule(epochMillis);
+    }
+
+    // LocalDateTime values are server-local times, as stored
+    private static final class EpochMillisSerializer extends JsonSerializer<LocalDateTime> {
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider serializers)
+                throws IOException {
+            gen.writeNumber(value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+
+    // Accepts epoch milliseconds, and ISO-8601 strings like the JSON API
+    private static final class EpochMillisDeserializer extends JsonDeserializer<LocalDateTime> {
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return LocalDateTime.ofInstant(Instant.ofEpochMilli(parser.getLongValue()), ZoneId.systemDefault());
+            }
+            return LocalDateTimeDeserializer.INSTANCE.deserialize(parser, context);
+        }
+    }
+}
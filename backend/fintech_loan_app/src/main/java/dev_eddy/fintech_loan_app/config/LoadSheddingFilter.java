@@ -0,0 +1,147 @@
+package dev_eddy.fintech_loan_app.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Global backstop for write requests (anything but GET/HEAD/OPTIONS under
+ * /api, except /api/auth): at most load-shedding.max-concurrent-writes run at
+ * once, and the rest are shed with 503 and Retry-After.
+ *
+ * While the average Hikari connection acquire time over the last sample
+ * interval is above load-shedding.pool-wait-threshold-ms, the cap drops to
+ * load-shedding.saturated-concurrent-writes. A burst then fails fast instead
+ * of queueing on the pool and starving reads, while some writes still get
+ * through. The sampler has a thread of its own, so long @Scheduled jobs
+ * holding the shared scheduler cannot freeze the flag in either state.
+ */
+@Component
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadSheddingFilter.class);
+    private static final String SHED_BODY = "{\"status\":503,\"error\":\"Service Unavailable\","
+            + "\"message\":\"Server is busy, retry later\"}";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxConcurrentWrites;
+    private final int saturatedConcurrentWrites;
+    private final long poolWaitThresholdNanos;
+    private final long retryAfterSeconds;
+    private final long sampleIntervalMillis;
+    private final AtomicInteger activeWrites = new AtomicInteger();
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+
+    // Acquire timer totals at the previous sample
+    private long lastAcquireCount;
+    private double lastAcquireNanos;
+    private volatile boolean poolSaturated;
+
+    public LoadSheddingFilter(MeterRegistry meterRegistry,
+            @Value("${load-shedding.max-concurrent-writes:200}") int maxConcurrentWrites,
+            @Value("${load-shedding.saturated-concurrent-writes:10}") int saturatedConcurrentWrites,
+            @Value("${load-shedding.pool-wait-threshold-ms:250}") long poolWaitThresholdMs,
+            @Value("${load-shedding.retry-after-seconds:1}") long retryAfterSeconds,
+            @Value("${load-shedding.sample-interval-ms:500}") long sampleIntervalMillis) {
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrentWrites = maxConcurrentWrites;
+        this.saturatedConcurrentWrites = saturatedConcurrentWrites;
+        this.poolWaitThresholdNanos = TimeUnit.MILLISECONDS.toNanos(poolWaitThresholdMs);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.sampleIntervalMillis = sampleIntervalMillis;
+        meterRegistry.gauge("load.shedding.active.writes", activeWrites);
+        meterRegistry.gauge("load.shedding.pool.saturated", this, filter -> filter.poolSaturated ? 1 : 0);
+    }
+
+    // The Hikari timers exist once the pool has started, which it has by now
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        sampler.scheduleAtFixedRate(this::samplePoolWait, sampleIntervalMillis, sampleIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sampler.shutdownNow();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        return method.equals("GET") || method.equals("HEAD") || method.equals("OPTIONS")
+                || !path.startsWith("/api/") || path.startsWith("/api/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean saturated = poolSaturated;
+        if (activeWrites.incrementAndGet() > (saturated ? saturatedConcurrentWrites : maxConcurrentWrites)) {
+            activeWrites.decrementAndGet();
+            shed(response, saturated ? "pool" : "concurrency");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            activeWrites.decrementAndGet();
+        }
+    }
+
+    // Average acquire wait since the last sample; a quiet interval clears the flag
+    void samplePoolWait() {
+        try {
+            sample();
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic task, and with it shedding on saturation
+            logger.warn("Connection pool sample failed", e);
+        }
+    }
+
+    private void sample() {
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        if (acquire == null) {
+            return;
+        }
+        long count = acquire.count();
+        double totalNanos = acquire.totalTime(TimeUnit.NANOSECONDS);
+        long acquired = count - lastAcquireCount;
+        boolean saturated = acquired > 0 && (totalNanos - lastAcquireNanos) / acquired > poolWaitThresholdNanos;
+        lastAcquireCount = count;
+        lastAcquireNanos = totalNanos;
+        if (saturated != poolSaturated) {
+            logger.warn(saturated ? "Connection pool saturated, limiting concurrent writes to {}"
+                    : "Connection pool recovered", saturatedConcurrentWrites);
+            poolSaturated = saturated;
+        }
+    }
+
+    private void shed(HttpServletResponse response, String reason) throws IOException {
+        meterRegistry.counter("load.shedding.rejected", "reason", reason).increment();
+        // Written directly rather than via sendError: an error dispatch would cost more than the request it sheds
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(SHED_BODY);
+    }
+}
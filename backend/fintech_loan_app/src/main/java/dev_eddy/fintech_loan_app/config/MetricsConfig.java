@@ -0,0 +1,22 @@
+package dev_eddy.fintech_loan_app.config;
+
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class MetricsConfig {
+
+    // Hooks RequestQueryStats into every Hibernate session
+    @Bean
+    public HibernatePropertiesCustomizer requestQueryStatsCustomizer() {
+        return properties -> {
+            properties.put("hibernate.session.events.auto", RequestQueryStats.SessionListener.class.getName());
+            properties.put("hibernate.integrator_provider",
+                    (IntegratorProvider) () -> List.of(new RequestQueryStats.LoadCountingIntegrator()));
+        };
+    }
+}
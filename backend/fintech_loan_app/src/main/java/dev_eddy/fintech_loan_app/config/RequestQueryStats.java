@@ -0,0 +1,115 @@
+package dev_eddy.fintech_loan_app.config;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Hibernate work done on behalf of the current request: statements executed,
+ * time spent in JDBC, entities loaded and flushes. The global Hibernate
+ * statistics are shared by every thread, so they cannot be attributed to a
+ * single request; these counters are thread-confined instead.
+ *
+ * HibernateRequestMetricsFilter opens a scope per request; work on threads
+ * without an open scope (scheduled jobs, async exports) is not counted.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int batches;
+    private long jdbcNanos;
+    private int entityLoads;
+    private int flushes;
+
+    private RequestQueryStats() {
+    }
+
+    static RequestQueryStats open() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    public int getStatements() { return statements; }
+    public int getBatches() { return batches; }
+    public long getJdbcNanos() { return jdbcNanos; }
+    public int getEntityLoads() { return entityLoads; }
+    public int getFlushes() { return flushes; }
+
+    /**
+     * Registered through hibernate.session.events.auto; Hibernate creates one
+     * per session and calls it on the session's thread.
+     */
+    public static class SessionListener extends BaseSessionEventListener {
+
+        private long executeStart;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            executeStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            RequestQueryStats stats = CURRENT.get();
+            if (stats != null) {
+                stats.statements++;
+                stats.jdbcNanos += System.nanoTime() - executeStart;
+            }
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            executeStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            RequestQueryStats stats = CURRENT.get();
+            if (stats != null) {
+                stats.batches++;
+                stats.jdbcNanos += System.nanoTime() - executeStart;
+            }
+        }
+
+        @Override
+        public void flushEnd(int numberOfEntities, int numberOfCollections) {
+            RequestQueryStats stats = CURRENT.get();
+            if (stats != null) {
+                stats.flushes++;
+            }
+        }
+    }
+
+    // Entity loads are not reported to session listeners, so count them with a post-load event listener
+    static class LoadCountingIntegrator implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                              SessionFactoryImplementor sessionFactory) {
+            sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+                    .appendListeners(EventType.POST_LOAD, event -> {
+                        RequestQueryStats stats = CURRENT.get();
+                        if (stats != null) {
+                            stats.entityLoads++;
+                        }
+                    });
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                 SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package dev_eddy.fintech_loan_app.config;
+
+import dev_eddy.fintech_loan_app.services.SessionTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Verifies the bearer token of each request in memory and exposes the caller
+ * as a request attribute; controllers receive it as a
+ * SessionTokenService.SessionPrincipal argument. Requests without a token pass
+ * through unchanged, a token that does not verify is rejected with 401.
+ */
+@Component
+public class SessionTokenFilter extends OncePerRequestFilter {
+
+    public static final String PRINCIPAL_ATTRIBUTE = SessionTokenFilter.class.getName() + ".principal";
+    private static final String BEARER = "Bearer ";
+
+    private final SessionTokenService sessionTokenService;
+
+    public SessionTokenFilter(SessionTokenService sessionTokenService) {
+        this.sessionTokenService = sessionTokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Optional<SessionTokenService.SessionPrincipal> principal =
+                sessionTokenService.verify(header.substring(BEARER.length()).trim());
+        if (principal.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired session");
+            return;
+        }
+        request.setAttribute(PRINCIPAL_ATTRIBUTE, principal.get());
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,43 @@
+package dev_eddy.fintech_loan_app.config;
+
+import dev_eddy.fintech_loan_app.exceptions.AuthenticationException;
+import dev_eddy.fintech_loan_app.services.SessionTokenService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new SessionPrincipalResolver());
+    }
+
+    // Handler methods taking a SessionPrincipal require a verified session token
+    private static final class SessionPrincipalResolver implements HandlerMethodArgumentResolver {
+
+        @Override
+        public boolean supportsParameter(MethodParameter parameter) {
+            return parameter.getParameterType() == SessionTokenService.SessionPrincipal.class;
+        }
+
+        @Override
+        public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                      NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+            Object principal = webRequest.getAttribute(SessionTokenFilter.PRINCIPAL_ATTRIBUTE,
+                    RequestAttributes.SCOPE_REQUEST);
+            if (principal == null) {
+                throw new AuthenticationException("Authentication required");
+            }
+            return principal;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package dev_eddy.fintech_loan_app.controllers;
+
+import dev_eddy.fintech_loan_app.dtos.AccrualRunDTO;
+import dev_eddy.fintech_loan_app.dtos.AdminStatsDTO;
+import dev_eddy.fintech_loan_app.dtos.ArchiveRunDTO;
+import dev_eddy.fintech_loan_app.dtos.LoanDTO;
+import dev_eddy.fintech_loan_app.dtos.OutboxStatsDTO;
+import dev_eddy.fintech_loan_app.dtos.ReviewClaimDTO;
+import dev_eddy.fintech_loan_app.dtos.ReviewQueueStatsDTO;
+import dev_eddy.fintech_loan_app.services.LedgerService;
+import dev_eddy.fintech_loan_app.services.LoanAccrualService;
+import dev_eddy.fintech_loan_app.services.LoanReviewService;
+import dev_eddy.fintech_loan_app.services.LoanStatsService;
+import dev_eddy.fintech_loan_app.services.OutboxDispatcher;
+import dev_eddy.fintech_loan_app.services.SessionTokenService;
+import dev_eddy.fintech_loan_app.services.TransactionArchiveService;
+import dev_eddy.fintech_loan_app.services.UserCache;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@CrossOrigin
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final LoanStatsService loanStatsService;
+    private final LoanAccrualService loanAccrualService;
+    private final UserCache userCache;
+    private final LoanReviewService loanReviewService;
+    private final TransactionArchiveService transactionArchiveService;
+    private final LedgerService ledgerService;
+    private final OutboxDispatcher outboxDispatcher;
+
+    public AdminController(LoanStatsService loanStatsService, LoanAccrualService loanAccrualService,
+            UserCache userCache, LoanReviewService loanReviewService,
+            TransactionArchiveService transactionArchiveService, LedgerService ledgerService,
+            OutboxDispatcher outboxDispatcher) {
+        this.loanStatsService = loanStatsService;
+        this.loanAccrualService = loanAccrualService;
+        this.userCache = userCache;
+        this.loanReviewService = loanReviewService;
+        this.transactionArchiveService = transactionArchiveService;
+        this.ledgerService = ledgerService;
+        this.outboxDispatcher = outboxDispatcher;
+    }
+
+    // Dashboard aggregates served from in-memory counters
+    @GetMapping("/stats")
+    public ResponseEntity<AdminStatsDTO> getStats() {
+        return ResponseEntity.ok(loanStatsService.getStats());
+    }
+
+    // Start (or resume) the end-of-day accrual run for a business date
+    @PostMapping("/jobs/accrual")
+    public ResponseEntity<AccrualRunDTO> startAccrual(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        AccrualRunDTO run = loanAccrualService.start(date != null ? date : LocalDate.now());
+        return new ResponseEntity<>(run, HttpStatus.ACCEPTED);
+    }
+
+    // Progress and throughput of the current or most recent accrual run
+    @GetMapping("/jobs/accrual")
+    public ResponseEntity<AccrualRunDTO> getAccrualProgress() {
+        AccrualRunDTO run = loanAccrualService.getProgress();
+        return run == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(run);
+    }
+
+    // Move settled transactions past the archive horizon now instead of waiting for the nightly run
+    @PostMapping("/jobs/archive")
+    public ResponseEntity<ArchiveRunDTO> runArchive() {
+        return ResponseEntity.ok(transactionArchiveService.run());
+    }
+
+    // Snapshot every ledger balance now instead of waiting for the monthly period close
+    @PostMapping("/ledger/close-period")
+    public ResponseEntity<Map<String, Object>> closeLedgerPeriod() {
+        return ResponseEntity.ok(Map.of("loansSnapshotted", ledgerService.closePeriod()));
+    }
+
+    // Event outbox backlog: pending and dead events, and how far delivery lags behind
+    @GetMapping("/outbox")
+    public ResponseEntity<OutboxStatsDTO> getOutboxStats() {
+        return ResponseEntity.ok(outboxDispatcher.getStats());
+    }
+
+    // Hit/miss/eviction counters of the user lookup cache
+    @GetMapping("/cache/users")
+    public ResponseEntity<Map<String, Object>> getUserCacheStats() {
+        return ResponseEntity.ok(userCache.stats());
+    }
+
+    // Lease the next pending loans (oldest first) to the signed-in reviewer
+    @PostMapping("/review-queue/claim")
+    public ResponseEntity<ReviewClaimDTO> claimReviews(SessionTokenService.SessionPrincipal principal,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(loanReviewService.claim(principal, size));
+    }
+
+    // Approve or reject a claimed loan; 409 once the lease has lapsed
+    @PostMapping("/review-queue/{loanId}/decision")
+    public ResponseEntity<LoanDTO> decideReview(SessionTokenService.SessionPrincipal principal,
+            @PathVariable Long loanId, @RequestParam String status) {
+        return ResponseEntity.ok(loanReviewService.decide(principal, loanId, status));
+    }
+
+    // Put a claimed loan back in the queue without deciding it
+    @PostMapping("/review-queue/{loanId}/release")
+    public ResponseEntity<Void> releaseReview(SessionTokenService.SessionPrincipal principal,
+            @PathVariable Long loanId) {
+        loanReviewService.release(principal, loanId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Extend the lease while the reviewer is still working the loan
+    @PostMapping("/review-queue/{loanId}/renew")
+    public ResponseEntity<ReviewClaimDTO> renewReview(SessionTokenService.SessionPrincipal principal,
+            @PathVariable Long loanId) {
+        return ResponseEntity.ok(loanReviewService.renew(principal, loanId));
+    }
+
+    // Queue depth and age of the oldest waiting application
+    @GetMapping("/review-queue")
+    public ResponseEntity<ReviewQueueStatsDTO> getReviewQueueStats() {
+        return ResponseEntity.ok(loanReviewService.getStats());
+    }
+}
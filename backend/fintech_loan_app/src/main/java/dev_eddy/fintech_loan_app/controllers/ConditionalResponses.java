@@ -0,0 +1,98 @@
+package dev_eddy.fintech_loan_app.controllers;
+
+import dev_eddy.fintech_loan_app.config.JacksonConfig;
+import dev_eddy.fintech_loan_app.services.ResourceVersionService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// ETag / Last-Modified handling shared by the entity and per-user list endpoints
+final class ConditionalResponses {
+
+    // Cached copies must be revalidated, which is what turns client re-fetches into 304s
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Answers a conditional GET from the version alone. Returns true when the
+     * client's copy is current; the 304 has then been written and the handler
+     * returns null. Unconditional requests never pay for the version query.
+     */
+    static boolean notModified(WebRequest request, Supplier<Optional<ResourceVersionService.Version>> version) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) == null
+                && request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) == null) {
+            return false;
+        }
+        return version.get()
+                .map(v -> request.checkNotModified(eTag(request, v), v.lastModifiedMillis()))
+                .orElse(false);
+    }
+
+    static <T> ResponseEntity<T> ok(WebRequest request, T body, Optional<ResourceVersionService.Version> version) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT);
+        version.ifPresent(v -> {
+            builder.eTag(eTag(request, v));
+            if (v.lastModifiedMillis() >= 0) {
+                builder.lastModified(v.lastModifiedMillis());
+            }
+        });
+        return builder.body(body);
+    }
+
+    /**
+     * Tomcat never compresses a response carrying a strong ETag, as the
+     * gzipped bytes differ from the ones it validates. Clients that accept
+     * gzip get the weak form instead; If-None-Match compares weakly, so
+     * revalidation works the same either way.
+     */
+    private static String eTag(WebRequest request, ResourceVersionService.Version version) {
+        String eTag = version.eTag(encoding(request));
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip") ? "W/" + eTag : eTag;
+    }
+
+    /**
+     * The body encoding the Accept header will negotiate, as it is part of
+     * the ETag: a JSON and a CBOR body of the same rows must not validate
+     * each other. Null for JSON, the default.
+     */
+    static String encoding(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return null;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.getQualityValue() == 0) {
+                break;
+            }
+            if (MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(mediaType)) {
+                return "cbor";
+            }
+            if (JacksonConfig.SMILE.equalsTypeAndSubtype(mediaType)) {
+                return "smile";
+            }
+            if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package dev_eddy.fintech_loan_app.controllers;
+
+import dev_eddy.fintech_loan_app.services.ExportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+// Shared response plumbing for the streaming export endpoints
+final class ExportResponses {
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private ExportResponses() {
+    }
+
+    static ExportService.Format parseFormat(String format) {
+        switch (format.toLowerCase()) {
+            case "ndjson":
+            case "jsonl":
+                return ExportService.Format.NDJSON;
+            case "csv":
+                return ExportService.Format.CSV;
+            default:
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        }
+    }
+
+    static ResponseEntity<StreamingResponseBody> streaming(String name, ExportService.Format format,
+            StreamingResponseBody body) {
+        String extension = format == ExportService.Format.CSV ? "csv" : "ndjson";
+        return ResponseEntity.ok()
+                .contentType(format == ExportService.Format.CSV ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "." + extension + "\"")
+                .body(body);
+    }
+}
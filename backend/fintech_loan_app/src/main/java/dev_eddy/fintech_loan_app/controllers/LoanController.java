@@ -1,15 +1,31 @@
 package dev_eddy.fintech_loan_app.controllers;
 
+import dev_eddy.fintech_loan_app.dtos.BulkStatusResultDTO;
+import dev_eddy.fintech_loan_app.dtos.BulkStatusUpdateDTO;
 import dev_eddy.fintech_loan_app.dtos.CreateLoanDTO;
+import dev_eddy.fintech_loan_app.dtos.CursorPageDTO;
+import dev_eddy.fintech_loan_app.dtos.LedgerBalanceDTO;
+import dev_eddy.fintech_loan_app.dtos.LedgerPostingDTO;
 import dev_eddy.fintech_loan_app.dtos.LoanDTO;
+import dev_eddy.fintech_loan_app.dtos.LoanScheduleDTO;
 import dev_eddy.fintech_loan_app.dtos.UserDTO;
+import dev_eddy.fintech_loan_app.services.ExportService;
+import dev_eddy.fintech_loan_app.services.IdempotencyService;
+import dev_eddy.fintech_loan_app.services.LedgerService;
 import dev_eddy.fintech_loan_app.services.LoanService;
+import dev_eddy.fintech_loan_app.services.RateLimitService;
+import dev_eddy.fintech_loan_app.services.ResourceVersionService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @CrossOrigin
@@ -17,40 +33,109 @@ import java.util.List;
 public class LoanController {
     
     private final LoanService loanService;
+    private final ExportService exportService;
+    private final IdempotencyService idempotencyService;
+    private final RateLimitService rateLimitService;
+    private final LedgerService ledgerService;
+    private final ResourceVersionService resourceVersionService;
     
     
-    public LoanController(LoanService loanService) {
+    public LoanController(LoanService loanService, ExportService exportService,
+            IdempotencyService idempotencyService, RateLimitService rateLimitService,
+            LedgerService ledgerService, ResourceVersionService resourceVersionService) {
         this.loanService = loanService;
+        this.exportService = exportService;
+        this.idempotencyService = idempotencyService;
+        this.rateLimitService = rateLimitService;
+        this.ledgerService = ledgerService;
+        this.resourceVersionService = resourceVersionService;
     }
     
-    // Creating a loan
+    // Creating a loan; retries carrying the same Idempotency-Key get the first response back.
+    // Only a run that creates a loan takes a rate-limit token; replays are free.
     @PostMapping
-    public ResponseEntity<LoanDTO> createLoan(@Valid @RequestBody CreateLoanDTO createLoanDTO) {
-        LoanDTO newLoan = loanService.createLoan(createLoanDTO);
-        return new ResponseEntity<>(newLoan, HttpStatus.CREATED);
+    public ResponseEntity<LoanDTO> createLoan(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody CreateLoanDTO createLoanDTO) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/loans", createLoanDTO, LoanDTO.class,
+                HttpStatus.CREATED, () -> {
+                    rateLimitService.acquire(RateLimitService.LOANS, createLoanDTO.getUserId());
+                    return loanService.createLoan(createLoanDTO);
+                });
     }
 
-    // Getting all loans
+    // Getting all loans, one keyset page at a time
     @GetMapping
-    public ResponseEntity<List<LoanDTO>> getAllLoans() {
-        List<LoanDTO> loans = loanService.getAllLoans();
+    public ResponseEntity<CursorPageDTO<LoanDTO>> getAllLoans(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long userId) {
+        CursorPageDTO<LoanDTO> loans = loanService.getAllLoans(cursor, size, status, userId);
         return ResponseEntity.ok(loans);
     }
     
-    // Getting a users loan details
+    // Stream every loan as NDJSON (default) or CSV
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportLoans(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportService.Format exportFormat = ExportResponses.parseFormat(format);
+        StreamingResponseBody body = out -> exportService.exportLoans(out, exportFormat);
+        return ExportResponses.streaming("loans", exportFormat, body);
+    }
+    
+    // Getting a users loan details; If-None-Match is answered from updated_at alone
     @GetMapping("/{id}")
-    public ResponseEntity<LoanDTO> getLoan(@PathVariable Long id) {
+    public ResponseEntity<LoanDTO> getLoan(@PathVariable Long id, WebRequest request) {
+        if (ConditionalResponses.notModified(request, () -> resourceVersionService.loan(id))) {
+            return null;
+        }
         LoanDTO loan = loanService.getLoanById(id);
-        return ResponseEntity.ok(loan);
+        return ConditionalResponses.ok(request, loan, ResourceVersionService.of(loan.getUpdatedAt()));
+    }
+    
+    // Getting the amortization schedule of a loan
+    @GetMapping("/{id}/schedule")
+    public ResponseEntity<LoanScheduleDTO> getLoanSchedule(@PathVariable Long id) {
+        LoanScheduleDTO schedule = loanService.getLoanSchedule(id);
+        return ResponseEntity.ok(schedule);
     }
     
-    // Getting a users loan details by user id
+    // Ledger postings of a loan in entry order, a page after afterSeq at a time
+    @GetMapping("/{id}/ledger")
+    public ResponseEntity<List<LedgerPostingDTO>> getLoanLedger(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer afterSeq,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ledgerService.getPostings(id, afterSeq, size));
+    }
+
+    // Ledger balances of a loan, now or as of a point in time
+    @GetMapping("/{id}/ledger/balance")
+    public ResponseEntity<LedgerBalanceDTO> getLoanLedgerBalance(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(ledgerService.getLoanBalance(id, asOf));
+    }
+    
+    // Getting a users loan details by user id; the ETag covers the count and updated_at sum
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<LoanDTO>> getUserLoans(@PathVariable Long userId) {
+    public ResponseEntity<List<LoanDTO>> getUserLoans(@PathVariable Long userId, WebRequest request) {
+        if (ConditionalResponses.notModified(request, () -> resourceVersionService.userLoans(userId))) {
+            return null;
+        }
         List<LoanDTO> loans = loanService.getUserLoans(userId);
-        return ResponseEntity.ok(loans);
+        return ConditionalResponses.ok(request, loans,
+                Optional.of(ResourceVersionService.of(loans, LoanDTO::getUpdatedAt)));
     }
     
+    // Move many loans to a new status at once, by id list or by currentStatus filter
+    @PatchMapping("/admin/status")
+    public ResponseEntity<BulkStatusResultDTO> updateLoanStatuses(@Valid @RequestBody BulkStatusUpdateDTO request) {
+        BulkStatusResultDTO result = loanService.updateLoanStatuses(request);
+        return ResponseEntity.ok(result);
+    }
+
     // Updating a users loan details
     @PatchMapping("/admin/{id}/status")
     public ResponseEntity<LoanDTO> updateLoanStatus(
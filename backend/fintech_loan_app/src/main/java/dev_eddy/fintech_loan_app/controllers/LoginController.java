@@ -1,8 +1,9 @@
 package dev_eddy.fintech_loan_app.controllers;
 
 import dev_eddy.fintech_loan_app.dtos.LoginDTO;
-import dev_eddy.fintech_loan_app.dtos.UserDTO;
+import dev_eddy.fintech_loan_app.dtos.SessionDTO;
 import dev_eddy.fintech_loan_app.services.AuthService;
+import dev_eddy.fintech_loan_app.services.SessionTokenService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,9 +20,22 @@ public class LoginController {
         this.authService = authService;
     }
 
+    // Returns the user and a session token to send as "Authorization: Bearer <token>"
     @PostMapping("/login")
-    public ResponseEntity<UserDTO> login(@Valid @RequestBody LoginDTO loginDTO) {
-        UserDTO authenticatedUser = authService.authenticate(loginDTO);
-        return ResponseEntity.ok(authenticatedUser);
+    public ResponseEntity<SessionDTO> login(@Valid @RequestBody LoginDTO loginDTO) {
+        SessionDTO session = authService.login(loginDTO);
+        return ResponseEntity.ok(session);
     }
-}
\ No newline at end of file
+
+    // Caller identity straight from the verified token, without touching the database
+    @GetMapping("/me")
+    public ResponseEntity<SessionTokenService.SessionPrincipal> me(SessionTokenService.SessionPrincipal principal) {
+        return ResponseEntity.ok(principal);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(SessionTokenService.SessionPrincipal principal) {
+        authService.logout(principal);
+        return ResponseEntity.noContent().build();
+    }
+}
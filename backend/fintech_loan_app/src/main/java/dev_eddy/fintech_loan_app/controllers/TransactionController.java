@@ -1,16 +1,32 @@
  package dev_eddy.fintech_loan_app.controllers;
 
+import dev_eddy.fintech_loan_app.dtos.BulkStatusResultDTO;
+import dev_eddy.fintech_loan_app.dtos.BulkStatusUpdateDTO;
+import dev_eddy.fintech_loan_app.dtos.BatchResultDTO;
 import dev_eddy.fintech_loan_app.dtos.TransactionDTO;
 import dev_eddy.fintech_loan_app.dtos.UserDTO;
 import dev_eddy.fintech_loan_app.dtos.CreateTransactionDTO;
+import dev_eddy.fintech_loan_app.dtos.CursorPageDTO;
 import dev_eddy.fintech_loan_app.dtos.LoanDTO;
+import dev_eddy.fintech_loan_app.services.ExportService;
+import dev_eddy.fintech_loan_app.services.IdempotencyService;
+import dev_eddy.fintech_loan_app.services.RateLimitService;
+import dev_eddy.fintech_loan_app.services.RepaymentService;
+import dev_eddy.fintech_loan_app.services.ResourceVersionService;
+import dev_eddy.fintech_loan_app.services.TransactionBatchService;
 import dev_eddy.fintech_loan_app.services.TransactionService;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @CrossOrigin
@@ -18,39 +34,101 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final ExportService exportService;
+    private final TransactionBatchService transactionBatchService;
+    private final RepaymentService repaymentService;
+    private final IdempotencyService idempotencyService;
+    private final RateLimitService rateLimitService;
+    private final ResourceVersionService resourceVersionService;
 
     
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, ExportService exportService,
+            TransactionBatchService transactionBatchService, RepaymentService repaymentService,
+            IdempotencyService idempotencyService, RateLimitService rateLimitService,
+            ResourceVersionService resourceVersionService) {
         this.transactionService = transactionService;
+        this.exportService = exportService;
+        this.transactionBatchService = transactionBatchService;
+        this.repaymentService = repaymentService;
+        this.idempotencyService = idempotencyService;
+        this.rateLimitService = rateLimitService;
+        this.resourceVersionService = resourceVersionService;
     }
 
-    // Create a transaction
+    // Create a transaction; with a loanId it is posted as a repayment on that loan.
+    // Retries carrying the same Idempotency-Key get the first response back, without
+    // taking a rate-limit token; a refused (429) attempt leaves the key free to retry.
     @PostMapping
     public ResponseEntity<TransactionDTO> createTransaction(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody CreateTransactionDTO createTransactionDTO) {
-        TransactionDTO transaction = transactionService.createTransaction(createTransactionDTO);
-        return new ResponseEntity<>(transaction, HttpStatus.CREATED);
+        return idempotencyService.execute(idempotencyKey, "POST /api/transactions", createTransactionDTO,
+                TransactionDTO.class, HttpStatus.CREATED, () -> {
+                    rateLimitService.acquire(RateLimitService.TRANSACTIONS, createTransactionDTO.getUserId());
+                    return createTransactionDTO.getLoanId() != null
+                            ? repaymentService.postRepayment(createTransactionDTO)
+                            : transactionService.createTransaction(createTransactionDTO);
+                });
     }
 
-    // Get all transactions
+    // Create many transactions from a JSON array or NDJSON body
+    @PostMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson" })
+    public ResponseEntity<BatchResultDTO> createTransactions(InputStream body) throws IOException {
+        List<CreateTransactionDTO> items = transactionBatchService.readItems(body);
+        BatchResultDTO result = transactionBatchService.createTransactions(items);
+        return ResponseEntity.ok(result);
+    }
+
+    // Get all transactions, one keyset page at a time
     @GetMapping
-    public ResponseEntity<List<TransactionDTO>> getAllUserTransactions() {
-        List<TransactionDTO> trasactions = transactionService.getAllUserTransactions();
+    public ResponseEntity<CursorPageDTO<TransactionDTO>> getAllUserTransactions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long userId) {
+        CursorPageDTO<TransactionDTO> trasactions =
+                transactionService.getAllUserTransactions(cursor, size, status, userId);
         return ResponseEntity.ok(trasactions);
     }
 
-     // Getting a users transaction details
+    // Stream every transaction as NDJSON (default) or CSV
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportService.Format exportFormat = ExportResponses.parseFormat(format);
+        StreamingResponseBody body = out -> exportService.exportTransactions(out, exportFormat);
+        return ExportResponses.streaming("transactions", exportFormat, body);
+    }
+
+     // Getting a users transaction details; If-None-Match is answered from updated_at alone
     @GetMapping("/{id}")
-    public ResponseEntity<TransactionDTO> getTransactionById(@PathVariable Long id) {
+    public ResponseEntity<TransactionDTO> getTransactionById(@PathVariable Long id, WebRequest request) {
+        if (ConditionalResponses.notModified(request, () -> resourceVersionService.transaction(id))) {
+            return null;
+        }
         TransactionDTO transaction = transactionService.getTransactionById(id);
-        return ResponseEntity.ok(transaction);
+        return ConditionalResponses.ok(request, transaction, ResourceVersionService.of(transaction.getUpdatedAt()));
     }
 
-    // Get a users transaction details by user id
+    // Get a users transaction details by user id; archived history only when asked for.
+    // The ETag covers the count and updated_at sum of the rows listed.
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<TransactionDTO>> getUserTransactions(@PathVariable Long userId) {
-        List<TransactionDTO> transactions = transactionService.getUserTransactions(userId);
-        return ResponseEntity.ok(transactions);
+    public ResponseEntity<List<TransactionDTO>> getUserTransactions(@PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean includeArchived, WebRequest request) {
+        if (ConditionalResponses.notModified(request,
+                () -> resourceVersionService.userTransactions(userId, includeArchived))) {
+            return null;
+        }
+        List<TransactionDTO> transactions = transactionService.getUserTransactions(userId, includeArchived);
+        return ConditionalResponses.ok(request, transactions,
+                Optional.of(ResourceVersionService.of(transactions, TransactionDTO::getUpdatedAt)));
+    }
+
+    // Move many transactions to a new status at once, by id list or by currentStatus filter
+    @PatchMapping("/admin/status")
+    public ResponseEntity<BulkStatusResultDTO> updateTransactionStatuses(@Valid @RequestBody BulkStatusUpdateDTO request) {
+        BulkStatusResultDTO result = transactionService.updateTransactionStatuses(request);
+        return ResponseEntity.ok(result);
     }
 
     // Updating a users transaction details
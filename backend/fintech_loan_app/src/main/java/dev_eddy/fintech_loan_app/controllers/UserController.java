@@ -2,15 +2,27 @@
 package dev_eddy.fintech_loan_app.controllers;
 
 import dev_eddy.fintech_loan_app.dtos.CreateUserDTO;
+import dev_eddy.fintech_loan_app.dtos.CursorPageDTO;
+import dev_eddy.fintech_loan_app.dtos.LedgerBalanceDTO;
 import dev_eddy.fintech_loan_app.dtos.UserDTO;
+import dev_eddy.fintech_loan_app.dtos.UserOverviewDTO;
+import dev_eddy.fintech_loan_app.services.LedgerService;
+import dev_eddy.fintech_loan_app.services.ResourceVersionService;
+import dev_eddy.fintech_loan_app.services.SessionTokenService;
+import dev_eddy.fintech_loan_app.services.UserEventStreamService;
 import dev_eddy.fintech_loan_app.services.UserService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import jakarta.validation.Valid;
-import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.time.LocalDateTime;
+
 
 
 @RestController
@@ -20,10 +32,17 @@ public class UserController {
 
     
     private final UserService userService;
+    private final LedgerService ledgerService;
+    private final UserEventStreamService userEventStreamService;
+    private final ResourceVersionService resourceVersionService;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, LedgerService ledgerService,
+            UserEventStreamService userEventStreamService, ResourceVersionService resourceVersionService) {
         this.userService = userService;
+        this.ledgerService = ledgerService;
+        this.userEventStreamService = userEventStreamService;
+        this.resourceVersionService = resourceVersionService;
 
     }
 
@@ -34,18 +53,45 @@ public class UserController {
         return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
     }
 
-    // Get all users
+    // Get all users, one keyset page at a time
     @GetMapping
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<UserDTO> users = userService.getAllUsers();
+    public ResponseEntity<CursorPageDTO<UserDTO>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<UserDTO> users = userService.getAllUsers(cursor, size);
         return ResponseEntity.ok(users);
     }
 
-    // Get a user
+    // Get a user; If-None-Match is answered from updated_at alone
     @GetMapping("/{id}")
-    public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserDTO> getUserById(@PathVariable Long id, WebRequest request) {
+        if (ConditionalResponses.notModified(request, () -> resourceVersionService.user(id))) {
+            return null;
+        }
         UserDTO user = userService.getUserById(id);
-        return ResponseEntity.ok(user);
+        return ConditionalResponses.ok(request, user, ResourceVersionService.of(user.getUpdatedAt()));
+    }
+
+    // Get a user's dashboard summary: active loans, balance, next payment and recent transactions
+    @GetMapping("/{id}/overview")
+    public ResponseEntity<UserOverviewDTO> getUserOverview(@PathVariable Long id) {
+        UserOverviewDTO overview = userService.getOverview(id);
+        return ResponseEntity.ok(overview);
+    }
+
+    // Live loan and transaction events of a user as server-sent events; reconnects resume from Last-Event-ID
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUserEvents(SessionTokenService.SessionPrincipal principal, @PathVariable Long id,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return userEventStreamService.subscribe(principal, id, lastEventId);
+    }
+
+    // Ledger balances summed over a user's loans, now or as of a point in time
+    @GetMapping("/{id}/ledger/balance")
+    public ResponseEntity<LedgerBalanceDTO> getUserLedgerBalance(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(ledgerService.getUserBalance(id, asOf));
     }
 
     // Find user by email
@@ -0,0 +1,53 @@
+package dev_eddy.fintech_loan_app.dtos;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class AccrualRunDTO {
+    private LocalDate businessDate;
+    private String state;
+    private Integer partitions;
+    private Integer partitionsCompleted;
+    private Long loansProcessed;
+    private Long paymentsRolled;
+    private Long loansFlaggedOverdue;
+    private Double loansPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    // Getters and Setters
+    public LocalDate getBusinessDate() { return businessDate; }
+    public void setBusinessDate(LocalDate businessDate) { this.businessDate = businessDate; }
+
+    // RUNNING, COMPLETED or FAILED
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+
+    public Integer getPartitions() { return partitions; }
+    public void setPartitions(Integer partitions) { this.partitions = partitions; }
+
+    public Integer getPartitionsCompleted() { return partitionsCompleted; }
+    public void setPartitionsCompleted(Integer partitionsCompleted) { this.partitionsCompleted = partitionsCompleted; }
+
+    public Long getLoansProcessed() { return loansProcessed; }
+    public void setLoansProcessed(Long loansProcessed) { this.loansProcessed = loansProcessed; }
+
+    public Long getPaymentsRolled() { return paymentsRolled; }
+    public void setPaymentsRolled(Long paymentsRolled) { this.paymentsRolled = paymentsRolled; }
+
+    public Long getLoansFlaggedOverdue() { return loansFlaggedOverdue; }
+    public void setLoansFlaggedOverdue(Long loansFlaggedOverdue) { this.loansFlaggedOverdue = loansFlaggedOverdue; }
+
+    public Double getLoansPerSecond() { return loansPerSecond; }
+    public void setLoansPerSecond(Double loansPerSecond) { this.loansPerSecond = loansPerSecond; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
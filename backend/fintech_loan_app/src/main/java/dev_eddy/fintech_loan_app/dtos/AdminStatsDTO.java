@@ -0,0 +1,29 @@
+package dev_eddy.fintech_loan_app.dtos;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class AdminStatsDTO {
+    private Long totalLoans;
+    private Map<String, Long> loansByStatus;
+    private Double totalDisbursed;
+    private Double repaymentRate;
+    private LocalDateTime reconciledAt;
+
+    // Getters and Setters
+    public Long getTotalLoans() { return totalLoans; }
+    public void setTotalLoans(Long totalLoans) { this.totalLoans = totalLoans; }
+
+    public Map<String, Long> getLoansByStatus() { return loansByStatus; }
+    public void setLoansByStatus(Map<String, Long> loansByStatus) { this.loansByStatus = loansByStatus; }
+
+    public Double getTotalDisbursed() { return totalDisbursed; }
+    public void setTotalDisbursed(Double totalDisbursed) { this.totalDisbursed = totalDisbursed; }
+
+    // Percentage (0-100) of disbursed loans that have been fully repaid
+    public Double getRepaymentRate() { return repaymentRate; }
+    public void setRepaymentRate(Double repaymentRate) { this.repaymentRate = repaymentRate; }
+
+    public LocalDateTime getReconciledAt() { return reconciledAt; }
+    public void setReconciledAt(LocalDateTime reconciledAt) { this.reconciledAt = reconciledAt; }
+}
@@ -0,0 +1,28 @@
+package dev_eddy.fintech_loan_app.dtos;
+
+import java.time.LocalDateTime;
+
+public class ArchiveRunDTO {
+    // Settled transactions dated before this were moved to the archive
+    private LocalDateTime horizon;
+    private Long transactionsArchived;
+    private Integer partitionsDropped;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    // Getters and Setters
+    public LocalDateTime getHorizon() { return horizon; }
+    public void setHorizon(LocalDateTime horizon) { this.horizon = horizon; }
+
+    public Long getTransactionsArchived() { return transactionsArchived; }
+    public void setTransactionsArchived(Long transactionsArchived) { this.transactionsArchived = transactionsArchived; }
+
+    public Integer getPartitionsDropped() { return partitionsDropped; }
+    public void setPartitionsDropped(Integer partitionsDropped) { this.partitionsDropped = partitionsDropped; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
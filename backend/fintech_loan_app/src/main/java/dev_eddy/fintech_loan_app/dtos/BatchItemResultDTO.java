@@ -0,0 +1,33 @@
+package dev_eddy.fintech_loan_app.dtos;
+
+public class BatchItemResultDTO {
+    private Integer index;
+    private String status;
+    private Long transactionId;
+    private String error;
+
+    // Constructor
+    public BatchItemResultDTO() {
+    }
+
+    public BatchItemResultDTO(Integer index, String status, Long transactionId, String error) {
+        this.index = index;
+        this.status = status;
+        this.transactionId = transactionId;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public Integer getIndex() { return index; }
+    public void setIndex(Integer index) { this.index = index; }
+
+    // CREATED or FAILED
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getTransactionId() { return transactionId; }
+    public void setTransactionId(Long transactionId) { this.transactionId = transactionId; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
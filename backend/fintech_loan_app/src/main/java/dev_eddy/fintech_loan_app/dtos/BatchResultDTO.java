@@ -0,0 +1,23 @@
+package dev_eddy.fintech_loan_app.dtos;
+
+import java.util.List;
+
+public class BatchResultDTO {
+    private Integer received;
+    private Integer created;
+    private Integer failed;
+    private List<BatchItemResultDTO> items;
+
+    // Getters and Setters
+    public Integer getReceived() { return received; }
+    public void setReceived(Integer received) { this.received = received; }
+
+    public Integer getCreated() { return created; }
+    public void setCreated(Integer created) { this.created = created; }
+
+    public Integer getFailed() { return failed; }
+    public void setFailed(Integer failed) { this.failed = failed; }
+
+    public List<BatchItemResultDTO> getItems() { return items; }
+    public void setItems(List<BatchItemResultDTO> items) { this.items = items; }
+}
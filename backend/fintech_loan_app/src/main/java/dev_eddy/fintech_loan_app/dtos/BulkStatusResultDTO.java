@@ -0,0 +1,29 @@
+package dev_eddy.fintech_loan_app.dtos;
+
+import java.util.List;
+
+public class BulkStatusResultDTO {
+    private String status;
+    private Integer updated;
+    private List<Long> updatedIds;
+    // Requested ids left unchanged: missing, or not allowed to move to the target status
+    private List<BulkStatusSkippedDTO> skipped;
+    // Filter updates stop at the item limit; true when more rows may still match
+    private Boolean hasMore;
+
+    // Getters and Setters
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Integer getUpdated() { return updated; }
+    public void setUpdated(Integer updated) { this.updated = updated; }
+
+    public List<Long> getUpdatedIds() { return updatedIds; }
+    public void setUpdatedIds(List<Long> updatedIds) { this.updatedIds = updatedIds; }
+
+    public List<BulkStatusSkippedDTO> getSkipped() { return skipped; }
+    public void setSkipped(List<BulkStatusSkippedDTO> skipped) { this.skipped = skipped; }
+
+    public Boolean getHasMore() { return hasMore; }
+    public void setHasMore(Boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,28 @@
+package dev_eddy.fintech_loan_app.dtos;
+
+public class BulkStatusSkippedDTO {
+    private Long id;
+    // Null when the row does not exist
+    private String currentStatus;
+    private String error;
+
+    // Constructor
+    public BulkStatusSkippedDTO() {
+    }
+
+    public BulkStatusSkippedDTO(Long id, String currentStatus, String error) {
+        this.id = id;
+        this.currentStatus = currentStatus;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getCurrentStatus() { return currentStatus; }
+    public void setCurrentStatus(String currentStatus) { this.currentStatus = currentStatus; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
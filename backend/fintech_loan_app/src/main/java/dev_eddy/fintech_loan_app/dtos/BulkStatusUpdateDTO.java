@@ -0,0 +1,29 @@
+package dev_eddy.fintech_loan_app.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.List;
+
+public class BulkStatusUpdateDTO {
+    // Either the rows to change...
+    private List<Long> ids;
+    // ...or a filter: every row currently in this status, optionally for one user
+    private String currentStatus;
+    private Long userId;
+
+    @NotBlank(message = "Target status is required")
+    private String status;
+
+    // Getters and Setters
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+    public String getCurrentStatus() { return currentStatus; }
+    public void setCurrentStatus(String currentStatus) { this.currentStatus = currentStatus; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+}
@@ -16,6 +16,9 @@ public class CreateTransactionDTO {
     @Positive(message = "Amount must be positive")
     private Double amount;
 
+    // Optional; when set the transaction is posted as a repayment on this loan
+    private Long loanId;
+
     // Getters and Setters
     public Long getUserId() {
         return userId;
@@ -40,4 +43,12 @@ public class CreateTransactionDTO {
     public void setAmount(Double amount) {
         this.amount = amount;
     }
+
+    public Long getLoanId() {
+        return loanId;
+    }
+
+    public void setLoanId(Long loanId) {
+        this.loanId = loanId;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package dev_eddy.fintech_loan_app.dtos;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDateTime;
+
+public class DomainEventDTO {
+    // Outbox id; a redelivered event keeps it, so subscribers can deduplicate on it
+    private Long id;
+    private String type;
+    private Long loanId;
+    private Long userId;
+    private LocalDateTime createdAt;
+    private JsonNode payload;
+
+    public DomainEventDTO() {
+    }
+
+    public DomainEventDTO(Long id, String type, Long loanId, Long userId, LocalDateTime createdAt, JsonNode payload) {
+        this.id = id;
+        this.type = type;
+        this.loanId = loanId;
+        this.userId = userId;
+        this.createdAt = createdAt;
+        this.payload = payload;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getLoanId() { return loanId; }
+    public void setLoanId(Long loanId) { this.loanId = loanId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public JsonNode getPayload() { return payload; }
+    public void setPayload(JsonNode payload) { this.payload = payload; }
+}
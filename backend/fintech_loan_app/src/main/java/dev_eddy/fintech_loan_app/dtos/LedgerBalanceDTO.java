@@ -0,0 +1,34 @@
+package dev_eddy.fintech_loan_app.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class LedgerBalanceDTO {
+    // Exactly one of loanId and userId is set
+    private Long loanId;
+    private Long userId;
+    // Null for the current balance
+    private LocalDateTime asOf;
+    // RECEIVABLE (principal still owed), CASH (repaid), INTEREST_INCOME (interest collected, negative)
+    // and FUNDING (disbursed, negative)
+    private Map<String, BigDecimal> balances;
+    // Principal the borrower still owes: the RECEIVABLE balance
+    private BigDecimal outstanding;
+
+    // Getters and Setters
+    public Long getLoanId() { return loanId; }
+    public void setLoanId(Long loanId) { this.loanId = loanId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public LocalDateTime getAsOf() { return asOf; }
+    public void setAsOf(LocalDateTime asOf) { this.asOf = asOf; }
+
+    public Map<String, BigDecimal> getBalances() { return balances; }
+    public void setBalances(Map<String, BigDecimal> balances) { this.balances = balances; }
+
+    public BigDecimal getOutstanding() { return outstanding; }
+    public void setOutstanding(BigDecimal outstanding) { this.outstanding = outstanding; }
+}
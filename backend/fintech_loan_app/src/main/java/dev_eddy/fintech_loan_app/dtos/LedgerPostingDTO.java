@@ -0,0 +1,58 @@
+package dev_eddy.fintech_loan_app.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class LedgerPostingDTO {
+    private Long loanId;
+    // Both legs of an entry share its number; entries of a loan are numbered 1, 2, 3, ...
+    private Integer entrySeq;
+    private String account;
+    // Debits positive, credits negative
+    private BigDecimal amount;
+    private Long userId;
+    private String entryType;
+    private Long transactionId;
+    private LocalDateTime postedAt;
+
+    // Constructor
+    public LedgerPostingDTO() {
+    }
+
+    public LedgerPostingDTO(Long loanId, Integer entrySeq, String account, BigDecimal amount, Long userId,
+            String entryType, Long transactionId, LocalDateTime postedAt) {
+        this.loanId = loanId;
+        this.entrySeq = entrySeq;
+        this.account = account;
+        this.amount = amount;
+        this.userId = userId;
+        this.entryType = entryType;
+        this.transactionId = transactionId;
+        this.postedAt = postedAt;
+    }
+
+    // Getters and Setters
+    public Long getLoanId() { return loanId; }
+    public void setLoanId(Long loanId) { this.loanId = loanId; }
+
+    public Integer getEntrySeq() { return entrySeq; }
+    public void setEntrySeq(Integer entrySeq) { this.entrySeq = entrySeq; }
+
+    public String getAccount() { return account; }
+    public void setAccount(String account) { this.account = account; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getEntryType() { return entryType; }
+    public void setEntryType(String entryType) { this.entryType = entryType; }
+
+    public Long getTransactionId() { return transactionId; }
+    public void setTransactionId(Long transactionId) { this.transactionId = transactionId; }
+
+    public LocalDateTime getPostedAt() { return postedAt; }
+    public void setPostedAt(LocalDateTime postedAt) { this.postedAt = postedAt; }
+}
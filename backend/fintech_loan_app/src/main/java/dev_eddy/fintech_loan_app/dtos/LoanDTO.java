@@ -16,9 +16,38 @@ public class LoanDTO {
     private Double remainingBalance;
     private Double monthlyPayment;
     private String purpose;
+    private Double accruedInterest;
+    private Integer missedPayments;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    public LoanDTO() {
+    }
+
+    // Used by the constructor-expression queries in LoanRepository
+    public LoanDTO(Long id, Long userId, Double amount, Integer tenure, Double interestRate, String status,
+                   LocalDateTime appliedAt, LocalDateTime approvedAt, LocalDateTime repaidAt,
+                   LocalDateTime nextPaymentDate, Double remainingBalance, Double monthlyPayment, String purpose,
+                   Double accruedInterest, Integer missedPayments, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.amount = amount;
+        this.tenure = tenure;
+        this.interestRate = interestRate;
+        this.status = status;
+        this.appliedAt = appliedAt;
+        this.approvedAt = approvedAt;
+        this.repaidAt = repaidAt;
+        this.nextPaymentDate = nextPaymentDate;
+        this.remainingBalance = remainingBalance;
+        this.monthlyPayment = monthlyPayment;
+        this.purpose = purpose;
+        this.accruedInterest = accruedInterest;
+        this.missedPayments = missedPayments;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -59,6 +88,12 @@ public class LoanDTO {
     public String getPurpose() { return purpose; }
     public void setPurpose(String purpose) { this.purpose = purpose; }
 
+    public Double getAccruedInterest() { return accruedInterest; }
+    public void setAccruedInterest(Double accruedInterest) { this.accruedInterest = accruedInterest; }
+
+    public Integer getMissedPayments() { return missedPayments; }
+    public void setMissedPayments(Integer missedPayments) { this.missedPayments = missedPayments; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -0,0 +1,105 @@
+package dev_eddy.fintech_loan_app.dtos;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+// Installment columns are kept as primitive arrays and expanded into rows only while serializing
+@JsonSerialize(using = LoanScheduleDTO.Serializer.class)
+public class LoanScheduleDTO {
+    private Long loanId;
+    private Double amount;
+    private Double interestRate;
+    private Integer tenure;
+    private Double monthlyPayment;
+    private Double totalInterest;
+    private LocalDate firstDueDate;
+    private int paidInstallments;
+    // Whether the loan's installments are owed yet; a pending or rejected loan has nothing overdue
+    private boolean repayable;
+    private double[] payments;
+    private double[] principal;
+    private double[] interest;
+    private double[] balance;
+
+    // Getters and Setters
+    public Long getLoanId() { return loanId; }
+    public void setLoanId(Long loanId) { this.loanId = loanId; }
+
+    public Double getAmount() { return amount; }
+    public void setAmount(Double amount) { this.amount = amount; }
+
+    public Double getInterestRate() { return interestRate; }
+    public void setInterestRate(Double interestRate) { this.interestRate = interestRate; }
+
+    public Integer getTenure() { return tenure; }
+    public void setTenure(Integer tenure) { this.tenure = tenure; }
+
+    public Double getMonthlyPayment() { return monthlyPayment; }
+    public void setMonthlyPayment(Double monthlyPayment) { this.monthlyPayment = monthlyPayment; }
+
+    public Double getTotalInterest() { return totalInterest; }
+    public void setTotalInterest(Double totalInterest) { this.totalInterest = totalInterest; }
+
+    public LocalDate getFirstDueDate() { return firstDueDate; }
+    public void setFirstDueDate(LocalDate firstDueDate) { this.firstDueDate = firstDueDate; }
+
+    public int getPaidInstallments() { return paidInstallments; }
+    public void setPaidInstallments(int paidInstallments) { this.paidInstallments = paidInstallments; }
+
+    public boolean isRepayable() { return repayable; }
+    public void setRepayable(boolean repayable) { this.repayable = repayable; }
+
+    public double[] getPayments() { return payments; }
+    public void setPayments(double[] payments) { this.payments = payments; }
+
+    public double[] getPrincipal() { return principal; }
+    public void setPrincipal(double[] principal) { this.principal = principal; }
+
+    public double[] getInterest() { return interest; }
+    public void setInterest(double[] interest) { this.interest = interest; }
+
+    public double[] getBalance() { return balance; }
+    public void setBalance(double[] balance) { this.balance = balance; }
+
+    public static class Serializer extends StdSerializer<LoanScheduleDTO> {
+
+        public Serializer() {
+            super(LoanScheduleDTO.class);
+        }
+
+        @Override
+        public void serialize(LoanScheduleDTO schedule, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            LocalDate today = LocalDate.now();
+            gen.writeStartObject();
+            gen.writeNumberField("loanId", schedule.loanId);
+            gen.writeNumberField("amount", schedule.amount);
+            gen.writeNumberField("interestRate", schedule.interestRate);
+            gen.writeNumberField("tenure", schedule.tenure);
+            gen.writeNumberField("monthlyPayment", schedule.monthlyPayment);
+            gen.writeNumberField("totalInterest", schedule.totalInterest);
+            gen.writeArrayFieldStart("installments");
+            for (int i = 0; i < schedule.payments.length; i++) {
+                LocalDate dueDate = schedule.firstDueDate.plusMonths(i);
+                String status = i < schedule.paidInstallments ? "PAID"
+                        : schedule.repayable && dueDate.isBefore(today) ? "OVERDUE" : "PENDING";
+                gen.writeStartObject();
+                gen.writeNumberField("number", i + 1);
+                gen.writeStringField("dueDate", dueDate.toString());
+                gen.writeNumberField("payment", schedule.payments[i]);
+                gen.writeNumberField("principal", schedule.principal[i]);
+                gen.writeNumberField("interest", schedule.interest[i]);
+                gen.writeNumberField("balance", schedule.balance[i]);
+                gen.writeStringField("status", status);
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+}
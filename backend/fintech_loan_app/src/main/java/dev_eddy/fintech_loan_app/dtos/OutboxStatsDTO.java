@@ -0,0 +1,20 @@
+package dev_eddy.fintech_loan_app.dtos;
+
+public class OutboxStatsDTO {
+    // Events waiting for delivery, including those backing off after a failure
+    private Long pending;
+    // Events given up on after outbox.dispatch.max-attempts failures
+    private Long dead;
+    // Seconds since the oldest pending event was written: the dispatch lag
+    private Long oldestPendingAgeSeconds;
+
+    // Getters and Setters
+    public Long getPending() { return pending; }
+    public void setPending(Long pending) { this.pending = pending; }
+
+    public Long getDead() { return dead; }
+    public void setDead(Long dead) { this.dead = dead; }
+
+    public Long getOldestPendingAgeSeconds() { return oldestPendingAgeSeconds; }
+    public void setOldestPendingAgeSeconds(Long oldestPendingAgeSeconds) { this.oldestPendingAgeSeconds = oldestPendingAgeSeconds; }
+}
@@ -0,0 +1,27 @@
+package dev_eddy.fintech_loan_app.dtos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ReviewClaimDTO {
+    // Oldest application first
+    private List<LoanDTO> loans;
+    // The loans return to the queue after this unless decided, released or renewed
+    private LocalDateTime leaseExpiresAt;
+
+    // Constructor
+    public ReviewClaimDTO() {
+    }
+
+    public ReviewClaimDTO(List<LoanDTO> loans, LocalDateTime leaseExpiresAt) {
+        this.loans = loans;
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    // Getters and Setters
+    public List<LoanDTO> getLoans() { return loans; }
+    public void setLoans(List<LoanDTO> loans) { this.loans = loans; }
+
+    public LocalDateTime getLeaseExpiresAt() { return leaseExpiresAt; }
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) { this.leaseExpiresAt = leaseExpiresAt; }
+}
@@ -0,0 +1,28 @@
+package dev_eddy.fintech_loan_app.dtos;
+
+public class ReviewQueueStatsDTO {
+    // PENDING loans nobody holds a live lease on
+    private Long available;
+    private Long claimed;
+    // Claims whose lease ran out; already counted as available
+    private Long abandoned;
+    // Seconds since the oldest PENDING application, claimed or not
+    private Long oldestPendingAgeSeconds;
+    private Long oldestAvailableAgeSeconds;
+
+    // Getters and Setters
+    public Long getAvailable() { return available; }
+    public void setAvailable(Long available) { this.available = available; }
+
+    public Long getClaimed() { return claimed; }
+    public void setClaimed(Long claimed) { this.claimed = claimed; }
+
+    public Long getAbandoned() { return abandoned; }
+    public void setAbandoned(Long abandoned) { this.abandoned = abandoned; }
+
+    public Long getOldestPendingAgeSeconds() { return oldestPendingAgeSeconds; }
+    public void setOldestPendingAgeSeconds(Long oldestPendingAgeSeconds) { this.oldestPendingAgeSeconds = oldestPendingAgeSeconds; }
+
+    public Long getOldestAvailableAgeSeconds() { return oldestAvailableAgeSeconds; }
+    public void setOldestAvailableAgeSeconds(Long oldestAvailableAgeSeconds) { this.oldestAvailableAgeSeconds = oldestAvailableAgeSeconds; }
+}
@@ -0,0 +1,28 @@
+package dev_eddy.fintech_loan_app.dtos;
+
+public class SessionDTO {
+    private String token;
+    // Epoch seconds
+    private Long expiresAt;
+    private UserDTO user;
+
+    // Constructor
+    public SessionDTO() {
+    }
+
+    public SessionDTO(String token, Long expiresAt, UserDTO user) {
+        this.token = token;
+        this.expiresAt = expiresAt;
+        this.user = user;
+    }
+
+    // Getters and Setters
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+
+    public Long getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Long expiresAt) { this.expiresAt = expiresAt; }
+
+    public UserDTO getUser() { return user; }
+    public void setUser(UserDTO user) { this.user = user; }
+}
@@ -6,8 +6,11 @@ import java.time.LocalDateTime;
 public class TransactionDTO {
     private Long id;
     private Long userId;
+    private Long loanId;
     private String transactionType;
     private Double amount;
+    private Double interestAmount;
+    private Double principalAmount;
     private LocalDateTime transactionDate;
     private String status;
     private LocalDateTime createdAt;
@@ -17,6 +20,23 @@ public class TransactionDTO {
     public TransactionDTO() {
     }
 
+    // Used by the constructor-expression queries in TransactionRepository
+    public TransactionDTO(Long id, Long userId, Long loanId, String transactionType, Double amount,
+            Double interestAmount, Double principalAmount, LocalDateTime transactionDate, String status,
+            LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.loanId = loanId;
+        this.transactionType = transactionType;
+        this.amount = amount;
+        this.interestAmount = interestAmount;
+        this.principalAmount = principalAmount;
+        this.transactionDate = transactionDate;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -34,6 +54,14 @@ public class TransactionDTO {
         this.userId = userId;
     }
 
+    public Long getLoanId() {
+        return loanId;
+    }
+
+    public void setLoanId(Long loanId) {
+        this.loanId = loanId;
+    }
+
     public String getTransactionType() {
         return transactionType;
     }
@@ -50,6 +78,22 @@ public class TransactionDTO {
         this.amount = amount;
     }
 
+    public Double getInterestAmount() {
+        return interestAmount;
+    }
+
+    public void setInterestAmount(Double interestAmount) {
+        this.interestAmount = interestAmount;
+    }
+
+    public Double getPrincipalAmount() {
+        return principalAmount;
+    }
+
+    public void setPrincipalAmount(Double principalAmount) {
+        this.principalAmount = principalAmount;
+    }
+
     public LocalDateTime getTransactionDate() {
         return transactionDate;
     }
@@ -0,0 +1,47 @@
+package dev_eddy.fintech_loan_app.dtos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class UserOverviewDTO {
+    private Long userId;
+    // Loans that are APPROVED, ACTIVE or OVERDUE
+    private Integer activeLoans;
+    private Double outstandingBalance;
+    private LocalDateTime nextDueDate;
+    // Sum of the installments falling due on nextDueDate
+    private Double nextDueAmount;
+    private Double lifetimeRepaid;
+    // Newest first
+    private List<TransactionDTO> recentTransactions;
+    private LocalDateTime updatedAt;
+
+    // Constructor
+    public UserOverviewDTO() {
+    }
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Integer getActiveLoans() { return activeLoans; }
+    public void setActiveLoans(Integer activeLoans) { this.activeLoans = activeLoans; }
+
+    public Double getOutstandingBalance() { return outstandingBalance; }
+    public void setOutstandingBalance(Double outstandingBalance) { this.outstandingBalance = outstandingBalance; }
+
+    public LocalDateTime getNextDueDate() { return nextDueDate; }
+    public void setNextDueDate(LocalDateTime nextDueDate) { this.nextDueDate = nextDueDate; }
+
+    public Double getNextDueAmount() { return nextDueAmount; }
+    public void setNextDueAmount(Double nextDueAmount) { this.nextDueAmount = nextDueAmount; }
+
+    public Double getLifetimeRepaid() { return lifetimeRepaid; }
+    public void setLifetimeRepaid(Double lifetimeRepaid) { this.lifetimeRepaid = lifetimeRepaid; }
+
+    public List<TransactionDTO> getRecentTransactions() { return recentTransactions; }
+    public void setRecentTransactions(List<TransactionDTO> recentTransactions) { this.recentTransactions = recentTransactions; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,67 @@
+package dev_eddy.fintech_loan_app.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Progress of one id-range partition of a nightly accrual run
+@Entity
+@Table(name = "accrual_checkpoints",
+       uniqueConstraints = @UniqueConstraint(columnNames = { "business_date", "partition_start" }))
+public class AccrualCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accrual_checkpoints_seq")
+    @SequenceGenerator(name = "accrual_checkpoints_seq", sequenceName = "accrual_checkpoints_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "business_date", nullable = false)
+    private LocalDate businessDate;
+
+    // Partition covers ids in (partitionStart, partitionEnd]
+    @Column(name = "partition_start", nullable = false)
+    private Long partitionStart;
+
+    @Column(name = "partition_end", nullable = false)
+    private Long partitionEnd;
+
+    @Column(name = "last_processed_id", nullable = false)
+    private Long lastProcessedId;
+
+    @Column(name = "loans_processed", nullable = false)
+    private Long loansProcessed;
+
+    @Column(nullable = false)
+    private Boolean completed;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+
+    public LocalDate getBusinessDate() { return businessDate; }
+    public void setBusinessDate(LocalDate businessDate) { this.businessDate = businessDate; }
+
+    public Long getPartitionStart() { return partitionStart; }
+    public void setPartitionStart(Long partitionStart) { this.partitionStart = partitionStart; }
+
+    public Long getPartitionEnd() { return partitionEnd; }
+    public void setPartitionEnd(Long partitionEnd) { this.partitionEnd = partitionEnd; }
+
+    public Long getLastProcessedId() { return lastProcessedId; }
+    public void setLastProcessedId(Long lastProcessedId) { this.lastProcessedId = lastProcessedId; }
+
+    public Long getLoansProcessed() { return loansProcessed; }
+    public void setLoansProcessed(Long loansProcessed) { this.loansProcessed = loansProcessed; }
+
+    public Boolean getCompleted() { return completed; }
+    public void setCompleted(Boolean completed) { this.completed = completed; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -1,16 +1,18 @@
 package dev_eddy.fintech_loan_app.entity;
 
 import jakarta.persistence.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "loans")
 public class Loan {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loans_seq")
+    @SequenceGenerator(name = "loans_seq", sequenceName = "loans_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -47,6 +49,21 @@ public class Loan {
     @Column
     private String purpose;
 
+    // Interest earned and not yet paid: the nightly accrual job adds to it, repayments pay it off first
+    @Column(name = "accrued_interest")
+    private Double accruedInterest;
+
+    @Column(name = "missed_payments")
+    private Integer missedPayments;
+
+    @Column(name = "last_accrual_date")
+    private LocalDate lastAccrualDate;
+
+    // Optimistic check behind the in-process lock on repayment posting
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
@@ -111,6 +128,17 @@ public class Loan {
     public String getPurpose() { return purpose; }
     public void setPurpose(String purpose) { this.purpose = purpose; }
 
+    public Double getAccruedInterest() { return accruedInterest; }
+    public void setAccruedInterest(Double accruedInterest) { this.accruedInterest = accruedInterest; }
+
+    public Integer getMissedPayments() { return missedPayments; }
+    public void setMissedPayments(Integer missedPayments) { this.missedPayments = missedPayments; }
+
+    public LocalDate getLastAccrualDate() { return lastAccrualDate; }
+    public void setLastAccrualDate(LocalDate lastAccrualDate) { this.lastAccrualDate = lastAccrualDate; }
+
+    public Long getVersion() { return version; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
 }
@@ -6,14 +6,31 @@ import java.time.LocalDateTime;
 @Table(name = "transactions")
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence so Hibernate can batch inserts (IDENTITY disables batching)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
+
+    // Set for repayments posted against a loan
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "loan_id")
+    private Loan loan;
+
     private String transactionType;
     private Double amount;
+
+    // How a repayment was applied: interest first, the rest to principal
+    @Column(name = "interest_amount")
+    private Double interestAmount;
+
+    @Column(name = "principal_amount")
+    private Double principalAmount;
+
+    @Column(nullable = false)
     private LocalDateTime transactionDate;
     private String status;
 
@@ -27,6 +44,10 @@ public class Transaction {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        // Partition key of the transactions table; it cannot be null
+        if (transactionDate == null) {
+            transactionDate = createdAt;
+        }
     }
 
     @PreUpdate
@@ -51,6 +72,14 @@ public class Transaction {
         this.user = user;
     }
 
+    public Loan getLoan() {
+        return loan;
+    }
+
+    public void setLoan(Loan loan) {
+        this.loan = loan;
+    }
+
     public String getTransactionType() {
         return transactionType;
     }
@@ -67,6 +96,22 @@ public class Transaction {
         this.amount = amount;
     }
 
+    public Double getInterestAmount() {
+        return interestAmount;
+    }
+
+    public void setInterestAmount(Double interestAmount) {
+        this.interestAmount = interestAmount;
+    }
+
+    public Double getPrincipalAmount() {
+        return principalAmount;
+    }
+
+    public void setPrincipalAmount(Double principalAmount) {
+        this.principalAmount = principalAmount;
+    }
+
     public LocalDateTime getTransactionDate() {
         return transactionDate;
     }
@@ -1,5 +1,9 @@
 package dev_eddy.fintech_loan_app.exceptions;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
 public class TransactionException extends RuntimeException {
     public TransactionException(String message) {
         super(message);
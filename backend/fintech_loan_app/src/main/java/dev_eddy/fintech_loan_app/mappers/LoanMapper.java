@@ -26,6 +26,8 @@ public class LoanMapper {
         dto.setRemainingBalance(loan.getRemainingBalance());
         dto.setMonthlyPayment(loan.getMonthlyPayment());
         dto.setPurpose(loan.getPurpose());
+        dto.setAccruedInterest(loan.getAccruedInterest());
+        dto.setMissedPayments(loan.getMissedPayments());
         dto.setCreatedAt(loan.getCreatedAt());
         dto.setUpdatedAt(loan.getUpdatedAt());
         
@@ -21,8 +21,11 @@ public class TransactionMapper {
         TransactionDTO dto = new TransactionDTO();
         dto.setId(transaction.getId());
         dto.setUserId(transaction.getUser().getId());
+        dto.setLoanId(transaction.getLoan() != null ? transaction.getLoan().getId() : null);
         dto.setTransactionType(transaction.getTransactionType());
         dto.setAmount(transaction.getAmount());
+        dto.setInterestAmount(transaction.getInterestAmount());
+        dto.setPrincipalAmount(transaction.getPrincipalAmount());
         dto.setTransactionDate(transaction.getTransactionDate());
         dto.setStatus(transaction.getStatus());
         dto.setCreatedAt(transaction.getCreatedAt());
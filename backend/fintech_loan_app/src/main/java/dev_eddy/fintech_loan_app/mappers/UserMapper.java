@@ -4,6 +4,7 @@ package dev_eddy.fintech_loan_app.mappers;
 import dev_eddy.fintech_loan_app.dtos.CreateUserDTO;
 import dev_eddy.fintech_loan_app.dtos.UserDTO;
 import dev_eddy.fintech_loan_app.entity.User;
+import dev_eddy.fintech_loan_app.services.UserCache;
 import org.springframework.stereotype.Component;
 
 
@@ -28,6 +29,23 @@ public class UserMapper {
         return dto;
     }
 
+    public UserDTO toDTO(UserCache.CachedUser user) {
+        if (user == null) {
+            return null;
+        }
+
+        UserDTO dto = new UserDTO();
+        dto.setId(user.id());
+        dto.setName(user.name());
+        dto.setEmail(user.email());
+        dto.setRoles(user.roles());
+        dto.setPhoneNumber(user.phoneNumber());
+        dto.setCreatedAt(user.createdAt());
+        dto.setUpdatedAt(user.updatedAt());
+
+        return dto;
+    }
+
     public User toEntity(CreateUserDTO dto) {
         if (dto == null) {
             return null;
@@ -0,0 +1,13 @@
+package dev_eddy.fintech_loan_app.repository;
+
+import dev_eddy.fintech_loan_app.entity.AccrualCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AccrualCheckpointRepository extends JpaRepository<AccrualCheckpoint, Long> {
+    List<AccrualCheckpoint> findByBusinessDateOrderByPartitionStart(LocalDate businessDate);
+}
@@ -0,0 +1,89 @@
+package dev_eddy.fintech_loan_app.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cross-instance side of the idempotency store. Plain JDBC rather than an
+ * entity: claims must commit on their own, ahead of the request they guard,
+ * and rely on Postgres' INSERT ... ON CONFLICT to pick a single winner. The
+ * completion instead joins the request's transaction.
+ */
+@Repository
+public class IdempotencyKeyRepository {
+
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+    public static final String COMPLETED = "COMPLETED";
+
+    public record StoredKey(String fingerprint, String status, Integer responseStatus, String responseBody,
+                            LocalDateTime lockedUntil, LocalDateTime expiresAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotencyKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // True when this caller now owns the key
+    public boolean insertClaim(String id, String fingerprint, LocalDateTime lockedUntil, LocalDateTime expiresAt) {
+        return jdbcTemplate.update("""
+                INSERT INTO idempotency_keys (id, fingerprint, status, locked_until, expires_at)
+                VALUES (?, ?, 'IN_PROGRESS', ?, ?)
+                ON CONFLICT (id) DO NOTHING""",
+                id, fingerprint, Timestamp.valueOf(lockedUntil), Timestamp.valueOf(expiresAt)) == 1;
+    }
+
+    /**
+     * Takes over a key whose owner died mid-request or whose stored response
+     * has expired. Only one of several concurrent callers gets true.
+     */
+    public boolean reclaim(String id, String fingerprint, LocalDateTime now, LocalDateTime lockedUntil,
+                           LocalDateTime expiresAt) {
+        Timestamp current = Timestamp.valueOf(now);
+        return jdbcTemplate.update("""
+                UPDATE idempotency_keys
+                SET fingerprint = ?, status = 'IN_PROGRESS', response_status = NULL, response_body = NULL,
+                    locked_until = ?, expires_at = ?
+                WHERE id = ? AND ((status = 'IN_PROGRESS' AND locked_until < ?) OR expires_at < ?)""",
+                fingerprint, Timestamp.valueOf(lockedUntil), Timestamp.valueOf(expiresAt), id,
+                current, current) == 1;
+    }
+
+    public Optional<StoredKey> find(String id) {
+        List<StoredKey> rows = jdbcTemplate.query("""
+                SELECT fingerprint, status, response_status, response_body, locked_until, expires_at
+                FROM idempotency_keys WHERE id = ?""",
+                (rs, rowNum) -> new StoredKey(rs.getString(1), rs.getString(2),
+                        (Integer) rs.getObject(3), rs.getString(4),
+                        rs.getTimestamp(5).toLocalDateTime(), rs.getTimestamp(6).toLocalDateTime()),
+                id);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Stores the response of a claim that is still in progress. Runs in the
+     * request's own transaction; false when the claim is gone or another
+     * attempt already completed it, in which case the caller must roll back.
+     */
+    public boolean complete(String id, String fingerprint, int responseStatus, String responseBody) {
+        return jdbcTemplate.update("""
+                UPDATE idempotency_keys SET status = 'COMPLETED', response_status = ?, response_body = ?
+                WHERE id = ? AND fingerprint = ? AND status = 'IN_PROGRESS'""",
+                responseStatus, responseBody, id, fingerprint) == 1;
+    }
+
+    // Frees the key after a failed attempt so the client's retry can run it again
+    public void release(String id) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE id = ? AND status = 'IN_PROGRESS'", id);
+    }
+
+    public int deleteExpired(LocalDateTime now) {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < ?", Timestamp.valueOf(now));
+    }
+}
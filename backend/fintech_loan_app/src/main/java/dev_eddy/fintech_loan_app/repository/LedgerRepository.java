@@ -0,0 +1,226 @@
+package dev_eddy.fintech_loan_app.repository;
+
+import dev_eddy.fintech_loan_app.dtos.LedgerPostingDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The loan ledger (ledger_postings, ledger_snapshots). Postings are only ever
+ * inserted; balances are read as the latest snapshot plus the postings after
+ * it, which snapshots every few entries keep short.
+ */
+@Repository
+public class LedgerRepository {
+
+    public static final String RECEIVABLE = "RECEIVABLE";
+    public static final String FUNDING = "FUNDING";
+    public static final String CASH = "CASH";
+    public static final String INTEREST_INCOME = "INTEREST_INCOME";
+
+    public static final String DISBURSEMENT = "DISBURSEMENT";
+    public static final String REPAYMENT = "REPAYMENT";
+
+    public record PostedEntry(Long loanId, int entrySeq) {
+    }
+
+    // One leg of an entry: the account and how much of the amount and of its interest part it takes
+    private record Leg(String account, int amountSign, int interestSign) {
+    }
+
+    private static final List<Leg> DISBURSEMENT_LEGS = List.of(
+            new Leg(RECEIVABLE, 1, 0), new Leg(FUNDING, -1, 0));
+
+    private static final List<Leg> REPAYMENT_LEGS = List.of(
+            new Leg(CASH, 1, 0), new Leg(RECEIVABLE, -1, 1), new Leg(INTEREST_INCOME, 0, -1));
+
+    public record AccountBalance(String account, BigDecimal balance, int entrySeq) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LedgerRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Loans that have never been disbursed get their opening entry; the rest are skipped
+    public List<PostedEntry> postDisbursements(Long[] loanIds, BigDecimal[] amounts) {
+        BigDecimal[] interest = new BigDecimal[loanIds.length];
+        Arrays.fill(interest, BigDecimal.ZERO);
+        return post(DISBURSEMENT, DISBURSEMENT_LEGS, loanIds, amounts, interest, new Long[loanIds.length],
+                "AND l.ledger_entries = 0");
+    }
+
+    // Cash in for the whole amount, credited to interest income and the rest to the receivable
+    public PostedEntry postRepayment(Long loanId, BigDecimal amount, BigDecimal interest, Long transactionId) {
+        return post(REPAYMENT, REPAYMENT_LEGS, new Long[] { loanId }, new BigDecimal[] { amount },
+                new BigDecimal[] { interest }, new Long[] { transactionId }, "").get(0);
+    }
+
+    /**
+     * One statement per call: bumps each loan's entry counter, which locks the
+     * loan row and numbers the entry, and inserts the debit and credit legs
+     * with one posted_at, so an as-of read never splits an entry. Legs that
+     * come to zero are left out. Takes distinct loan ids.
+     */
+    private List<PostedEntry> post(String entryType, List<Leg> legs, Long[] loanIds, BigDecimal[] amounts,
+                                   BigDecimal[] interest, Long[] transactionIds, String condition) {
+        List<Object> args = new ArrayList<>(List.of(loanIds, toPlainStrings(amounts), toPlainStrings(interest),
+                transactionIds, entryType));
+        for (Leg leg : legs) {
+            args.add(leg.account());
+            args.add(leg.amountSign());
+            args.add(leg.interestSign());
+        }
+        return jdbcTemplate.query("""
+                WITH entry AS (
+                    SELECT e.*, clock_timestamp() AS posted_at
+                    FROM unnest(?::bigint[], ?::numeric[], ?::numeric[], ?::bigint[])
+                        AS e(loan_id, amount, interest, transaction_id)),
+                bumped AS (
+                    UPDATE loans l SET ledger_entries = l.ledger_entries + 1
+                    FROM entry e WHERE l.id = e.loan_id %s
+                    RETURNING l.id, l.user_id, l.ledger_entries, e.amount, e.interest, e.transaction_id, e.posted_at),
+                legs AS (
+                    INSERT INTO ledger_postings (loan_id, entry_seq, account, amount, user_id, entry_type,
+                                                 transaction_id, posted_at)
+                    SELECT b.id, b.ledger_entries, p.account, p.amount, b.user_id, ?, b.transaction_id, b.posted_at
+                    FROM bumped b
+                    CROSS JOIN (VALUES %s) AS leg(account, amount_sign, interest_sign)
+                    CROSS JOIN LATERAL (
+                        SELECT leg.account, leg.amount_sign * b.amount + leg.interest_sign * b.interest AS amount) p
+                    WHERE p.amount <> 0)
+                SELECT id, ledger_entries FROM bumped""".formatted(condition,
+                        String.join(", ", Collections.nCopies(legs.size(), "(?, ?::int, ?::int)"))),
+                (rs, rowNum) -> new PostedEntry(rs.getLong(1), rs.getInt(2)), args.toArray());
+    }
+
+    private static String[] toPlainStrings(BigDecimal[] amounts) {
+        return Arrays.stream(amounts).map(BigDecimal::toPlainString).toArray(String[]::new);
+    }
+
+    /**
+     * Snapshots every account of the given loans at their current entry,
+     * from the previous snapshot plus the postings since. Callers must hold
+     * the loan rows (by posting, or FOR SHARE) so no entry is in flight.
+     */
+    public int snapshot(Long[] loanIds, String reason) {
+        return jdbcTemplate.update("""
+                INSERT INTO ledger_snapshots (loan_id, entry_seq, account, balance, as_of, reason)
+                SELECT l.id, l.ledger_entries, b.account, b.balance, t.as_of, ?
+                FROM loans l
+                LEFT JOIN LATERAL (
+                    SELECT entry_seq FROM ledger_snapshots
+                    WHERE loan_id = l.id ORDER BY entry_seq DESC LIMIT 1) s ON true
+                CROSS JOIN LATERAL (
+                    SELECT max(posted_at) AS as_of FROM ledger_postings
+                    WHERE loan_id = l.id AND entry_seq = l.ledger_entries) t
+                CROSS JOIN LATERAL (
+                    SELECT account, sum(amount) AS balance FROM (
+                        SELECT account, balance AS amount FROM ledger_snapshots
+                        WHERE loan_id = l.id AND entry_seq = s.entry_seq
+                        UNION ALL
+                        SELECT account, amount FROM ledger_postings
+                        WHERE loan_id = l.id AND entry_seq > coalesce(s.entry_seq, 0)) tail
+                    GROUP BY account) b
+                WHERE l.id = ANY(?::bigint[]) AND l.ledger_entries > coalesce(s.entry_seq, 0)
+                ON CONFLICT DO NOTHING""", reason, loanIds);
+    }
+
+    /**
+     * Locks the next loans with entries newer than their latest snapshot, in
+     * id order, waiting for any posting in flight on them to commit.
+     */
+    public List<Long> lockUnsnapshotted(Long afterId, int limit) {
+        return jdbcTemplate.queryForList("""
+                SELECT l.id FROM loans l
+                WHERE l.id > ? AND l.ledger_entries > coalesce(
+                    (SELECT max(entry_seq) FROM ledger_snapshots WHERE loan_id = l.id), 0)
+                ORDER BY l.id LIMIT ?
+                FOR SHARE""", Long.class, afterId, limit);
+    }
+
+    // Per-account balances of one loan, now or as of a point in time
+    public List<AccountBalance> loanBalances(Long loanId, LocalDateTime asOf) {
+        return balances("l.id = ?", loanId, asOf);
+    }
+
+    // Per-account balances summed over all of a user's loans
+    public List<AccountBalance> userBalances(Long userId, LocalDateTime asOf) {
+        return balances("l.user_id = ?", userId, asOf);
+    }
+
+    /*
+     * For each loan: the latest snapshot at or before asOf, plus its postings
+     * up to asOf. With asOf set, the tail also stops at the next snapshot, so
+     * it never runs past ledger.snapshot-every entries.
+     */
+    private List<AccountBalance> balances(String loanFilter, Long id, LocalDateTime asOf) {
+        List<Object> args = new ArrayList<>();
+        String snapshotFilter = "";
+        String nextSnapshot = "";
+        String tailFilter = "";
+        if (asOf != null) {
+            snapshotFilter = "AND as_of <= ? ";
+            args.add(asOf);
+            nextSnapshot = """
+                    LEFT JOIN LATERAL (
+                        SELECT entry_seq FROM ledger_snapshots
+                        WHERE loan_id = l.id AND as_of > ? ORDER BY as_of, entry_seq LIMIT 1) n ON true""";
+            args.add(asOf);
+            tailFilter = "AND (n.entry_seq IS NULL OR entry_seq <= n.entry_seq) AND posted_at <= ?";
+            args.add(asOf);
+        }
+        args.add(id);
+        return jdbcTemplate.query("""
+                SELECT p.account, sum(p.amount), max(p.entry_seq)
+                FROM loans l
+                LEFT JOIN LATERAL (
+                    SELECT entry_seq FROM ledger_snapshots
+                    WHERE loan_id = l.id %s
+                    ORDER BY as_of DESC, entry_seq DESC LIMIT 1) s ON true
+                %s
+                CROSS JOIN LATERAL (
+                    SELECT account, balance AS amount, entry_seq FROM ledger_snapshots
+                    WHERE loan_id = l.id AND entry_seq = s.entry_seq
+                    UNION ALL
+                    SELECT account, amount, entry_seq FROM ledger_postings
+                    WHERE loan_id = l.id AND entry_seq > coalesce(s.entry_seq, 0) %s) p
+                WHERE %s
+                GROUP BY p.account
+                ORDER BY p.account""".formatted(snapshotFilter, nextSnapshot, tailFilter, loanFilter),
+                (rs, rowNum) -> new AccountBalance(rs.getString(1), rs.getBigDecimal(2), rs.getInt(3)),
+                args.toArray());
+    }
+
+    // Entries of one loan in order, one keyset page at a time
+    public List<LedgerPostingDTO> findPostings(Long loanId, int afterEntrySeq, int limit) {
+        return jdbcTemplate.query("""
+                SELECT loan_id, entry_seq, account, amount, user_id, entry_type, transaction_id, posted_at
+                FROM ledger_postings
+                WHERE loan_id = ? AND entry_seq > ?
+                ORDER BY entry_seq, account
+                LIMIT ?""",
+                (rs, rowNum) -> new LedgerPostingDTO(rs.getLong(1), rs.getInt(2), rs.getString(3),
+                        rs.getBigDecimal(4), rs.getLong(5), rs.getString(6), (Long) rs.getObject(7),
+                        toLocalDateTime(rs.getTimestamp(8))),
+                loanId, afterEntrySeq, limit);
+    }
+
+    public int countEntries(Long loanId) {
+        Integer entries = jdbcTemplate.queryForObject("SELECT ledger_entries FROM loans WHERE id = ?",
+                Integer.class, loanId);
+        return entries == null ? 0 : entries;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
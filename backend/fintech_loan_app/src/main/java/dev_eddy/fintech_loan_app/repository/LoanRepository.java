@@ -1,14 +1,92 @@
 package dev_eddy.fintech_loan_app.repository;
+import dev_eddy.fintech_loan_app.dtos.LoanDTO;
 import dev_eddy.fintech_loan_app.entity.Loan;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LoanRepository extends JpaRepository<Loan, Long> {
+    // Columns of LoanDTO; l.user.id reads the user_id FK without joining users
+    String DTO_SELECT = "SELECT new dev_eddy.fintech_loan_app.dtos.LoanDTO(" +
+            "l.id, l.user.id, l.amount, l.tenure, l.interestRate, l.status, l.appliedAt, l.approvedAt, " +
+            "l.repaidAt, l.nextPaymentDate, l.remainingBalance, l.monthlyPayment, l.purpose, " +
+            "l.accruedInterest, l.missedPayments, l.createdAt, l.updatedAt) FROM Loan l ";
+
     // You can add custom query methods if needed
     List<Loan> findByUserId(Long userId);
 
     List<Loan> findByStatus(String status);
+
+    // Newest first; a fixed order keeps the response, and so its ETag, stable while nothing changes
+    @Query(DTO_SELECT + "WHERE l.user.id = :userId ORDER BY l.createdAt DESC, l.id DESC")
+    List<LoanDTO> findDTOsByUserId(@Param("userId") Long userId);
+
+    @Query(DTO_SELECT + "WHERE l.id IN :ids ORDER BY l.createdAt, l.id")
+    List<LoanDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // One row per status: [status, count, sum(amount)]
+    @Query("SELECT l.status, COUNT(l), COALESCE(SUM(l.amount), 0) FROM Loan l GROUP BY l.status")
+    List<Object[]> summarizeByStatus();
+
+    // Single row: [min(id), max(id)] over loans in the given statuses
+    @Query("SELECT MIN(l.id), MAX(l.id) FROM Loan l WHERE l.status IN :statuses")
+    List<Object[]> findIdRange(@Param("statuses") Collection<String> statuses);
+
+    // Locks the rows until the chunk commits, so a repayment racing the accrual waits and then retries
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Loan l WHERE l.status IN :statuses AND l.id > :afterId AND l.id <= :toId ORDER BY l.id")
+    List<Loan> findChunk(@Param("statuses") Collection<String> statuses,
+                         @Param("afterId") Long afterId,
+                         @Param("toId") Long toId,
+                         Pageable pageable);
+
+    // Locks the row until the caller's transaction commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Loan l WHERE l.id = :id")
+    Optional<Loan> findByIdForUpdate(@Param("id") Long id);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT l FROM Loan l ORDER BY l.id")
+    Stream<Loan> streamAll();
+
+    // Keyset pages ordered newest first. The first page has its own statement: a "cursor IS NULL OR ..."
+    // catch-all leaves the planner no range on (created_at, id) to start the index scan from
+    @Query(DTO_SELECT +
+           "WHERE (:status IS NULL OR l.status = :status) " +
+           "AND (:userId IS NULL OR l.user.id = :userId) " +
+           "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LoanDTO> findFirstPage(@Param("status") String status,
+                                @Param("userId") Long userId,
+                                Pageable pageable);
+
+    // The row comparison is what Postgres matches against the (created_at, id) index
+    @Query(DTO_SELECT +
+           "WHERE (:status IS NULL OR l.status = :status) " +
+           "AND (:userId IS NULL OR l.user.id = :userId) " +
+           "AND (l.createdAt, l.id) < (:cursorCreatedAt, :cursorId) " +
+           "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LoanDTO> findPageAfter(@Param("status") String status,
+                                @Param("userId") Long userId,
+                                @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                @Param("cursorId") Long cursorId,
+                                Pageable pageable);
 }
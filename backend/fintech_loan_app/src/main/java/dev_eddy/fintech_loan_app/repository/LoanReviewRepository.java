@@ -0,0 +1,99 @@
+package dev_eddy.fintech_loan_app.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Review-queue leases on PENDING loans (review_claimed_by, review_lease_until).
+ *
+ * Claiming locks the next loans with FOR UPDATE SKIP LOCKED, so concurrent
+ * reviewers each take a different batch without waiting on one another. All
+ * lease times come from the database clock, so instances with skewed clocks
+ * still agree on when a claim has expired.
+ */
+@Repository
+public class LoanReviewRepository {
+
+    public record Claim(Long loanId, LocalDateTime leaseUntil) {
+    }
+
+    // outstanding is the remaining balance, or the principal if none
+    public record Decision(Long userId, Double amount, Double outstanding) {
+    }
+
+    public record QueueStats(long available, long claimed, long abandoned, Long oldestPendingSeconds,
+                             Long oldestAvailableSeconds) {
+    }
+
+    // Unclaimed, or the owner let the lease run out
+    private static final String AVAILABLE = "(review_lease_until IS NULL OR review_lease_until <= now())";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LoanReviewRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Oldest applications first; rows another reviewer is claiming right now are skipped, not waited on
+    public List<Claim> claim(Long reviewerId, int size, long leaseSeconds) {
+        return jdbcTemplate.query("""
+                WITH next AS (
+                    SELECT id FROM loans
+                    WHERE status = 'PENDING' AND %s
+                    ORDER BY created_at, id
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED)
+                UPDATE loans l
+                SET review_claimed_by = ?, review_lease_until = now() + make_interval(secs => ?)
+                FROM next WHERE l.id = next.id
+                RETURNING l.id, l.review_lease_until""".formatted(AVAILABLE),
+                (rs, rowNum) -> new Claim(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime()),
+                size, reviewerId, leaseSeconds);
+    }
+
+    // Applies the decision only while the reviewer still holds an unexpired lease
+    public Optional<Decision> decide(Long loanId, Long reviewerId, String status) {
+        List<Decision> rows = jdbcTemplate.query("""
+                UPDATE loans
+                SET status = ?, review_claimed_by = NULL, review_lease_until = NULL,
+                    approved_at = CASE WHEN ? = 'APPROVED' THEN now() ELSE approved_at END,
+                    version = version + 1, updated_at = now()
+                WHERE id = ? AND status = 'PENDING' AND review_claimed_by = ? AND review_lease_until > now()
+                RETURNING user_id, amount, coalesce(remaining_balance, amount)""",
+                (rs, rowNum) -> new Decision(rs.getLong(1), rs.getDouble(2), rs.getDouble(3)),
+                status, status, loanId, reviewerId);
+        return rows.stream().findFirst();
+    }
+
+    public boolean release(Long loanId, Long reviewerId) {
+        return jdbcTemplate.update("""
+                UPDATE loans SET review_claimed_by = NULL, review_lease_until = NULL
+                WHERE id = ? AND status = 'PENDING' AND review_claimed_by = ? AND review_lease_until > now()""",
+                loanId, reviewerId) == 1;
+    }
+
+    public Optional<LocalDateTime> renew(Long loanId, Long reviewerId, long leaseSeconds) {
+        List<Timestamp> rows = jdbcTemplate.queryForList("""
+                UPDATE loans SET review_lease_until = now() + make_interval(secs => ?)
+                WHERE id = ? AND status = 'PENDING' AND review_claimed_by = ? AND review_lease_until > now()
+                RETURNING review_lease_until""", Timestamp.class, leaseSeconds, loanId, reviewerId);
+        return rows.stream().findFirst().map(Timestamp::toLocalDateTime);
+    }
+
+    public QueueStats stats() {
+        return jdbcTemplate.queryForObject("""
+                SELECT count(*) FILTER (WHERE %1$s),
+                       count(*) FILTER (WHERE review_lease_until > now()),
+                       count(*) FILTER (WHERE review_claimed_by IS NOT NULL AND review_lease_until <= now()),
+                       extract(epoch FROM now() - min(created_at))::bigint,
+                       extract(epoch FROM now() - min(created_at) FILTER (WHERE %1$s))::bigint
+                FROM loans WHERE status = 'PENDING'""".formatted(AVAILABLE),
+                (rs, rowNum) -> new QueueStats(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                        (Long) rs.getObject(4), (Long) rs.getObject(5)));
+    }
+}
@@ -0,0 +1,128 @@
+package dev_eddy.fintech_loan_app.repository;
+
+import dev_eddy.fintech_loan_app.dtos.OutboxStatsDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The outbox_events table. Events are appended by writers in their own
+ * transaction and drained in id order by OutboxDispatcher.
+ */
+@Repository
+public class OutboxRepository {
+
+    // pg_try_advisory_xact_lock key held by whichever instance is dispatching
+    private static final long DISPATCH_LOCK = 0x6f7574626f78L;
+
+    public record NewEvent(String type, Long loanId, Long userId, String payload) {
+    }
+
+    public record PendingEvent(Long id, String type, Long loanId, Long userId, LocalDateTime createdAt,
+                               String payload, int attempts, long ageMillis) {
+    }
+
+    public record Failure(Long id, String error) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Appends events in one statement. The loans they refer to are locked
+     * first (in id order, and without blocking inserts that only reference
+     * them), so a later writer to the same loan gets a higher id only after
+     * this transaction commits.
+     */
+    public void append(List<NewEvent> events) {
+        Long[] loanIds = events.stream().map(NewEvent::loanId).filter(Objects::nonNull).distinct().sorted()
+                .toArray(Long[]::new);
+        if (loanIds.length > 0) {
+            jdbcTemplate.queryForList("SELECT id FROM loans WHERE id = ANY(?::bigint[]) ORDER BY id FOR NO KEY UPDATE",
+                    Long.class, (Object) loanIds);
+        }
+        jdbcTemplate.update("""
+                INSERT INTO outbox_events (event_type, loan_id, user_id, payload)
+                SELECT type, loan_id, user_id, payload::jsonb
+                FROM unnest(?::varchar[], ?::bigint[], ?::bigint[], ?::text[]) WITH ORDINALITY
+                    AS e(type, loan_id, user_id, payload, n)
+                ORDER BY n""",
+                events.stream().map(NewEvent::type).toArray(String[]::new),
+                events.stream().map(NewEvent::loanId).toArray(Long[]::new),
+                events.stream().map(NewEvent::userId).toArray(Long[]::new),
+                events.stream().map(NewEvent::payload).toArray(String[]::new));
+    }
+
+    // Only one dispatcher across all instances; released when the transaction ends
+    public boolean tryLockDispatch() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)",
+                Boolean.class, DISPATCH_LOCK));
+    }
+
+    /**
+     * The next pending events in id order, leaving out any event whose loan
+     * has an earlier event (or itself) still backing off after a failure.
+     */
+    public List<PendingEvent> findDispatchable(int limit) {
+        return jdbcTemplate.query("""
+                SELECT e.id, e.event_type, e.loan_id, e.user_id, e.created_at, e.payload::text, e.attempts,
+                       (extract(epoch FROM clock_timestamp() - e.created_at) * 1000)::bigint
+                FROM outbox_events e
+                WHERE e.status = 'PENDING' AND e.next_attempt_at <= now()
+                  AND NOT EXISTS (
+                      SELECT 1 FROM outbox_events b
+                      WHERE b.status = 'PENDING' AND b.loan_id = e.loan_id AND b.id < e.id
+                        AND b.next_attempt_at > now())
+                ORDER BY e.id
+                LIMIT ?""",
+                (rs, rowNum) -> new PendingEvent(rs.getLong(1), rs.getString(2), (Long) rs.getObject(3),
+                        rs.getLong(4), toLocalDateTime(rs.getTimestamp(5)), rs.getString(6), rs.getInt(7),
+                        rs.getLong(8)),
+                limit);
+    }
+
+    public int deleteDelivered(Long[] ids) {
+        return jdbcTemplate.update("DELETE FROM outbox_events WHERE id = ANY(?::bigint[])", (Object) ids);
+    }
+
+    // Backs each event off exponentially (capped), or marks it DEAD after maxAttempts
+    public int recordFailures(List<Failure> failures, int maxAttempts, int maxBackoffSeconds) {
+        return jdbcTemplate.update("""
+                UPDATE outbox_events o SET
+                    attempts = o.attempts + 1,
+                    last_error = f.error,
+                    next_attempt_at = now() + least(power(2, o.attempts), ?) * interval '1 second',
+                    status = CASE WHEN o.attempts + 1 >= ? THEN 'DEAD' ELSE o.status END
+                FROM unnest(?::bigint[], ?::text[]) AS f(id, error)
+                WHERE o.id = f.id""",
+                maxBackoffSeconds, maxAttempts,
+                failures.stream().map(Failure::id).toArray(Long[]::new),
+                failures.stream().map(Failure::error).toArray(String[]::new));
+    }
+
+    public OutboxStatsDTO stats() {
+        return jdbcTemplate.queryForObject("""
+                SELECT count(*) FILTER (WHERE status = 'PENDING'),
+                       count(*) FILTER (WHERE status = 'DEAD'),
+                       extract(epoch FROM now() - min(created_at) FILTER (WHERE status = 'PENDING'))::bigint
+                FROM outbox_events""",
+                (rs, rowNum) -> {
+                    OutboxStatsDTO stats = new OutboxStatsDTO();
+                    stats.setPending(rs.getLong(1));
+                    stats.setDead(rs.getLong(2));
+                    stats.setOldestPendingAgeSeconds((Long) rs.getObject(3));
+                    return stats;
+                });
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,88 @@
+package dev_eddy.fintech_loan_app.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * updated_at of single rows, and count, sum and max of updated_at over a
+ * user's rows, read without loading the rows themselves. The per-user
+ * aggregates are index-only scans of the (user_id, updated_at) indexes.
+ */
+@Repository
+public class ResourceVersionRepository {
+
+    // stampSum is in epoch microseconds, reduced to 64 bits the way Java long addition wraps
+    public record Aggregate(long count, long stampSum, LocalDateTime maxUpdatedAt) {
+    }
+
+    // Exact: extract() yields numeric, and the sum of numerics cannot overflow
+    private static final String STAMP_SUM = "sum(extract(epoch FROM updated_at) * 1000000)";
+
+    private static final RowMapper<Aggregate> AGGREGATE_MAPPER = (rs, rowNum) -> {
+        BigDecimal stampSum = rs.getBigDecimal(2);
+        return new Aggregate(rs.getLong(1), stampSum == null ? 0 : stampSum.toBigInteger().longValue(),
+                toLocalDateTime(rs.getTimestamp(3)));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ResourceVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Empty when the row does not exist or was never stamped
+    public Optional<LocalDateTime> findLoanUpdatedAt(Long id) {
+        return findUpdatedAt("SELECT updated_at FROM loans WHERE id = ?", id);
+    }
+
+    public Optional<LocalDateTime> findUserUpdatedAt(Long id) {
+        return findUpdatedAt("SELECT updated_at FROM users WHERE id = ?", id);
+    }
+
+    // Hot table first, like TransactionService.getTransactionById
+    public Optional<LocalDateTime> findTransactionUpdatedAt(Long id) {
+        return findUpdatedAt("""
+                (SELECT updated_at, 0 AS source FROM transactions WHERE id = ?
+                 UNION ALL
+                 SELECT updated_at, 1 FROM transactions_archive WHERE id = ?)
+                ORDER BY source LIMIT 1""", id, id);
+    }
+
+    public Aggregate userLoans(Long userId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*), " + STAMP_SUM + ", max(updated_at) FROM loans WHERE user_id = ?",
+                AGGREGATE_MAPPER, userId);
+    }
+
+    public Aggregate userTransactions(Long userId, boolean includeArchived) {
+        if (!includeArchived) {
+            return jdbcTemplate.queryForObject(
+                    "SELECT count(*), " + STAMP_SUM + ", max(updated_at) FROM transactions WHERE user_id = ?",
+                    AGGREGATE_MAPPER, userId);
+        }
+        return jdbcTemplate.queryForObject("""
+                SELECT sum(n), sum(stamp_sum), max(last_updated) FROM (
+                    SELECT count(*) AS n, %1$s AS stamp_sum, max(updated_at) AS last_updated
+                    FROM transactions WHERE user_id = ?
+                    UNION ALL
+                    SELECT count(*), %1$s, max(updated_at) FROM transactions_archive WHERE user_id = ?) x"""
+                        .formatted(STAMP_SUM),
+                AGGREGATE_MAPPER, userId, userId);
+    }
+
+    private Optional<LocalDateTime> findUpdatedAt(String sql, Object... args) {
+        return jdbcTemplate.query(sql, (rs, rowNum) -> toLocalDateTime(rs.getTimestamp(1)), args)
+                .stream().filter(Objects::nonNull).findFirst();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,108 @@
+package dev_eddy.fintech_loan_app.repository;
+
+import dev_eddy.fintech_loan_app.dtos.TransactionDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Monthly partitions of transactions and the transactions_archive table that
+ * settled history is moved into. Partition DDL and the move are Postgres
+ * specific, so this is plain JDBC rather than part of TransactionRepository.
+ */
+@Repository
+public class TransactionArchiveRepository {
+
+    // Statuses that can no longer change and are safe to archive
+    private static final String SETTLED = "('COMPLETED', 'FAILED')";
+
+    private static final String COLUMNS =
+            "id, user_id, loan_id, transactionType, amount, interest_amount, principal_amount, transactionDate, "
+            + "status, created_at, updated_at";
+
+    private static final RowMapper<TransactionDTO> DTO_MAPPER = (rs, rowNum) -> new TransactionDTO(
+            rs.getLong(1), rs.getLong(2), (Long) rs.getObject(3), rs.getString(4), (Double) rs.getObject(5),
+            (Double) rs.getObject(6), (Double) rs.getObject(7), toLocalDateTime(rs.getTimestamp(8)),
+            rs.getString(9), toLocalDateTime(rs.getTimestamp(10)), toLocalDateTime(rs.getTimestamp(11)));
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionArchiveRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Creates the partition for the month containing the date unless it exists; returns its name
+    public String createPartition(LocalDate month) {
+        return jdbcTemplate.queryForObject("SELECT create_transaction_partition(?)", String.class, month);
+    }
+
+    // Monthly partitions whose whole range lies before the given month, oldest first
+    public List<String> findPartitionsBefore(LocalDate month) {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'transactions'::regclass
+                  AND c.relname ~ '^transactions_p[0-9]{6}$' AND c.relname < ?
+                ORDER BY c.relname""", String.class, "transactions_p" + month.format(PARTITION_SUFFIX));
+    }
+
+    /**
+     * Drops a partition if it holds no rows. Must run inside a transaction:
+     * the exclusive lock keeps a late insert from landing between the check
+     * and the drop.
+     */
+    public boolean dropIfEmpty(String partition) {
+        String table = "\"" + partition + "\"";
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+        jdbcTemplate.execute("LOCK TABLE " + table + " IN ACCESS EXCLUSIVE MODE");
+        Boolean empty = jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM " + table + ")", Boolean.class);
+        if (!Boolean.TRUE.equals(empty)) {
+            return false;
+        }
+        jdbcTemplate.execute("DROP TABLE " + table);
+        return true;
+    }
+
+    /**
+     * Moves up to limit settled transactions dated before the horizon into the
+     * archive in one statement. Rows locked by a concurrent writer are skipped
+     * and picked up by a later batch.
+     */
+    public int archiveBatch(LocalDateTime horizon, int limit) {
+        return jdbcTemplate.update("""
+                WITH moved AS (
+                    DELETE FROM transactions t
+                    WHERE t.transactionDate < ? AND (t.id, t.transactionDate) IN (
+                        SELECT id, transactionDate FROM transactions
+                        WHERE transactionDate < ? AND status IN %s
+                        LIMIT ?
+                        FOR UPDATE SKIP LOCKED)
+                    RETURNING t.*)
+                INSERT INTO transactions_archive (%s)
+                SELECT %s FROM moved""".formatted(SETTLED, COLUMNS, COLUMNS),
+                horizon, horizon, limit);
+    }
+
+    // Newest first, served by idx_transactions_archive_user_date
+    public List<TransactionDTO> findDTOsByUserId(Long userId) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM transactions_archive WHERE user_id = ?"
+                + " ORDER BY transactionDate DESC, id DESC", DTO_MAPPER, userId);
+    }
+
+    public Optional<TransactionDTO> findDTOById(Long id) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM transactions_archive WHERE id = ?", DTO_MAPPER, id)
+                .stream().findFirst();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
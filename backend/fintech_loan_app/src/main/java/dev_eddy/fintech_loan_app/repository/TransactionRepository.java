@@ -1,16 +1,66 @@
 package dev_eddy.fintech_loan_app.repository;
 
+import dev_eddy.fintech_loan_app.dtos.TransactionDTO;
 import dev_eddy.fintech_loan_app.entity.Transaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+    // Columns of TransactionDTO; the FK paths read user_id/loan_id without joins
+    String DTO_SELECT = "SELECT new dev_eddy.fintech_loan_app.dtos.TransactionDTO(" +
+            "t.id, t.user.id, t.loan.id, t.transactionType, t.amount, t.interestAmount, t.principalAmount, " +
+            "t.transactionDate, t.status, " +
+            "t.createdAt, t.updatedAt) FROM Transaction t ";
+
     // You can add custom query methods if needed
     List<Transaction> findByUserId(Long userId);
 
     List<Transaction> findByStatus(String status);
 
+    // Newest first, served by the (user_id, transactionDate) index; id breaks ties so the order is stable
+    @Query(DTO_SELECT + "WHERE t.user.id = :userId ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionDTO> findDTOsByUserId(@Param("userId") Long userId);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Transaction t ORDER BY t.id")
+    Stream<Transaction> streamAll();
+
+    // Keyset pages ordered newest first. The first page has its own statement: a "cursor IS NULL OR ..."
+    // catch-all leaves the planner no range on (created_at, id) to start the index scan from
+    @Query(DTO_SELECT +
+           "WHERE (:status IS NULL OR t.status = :status) " +
+           "AND (:userId IS NULL OR t.user.id = :userId) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionDTO> findFirstPage(@Param("status") String status,
+                                       @Param("userId") Long userId,
+                                       Pageable pageable);
+
+    // The row comparison is what Postgres matches against the (created_at, id) index
+    @Query(DTO_SELECT +
+           "WHERE (:status IS NULL OR t.status = :status) " +
+           "AND (:userId IS NULL OR t.user.id = :userId) " +
+           "AND (t.createdAt, t.id) < (:cursorCreatedAt, :cursorId) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionDTO> findPageAfter(@Param("status") String status,
+                                       @Param("userId") Long userId,
+                                       @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable pageable);
+
 }
@@ -0,0 +1,167 @@
+package dev_eddy.fintech_loan_app.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The user_overviews read model. Plain JDBC rather than an entity: writes
+ * apply their deltas and a reconcile recomputes rows over loans and
+ * transactions, set-based, in one statement per step without loading any
+ * rows into the session.
+ */
+@Repository
+public class UserOverviewRepository {
+
+    public record StoredOverview(int activeLoans, double outstandingBalance, LocalDateTime nextDueDate,
+                                 Double nextDueAmount, double lifetimeRepaid, String recentTransactions,
+                                 LocalDateTime updatedAt) {
+    }
+
+    // Earliest upcoming due date over the user's live loans and what falls due then
+    private static final String NEXT_DUE = """
+            LEFT JOIN LATERAL (
+                SELECT coalesce(next_payment_date, coalesce(approved_at, applied_at) + interval '1 month') AS due_date,
+                       sum(least(monthly_payment, coalesce(remaining_balance, amount))) AS due_amount
+                FROM loans
+                WHERE user_id = u.id AND status IN ('APPROVED', 'ACTIVE', 'OVERDUE')
+                GROUP BY 1 ORDER BY 1 LIMIT 1) d ON true""";
+
+    private static final String RECENT = """
+            CROSS JOIN LATERAL (
+                SELECT coalesce(json_agg(json_build_object(
+                           'id', x.id, 'userId', x.user_id, 'loanId', x.loan_id,
+                           'transactionType', x.transactionType, 'amount', x.amount,
+                           'interestAmount', x.interest_amount, 'principalAmount', x.principal_amount,
+                           'transactionDate', x.transactionDate, 'status', x.status,
+                           'createdAt', x.created_at, 'updatedAt', x.updated_at)
+                           ORDER BY x.transactionDate DESC, x.id DESC), '[]')::text AS recent
+                FROM (SELECT * FROM transactions WHERE user_id = u.id
+                      ORDER BY transactionDate DESC, id DESC LIMIT ?) x) t""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserOverviewRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<StoredOverview> find(Long userId) {
+        List<StoredOverview> rows = jdbcTemplate.query("""
+                SELECT active_loans, outstanding_balance, next_due_date, next_due_amount, lifetime_repaid,
+                       recent_transactions, updated_at
+                FROM user_overviews WHERE user_id = ?""",
+                (rs, rowNum) -> new StoredOverview(rs.getInt(1), rs.getDouble(2), toLocalDateTime(rs.getTimestamp(3)),
+                        (Double) rs.getObject(4), rs.getDouble(5), rs.getString(6),
+                        rs.getTimestamp(7).toLocalDateTime()),
+                userId);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Applies one transaction's changes to the rows of the given users: the
+     * counters move by the given deltas, while the next due date and the
+     * recent list, both short index reads, are read afresh. Must run inside
+     * the writing transaction, after its changes are flushed.
+     *
+     * Rows are locked in id order first. A user without a row gets one
+     * recomputed in full instead, which already includes this transaction's
+     * changes, so its deltas are not added on top.
+     */
+    public void applyDeltas(Long[] userIds, int[] activeLoans, double[] outstandingBalance, double[] lifetimeRepaid,
+                            int recentLimit) {
+        List<Long> created = jdbcTemplate.queryForList("""
+                INSERT INTO user_overviews (user_id)
+                SELECT id FROM unnest(?::bigint[]) AS u(id) ORDER BY id
+                ON CONFLICT (user_id) DO NOTHING
+                RETURNING user_id""", Long.class, (Object) userIds);
+        lock(userIds);
+        if (!created.isEmpty()) {
+            recomputeLocked(created.toArray(Long[]::new), recentLimit);
+        }
+        jdbcTemplate.update("""
+                UPDATE user_overviews o
+                SET active_loans = o.active_loans + u.active_loans,
+                    outstanding_balance = o.outstanding_balance + u.outstanding_balance,
+                    next_due_date = d.due_date,
+                    next_due_amount = d.due_amount,
+                    lifetime_repaid = o.lifetime_repaid + u.lifetime_repaid,
+                    recent_transactions = t.recent,
+                    updated_at = now()
+                FROM unnest(?::bigint[], ?::integer[], ?::double precision[], ?::double precision[])
+                    AS u(id, active_loans, outstanding_balance, lifetime_repaid)
+                %s
+                %s
+                WHERE o.user_id = u.id AND NOT (u.id = ANY(?::bigint[]))""".formatted(NEXT_DUE, RECENT),
+                userIds, activeLoans, outstandingBalance, lifetimeRepaid, recentLimit,
+                created.toArray(Long[]::new));
+    }
+
+    /**
+     * Recomputes the rows of the given users from the full loan and
+     * transaction history, archive included. Used to build a missing row and
+     * by the reconcile job; writes go through applyDeltas.
+     *
+     * The rows are locked first, in id order, and recomputed by a later
+     * statement: under READ COMMITTED that statement sees every transaction
+     * that held the lock before us, and writers queued behind the lock apply
+     * their deltas to the recomputed value.
+     */
+    public void recompute(Long[] userIds, int recentLimit) {
+        jdbcTemplate.update("""
+                INSERT INTO user_overviews (user_id)
+                SELECT id FROM unnest(?::bigint[]) AS u(id) ORDER BY id
+                ON CONFLICT (user_id) DO NOTHING""", (Object) userIds);
+        lock(userIds);
+        recomputeLocked(userIds, recentLimit);
+    }
+
+    // Users that have a summary row, in id order, one keyset page at a time
+    public List<Long> findUserIds(long afterId, int limit) {
+        return jdbcTemplate.queryForList("SELECT user_id FROM user_overviews WHERE user_id > ? ORDER BY user_id LIMIT ?",
+                Long.class, afterId, limit);
+    }
+
+    private void lock(Long[] userIds) {
+        jdbcTemplate.query("""
+                SELECT user_id FROM user_overviews WHERE user_id = ANY(?::bigint[])
+                ORDER BY user_id FOR UPDATE""", rs -> { }, (Object) userIds);
+    }
+
+    private void recomputeLocked(Long[] userIds, int recentLimit) {
+        jdbcTemplate.update("""
+                UPDATE user_overviews o
+                SET active_loans = l.active_loans,
+                    outstanding_balance = l.outstanding_balance,
+                    next_due_date = d.due_date,
+                    next_due_amount = d.due_amount,
+                    lifetime_repaid = r.lifetime_repaid,
+                    recent_transactions = t.recent,
+                    updated_at = now()
+                FROM unnest(?::bigint[]) AS u(id)
+                CROSS JOIN LATERAL (
+                    SELECT count(*) AS active_loans,
+                           coalesce(sum(coalesce(remaining_balance, amount)), 0) AS outstanding_balance
+                    FROM loans
+                    WHERE user_id = u.id AND status IN ('APPROVED', 'ACTIVE', 'OVERDUE')) l
+                %s
+                CROSS JOIN LATERAL (
+                    SELECT coalesce(sum(amount), 0) AS lifetime_repaid
+                    FROM (SELECT amount FROM transactions
+                          WHERE user_id = u.id AND status = 'COMPLETED'
+                            AND (transactionType = 'REPAYMENT' OR loan_id IS NOT NULL)
+                          UNION ALL
+                          SELECT amount FROM transactions_archive
+                          WHERE user_id = u.id AND status = 'COMPLETED'
+                            AND (transactionType = 'REPAYMENT' OR loan_id IS NOT NULL)) repaid) r
+                %s
+                WHERE o.user_id = u.id""".formatted(NEXT_DUE, RECENT), userIds, recentLimit);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
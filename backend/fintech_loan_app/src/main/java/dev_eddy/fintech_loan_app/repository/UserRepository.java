@@ -1,8 +1,14 @@
 package dev_eddy.fintech_loan_app.repository;
 
 import dev_eddy.fintech_loan_app.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -10,4 +16,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // Keyset pages ordered newest first; the first page has its own statement so neither needs a catch-all
+    @Query("SELECT u FROM User u ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findFirstPage(Pageable pageable);
+
+    @Query("SELECT u FROM User u " +
+           "WHERE (u.createdAt, u.id) < (:cursorCreatedAt, :cursorId) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findPageAfter(@Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                             @Param("cursorId") Long cursorId,
+                             Pageable pageable);
+}
@@ -0,0 +1,152 @@
+package dev_eddy.fintech_loan_app.services;
+
+import dev_eddy.fintech_loan_app.dtos.LoanScheduleDTO;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fixed-rate annuity maths for loans. Annuity factors depend only on the
+ * (annual rate, tenure) product, and the loan book shares a handful of those,
+ * so factors are computed once and reused for every loan on that product.
+ */
+@Service
+public class AmortizationService {
+
+    // Far more than the number of real products; guards against unbounded growth
+    private static final int MAX_CACHED_FACTORS = 4096;
+
+    private final Map<ProductKey, Double> annuityFactors = new ConcurrentHashMap<>();
+
+    private record ProductKey(double annualRate, int tenure) {
+    }
+
+    // Payment per unit of principal for the given annual rate (percent) and tenure (months)
+    public double annuityFactor(double annualRate, int tenure) {
+        ProductKey key = new ProductKey(annualRate, tenure);
+        Double cached = annuityFactors.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        double factor = computeAnnuityFactor(annualRate, tenure);
+        if (annuityFactors.size() < MAX_CACHED_FACTORS) {
+            annuityFactors.putIfAbsent(key, factor);
+        }
+        return factor;
+    }
+
+    public double monthlyPayment(double amount, double annualRate, int tenure) {
+        return amount * annuityFactor(annualRate, tenure);
+    }
+
+    // Outstanding principal the schedule expects once the given number of installments are paid
+    public double scheduledBalance(double amount, double annualRate, int tenure, int installmentsPaid) {
+        if (installmentsPaid >= tenure) {
+            return 0;
+        }
+        double monthlyRate = annualRate / 12 / 100;
+        if (monthlyRate == 0) {
+            return amount * (tenure - installmentsPaid) / tenure;
+        }
+        double growth = Math.pow(1 + monthlyRate, installmentsPaid);
+        return amount * growth - monthlyPayment(amount, annualRate, tenure) * (growth - 1) / monthlyRate;
+    }
+
+    // Number (from 1) of the installment due on the given date; due dates are firstDue plus whole months
+    public int installmentNumber(LocalDate firstDue, LocalDate due) {
+        long months = ChronoUnit.MONTHS.between(firstDue, due);
+        // MONTHS.between undercounts when the due month is shorter than firstDue's day (31 Jan -> 28 Feb)
+        if (!firstDue.plusMonths(months + 1).isAfter(due)) {
+            months++;
+        }
+        return (int) months + 1;
+    }
+
+    // Start of the installment period ending on the given due date: the previous due date, or the loan start
+    public LocalDate periodStart(LocalDate loanStart, LocalDate due) {
+        LocalDate firstDue = loanStart.plusMonths(1);
+        int installment = installmentNumber(firstDue, due);
+        return installment <= 1 ? loanStart : firstDue.plusMonths(installment - 2);
+    }
+
+    /**
+     * Interest a principal balance earns over the days (from, to] that fall
+     * inside the installment period (periodStart, periodEnd]. Each period earns
+     * the schedule's interest, balance times the monthly rate, spread evenly
+     * over its days, so accruing a whole period at an unchanged balance comes
+     * to exactly the installment's scheduled interest.
+     */
+    public double periodInterest(double balance, double annualRate, LocalDate periodStart, LocalDate periodEnd,
+                                 LocalDate from, LocalDate to) {
+        LocalDate start = from.isAfter(periodStart) ? from : periodStart;
+        LocalDate end = to.isBefore(periodEnd) ? to : periodEnd;
+        if (!end.isAfter(start)) {
+            return 0;
+        }
+        return balance * annualRate / 12 / 100
+                * ChronoUnit.DAYS.between(start, end) / ChronoUnit.DAYS.between(periodStart, periodEnd);
+    }
+
+    /**
+     * Builds the full schedule column-wise into primitive arrays. Each row is
+     * rounded to cents and the final installment absorbs the rounding residue
+     * so the closing balance is exactly zero.
+     */
+    public LoanScheduleDTO schedule(Long loanId, double amount, double annualRate, int tenure,
+                                    LocalDate firstDueDate, Double remainingBalance) {
+        double monthlyRate = annualRate / 12 / 100;
+        double payment = round(monthlyPayment(amount, annualRate, tenure));
+
+        double[] payments = new double[tenure];
+        double[] principal = new double[tenure];
+        double[] interest = new double[tenure];
+        double[] balance = new double[tenure];
+
+        double outstanding = amount;
+        double totalInterest = 0;
+        int paidInstallments = 0;
+        for (int i = 0; i < tenure; i++) {
+            interest[i] = round(outstanding * monthlyRate);
+            principal[i] = i == tenure - 1 ? round(outstanding) : round(payment - interest[i]);
+            payments[i] = round(principal[i] + interest[i]);
+            outstanding = round(outstanding - principal[i]);
+            balance[i] = outstanding;
+            totalInterest += interest[i];
+            // An installment counts as paid once the loan balance has come down to its closing balance
+            if (remainingBalance != null && remainingBalance <= balance[i] + 0.005) {
+                paidInstallments = i + 1;
+            }
+        }
+
+        LoanScheduleDTO dto = new LoanScheduleDTO();
+        dto.setLoanId(loanId);
+        dto.setAmount(amount);
+        dto.setInterestRate(annualRate);
+        dto.setTenure(tenure);
+        dto.setMonthlyPayment(payment);
+        dto.setTotalInterest(round(totalInterest));
+        dto.setFirstDueDate(firstDueDate);
+        dto.setPaidInstallments(paidInstallments);
+        dto.setPayments(payments);
+        dto.setPrincipal(principal);
+        dto.setInterest(interest);
+        dto.setBalance(balance);
+        return dto;
+    }
+
+    private static double computeAnnuityFactor(double annualRate, int tenure) {
+        double monthlyRate = annualRate / 12 / 100;
+        if (monthlyRate == 0) {
+            return 1.0 / tenure;
+        }
+        double growth = Math.pow(1 + monthlyRate, tenure);
+        return monthlyRate * growth / (growth - 1);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -1,43 +1,55 @@
 package dev_eddy.fintech_loan_app.services;
 
 import dev_eddy.fintech_loan_app.dtos.LoginDTO;
+import dev_eddy.fintech_loan_app.dtos.SessionDTO;
 import dev_eddy.fintech_loan_app.dtos.UserDTO;
-import dev_eddy.fintech_loan_app.entity.User;
-import dev_eddy.fintech_loan_app.repository.UserRepository;
 import dev_eddy.fintech_loan_app.exceptions.AuthenticationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AuthService {
-    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final SessionTokenService sessionTokenService;
 
     @Autowired
-    public AuthService(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public AuthService(UserCache userCache, SessionTokenService sessionTokenService) {
+        this.userCache = userCache;
+        this.sessionTokenService = sessionTokenService;
+    }
+
+    // Checks the credentials and starts a session carrying the user's id and roles
+    public SessionDTO login(LoginDTO loginDTO) {
+        UserDTO user = authenticate(loginDTO);
+        SessionTokenService.IssuedToken issued = sessionTokenService.issue(user.getId(), user.getRoles());
+        return new SessionDTO(issued.token(), issued.expiresAt(), user);
+    }
+
+    public void logout(SessionTokenService.SessionPrincipal principal) {
+        sessionTokenService.revoke(principal);
     }
 
     public UserDTO authenticate(LoginDTO loginDTO) {
-        User user = userRepository.findByEmail(loginDTO.getEmail())
+        UserCache.CachedUser user = userCache.findByEmail(loginDTO.getEmail())
                 .orElseThrow(() -> new AuthenticationException("Invalid email or password"));
 
         // In a real application, you should use password encoding
-        if (!user.getPassword().equals(loginDTO.getPassword())) {
+        if (!user.password().equals(loginDTO.getPassword())) {
             throw new AuthenticationException("Invalid email or password");
         }
 
         return convertToDTO(user);
     }
 
-    private UserDTO convertToDTO(User user) {
+    private UserDTO convertToDTO(UserCache.CachedUser user) {
         UserDTO dto = new UserDTO();
-        dto.setId(user.getId());
-        dto.setName(user.getName());
-        dto.setEmail(user.getEmail());
-        dto.setRoles(user.getRoles());
-        dto.setPhoneNumber(user.getPhoneNumber());
-        dto.setCreatedAt(user.getCreatedAt());
-        dto.setUpdatedAt(user.getUpdatedAt());
+        dto.setId(user.id());
+        dto.setName(user.name());
+        dto.setEmail(user.email());
+        dto.setRoles(user.roles());
+        dto.setPhoneNumber(user.phoneNumber());
+        dto.setCreatedAt(user.createdAt());
+        dto.setUpdatedAt(user.updatedAt());
         return dto;
     }
 }
\ No newline at end of file
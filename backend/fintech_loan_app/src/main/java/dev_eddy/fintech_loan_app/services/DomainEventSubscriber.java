@@ -0,0 +1,18 @@
+package dev_eddy.fintech_loan_app.services;
+
+import dev_eddy.fintech_loan_app.dtos.DomainEventDTO;
+
+/**
+ * An in-process consumer of outbox events. Every subscriber bean is called by
+ * OutboxDispatcher on its single dispatch thread, in id order, so the events
+ * of one loan arrive in the order they committed.
+ *
+ * Delivery is at-least-once: if any subscriber throws, the event is retried
+ * for all of them, and a crash before the batch commits redelivers it too.
+ * Subscribers should therefore be idempotent on the event id and return
+ * quickly, handing slow work off to their own threads.
+ */
+public interface DomainEventSubscriber {
+
+    void onEvent(DomainEventDTO event);
+}
@@ -0,0 +1,170 @@
+package dev_eddy.fintech_loan_app.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import dev_eddy.fintech_loan_app.dtos.LoanDTO;
+import dev_eddy.fintech_loan_app.dtos.TransactionDTO;
+import dev_eddy.fintech_loan_app.entity.Loan;
+import dev_eddy.fintech_loan_app.entity.Transaction;
+import dev_eddy.fintech_loan_app.mappers.LoanMapper;
+import dev_eddy.fintech_loan_app.mappers.TransactionMapper;
+import dev_eddy.fintech_loan_app.repository.LoanRepository;
+import dev_eddy.fintech_loan_app.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables to an HTTP response as NDJSON or CSV. Rows are read
+ * through a forward-only cursor and evicted from the persistence context as
+ * soon as they are written, so heap use does not grow with the table.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    // Rows written between flushes / persistence context clears
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String TRANSACTION_CSV_HEADER =
+            "id,userId,loanId,transactionType,amount,transactionDate,status,createdAt,updatedAt";
+    private static final String LOAN_CSV_HEADER =
+            "id,userId,amount,tenure,interestRate,status,appliedAt,approvedAt,repaidAt,"
+            + "nextPaymentDate,remainingBalance,monthlyPayment,purpose,accruedInterest,missedPayments,"
+            + "createdAt,updatedAt";
+
+    private final TransactionRepository transactionRepository;
+    private final LoanRepository loanRepository;
+    private final TransactionMapper transactionMapper;
+    private final LoanMapper loanMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public ExportService(TransactionRepository transactionRepository,
+            LoanRepository loanRepository,
+            TransactionMapper transactionMapper,
+            LoanMapper loanMapper,
+            ObjectMapper objectMapper,
+            EntityManager entityManager) {
+        this.transactionRepository = transactionRepository;
+        this.loanRepository = loanRepository;
+        this.transactionMapper = transactionMapper;
+        this.loanMapper = loanMapper;
+        this.objectMapper = objectMapper.copy().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.entityManager = entityManager;
+    }
+
+    public void exportTransactions(OutputStream out, Format format) throws IOException {
+        try (Stream<Transaction> rows = transactionRepository.streamAll()) {
+            if (format == Format.CSV) {
+                writeCsv(rows, out, TRANSACTION_CSV_HEADER, t -> transactionCsvRow(transactionMapper.toDTO(t)));
+            } else {
+                writeNdjson(rows, out, transactionMapper::toDTO);
+            }
+        }
+    }
+
+    public void exportLoans(OutputStream out, Format format) throws IOException {
+        try (Stream<Loan> rows = loanRepository.streamAll()) {
+            if (format == Format.CSV) {
+                writeCsv(rows, out, LOAN_CSV_HEADER, l -> loanCsvRow(loanMapper.toDTO(l)));
+            } else {
+                writeNdjson(rows, out, loanMapper::toDTO);
+            }
+        }
+    }
+
+    private <E> void writeNdjson(Stream<E> rows, OutputStream out, Function<E, ?> mapper) throws IOException {
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            Iterator<E> iterator = rows.iterator();
+            long written = 0;
+            while (iterator.hasNext()) {
+                E row = iterator.next();
+                writer.write(mapper.apply(row));
+                evict(row, ++written);
+                if (shouldFlush(written)) {
+                    writer.flush();
+                }
+            }
+            // SequenceWriter only separates values, so terminate the last line too; an empty export stays empty
+            writer.flush();
+            if (written > 0) {
+                out.write('\n');
+            }
+        }
+        out.flush();
+    }
+
+    private <E> void writeCsv(Stream<E> rows, OutputStream out, String header,
+            Function<E, String> toRow) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(header);
+        writer.write('\n');
+        writer.flush();
+        Iterator<E> iterator = rows.iterator();
+        long written = 0;
+        while (iterator.hasNext()) {
+            E row = iterator.next();
+            writer.write(toRow.apply(row));
+            writer.write('\n');
+            evict(row, ++written);
+            if (shouldFlush(written)) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    // Push the first row out immediately, then once per chunk
+    private static boolean shouldFlush(long written) {
+        return written == 1 || written % CHUNK_SIZE == 0;
+    }
+
+    // Detach each row, and periodically drop the users pulled in alongside them
+    private void evict(Object row, long written) {
+        entityManager.detach(row);
+        if (written % CHUNK_SIZE == 0) {
+            entityManager.clear();
+        }
+    }
+
+    private static String transactionCsvRow(TransactionDTO t) {
+        return String.join(",",
+                csv(t.getId()), csv(t.getUserId()), csv(t.getLoanId()), csv(t.getTransactionType()), csv(t.getAmount()),
+                csv(t.getTransactionDate()), csv(t.getStatus()), csv(t.getCreatedAt()), csv(t.getUpdatedAt()));
+    }
+
+    private static String loanCsvRow(LoanDTO l) {
+        return String.join(",",
+                csv(l.getId()), csv(l.getUserId()), csv(l.getAmount()), csv(l.getTenure()),
+                csv(l.getInterestRate()), csv(l.getStatus()), csv(l.getAppliedAt()), csv(l.getApprovedAt()),
+                csv(l.getRepaidAt()), csv(l.getNextPaymentDate()), csv(l.getRemainingBalance()),
+                csv(l.getMonthlyPayment()), csv(l.getPurpose()), csv(l.getAccruedInterest()),
+                csv(l.getMissedPayments()), csv(l.getCreatedAt()), csv(l.getUpdatedAt()));
+    }
+
+    // RFC 4180 quoting for values containing separators, quotes or line breaks
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
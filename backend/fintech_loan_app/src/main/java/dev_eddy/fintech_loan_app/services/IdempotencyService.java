@@ -0,0 +1,268 @@
+package dev_eddy.fintech_loan_app.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev_eddy.fintech_loan_app.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Honours the Idempotency-Key header on create endpoints: the first request
+ * with a key runs, and every later request with the same key and body gets
+ * the stored response back without reaching the service layer.
+ *
+ * Concurrent duplicates on one instance wait for the single in-flight
+ * execution. Across instances the idempotency_keys table decides the owner;
+ * a duplicate that arrives while another instance is still working gets 409.
+ * Completed responses are also kept in a bounded in-process cache so hot
+ * replays skip the database too.
+ *
+ * Reusing a key with a different body is rejected with 422. A failed attempt
+ * releases its key so the client can retry. The response is stored in the
+ * same transaction as the change it describes, so a process that dies
+ * mid-request leaves either both or neither: a claim that expires without a
+ * response had no effect, and a retry may safely run again.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    record StoredResponse(String fingerprint, int status, String body) {
+    }
+
+    private record Executed<T>(T result, StoredResponse stored) {
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<StoredResponse> result) {
+    }
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Duration lockTimeout;
+    private final Cache<String, StoredResponse> completed;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${idempotency.lock-timeout-seconds:60}") long lockTimeoutSeconds,
+            @Value("${idempotency.cache.max-size:100000}") long maxSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lockTimeout = Duration.ofSeconds(lockTimeoutSeconds);
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Runs {@code action} at most once per key and operation, answering with
+     * {@code status} and its result, or replays the stored response. Without
+     * a key the action simply runs.
+     */
+    public <T> ResponseEntity<T> execute(String key, String operation, Object request, Class<T> responseType,
+                                         HttpStatus status, Supplier<T> action) {
+        if (key == null) {
+            return new ResponseEntity<>(action.get(), status);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+        String id = operation + " " + key;
+        String fingerprint = fingerprint(request);
+
+        StoredResponse cached = completed.getIfPresent(id);
+        if (cached != null) {
+            return replay(cached, fingerprint, responseType);
+        }
+
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            checkFingerprint(running.fingerprint(), fingerprint);
+            return replay(await(running), fingerprint, responseType);
+        }
+        try {
+            Optional<StoredResponse> stored = claim(id, fingerprint);
+            if (stored.isPresent()) {
+                completed.put(id, stored.get());
+                mine.result().complete(stored.get());
+                return replay(stored.get(), fingerprint, responseType);
+            }
+            Executed<T> executed = run(id, fingerprint, status, action);
+            T result = executed.result();
+            completed.put(id, executed.stored());
+            mine.result().complete(executed.stored());
+            count("executed");
+            return new ResponseEntity<>(result, status);
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    // Purges stored responses past their TTL
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int deleted = idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.debug("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    // Empty when this instance now owns the key; the stored response when it already completed
+    private Optional<StoredResponse> claim(String id, String fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lockedUntil = now.plus(lockTimeout);
+        LocalDateTime expiresAt = now.plus(ttl);
+        if (idempotencyKeyRepository.insertClaim(id, fingerprint, lockedUntil, expiresAt)) {
+            return Optional.empty();
+        }
+        IdempotencyKeyRepository.StoredKey existing = idempotencyKeyRepository.find(id).orElse(null);
+        if (existing != null && existing.expiresAt().isAfter(now)) {
+            checkFingerprint(existing.fingerprint(), fingerprint);
+            if (IdempotencyKeyRepository.COMPLETED.equals(existing.status())) {
+                return Optional.of(new StoredResponse(existing.fingerprint(), existing.responseStatus(),
+                        existing.responseBody()));
+            }
+        }
+        // Missing (released meanwhile), expired, or abandoned by a crashed owner
+        boolean owned = existing == null
+                ? idempotencyKeyRepository.insertClaim(id, fingerprint, lockedUntil, expiresAt)
+                : idempotencyKeyRepository.reclaim(id, fingerprint, now, lockedUntil, expiresAt);
+        if (!owned) {
+            count("conflict");
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "A request with this " + HEADER + " is still being processed");
+        }
+        return Optional.empty();
+    }
+
+    // The action joins this transaction, so its effect and the stored response commit together
+    private <T> Executed<T> run(String id, String fingerprint, HttpStatus status, Supplier<T> action) {
+        Executed<T> executed;
+        try {
+            executed = transactionTemplate.execute(tx -> {
+                T result = action.get();
+                StoredResponse response = new StoredResponse(fingerprint, status.value(), toJson(result));
+                if (!idempotencyKeyRepository.complete(id, fingerprint, response.status(), response.body())) {
+                    tx.setRollbackOnly();
+                    return null;
+                }
+                return new Executed<>(result, response);
+            });
+        } catch (RuntimeException e) {
+            idempotencyKeyRepository.release(id);
+            throw e;
+        }
+        if (executed == null) {
+            // Our claim lapsed and another attempt took the key over, so its effect is the one that stands
+            count("conflict");
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "A request with this " + HEADER + " is still being processed");
+        }
+        return executed;
+    }
+
+    private StoredResponse await(InFlight running) {
+        try {
+            return running.result().get(lockTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // The owner's failure is this request's failure too
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            count("conflict");
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "A request with this " + HEADER + " is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a duplicate request", e);
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String fingerprint, Class<T> responseType) {
+        checkFingerprint(stored.fingerprint(), fingerprint);
+        count("replayed");
+        try {
+            return ResponseEntity.status(stored.status())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(objectMapper.readValue(stored.body(), responseType));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is not readable", e);
+        }
+    }
+
+    private void checkFingerprint(String expected, String actual) {
+        if (!expected.equals(actual)) {
+            count("mismatch");
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used with a different request body");
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(
+                    toJson(request).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("idempotency.requests", "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,167 @@
+package dev_eddy.fintech_loan_app.services;
+
+import dev_eddy.fintech_loan_app.dtos.LedgerBalanceDTO;
+import dev_eddy.fintech_loan_app.dtos.LedgerPostingDTO;
+import dev_eddy.fintech_loan_app.exceptions.LoanNotFoundException;
+import dev_eddy.fintech_loan_app.exceptions.ResourceNotFoundException;
+import dev_eddy.fintech_loan_app.repository.LedgerRepository;
+import dev_eddy.fintech_loan_app.repository.LoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Posts loan disbursements and repayments to the append-only ledger and
+ * answers balance queries from it. Posting joins the caller's transaction,
+ * so an entry commits or rolls back with the loan change behind it.
+ */
+@Service
+@Transactional
+public class LedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerService.class);
+
+    static final String THRESHOLD = "THRESHOLD";
+    static final String PERIOD_CLOSE = "PERIOD_CLOSE";
+
+    private final LedgerRepository ledgerRepository;
+    private final LoanRepository loanRepository;
+    private final UserCache userCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int snapshotEvery;
+    private final int closeChunkSize;
+
+    public LedgerService(LedgerRepository ledgerRepository, LoanRepository loanRepository, UserCache userCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${ledger.snapshot-every:50}") int snapshotEvery,
+            @Value("${ledger.period-close.chunk-size:1000}") int closeChunkSize) {
+        this.ledgerRepository = ledgerRepository;
+        this.loanRepository = loanRepository;
+        this.userCache = userCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotEvery = snapshotEvery;
+        this.closeChunkSize = closeChunkSize;
+    }
+
+    // Opening entry for each loan (id -> principal) not yet disbursed; others are ignored
+    public void postDisbursements(Map<Long, Double> principals) {
+        if (principals.isEmpty()) {
+            return;
+        }
+        Long[] loanIds = principals.keySet().toArray(Long[]::new);
+        BigDecimal[] amounts = new BigDecimal[loanIds.length];
+        for (int i = 0; i < loanIds.length; i++) {
+            amounts[i] = money(principals.get(loanIds[i]));
+        }
+        snapshotIfDue(ledgerRepository.postDisbursements(loanIds, amounts));
+    }
+
+    // interest is the part of the amount applied to interest; the rest reduces the receivable
+    public void postRepayment(Long loanId, double amount, double interest, Long transactionId) {
+        snapshotIfDue(List.of(ledgerRepository.postRepayment(loanId, money(amount), money(interest), transactionId)));
+    }
+
+    // Every snapshot-every entries; the caller still holds the loan rows it just posted to
+    private void snapshotIfDue(List<LedgerRepository.PostedEntry> posted) {
+        Long[] due = posted.stream()
+                .filter(entry -> entry.entrySeq() % snapshotEvery == 0)
+                .map(LedgerRepository.PostedEntry::loanId)
+                .toArray(Long[]::new);
+        if (due.length > 0) {
+            ledgerRepository.snapshot(due, THRESHOLD);
+        }
+    }
+
+    // Disbursed loans keep their history; the ledger is append-only
+    @Transactional(readOnly = true)
+    public boolean hasEntries(Long loanId) {
+        return ledgerRepository.countEntries(loanId) > 0;
+    }
+
+    @Transactional(readOnly = true)
+    public LedgerBalanceDTO getLoanBalance(Long loanId, LocalDateTime asOf) {
+        if (!loanRepository.existsById(loanId)) {
+            throw new LoanNotFoundException("Loan not found with id: " + loanId);
+        }
+        LedgerBalanceDTO dto = toDTO(ledgerRepository.loanBalances(loanId, asOf), asOf);
+        dto.setLoanId(loanId);
+        return dto;
+    }
+
+    @Transactional(readOnly = true)
+    public LedgerBalanceDTO getUserBalance(Long userId, LocalDateTime asOf) {
+        if (!userCache.exists(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        LedgerBalanceDTO dto = toDTO(ledgerRepository.userBalances(userId, asOf), asOf);
+        dto.setUserId(userId);
+        return dto;
+    }
+
+    @Transactional(readOnly = true)
+    public List<LedgerPostingDTO> getPostings(Long loanId, Integer afterEntrySeq, Integer size) {
+        if (!loanRepository.existsById(loanId)) {
+            throw new LoanNotFoundException("Loan not found with id: " + loanId);
+        }
+        int limit = size == null || size < 1 ? 100 : Math.min(size, 1000);
+        return ledgerRepository.findPostings(loanId, afterEntrySeq == null ? 0 : afterEntrySeq, limit);
+    }
+
+    /**
+     * Snapshots every loan with entries since its last snapshot, a chunk of
+     * loans per transaction, so balances as of the period end are one
+     * snapshot read each. Returns the number of loans snapshotted.
+     */
+    @Scheduled(cron = "${ledger.period-close.cron:0 5 0 1 * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int closePeriod() {
+        long afterId = 0;
+        int loans = 0;
+        while (true) {
+            long from = afterId;
+            List<Long> chunk = transactionTemplate.execute(status -> {
+                List<Long> locked = ledgerRepository.lockUnsnapshotted(from, closeChunkSize);
+                if (!locked.isEmpty()) {
+                    ledgerRepository.snapshot(locked.toArray(Long[]::new), PERIOD_CLOSE);
+                }
+                return locked;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            loans += chunk.size();
+            afterId = chunk.get(chunk.size() - 1);
+        }
+        logger.info("Ledger period close snapshotted {} loans", loans);
+        return loans;
+    }
+
+    private static LedgerBalanceDTO toDTO(List<LedgerRepository.AccountBalance> rows, LocalDateTime asOf) {
+        Map<String, BigDecimal> balances = new TreeMap<>();
+        for (LedgerRepository.AccountBalance row : rows) {
+            balances.put(row.account(), row.balance());
+        }
+        LedgerBalanceDTO dto = new LedgerBalanceDTO();
+        dto.setAsOf(asOf);
+        dto.setBalances(balances);
+        dto.setOutstanding(balances.getOrDefault(LedgerRepository.RECEIVABLE, BigDecimal.ZERO));
+        return dto;
+    }
+
+    private static BigDecimal money(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,363 @@
+package dev_eddy.fintech_loan_app.services;
+
+import dev_eddy.fintech_loan_app.dtos.AccrualRunDTO;
+import dev_eddy.fintech_loan_app.entity.AccrualCheckpoint;
+import dev_eddy.fintech_loan_app.entity.Loan;
+import dev_eddy.fintech_loan_app.repository.AccrualCheckpointRepository;
+import dev_eddy.fintech_loan_app.repository.LoanRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-of-day batch over the live loan book: accrues interest for every day
+ * since the loan's lastAccrualDate, rolls nextPaymentDate past due dates and
+ * flags loans whose balance is behind schedule as OVERDUE.
+ *
+ * The book is split into id-range partitions that run in parallel on a
+ * fork-join pool. Every chunk commits in its own transaction together with
+ * its partition checkpoint, so a failed or interrupted run resumes for the
+ * same business date where it stopped. A chunk holds its loan rows locked
+ * until it commits; a repayment posted meanwhile waits and is then retried
+ * against the new loan version. Loans also record lastAccrualDate,
+ * which keeps a replayed chunk from accruing twice and lets a run after
+ * skipped days catch up on all of them.
+ */
+@Service
+public class LoanAccrualService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoanAccrualService.class);
+
+    static final Set<String> ACCRUING_STATUSES = Set.of("APPROVED", "ACTIVE", "OVERDUE");
+    private static final int CHUNK_ATTEMPTS = 3;
+
+    private final LoanRepository loanRepository;
+    private final AccrualCheckpointRepository checkpointRepository;
+    private final AmortizationService amortizationService;
+    private final LoanStatsService loanStatsService;
+    private final UserOverviewService userOverviewService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate chunkTransaction;
+    private final int partitionSize;
+    private final int chunkSize;
+    private final int parallelism;
+
+    // Runs are started from the scheduler or the admin endpoint, one at a time
+    private final ExecutorService launcher = Executors.newSingleThreadExecutor();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile RunProgress lastRun;
+
+    public LoanAccrualService(LoanRepository loanRepository,
+            AccrualCheckpointRepository checkpointRepository,
+            AmortizationService amortizationService,
+            LoanStatsService loanStatsService,
+            UserOverviewService userOverviewService,
+            OutboxService outboxService,
+            PlatformTransactionManager transactionManager,
+            @Value("${loan.accrual.partition-size:10000}") int partitionSize,
+            @Value("${loan.accrual.chunk-size:500}") int chunkSize,
+            @Value("${loan.accrual.parallelism:4}") int parallelism) {
+        this.loanRepository = loanRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.amortizationService = amortizationService;
+        this.loanStatsService = loanStatsService;
+        this.userOverviewService = userOverviewService;
+        this.outboxService = outboxService;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.partitionSize = partitionSize;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    // Hands the run to the launcher so the shared scheduler thread is not held for its duration
+    @Scheduled(cron = "${loan.accrual.cron:0 30 23 * * *}")
+    public void endOfDay() {
+        if (running.compareAndSet(false, true)) {
+            RunProgress run = new RunProgress(LocalDate.now());
+            lastRun = run;
+            launcher.submit(() -> execute(run));
+        } else {
+            logger.warn("Skipping scheduled accrual run: a run is already in progress");
+        }
+    }
+
+    // Start a run in the background; rerunning a date resumes from its checkpoints
+    public AccrualRunDTO start(LocalDate businessDate) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "An accrual run is already in progress");
+        }
+        RunProgress run = new RunProgress(businessDate);
+        lastRun = run;
+        launcher.submit(() -> execute(run));
+        return run.toDTO();
+    }
+
+    public AccrualRunDTO getProgress() {
+        RunProgress run = lastRun;
+        return run == null ? null : run.toDTO();
+    }
+
+    private void execute(RunProgress run) {
+        LocalDate businessDate = run.businessDate;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<AccrualCheckpoint> partitions = planPartitions(businessDate);
+            run.partitions = partitions.size();
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (AccrualCheckpoint checkpoint : partitions) {
+                if (Boolean.TRUE.equals(checkpoint.getCompleted())) {
+                    run.partitionsCompleted.incrementAndGet();
+                    continue;
+                }
+                tasks.add(() -> {
+                    processPartition(checkpoint, businessDate, run);
+                    return null;
+                });
+            }
+            for (Future<Void> result : pool.invokeAll(tasks)) {
+                result.get();
+            }
+            run.finish("COMPLETED", null);
+        } catch (ExecutionException e) {
+            logger.error("Accrual run for {} failed; rerun to resume from checkpoints", businessDate, e.getCause());
+            run.finish("FAILED", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.finish("FAILED", "Interrupted");
+        } catch (RuntimeException e) {
+            logger.error("Accrual run for {} failed", businessDate, e);
+            run.finish("FAILED", e.getMessage());
+        } finally {
+            pool.shutdown();
+            running.set(false);
+        }
+        AccrualRunDTO summary = run.toDTO();
+        logger.info("Accrual run for {} {}: {} loans, {} payments rolled, {} flagged overdue, {} loans/s",
+                businessDate, summary.getState(), summary.getLoansProcessed(), summary.getPaymentsRolled(),
+                summary.getLoansFlaggedOverdue(), summary.getLoansPerSecond());
+    }
+
+    // Reuse the partitions of an interrupted run, otherwise split the current id range
+    private List<AccrualCheckpoint> planPartitions(LocalDate businessDate) {
+        List<AccrualCheckpoint> existing = checkpointRepository.findByBusinessDateOrderByPartitionStart(businessDate);
+        if (!existing.isEmpty()) {
+            return existing;
+        }
+        Object[] range = loanRepository.findIdRange(ACCRUING_STATUSES).get(0);
+        if (range[0] == null) {
+            return List.of();
+        }
+        long minId = ((Number) range[0]).longValue();
+        long maxId = ((Number) range[1]).longValue();
+
+        List<AccrualCheckpoint> partitions = new ArrayList<>();
+        for (long start = minId - 1; start < maxId; start += partitionSize) {
+            AccrualCheckpoint checkpoint = new AccrualCheckpoint();
+            checkpoint.setBusinessDate(businessDate);
+            checkpoint.setPartitionStart(start);
+            checkpoint.setPartitionEnd(Math.min(start + partitionSize, maxId));
+            checkpoint.setLastProcessedId(start);
+            checkpoint.setLoansProcessed(0L);
+            checkpoint.setCompleted(false);
+            partitions.add(checkpoint);
+        }
+        return checkpointRepository.saveAll(partitions);
+    }
+
+    private void processPartition(AccrualCheckpoint checkpoint, LocalDate businessDate, RunProgress run) {
+        boolean more = true;
+        while (more) {
+            more = processChunkWithRetry(checkpoint, businessDate, run);
+        }
+        run.partitionsCompleted.incrementAndGet();
+        logger.debug("Accrual partition ({}, {}] done, progress {}/{} partitions, {} loans",
+                checkpoint.getPartitionStart(), checkpoint.getPartitionEnd(),
+                run.partitionsCompleted.get(), run.partitions, run.loansProcessed.get());
+    }
+
+    private boolean processChunkWithRetry(AccrualCheckpoint checkpoint, LocalDate businessDate, RunProgress run) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return Boolean.TRUE.equals(chunkTransaction.execute(status -> processChunk(checkpoint, businessDate, run)));
+            } catch (RuntimeException e) {
+                if (attempt == CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+                logger.warn("Accrual chunk after id {} failed (attempt {}), retrying",
+                        checkpoint.getLastProcessedId(), attempt, e);
+            }
+        }
+    }
+
+    // Returns true while the partition has more loans to process
+    private boolean processChunk(AccrualCheckpoint checkpoint, LocalDate businessDate, RunProgress run) {
+        List<Loan> loans = loanRepository.findChunk(ACCRUING_STATUSES,
+                checkpoint.getLastProcessedId(), checkpoint.getPartitionEnd(), PageRequest.ofSize(chunkSize));
+        long rolled = 0;
+        long flagged = 0;
+        Set<Long> changedUsers = new HashSet<>();
+        for (Loan loan : loans) {
+            LocalDateTime nextDue = loan.getNextPaymentDate();
+            int[] outcome = accrue(loan, businessDate);
+            rolled += outcome[0];
+            flagged += outcome[1];
+            // Only due dates and statuses show on the overview; interest accrual alone does not
+            if (outcome[1] > 0 || !Objects.equals(nextDue, loan.getNextPaymentDate())) {
+                changedUsers.add(loan.getUser().getId());
+            }
+        }
+        userOverviewService.markDirty(changedUsers);
+
+        boolean more = loans.size() == chunkSize;
+        AccrualCheckpoint updated = checkpointRepository.findById(checkpoint.getId()).orElseThrow();
+        if (!loans.isEmpty()) {
+            updated.setLastProcessedId(loans.get(loans.size() - 1).getId());
+        }
+        updated.setLoansProcessed(updated.getLoansProcessed() + loans.size());
+        updated.setCompleted(!more);
+        checkpointRepository.save(updated);
+
+        // The in-memory copy only advances once this chunk is known to commit
+        checkpoint.setLastProcessedId(updated.getLastProcessedId());
+        checkpoint.setLoansProcessed(updated.getLoansProcessed());
+        checkpoint.setCompleted(updated.getCompleted());
+        run.loansProcessed.addAndGet(loans.size());
+        run.paymentsRolled.addAndGet(rolled);
+        run.loansFlagged.addAndGet(flagged);
+        return more;
+    }
+
+    // Returns {payments rolled, newly flagged overdue}
+    private int[] accrue(Loan loan, LocalDate businessDate) {
+        double balance = loan.getRemainingBalance() != null ? loan.getRemainingBalance() : loan.getAmount();
+        double accrued = loan.getAccruedInterest() != null ? loan.getAccruedInterest() : 0;
+        // A loan never accrued before starts with the business date's own day. A repayment may have
+        // charged its installment's interest up to the due date, ahead of the business date.
+        LocalDate accruedFrom = loan.getLastAccrualDate() != null
+                ? loan.getLastAccrualDate() : businessDate.minusDays(1);
+
+        LocalDateTime start = loan.getApprovedAt() != null ? loan.getApprovedAt() : loan.getAppliedAt();
+        LocalDate loanStart = start.toLocalDate();
+        // Due dates are counted from the first one, as on the schedule, so a short month never shifts them
+        LocalDateTime firstDue = start.plusMonths(1);
+        LocalDateTime nextDue = loan.getNextPaymentDate() != null ? loan.getNextPaymentDate() : firstDue;
+        int missed = loan.getMissedPayments() != null ? loan.getMissedPayments() : 0;
+        int rolled = 0;
+        int flagged = 0;
+
+        // Catch up on every due date up to today, in case earlier runs were skipped
+        int installment = amortizationService.installmentNumber(firstDue.toLocalDate(), nextDue.toLocalDate());
+        while (!nextDue.toLocalDate().isAfter(businessDate) && installment <= loan.getTenure()) {
+            double expected = amortizationService.scheduledBalance(
+                    loan.getAmount(), loan.getInterestRate(), loan.getTenure(), installment);
+            if (balance > expected + 0.005) {
+                missed++;
+                if (!"OVERDUE".equals(loan.getStatus())) {
+                    loanStatsService.loanStatusChanged(loan.getStatus(), "OVERDUE", loan.getAmount());
+                    outboxService.loanStatusChanged(loan.getId(), loan.getUser().getId(), loan.getStatus(), "OVERDUE");
+                    loan.setStatus("OVERDUE");
+                    flagged = 1;
+                }
+            }
+            // The installment's interest up to its due date is earned; whatever is unpaid stays owed
+            LocalDate due = nextDue.toLocalDate();
+            accrued += amortizationService.periodInterest(balance, loan.getInterestRate(),
+                    amortizationService.periodStart(loanStart, due), due, accruedFrom, due);
+            if (due.isAfter(accruedFrom)) {
+                accruedFrom = due;
+            }
+            nextDue = firstDue.plusMonths(installment);
+            installment++;
+            rolled++;
+        }
+        // Same basis as the schedule, so accruing a whole installment period comes to its interest
+        LocalDate periodStart = amortizationService.periodStart(loanStart, nextDue.toLocalDate());
+        accrued += amortizationService.periodInterest(balance, loan.getInterestRate(),
+                periodStart, nextDue.toLocalDate(), accruedFrom, businessDate);
+
+        loan.setAccruedInterest(accrued);
+        loan.setMissedPayments(missed);
+        loan.setNextPaymentDate(nextDue);
+        if (accruedFrom.isBefore(businessDate)) {
+            loan.setLastAccrualDate(businessDate);
+        }
+        return new int[] { rolled, flagged };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        launcher.shutdownNow();
+    }
+
+    private static final class RunProgress {
+        private final LocalDate businessDate;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startedNanos = System.nanoTime();
+        private final AtomicInteger partitionsCompleted = new AtomicInteger();
+        private final AtomicLong loansProcessed = new AtomicLong();
+        private final AtomicLong paymentsRolled = new AtomicLong();
+        private final AtomicLong loansFlagged = new AtomicLong();
+        private volatile int partitions;
+        private volatile String state = "RUNNING";
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+        private volatile long finishedNanos;
+
+        private RunProgress(LocalDate businessDate) {
+            this.businessDate = businessDate;
+        }
+
+        private void finish(String state, String error) {
+            this.finishedNanos = System.nanoTime();
+            this.finishedAt = LocalDateTime.now();
+            this.error = error;
+            this.state = state;
+        }
+
+        private AccrualRunDTO toDTO() {
+            long end = finishedAt != null ? finishedNanos : System.nanoTime();
+            double seconds = Math.max(1e-9, (end - startedNanos) / 1e9);
+
+            AccrualRunDTO dto = new AccrualRunDTO();
+            dto.setBusinessDate(businessDate);
+            dto.setState(state);
+            dto.setPartitions(partitions);
+            dto.setPartitionsCompleted(partitionsCompleted.get());
+            dto.setLoansProcessed(loansProcessed.get());
+            dto.setPaymentsRolled(paymentsRolled.get());
+            dto.setLoansFlaggedOverdue(loansFlagged.get());
+            dto.setLoansPerSecond(Math.round(loansProcessed.get() / seconds * 10) / 10.0);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setError(error);
+            return dto;
+        }
+    }
+}
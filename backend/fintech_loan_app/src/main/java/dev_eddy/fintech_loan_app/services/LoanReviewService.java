@@ -0,0 +1,109 @@
+package dev_eddy.fintech_loan_app.services;
+
+import dev_eddy.fintech_loan_app.dtos.LoanDTO;
+import dev_eddy.fintech_loan_app.dtos.ReviewClaimDTO;
+import dev_eddy.fintech_loan_app.dtos.ReviewQueueStatsDTO;
+import dev_eddy.fintech_loan_app.repository.LoanRepository;
+import dev_eddy.fintech_loan_app.repository.LoanReviewRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands PENDING loans out to reviewers in leased batches, so each application
+ * is worked by one admin at a time. A lease that runs out without a decision
+ * puts the loan back in the queue for the next claim.
+ */
+@Service
+@Transactional
+public class LoanReviewService {
+
+    private final LoanReviewRepository loanReviewRepository;
+    private final LoanRepository loanRepository;
+    private final LoanStatsService loanStatsService;
+    private final UserOverviewService userOverviewService;
+    private final LedgerService ledgerService;
+    private final OutboxService outboxService;
+    private final long leaseSeconds;
+    private final int maxClaim;
+
+    public LoanReviewService(LoanReviewRepository loanReviewRepository, LoanRepository loanRepository,
+            LoanStatsService loanStatsService, UserOverviewService userOverviewService,
+            LedgerService ledgerService, OutboxService outboxService,
+            @Value("${loan.review.lease-seconds:900}") long leaseSeconds,
+            @Value("${loan.review.max-claim:20}") int maxClaim) {
+        this.loanReviewRepository = loanReviewRepository;
+        this.loanRepository = loanRepository;
+        this.loanStatsService = loanStatsService;
+        this.userOverviewService = userOverviewService;
+        this.ledgerService = ledgerService;
+        this.outboxService = outboxService;
+        this.leaseSeconds = leaseSeconds;
+        this.maxClaim = maxClaim;
+    }
+
+    public ReviewClaimDTO claim(SessionTokenService.SessionPrincipal reviewer, Integer size) {
+        int batch = size == null || size < 1 ? 1 : Math.min(size, maxClaim);
+        List<LoanReviewRepository.Claim> claims = loanReviewRepository.claim(reviewer.userId(), batch, leaseSeconds);
+        if (claims.isEmpty()) {
+            return new ReviewClaimDTO(List.of(), null);
+        }
+        // Every row of one claim gets the same lease, taken from a single now()
+        LocalDateTime leaseUntil = claims.get(0).leaseUntil();
+        List<Long> ids = claims.stream().map(LoanReviewRepository.Claim::loanId).toList();
+        return new ReviewClaimDTO(loanRepository.findDTOsByIdIn(ids), leaseUntil);
+    }
+
+    public LoanDTO decide(SessionTokenService.SessionPrincipal reviewer, Long loanId, String status) {
+        if (!StatusTransitions.LOANS.sourcesFor(status).contains("PENDING")) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "A pending loan cannot be moved to " + status);
+        }
+        LoanReviewRepository.Decision decision = loanReviewRepository.decide(loanId, reviewer.userId(), status)
+                .orElseThrow(() -> notHeld(loanId));
+        if (RepaymentService.REPAYABLE_STATUSES.contains(status)) {
+            ledgerService.postDisbursements(Map.of(loanId, decision.amount()));
+        }
+        loanStatsService.loanStatusChanged("PENDING", status, decision.amount());
+        userOverviewService.loanChanged(decision.userId(), "PENDING", decision.outstanding(), status,
+                decision.outstanding());
+        outboxService.loanStatusChanged(loanId, decision.userId(), "PENDING", status);
+        return loanRepository.findDTOsByIdIn(List.of(loanId)).get(0);
+    }
+
+    // Hands the loan back to the queue before the lease runs out
+    public void release(SessionTokenService.SessionPrincipal reviewer, Long loanId) {
+        if (!loanReviewRepository.release(loanId, reviewer.userId())) {
+            throw notHeld(loanId);
+        }
+    }
+
+    public ReviewClaimDTO renew(SessionTokenService.SessionPrincipal reviewer, Long loanId) {
+        LocalDateTime leaseUntil = loanReviewRepository.renew(loanId, reviewer.userId(), leaseSeconds)
+                .orElseThrow(() -> notHeld(loanId));
+        return new ReviewClaimDTO(loanRepository.findDTOsByIdIn(List.of(loanId)), leaseUntil);
+    }
+
+    @Transactional(readOnly = true)
+    public ReviewQueueStatsDTO getStats() {
+        LoanReviewRepository.QueueStats stats = loanReviewRepository.stats();
+        ReviewQueueStatsDTO dto = new ReviewQueueStatsDTO();
+        dto.setAvailable(stats.available());
+        dto.setClaimed(stats.claimed());
+        dto.setAbandoned(stats.abandoned());
+        dto.setOldestPendingAgeSeconds(stats.oldestPendingSeconds());
+        dto.setOldestAvailableAgeSeconds(stats.oldestAvailableSeconds());
+        return dto;
+    }
+
+    private static ResponseStatusException notHeld(Long loanId) {
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "Loan " + loanId + " is not pending under a live review lease held by you");
+    }
+}
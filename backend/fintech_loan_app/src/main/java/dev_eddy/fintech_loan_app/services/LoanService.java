@@ -1,7 +1,11 @@
 package dev_eddy.fintech_loan_app.services;
 
+import dev_eddy.fintech_loan_app.dtos.BulkStatusResultDTO;
+import dev_eddy.fintech_loan_app.dtos.BulkStatusUpdateDTO;
 import dev_eddy.fintech_loan_app.dtos.CreateLoanDTO;
+import dev_eddy.fintech_loan_app.dtos.CursorPageDTO;
 import dev_eddy.fintech_loan_app.dtos.LoanDTO;
+import dev_eddy.fintech_loan_app.dtos.LoanScheduleDTO;
 import dev_eddy.fintech_loan_app.dtos.UserDTO;
 import dev_eddy.fintech_loan_app.entity.Loan;
 import dev_eddy.fintech_loan_app.entity.User;
@@ -9,13 +13,22 @@ import dev_eddy.fintech_loan_app.exceptions.LoanNotFoundException;
 import dev_eddy.fintech_loan_app.exceptions.ResourceNotFoundException;
 import dev_eddy.fintech_loan_app.mappers.LoanMapper;
 import dev_eddy.fintech_loan_app.repository.LoanRepository;
+import dev_eddy.fintech_loan_app.repository.StatusUpdateRepository;
 import dev_eddy.fintech_loan_app.repository.UserRepository;
+import dev_eddy.fintech_loan_app.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.Function;
 
 @Service
 @Transactional
@@ -23,33 +36,62 @@ public class LoanService {
     
     private final LoanRepository loanRepository;
     private final UserRepository userRepository;
+    private final UserCache userCache;
     private final LoanMapper loanMapper;
+    private final LoanStatsService loanStatsService;
+    private final AmortizationService amortizationService;
+    private final UserOverviewService userOverviewService;
+    private final StatusUpdateRepository statusUpdateRepository;
+    private final LedgerService ledgerService;
+    private final OutboxService outboxService;
+    private final double defaultInterestRate;
+    private final int bulkStatusMaxItems;
     
     @Autowired
-    public LoanService(LoanRepository loanRepository, UserRepository userRepository, LoanMapper loanMapper) {
+    public LoanService(LoanRepository loanRepository, UserRepository userRepository, UserCache userCache,
+            LoanMapper loanMapper,
+            LoanStatsService loanStatsService, AmortizationService amortizationService,
+            UserOverviewService userOverviewService, StatusUpdateRepository statusUpdateRepository,
+            LedgerService ledgerService, OutboxService outboxService,
+            @Value("${loan.default-interest-rate:15.0}") double defaultInterestRate,
+            @Value("${admin.bulk-status.max-items:10000}") int bulkStatusMaxItems) {
         this.loanRepository = loanRepository;
         this.userRepository = userRepository;
+        this.userCache = userCache;
         this.loanMapper = loanMapper;
+        this.loanStatsService = loanStatsService;
+        this.amortizationService = amortizationService;
+        this.userOverviewService = userOverviewService;
+        this.statusUpdateRepository = statusUpdateRepository;
+        this.ledgerService = ledgerService;
+        this.outboxService = outboxService;
+        this.defaultInterestRate = defaultInterestRate;
+        this.bulkStatusMaxItems = bulkStatusMaxItems;
     }
 
     public LoanDTO createLoan(CreateLoanDTO createLoanDTO) {
-        User user = userRepository.findById(createLoanDTO.getUserId())
-            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + createLoanDTO.getUserId()));
+        if (!userCache.exists(createLoanDTO.getUserId())) {
+            throw new ResourceNotFoundException("User not found with id: " + createLoanDTO.getUserId());
+        }
+        // Only the foreign key is needed, so skip loading the user row
+        User user = userRepository.getReferenceById(createLoanDTO.getUserId());
 
         Loan loan = loanMapper.toEntity(createLoanDTO, user);
         // Set default values
         loan.setStatus("PENDING");
-        loan.setInterestRate(15.0); // Default interest rate
+        loan.setInterestRate(defaultInterestRate);
         loan.setRemainingBalance(loan.getAmount());
         
         // Calculate monthly payment
-        double monthlyInterest = loan.getInterestRate() / 12 / 100;
-        double monthlyPayment = (loan.getAmount() * monthlyInterest * Math.pow(1 + monthlyInterest, loan.getTenure())) 
-            / (Math.pow(1 + monthlyInterest, loan.getTenure()) - 1);
-        loan.setMonthlyPayment(monthlyPayment);
+        loan.setMonthlyPayment(amortizationService.monthlyPayment(
+            loan.getAmount(), loan.getInterestRate(), loan.getTenure()));
 
         Loan savedLoan = loanRepository.save(loan);
-        return loanMapper.toDTO(savedLoan);
+        loanStatsService.loanCreated(savedLoan.getStatus(), savedLoan.getAmount());
+        userOverviewService.markDirty(createLoanDTO.getUserId());
+        LoanDTO created = loanMapper.toDTO(savedLoan);
+        outboxService.loanApplied(created);
+        return created;
     }
 
     public LoanDTO getLoanById(Long id) {
@@ -58,31 +100,90 @@ public class LoanService {
         return loanMapper.toDTO(loan);
     }
 
-    public List<LoanDTO> getAllLoans() {
-        return loanRepository.findAll().stream()
-                .map(loanMapper::toDTO)
-                .collect(Collectors.toList());
+    public LoanScheduleDTO getLoanSchedule(Long id) {
+        Loan loan = loanRepository.findById(id)
+            .orElseThrow(() -> new LoanNotFoundException("Loan not found with id: " + id));
+
+        // Installments fall due monthly from approval (or application while still pending)
+        LocalDateTime start = loan.getApprovedAt() != null ? loan.getApprovedAt() : loan.getAppliedAt();
+        LoanScheduleDTO schedule = amortizationService.schedule(loan.getId(), loan.getAmount(),
+            loan.getInterestRate(), loan.getTenure(), start.toLocalDate().plusMonths(1), loan.getRemainingBalance());
+        schedule.setRepayable(RepaymentService.REPAYABLE_STATUSES.contains(loan.getStatus()));
+        return schedule;
+    }
+
+    public CursorPageDTO<LoanDTO> getAllLoans(String cursor, Integer size, String status, Long userId) {
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        PageRequest page = PageRequest.ofSize(pageSize + 1);
+        List<LoanDTO> rows = after == null
+                ? loanRepository.findFirstPage(status, userId, page)
+                : loanRepository.findPageAfter(status, userId, after.getCreatedAt(), after.getId(), page);
+        return PageCursor.toPage(rows, pageSize, Function.identity(), LoanDTO::getCreatedAt, LoanDTO::getId);
     }
 
     public List<LoanDTO> getUserLoans(Long userId) {
-        return loanRepository.findByUserId(userId).stream()
-            .map(loanMapper::toDTO)
-            .collect(Collectors.toList());
+        return loanRepository.findDTOsByUserId(userId);
     }
 
     public LoanDTO updateLoanStatus(Long id, String status) {
         Loan loan = loanRepository.findById(id)
             .orElseThrow(() -> new LoanNotFoundException("Loan not found with id: " + id));
         
+        String previousStatus = loan.getStatus();
+        double outstanding = outstanding(loan);
         loan.setStatus(status);
+        if ("APPROVED".equals(status) && !"APPROVED".equals(previousStatus)) {
+            loan.setApprovedAt(LocalDateTime.now());
+        }
         Loan updatedLoan = loanRepository.save(loan);
+        if (RepaymentService.REPAYABLE_STATUSES.contains(status)) {
+            ledgerService.postDisbursements(Map.of(loan.getId(), loan.getAmount()));
+        }
+        loanStatsService.loanStatusChanged(previousStatus, status, loan.getAmount());
+        userOverviewService.loanChanged(loan.getUser().getId(), previousStatus, outstanding, status, outstanding);
+        outboxService.loanStatusChanged(loan.getId(), loan.getUser().getId(), previousStatus, status);
         return loanMapper.toDTO(updatedLoan);
     }
 
+    // One set-based UPDATE for the whole selection instead of a load and save per loan
+    public BulkStatusResultDTO updateLoanStatuses(BulkStatusUpdateDTO request) {
+        StatusTransitions transitions = StatusTransitions.LOANS;
+        Long[] ids = transitions.requestedIds(request, bulkStatusMaxItems);
+        List<StatusUpdateRepository.ChangedRow> changed = statusUpdateRepository.updateLoans(ids,
+                request.getCurrentStatus(), request.getUserId(), transitions.sourcesFor(request.getStatus()),
+                request.getStatus(), bulkStatusMaxItems);
+
+        Map<Long, Double> disbursed = new HashMap<>();
+        boolean disburses = RepaymentService.REPAYABLE_STATUSES.contains(request.getStatus());
+        for (StatusUpdateRepository.ChangedRow row : changed) {
+            loanStatsService.loanStatusChanged(row.previousStatus(), request.getStatus(), row.amount());
+            double outstanding = row.remainingBalance() != null ? row.remainingBalance() : row.amount();
+            userOverviewService.loanChanged(row.userId(), row.previousStatus(), outstanding, request.getStatus(),
+                    outstanding);
+            outboxService.loanStatusChanged(row.id(), row.userId(), row.previousStatus(), request.getStatus());
+            if (disburses) {
+                disbursed.put(row.id(), row.amount());
+            }
+        }
+        ledgerService.postDisbursements(disbursed);
+        return transitions.toResult(request, ids, changed, statusUpdateRepository::findLoanStatuses,
+                bulkStatusMaxItems);
+    }
+
     public void deleteTransaction(Long id) {
-        if (!loanRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User not found with id: " + id);
+        Loan loan = loanRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        if (ledgerService.hasEntries(id)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Loan " + id + " has ledger entries and cannot be deleted");
         }
-        loanRepository.deleteById(id);
+        loanRepository.delete(loan);
+        loanStatsService.loanDeleted(loan.getStatus(), loan.getAmount());
+        userOverviewService.loanChanged(loan.getUser().getId(), loan.getStatus(), outstanding(loan), null, 0);
+    }
+
+    private static double outstanding(Loan loan) {
+        return loan.getRemainingBalance() != null ? loan.getRemainingBalance() : loan.getAmount();
     }
 }
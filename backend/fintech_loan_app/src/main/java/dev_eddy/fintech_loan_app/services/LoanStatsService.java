@@ -0,0 +1,155 @@
+package dev_eddy.fintech_loan_app.services;
+
+import dev_eddy.fintech_loan_app.dtos.AdminStatsDTO;
+import dev_eddy.fintech_loan_app.repository.LoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory loan book aggregates for the admin dashboard. LoanService pushes
+ * deltas after each commit and a scheduled job periodically corrects any
+ * drift against a GROUP BY over the loans table. The correction is added like
+ * any other delta rather than overwriting the counters, so deltas that land
+ * while the query runs are kept.
+ */
+@Service
+public class LoanStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoanStatsService.class);
+
+    // Statuses in which the principal has left the building
+    static final Set<String> DISBURSED_STATUSES = Set.of("APPROVED", "ACTIVE", "OVERDUE", "REPAID");
+    static final String REPAID_STATUS = "REPAID";
+
+    private final LoanRepository loanRepository;
+
+    // Count and amount share one entry, so a reader never sees a status with only one of them
+    private final Map<String, StatusTotals> totals = new ConcurrentHashMap<>();
+    private volatile LocalDateTime reconciledAt;
+
+    public LoanStatsService(LoanRepository loanRepository) {
+        this.loanRepository = loanRepository;
+    }
+
+    public void loanCreated(String status, Double amount) {
+        afterCommit(() -> add(status, amount, 1));
+    }
+
+    public void loanStatusChanged(String oldStatus, String newStatus, Double amount) {
+        if (oldStatus != null && oldStatus.equals(newStatus)) {
+            return;
+        }
+        afterCommit(() -> {
+            add(oldStatus, amount, -1);
+            add(newStatus, amount, 1);
+        });
+    }
+
+    public void loanDeleted(String status, Double amount) {
+        afterCommit(() -> add(status, amount, -1));
+    }
+
+    public AdminStatsDTO getStats() {
+        Map<String, Long> byStatus = new TreeMap<>();
+        long total = 0;
+        long disbursedCount = 0;
+        double disbursedAmount = 0;
+        for (Map.Entry<String, StatusTotals> entry : totals.entrySet()) {
+            long count = entry.getValue().count.sum();
+            // A status the last loan left keeps its entry at zero
+            if (count == 0) {
+                continue;
+            }
+            byStatus.put(entry.getKey(), count);
+            total += count;
+            if (DISBURSED_STATUSES.contains(entry.getKey())) {
+                disbursedCount += count;
+                disbursedAmount += entry.getValue().amount.sum();
+            }
+        }
+        long repaid = byStatus.getOrDefault(REPAID_STATUS, 0L);
+
+        AdminStatsDTO dto = new AdminStatsDTO();
+        dto.setTotalLoans(total);
+        dto.setLoansByStatus(byStatus);
+        dto.setTotalDisbursed(disbursedAmount);
+        dto.setRepaymentRate(disbursedCount == 0 ? 0.0 : repaid * 100.0 / disbursedCount);
+        dto.setReconciledAt(reconciledAt);
+        return dto;
+    }
+
+    // Bring the counters in line with the database; also runs once at startup
+    @Scheduled(initialDelay = 0, fixedDelayString = "${loan.stats.reconcile-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        // What the counters held when the query read the table; later deltas stay on top of the correction
+        Map<String, Totals> counted = new HashMap<>();
+        totals.forEach((status, statusTotals) -> counted.put(status,
+                new Totals(statusTotals.count.sum(), statusTotals.amount.sum())));
+        List<Object[]> rows = loanRepository.summarizeByStatus();
+
+        Map<String, Totals> actual = new HashMap<>();
+        for (Object[] row : rows) {
+            actual.put((String) row[0], new Totals(((Number) row[1]).longValue(), ((Number) row[2]).doubleValue()));
+        }
+        Set<String> statuses = new HashSet<>(actual.keySet());
+        statuses.addAll(counted.keySet());
+        for (String status : statuses) {
+            Totals was = counted.getOrDefault(status, Totals.NONE);
+            Totals is = actual.getOrDefault(status, Totals.NONE);
+            StatusTotals statusTotals = totals.computeIfAbsent(status, s -> new StatusTotals());
+            statusTotals.count.add(is.count() - was.count());
+            statusTotals.amount.add(is.amount() - was.amount());
+        }
+        reconciledAt = LocalDateTime.now();
+        logger.debug("Reconciled loan stats across {} statuses", rows.size());
+    }
+
+    private void add(String status, Double amount, int sign) {
+        if (status == null) {
+            return;
+        }
+        StatusTotals statusTotals = totals.computeIfAbsent(status, s -> new StatusTotals());
+        statusTotals.count.add(sign);
+        statusTotals.amount.add(sign * (amount == null ? 0 : amount));
+    }
+
+    // Only count changes that actually reach the database
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private static final class StatusTotals {
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder amount = new DoubleAdder();
+    }
+
+    private record Totals(long count, double amount) {
+        private static final Totals NONE = new Totals(0, 0);
+    }
+}
@@ -0,0 +1,191 @@
+package dev_eddy.fintech_loan_app.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev_eddy.fintech_loan_app.dtos.DomainEventDTO;
+import dev_eddy.fintech_loan_app.dtos.OutboxStatsDTO;
+import dev_eddy.fintech_loan_app.repository.OutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox to the DomainEventSubscriber beans. A single thread polls
+ * every interval-ms and delivers up to batch-size events per transaction in
+ * id order, deleting them once every subscriber has taken them. The batch
+ * runs under an advisory lock, so with several instances only one dispatches
+ * at a time and per-loan order holds across the cluster.
+ *
+ * An event that fails is retried with exponential backoff, and the later
+ * events of the same loan wait behind it; other loans carry on. After
+ * max-attempts failures it is marked DEAD and its loan moves on.
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final long STATS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    record Batch(int fetched, int delivered) {
+    }
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectProvider<DomainEventSubscriber> subscriberProvider;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer deliveryLag;
+    private final boolean enabled;
+    private final long intervalMillis;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final int maxBackoffSeconds;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+    private volatile List<DomainEventSubscriber> subscribers;
+    private long statsRefreshedNanos;
+
+    public OutboxDispatcher(OutboxRepository outboxRepository,
+            ObjectProvider<DomainEventSubscriber> subscriberProvider,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${outbox.dispatch.enabled:true}") boolean enabled,
+            @Value("${outbox.dispatch.interval-ms:250}") long intervalMillis,
+            @Value("${outbox.dispatch.batch-size:500}") int batchSize,
+            @Value("${outbox.dispatch.max-attempts:10}") int maxAttempts,
+            @Value("${outbox.dispatch.max-backoff-seconds:300}") int maxBackoffSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.subscriberProvider = subscriberProvider;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.intervalMillis = intervalMillis;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+        this.deliveryLag = Timer.builder("outbox.delivery.lag")
+                .description("Time from an event being written to the outbox to its delivery")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        meterRegistry.gauge("outbox.pending", pending);
+        meterRegistry.gauge("outbox.oldest.pending.age.seconds", oldestPendingAgeSeconds);
+    }
+
+    // Subscribers are collected once the context is complete, then polling starts
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscribers = subscriberProvider.orderedStream().toList();
+        if (enabled) {
+            executor.scheduleWithFixedDelay(this::drain, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public OutboxStatsDTO getStats() {
+        return outboxRepository.stats();
+    }
+
+    // Keeps taking batches while they come back full and still make progress
+    void drain() {
+        try {
+            Batch batch;
+            do {
+                batch = dispatchBatch();
+            } while (batch.fetched() == batchSize && batch.delivered() > 0);
+            refreshStats();
+        } catch (RuntimeException e) {
+            // An exception would cancel the schedule; the next tick retries
+            logger.warn("Outbox dispatch failed", e);
+        }
+    }
+
+    Batch dispatchBatch() {
+        return transactionTemplate.execute(status -> {
+            if (!outboxRepository.tryLockDispatch()) {
+                return new Batch(0, 0);
+            }
+            List<OutboxRepository.PendingEvent> events = outboxRepository.findDispatchable(batchSize);
+            long fetchedNanos = System.nanoTime();
+            List<Long> delivered = new ArrayList<>(events.size());
+            List<OutboxRepository.Failure> failures = new ArrayList<>();
+            Set<Long> blockedLoans = new HashSet<>();
+            for (OutboxRepository.PendingEvent event : events) {
+                if (event.loanId() != null && blockedLoans.contains(event.loanId())) {
+                    continue;
+                }
+                try {
+                    deliver(event);
+                    delivered.add(event.id());
+                    deliveryLag.record(event.ageMillis() + (System.nanoTime() - fetchedNanos) / 1_000_000,
+                            TimeUnit.MILLISECONDS);
+                } catch (RuntimeException e) {
+                    logger.warn("Delivering outbox event {} ({}) failed on attempt {}",
+                            event.id(), event.type(), event.attempts() + 1, e);
+                    failures.add(new OutboxRepository.Failure(event.id(), e.toString()));
+                    if (event.loanId() != null) {
+                        blockedLoans.add(event.loanId());
+                    }
+                }
+            }
+            if (!delivered.isEmpty()) {
+                outboxRepository.deleteDelivered(delivered.toArray(Long[]::new));
+                meterRegistry.counter("outbox.events", "outcome", "delivered").increment(delivered.size());
+            }
+            if (!failures.isEmpty()) {
+                outboxRepository.recordFailures(failures, maxAttempts, maxBackoffSeconds);
+                meterRegistry.counter("outbox.events", "outcome", "failed").increment(failures.size());
+            }
+            return new Batch(events.size(), delivered.size());
+        });
+    }
+
+    private void deliver(OutboxRepository.PendingEvent event) {
+        DomainEventDTO dto;
+        try {
+            dto = new DomainEventDTO(event.id(), event.type(), event.loanId(), event.userId(), event.createdAt(),
+                    objectMapper.readTree(event.payload()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload", e);
+        }
+        for (DomainEventSubscriber subscriber : subscribers) {
+            subscriber.onEvent(dto);
+        }
+    }
+
+    private void refreshStats() {
+        long now = System.nanoTime();
+        if (now - statsRefreshedNanos < STATS_INTERVAL_NANOS && statsRefreshedNanos != 0) {
+            return;
+        }
+        statsRefreshedNanos = now;
+        OutboxStatsDTO stats = outboxRepository.stats();
+        pending.set(stats.getPending());
+        oldestPendingAgeSeconds.set(stats.getOldestPendingAgeSeconds() == null ? 0 : stats.getOldestPendingAgeSeconds());
+    }
+}
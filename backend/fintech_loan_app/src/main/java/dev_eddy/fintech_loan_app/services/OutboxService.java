@@ -0,0 +1,113 @@
+package dev_eddy.fintech_loan_app.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev_eddy.fintech_loan_app.dtos.LoanDTO;
+import dev_eddy.fintech_loan_app.dtos.TransactionDTO;
+import dev_eddy.fintech_loan_app.repository.OutboxRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records domain events in the outbox. Writers call it next to the change
+ * that raised the event; the events are queued on the transaction and
+ * inserted, in one statement, just before it commits. An event therefore
+ * exists exactly when its change does, and OutboxDispatcher delivers it
+ * once committed.
+ */
+@Service
+public class OutboxService {
+
+    public static final String LOAN_APPLIED = "LoanApplied";
+    public static final String LOAN_STATUS_CHANGED = "LoanStatusChanged";
+    public static final String TRANSACTION_POSTED = "TransactionPosted";
+    public static final String TRANSACTION_STATUS_CHANGED = "TransactionStatusChanged";
+
+    private final OutboxRepository outboxRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public OutboxService(OutboxRepository outboxRepository, EntityManager entityManager, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void loanApplied(LoanDTO loan) {
+        publish(LOAN_APPLIED, loan.getId(), loan.getUserId(), loan);
+    }
+
+    public void loanStatusChanged(Long loanId, Long userId, String previousStatus, String status) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("loanId", loanId);
+        payload.put("userId", userId);
+        payload.put("previousStatus", previousStatus);
+        payload.put("status", status);
+        publish(LOAN_STATUS_CHANGED, loanId, userId, payload);
+    }
+
+    public void transactionPosted(TransactionDTO transaction) {
+        publish(TRANSACTION_POSTED, transaction.getLoanId(), transaction.getUserId(), transaction);
+    }
+
+    public void transactionStatusChanged(Long transactionId, Long loanId, Long userId,
+            String previousStatus, String status) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("transactionId", transactionId);
+        payload.put("loanId", loanId);
+        payload.put("userId", userId);
+        payload.put("previousStatus", previousStatus);
+        payload.put("status", status);
+        publish(TRANSACTION_STATUS_CHANGED, loanId, userId, payload);
+    }
+
+    // The payload is serialized now, so later changes to the object do not leak into the event
+    private void publish(String type, Long loanId, Long userId, Object payload) {
+        OutboxRepository.NewEvent event = new OutboxRepository.NewEvent(type, loanId, userId, toJson(payload));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.append(List.of(event)));
+            return;
+        }
+        // Synchronizations are suspended with their transaction, so REQUIRES_NEW scopes keep separate queues
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEvents pending && pending.owner() == this) {
+                pending.events().add(event);
+                return;
+            }
+        }
+        PendingEvents pending = new PendingEvents(this, new ArrayList<>());
+        pending.events().add(event);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize event payload", e);
+        }
+    }
+
+    private record PendingEvents(OutboxService owner, List<OutboxRepository.NewEvent> events)
+            implements TransactionSynchronization {
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Entity changes go first, so the loan rows are already locked when the events get their ids
+            owner.entityManager.flush();
+            owner.outboxRepository.append(events);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package dev_eddy.fintech_loan_app.services;
+
+import dev_eddy.fintech_loan_app.exceptions.RateLimitExceededException;
+import dev_eddy.fintech_loan_app.util.TokenBucketLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user request limits on the create endpoints, so one client cannot
+ * monopolise the connection pool. Each endpoint has its own rate and burst.
+ */
+@Service
+public class RateLimitService {
+
+    public static final String LOANS = "loans";
+    public static final String TRANSACTIONS = "transactions";
+
+    private final Map<String, TokenBucketLimiter> limiters;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitService(MeterRegistry meterRegistry,
+            @Value("${rate-limit.max-tracked-users:1000000}") long maxTrackedUsers,
+            @Value("${rate-limit.loans.per-second:0.2}") double loansPerSecond,
+            @Value("${rate-limit.loans.burst:5}") int loansBurst,
+            @Value("${rate-limit.transactions.per-second:5}") double transactionsPerSecond,
+            @Value("${rate-limit.transactions.burst:20}") int transactionsBurst) {
+        this.meterRegistry = meterRegistry;
+        this.limiters = Map.of(
+                LOANS, new TokenBucketLimiter(loansPerSecond, loansBurst, maxTrackedUsers),
+                TRANSACTIONS, new TokenBucketLimiter(transactionsPerSecond, transactionsBurst, maxTrackedUsers));
+        limiters.forEach((endpoint, limiter) -> meterRegistry.gauge("rate.limit.tracked.users",
+                Tags.of("endpoint", endpoint), limiter,
+                TokenBucketLimiter::trackedKeys));
+    }
+
+    // Throws 429 with Retry-After when the user has used up their allowance for the endpoint
+    public void acquire(String endpoint, Long userId) {
+        if (userId == null) {
+            // Left to bean validation
+            return;
+        }
+        long waitNanos = limiters.get(endpoint).tryAcquire(userId);
+        if (waitNanos > 0) {
+            meterRegistry.counter("rate.limit.rejected", "endpoint", endpoint).increment();
+            long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            throw new RateLimitExceededException("Too many " + endpoint + " requests for user " + userId,
+                    retryAfter);
+        }
+    }
+}
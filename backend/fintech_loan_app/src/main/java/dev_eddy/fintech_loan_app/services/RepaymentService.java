@@ -0,0 +1,325 @@
+package dev_eddy.fintech_loan_app.services;
+
+import dev_eddy.fintech_loan_app.dtos.CreateTransactionDTO;
+import dev_eddy.fintech_loan_app.dtos.TransactionDTO;
+import dev_eddy.fintech_loan_app.entity.Loan;
+import dev_eddy.fintech_loan_app.entity.Transaction;
+import dev_eddy.fintech_loan_app.exceptions.LoanNotFoundException;
+import dev_eddy.fintech_loan_app.exceptions.TransactionException;
+import dev_eddy.fintech_loan_app.mappers.TransactionMapper;
+import dev_eddy.fintech_loan_app.repository.LoanRepository;
+import dev_eddy.fintech_loan_app.repository.TransactionRepository;
+import dev_eddy.fintech_loan_app.util.StripedLocks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Posts repayments against a loan and applies them to the loan balance.
+ * Each repayment goes to interest first: what accrued unpaid, then the rest
+ * of the current installment's interest up to its due date. Only what is
+ * left reduces the principal, and the transaction records the split.
+ *
+ * Repayments on the same loan are serialized by a striped in-process lock
+ * held across the whole database transaction, so the next poster always reads
+ * the committed balance. The @Version column on Loan backs this up across
+ * instances: a stale write fails and the posting is retried.
+ *
+ * Settlement files post many repayments per loan through postRepayments,
+ * which takes the loan's lock once and applies them in chunks, loading and
+ * writing the loan once per chunk instead of once per repayment.
+ */
+@Service
+public class RepaymentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepaymentService.class);
+
+    static final Set<String> REPAYABLE_STATUSES = Set.of("APPROVED", "ACTIVE", "OVERDUE");
+    private static final int MAX_ATTEMPTS = 3;
+    private static final double CENT = 0.005;
+
+    // Either the posted transaction or the reason the repayment was refused
+    public record RepaymentOutcome(TransactionDTO posted, String error) {
+
+        static RepaymentOutcome failed(String error) {
+            return new RepaymentOutcome(null, error);
+        }
+    }
+
+    private final LoanRepository loanRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionMapper transactionMapper;
+    private final AmortizationService amortizationService;
+    private final LoanStatsService loanStatsService;
+    private final UserOverviewService userOverviewService;
+    private final LedgerService ledgerService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final StripedLocks loanLocks;
+    private final long lockTimeoutMs;
+
+    public RepaymentService(LoanRepository loanRepository,
+            TransactionRepository transactionRepository,
+            TransactionMapper transactionMapper,
+            AmortizationService amortizationService,
+            LoanStatsService loanStatsService,
+            UserOverviewService userOverviewService,
+            LedgerService ledgerService,
+            OutboxService outboxService,
+            PlatformTransactionManager transactionManager,
+            @Value("${loan.repayment.lock-stripes:1024}") int lockStripes,
+            @Value("${loan.repayment.lock-timeout-ms:5000}") long lockTimeoutMs) {
+        this.loanRepository = loanRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionMapper = transactionMapper;
+        this.amortizationService = amortizationService;
+        this.loanStatsService = loanStatsService;
+        this.userOverviewService = userOverviewService;
+        this.ledgerService = ledgerService;
+        this.outboxService = outboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loanLocks = new StripedLocks(lockStripes);
+        this.lockTimeoutMs = lockTimeoutMs;
+    }
+
+    public TransactionDTO postRepayment(CreateTransactionDTO repayment) {
+        Long loanId = repayment.getLoanId();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Joins the caller's transaction (an idempotent request storing its response with the posting).
+            // The version retry needs a fresh transaction per attempt, so the row lock serializes instead
+            Loan loan = loanRepository.findByIdForUpdate(loanId)
+                    .orElseThrow(() -> new LoanNotFoundException("Loan not found with id: " + loanId));
+            return apply(loan, repayment);
+        }
+        ReentrantLock lock = lock(loanId);
+        try {
+            // Commit happens before the lock is released
+            return withRetry(loanId, () -> inTransaction(() -> apply(load(loanId), repayment)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Posts repayments against one loan in the order given, chunkSize per
+     * transaction, under the loan's lock for the whole run. Returns one
+     * outcome per repayment. A repayment the loan refuses (wrong user, not
+     * repayable, more than the balance) fails alone; a chunk that fails to
+     * commit fails all of its repayments, and the next chunk carries on.
+     */
+    public List<RepaymentOutcome> postRepayments(Long loanId, List<CreateTransactionDTO> repayments, int chunkSize) {
+        List<RepaymentOutcome> outcomes = new ArrayList<>(repayments.size());
+        ReentrantLock lock;
+        try {
+            lock = lock(loanId);
+        } catch (ResponseStatusException e) {
+            repayments.forEach(repayment -> outcomes.add(RepaymentOutcome.failed(e.getReason())));
+            return outcomes;
+        }
+        try {
+            for (int from = 0; from < repayments.size(); from += chunkSize) {
+                List<CreateTransactionDTO> chunk = repayments.subList(from, Math.min(repayments.size(), from + chunkSize));
+                try {
+                    outcomes.addAll(withRetry(loanId, () -> inTransaction(() -> applyChunk(loanId, chunk))));
+                } catch (RuntimeException e) {
+                    String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                    logger.warn("Chunk of {} repayments on loan {} rolled back: {}", chunk.size(), loanId, cause);
+                    chunk.forEach(repayment -> outcomes.add(RepaymentOutcome.failed(
+                            "Not posted: its chunk of " + chunk.size() + " was rolled back (" + cause + ")")));
+                }
+            }
+            return outcomes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lock(Long loanId) {
+        ReentrantLock lock;
+        try {
+            lock = loanLocks.tryLock(loanId, lockTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted posting repayment");
+        }
+        if (lock == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Timed out waiting to post repayment on loan " + loanId);
+        }
+        return lock;
+    }
+
+    // A stale loan version means another instance posted meanwhile: rerun against the fresh balance
+    private <T> T withRetry(Long loanId, Supplier<T> posting) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return posting.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                logger.debug("Concurrent update on loan {}, retrying repayment (attempt {})", loanId, attempt);
+            }
+        }
+    }
+
+    /**
+     * The loan is flushed through its repository before commit, so a stale
+     * version surfaces as an OptimisticLockingFailureException for withRetry.
+     * Left to the flush a synchronization runs at commit, it would escape as
+     * an untranslated JPA exception and never be retried.
+     */
+    private <T> T inTransaction(Supplier<T> posting) {
+        return transactionTemplate.execute(status -> {
+            T result = posting.get();
+            loanRepository.flush();
+            return result;
+        });
+    }
+
+    private List<RepaymentOutcome> applyChunk(Long loanId, List<CreateTransactionDTO> chunk) {
+        Loan loan;
+        try {
+            loan = load(loanId);
+        } catch (LoanNotFoundException e) {
+            return chunk.stream().map(repayment -> RepaymentOutcome.failed(e.getMessage())).toList();
+        }
+        List<RepaymentOutcome> outcomes = new ArrayList<>(chunk.size());
+        for (CreateTransactionDTO repayment : chunk) {
+            try {
+                outcomes.add(new RepaymentOutcome(apply(loan, repayment), null));
+            } catch (TransactionException e) {
+                // Refused before the loan was touched, so the rest of the chunk still applies
+                outcomes.add(RepaymentOutcome.failed(e.getMessage()));
+            }
+        }
+        return outcomes;
+    }
+
+    private Loan load(Long loanId) {
+        return loanRepository.findById(loanId)
+                .orElseThrow(() -> new LoanNotFoundException("Loan not found with id: " + loanId));
+    }
+
+    private TransactionDTO apply(Loan loan, CreateTransactionDTO repayment) {
+        if (!loan.getUser().getId().equals(repayment.getUserId())) {
+            throw new TransactionException("Loan " + loan.getId() + " does not belong to user " + repayment.getUserId());
+        }
+        if (!REPAYABLE_STATUSES.contains(loan.getStatus())) {
+            throw new TransactionException("Loan " + loan.getId() + " is " + loan.getStatus() + " and cannot be repaid");
+        }
+
+        double amount = round(repayment.getAmount());
+        double balance = loan.getRemainingBalance() != null ? loan.getRemainingBalance() : loan.getAmount();
+        double openingBalance = balance;
+        LocalDate loanStart = (loan.getApprovedAt() != null ? loan.getApprovedAt() : loan.getAppliedAt()).toLocalDate();
+        LocalDate due = loan.getNextPaymentDate() != null
+                ? loan.getNextPaymentDate().toLocalDate() : loanStart.plusMonths(1);
+        LocalDate periodStart = amortizationService.periodStart(loanStart, due);
+        LocalDate accruedTo = loan.getLastAccrualDate() != null ? loan.getLastAccrualDate() : periodStart;
+        // Interest of this installment not yet accrued, charged in full once anything is paid towards it
+        double scheduledInterest = amortizationService.periodInterest(
+                balance, loan.getInterestRate(), periodStart, due, accruedTo, due);
+        double interestDue = round((loan.getAccruedInterest() != null ? loan.getAccruedInterest() : 0)
+                + scheduledInterest);
+        if (amount > balance + interestDue + CENT) {
+            throw new TransactionException("Repayment of " + amount + " exceeds the " + round(balance + interestDue)
+                    + " owed (balance " + balance + " plus interest " + interestDue + ")");
+        }
+
+        double interest = Math.min(amount, interestDue);
+        double principal = round(amount - interest);
+        // Interest the repayment did not cover stays owed
+        loan.setAccruedInterest(round(interestDue - interest));
+        if (scheduledInterest > 0) {
+            loan.setLastAccrualDate(due);
+        }
+        balance = round(balance - principal);
+        loan.setRemainingBalance(balance);
+
+        String previousStatus = loan.getStatus();
+        if (balance <= CENT) {
+            loan.setRemainingBalance(0.0);
+            loan.setStatus("REPAID");
+            loan.setRepaidAt(LocalDateTime.now());
+            loan.setNextPaymentDate(null);
+        } else {
+            rollNextPaymentDate(loan, balance);
+        }
+        loanRepository.save(loan);
+        if (!previousStatus.equals(loan.getStatus())) {
+            loanStatsService.loanStatusChanged(previousStatus, loan.getStatus(), loan.getAmount());
+        }
+
+        Transaction transaction = transactionMapper.toEntity(repayment, loan.getUser());
+        transaction.setLoan(loan);
+        transaction.setAmount(amount);
+        transaction.setInterestAmount(interest);
+        transaction.setPrincipalAmount(principal);
+        transaction.setStatus("COMPLETED");
+        Transaction saved = transactionRepository.save(transaction);
+        ledgerService.postRepayment(loan.getId(), amount, interest, saved.getId());
+        userOverviewService.loanChanged(repayment.getUserId(), previousStatus, openingBalance, loan.getStatus(),
+                loan.getRemainingBalance());
+        userOverviewService.transactionChanged(repayment.getUserId(), saved.getTransactionType(), loan.getId(), null,
+                saved.getStatus(), amount);
+        TransactionDTO posted = transactionMapper.toDTO(saved);
+        outboxService.transactionPosted(posted);
+        if (!previousStatus.equals(loan.getStatus())) {
+            outboxService.loanStatusChanged(loan.getId(), repayment.getUserId(), previousStatus, loan.getStatus());
+        }
+        return posted;
+    }
+
+    // Move the due date past every installment the new balance already covers
+    private void rollNextPaymentDate(Loan loan, double balance) {
+        LocalDateTime start = loan.getApprovedAt() != null ? loan.getApprovedAt() : loan.getAppliedAt();
+        // Installment n falls due n - 1 months after the first, as on the schedule
+        LocalDateTime firstDue = start.plusMonths(1);
+        LocalDateTime nextDue = loan.getNextPaymentDate() != null ? loan.getNextPaymentDate() : firstDue;
+        int installment = amortizationService.installmentNumber(firstDue.toLocalDate(), nextDue.toLocalDate());
+        while (installment <= loan.getTenure() && balance <= scheduledBalance(loan, installment) + CENT) {
+            nextDue = firstDue.plusMonths(installment);
+            installment++;
+        }
+        loan.setNextPaymentDate(nextDue);
+
+        // Caught up with everything already due: clear the overdue flag
+        LocalDate today = LocalDate.now();
+        if ("OVERDUE".equals(loan.getStatus())) {
+            int due = today.isBefore(firstDue.toLocalDate()) ? 0
+                    : amortizationService.installmentNumber(firstDue.toLocalDate(), today);
+            if (balance <= scheduledBalance(loan, due) + CENT) {
+                loan.setStatus("ACTIVE");
+            }
+        }
+    }
+
+    private double scheduledBalance(Loan loan, int installmentsPaid) {
+        return amortizationService.scheduledBalance(
+                loan.getAmount(), loan.getInterestRate(), loan.getTenure(), installmentsPaid);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,112 @@
+package dev_eddy.fintech_loan_app.services;
+
+import dev_eddy.fintech_loan_app.repository.ResourceVersionRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Versions of the entity and per-user list responses, for ETag and
+ * Last-Modified. A version is the count of rows behind a response, the sum
+ * of their updated_at stamps and the latest of those stamps. Every write
+ * path restamps the rows it changes, but not all from one clock: entity
+ * hooks use the JVM clock and the set-based updates the database's
+ * transaction start. A new stamp can therefore be older than the current
+ * latest, so the ETag is built from the count and the sum, which moves
+ * whenever any stamp changes; the latest stamp only feeds Last-Modified.
+ *
+ * A version is either read on its own, to answer a conditional request
+ * without loading anything, or derived from a response that was loaded
+ * anyway; both give the same value for the same rows.
+ */
+@Service
+public class ResourceVersionService {
+
+    // stampSum: epoch microseconds of the stamps added up, wrapping at 64 bits
+    public record Version(long count, long stampSum, LocalDateTime lastModified) {
+
+        // Strong: equal versions mean byte-identical bodies of the same representation
+        public String eTag() {
+            return eTag(null);
+        }
+
+        // Binary encodings of the same rows get ETags of their own
+        public String eTag(String encoding) {
+            return "\"" + count + "-" + Long.toUnsignedString(stampSum)
+                    + (encoding == null ? "" : "-" + encoding) + "\"";
+        }
+
+        // -1 when nothing has been stamped, which leaves Last-Modified out
+        public long lastModifiedMillis() {
+            return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+
+        static long toEpochMicros(LocalDateTime time) {
+            return ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), time);
+        }
+    }
+
+    private final ResourceVersionRepository resourceVersionRepository;
+    private final UserCache userCache;
+
+    public ResourceVersionService(ResourceVersionRepository resourceVersionRepository, UserCache userCache) {
+        this.resourceVersionRepository = resourceVersionRepository;
+        this.userCache = userCache;
+    }
+
+    public Optional<Version> loan(Long id) {
+        return resourceVersionRepository.findLoanUpdatedAt(id).map(ResourceVersionService::ofStamped);
+    }
+
+    // User reads are served from UserCache, so a cached snapshot has to answer for its own version
+    public Optional<Version> user(Long id) {
+        Optional<UserCache.CachedUser> cached = userCache.peek(id);
+        if (cached.isPresent()) {
+            return of(cached.get().updatedAt());
+        }
+        return resourceVersionRepository.findUserUpdatedAt(id).map(ResourceVersionService::ofStamped);
+    }
+
+    public Optional<Version> transaction(Long id) {
+        return resourceVersionRepository.findTransactionUpdatedAt(id).map(ResourceVersionService::ofStamped);
+    }
+
+    public Optional<Version> userLoans(Long userId) {
+        return Optional.of(of(resourceVersionRepository.userLoans(userId)));
+    }
+
+    public Optional<Version> userTransactions(Long userId, boolean includeArchived) {
+        return Optional.of(of(resourceVersionRepository.userTransactions(userId, includeArchived)));
+    }
+
+    // Empty for rows that were never stamped; such responses go out without validators
+    public static Optional<Version> of(LocalDateTime updatedAt) {
+        return Optional.ofNullable(updatedAt).map(ResourceVersionService::ofStamped);
+    }
+
+    public static <T> Version of(Collection<T> items, Function<T, LocalDateTime> updatedAt) {
+        long stampSum = 0;
+        LocalDateTime latest = null;
+        for (T item : items) {
+            LocalDateTime stamp = updatedAt.apply(item);
+            if (stamp != null) {
+                stampSum += Version.toEpochMicros(stamp);
+                latest = latest == null || stamp.isAfter(latest) ? stamp : latest;
+            }
+        }
+        return new Version(items.size(), stampSum, latest);
+    }
+
+    private static Version ofStamped(LocalDateTime updatedAt) {
+        return new Version(1, Version.toEpochMicros(updatedAt), updatedAt);
+    }
+
+    private static Version of(ResourceVersionRepository.Aggregate aggregate) {
+        return new Version(aggregate.count(), aggregate.stampSum(), aggregate.maxUpdatedAt());
+    }
+}
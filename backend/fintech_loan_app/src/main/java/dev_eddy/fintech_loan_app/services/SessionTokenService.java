@@ -0,0 +1,203 @@
+package dev_eddy.fintech_loan_app.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues and verifies stateless session tokens, so an authenticated request
+ * is checked with one HMAC and no database access.
+ *
+ * A token is {@code <keyId>.<payload>.<signature>} in base64url, where the
+ * payload holds the user id, issue and expiry times, a random token id and
+ * the user's roles, and the signature is HMAC-SHA256 over the first two parts.
+ *
+ * Keys come from {@code auth.tokens.keys} as {@code keyId:base64Secret}
+ * pairs. The first key signs new tokens; the others are only accepted for
+ * verification, which lets a key be rotated out once its tokens expire.
+ *
+ * Revocation (logout, deleted users) is held in memory until the affected
+ * tokens would have expired anyway. It is per instance, so a multi-node
+ * deployment should keep token lifetimes short.
+ */
+@Service
+public class SessionTokenService {
+
+    // issuedAt is epoch milliseconds, expiresAt epoch seconds
+    public record SessionPrincipal(Long userId, String roles, long issuedAt, long expiresAt, long tokenId) {
+    }
+
+    public record IssuedToken(String token, long expiresAt) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(SessionTokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    // userId, issuedAt, expiresAt, tokenId
+    private static final int FIXED_PAYLOAD_BYTES = 4 * Long.BYTES;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Map<String, Mac> keys = new LinkedHashMap<>();
+    private final String signingKeyId;
+    private final Duration ttl;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+
+    // tokenId -> expiry (epoch seconds)
+    private final Map<Long, Long> revokedTokens = new ConcurrentHashMap<>();
+    // userId -> tokens issued at or before this instant (epoch millis) are rejected
+    private final Map<Long, Long> revokedUsers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SessionTokenService(@Value("${auth.tokens.keys:}") String configuredKeys,
+            @Value("${auth.tokens.ttl-minutes:60}") long ttlMinutes) {
+        this(configuredKeys, Duration.ofMinutes(ttlMinutes), Clock.systemUTC());
+    }
+
+    SessionTokenService(String configuredKeys, Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+        if (configuredKeys == null || configuredKeys.isBlank()) {
+            byte[] secret = new byte[MIN_SECRET_BYTES];
+            random.nextBytes(secret);
+            keys.put("local", newMac(secret));
+            log.warn("auth.tokens.keys is not set; using a random signing key, sessions will not survive a restart");
+        } else {
+            for (String entry : configuredKeys.split(",")) {
+                String[] parts = entry.trim().split(":", 2);
+                if (parts.length != 2 || parts[0].isBlank() || parts[0].contains(".")) {
+                    throw new IllegalStateException("auth.tokens.keys entries must be keyId:base64Secret");
+                }
+                byte[] secret = Base64.getDecoder().decode(parts[1].trim());
+                if (secret.length < MIN_SECRET_BYTES) {
+                    throw new IllegalStateException("Signing key " + parts[0] + " must be at least "
+                            + MIN_SECRET_BYTES + " bytes");
+                }
+                keys.put(parts[0].trim(), newMac(secret));
+            }
+        }
+        this.signingKeyId = keys.keySet().iterator().next();
+    }
+
+    public IssuedToken issue(Long userId, String roles) {
+        long issuedAt = clock.millis();
+        long expiresAt = issuedAt / 1000 + ttl.toSeconds();
+        byte[] roleBytes = (roles == null ? "" : roles).getBytes(StandardCharsets.UTF_8);
+        byte[] payload = ByteBuffer.allocate(FIXED_PAYLOAD_BYTES + roleBytes.length)
+                .putLong(userId)
+                .putLong(issuedAt)
+                .putLong(expiresAt)
+                .putLong(random.nextLong())
+                .put(roleBytes)
+                .array();
+        String signed = signingKeyId + "." + ENCODER.encodeToString(payload);
+        String token = signed + "." + ENCODER.encodeToString(sign(signingKeyId, signed));
+        return new IssuedToken(token, expiresAt);
+    }
+
+    /**
+     * Returns the caller for a well-formed, correctly signed, unexpired and
+     * unrevoked token; empty otherwise.
+     */
+    public Optional<SessionPrincipal> verify(String token) {
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot <= 0 || lastDot == firstDot) {
+            return Optional.empty();
+        }
+        String keyId = token.substring(0, firstDot);
+        if (!keys.containsKey(keyId)) {
+            return Optional.empty();
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(firstDot + 1, lastDot));
+            signature = DECODER.decode(token.substring(lastDot + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (payload.length < FIXED_PAYLOAD_BYTES
+                || !MessageDigest.isEqual(signature, sign(keyId, token.substring(0, lastDot)))) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        long userId = buffer.getLong();
+        long issuedAt = buffer.getLong();
+        long expiresAt = buffer.getLong();
+        long tokenId = buffer.getLong();
+        String roles = new String(payload, FIXED_PAYLOAD_BYTES, payload.length - FIXED_PAYLOAD_BYTES,
+                StandardCharsets.UTF_8);
+
+        if (clock.instant().getEpochSecond() >= expiresAt || revokedTokens.containsKey(tokenId)) {
+            return Optional.empty();
+        }
+        Long userRevokedAt = revokedUsers.get(userId);
+        if (userRevokedAt != null && issuedAt <= userRevokedAt) {
+            return Optional.empty();
+        }
+        return Optional.of(new SessionPrincipal(userId, roles, issuedAt, expiresAt, tokenId));
+    }
+
+    public void revoke(SessionPrincipal principal) {
+        revokedTokens.put(principal.tokenId(), principal.expiresAt());
+    }
+
+    // Invalidates every token issued to the user so far
+    public void revokeUser(Long userId) {
+        revokedUsers.put(userId, clock.millis());
+    }
+
+    public int revokedCount() {
+        return revokedTokens.size() + revokedUsers.size();
+    }
+
+    // Revocations only need to outlive the tokens they cover
+    @Scheduled(fixedDelayString = "${auth.tokens.purge-interval-ms:60000}")
+    public void purgeRevocations() {
+        long now = clock.millis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt * 1000 <= now);
+        revokedUsers.values().removeIf(revokedAt -> revokedAt + ttl.toMillis() < now);
+    }
+
+    private byte[] sign(String keyId, String signed) {
+        try {
+            // Mac is not thread-safe; cloning the initialised prototype skips the key setup
+            Mac mac = (Mac) keys.get(keyId).clone();
+            return mac.doFinal(signed.getBytes(StandardCharsets.US_ASCII));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(ALGORITHM + " provider does not support cloning", e);
+        }
+    }
+
+    private static Mac newMac(byte[] secret) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret, ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not initialise " + ALGORITHM, e);
+        }
+    }
+}
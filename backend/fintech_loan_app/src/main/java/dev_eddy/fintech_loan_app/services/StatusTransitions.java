@@ -0,0 +1,124 @@
+package dev_eddy.fintech_loan_app.services;
+
+import dev_eddy.fintech_loan_app.dtos.BulkStatusResultDTO;
+import dev_eddy.fintech_loan_app.dtos.BulkStatusSkippedDTO;
+import dev_eddy.fintech_loan_app.dtos.BulkStatusUpdateDTO;
+import dev_eddy.fintech_loan_app.repository.StatusUpdateRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Which statuses an admin may move loans and transactions into, and from
+ * where, plus the request checks and result shaping shared by the bulk
+ * status endpoints.
+ *
+ * Lifecycle moves the system makes itself (REPAID on the last repayment,
+ * OVERDUE from the accrual run, ACTIVE again once a borrower catches up)
+ * go through their own services and are not limited by this table.
+ */
+final class StatusTransitions {
+
+    static final StatusTransitions LOANS = new StatusTransitions("Loan", Map.of(
+            "APPROVED", Set.of("PENDING"),
+            "REJECTED", Set.of("PENDING"),
+            "ACTIVE", Set.of("APPROVED", "OVERDUE"),
+            "OVERDUE", Set.of("APPROVED", "ACTIVE")));
+
+    static final StatusTransitions TRANSACTIONS = new StatusTransitions("Transaction", Map.of(
+            "COMPLETED", Set.of("PENDING"),
+            "FAILED", Set.of("PENDING")));
+
+    private final String entity;
+    // target status -> statuses it may be reached from
+    private final Map<String, Set<String>> sources;
+
+    private StatusTransitions(String entity, Map<String, Set<String>> sources) {
+        this.entity = entity;
+        this.sources = sources;
+    }
+
+    Set<String> sourcesFor(String target) {
+        Set<String> allowed = sources.get(target);
+        if (allowed == null) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    entity + " status cannot be set to " + target + "; allowed targets are " + sources.keySet());
+        }
+        return allowed;
+    }
+
+    /**
+     * Checks that the request names either ids or a currentStatus filter and
+     * returns the distinct ids, or null for a filter update.
+     */
+    Long[] requestedIds(BulkStatusUpdateDTO request, int maxItems) {
+        List<Long> ids = request.getIds();
+        if ((ids == null) == (request.getCurrentStatus() == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Provide either ids or a currentStatus filter");
+        }
+        if (ids == null) {
+            if (!sourcesFor(request.getStatus()).contains(request.getCurrentStatus())) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, entity + " status cannot move from "
+                        + request.getCurrentStatus() + " to " + request.getStatus());
+            }
+            return null;
+        }
+        if (request.getUserId() != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "userId only narrows a currentStatus filter");
+        }
+        if (ids.isEmpty() || ids.contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids must be a non-empty list of ids");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.size() > maxItems) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Bulk update exceeds " + maxItems + " ids");
+        }
+        return distinct.toArray(Long[]::new);
+    }
+
+    // Reports the changed rows, and for an id list why each remaining id was left alone
+    BulkStatusResultDTO toResult(BulkStatusUpdateDTO request, Long[] ids, List<StatusUpdateRepository.ChangedRow> changed,
+                                 Function<Long[], List<StatusUpdateRepository.CurrentStatus>> lookup, int limit) {
+        List<Long> updatedIds = new ArrayList<>(changed.size());
+        Set<Long> updated = new HashSet<>();
+        for (StatusUpdateRepository.ChangedRow row : changed) {
+            updatedIds.add(row.id());
+            updated.add(row.id());
+        }
+
+        List<BulkStatusSkippedDTO> skipped = new ArrayList<>();
+        if (ids != null && updated.size() < ids.length) {
+            Long[] remaining = Arrays.stream(ids).filter(id -> !updated.contains(id)).toArray(Long[]::new);
+            // Only the skipped rows are read back, and only to explain them
+            Map<Long, String> current = new HashMap<>();
+            for (StatusUpdateRepository.CurrentStatus row : lookup.apply(remaining)) {
+                current.put(row.id(), row.status());
+            }
+            for (Long id : remaining) {
+                String status = current.get(id);
+                skipped.add(new BulkStatusSkippedDTO(id, status, status == null
+                        ? entity + " not found with id: " + id
+                        : entity + " is " + status + " and cannot move to " + request.getStatus()));
+            }
+        }
+
+        BulkStatusResultDTO result = new BulkStatusResultDTO();
+        result.setStatus(request.getStatus());
+        result.setUpdated(updatedIds.size());
+        result.setUpdatedIds(updatedIds);
+        result.setSkipped(skipped);
+        result.setHasMore(ids == null && changed.size() == limit);
+        return result;
+    }
+}
@@ -0,0 +1,123 @@
+package dev_eddy.fintech_loan_app.services;
+
+import dev_eddy.fintech_loan_app.dtos.ArchiveRunDTO;
+import dev_eddy.fintech_loan_app.repository.TransactionArchiveRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the monthly transactions partitions in shape: creates the months
+ * ahead before rows arrive, moves settled transactions older than the
+ * horizon into transactions_archive in small batches, and drops old
+ * partitions once they are empty. The hot table then only ever spans about
+ * horizon-days of history, however much has accumulated in the archive.
+ */
+@Service
+public class TransactionArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionArchiveService.class);
+
+    private final TransactionArchiveRepository transactionArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int horizonDays;
+    private final int batchSize;
+    private final int monthsAhead;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public TransactionArchiveService(TransactionArchiveRepository transactionArchiveRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${transactions.archive.horizon-days:365}") int horizonDays,
+            @Value("${transactions.archive.batch-size:5000}") int batchSize,
+            @Value("${transactions.partitions.months-ahead:3}") int monthsAhead) {
+        this.transactionArchiveRepository = transactionArchiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.horizonDays = horizonDays;
+        this.batchSize = batchSize;
+        this.monthsAhead = monthsAhead;
+    }
+
+    // Partitions for this month and the next few; also runs once at startup
+    @Scheduled(initialDelay = 0, fixedDelayString = "${transactions.partitions.check-interval-ms:3600000}")
+    public void ensurePartitions() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= monthsAhead; i++) {
+            try {
+                transactionArchiveRepository.createPartition(month.plusMonths(i));
+            } catch (DataAccessException e) {
+                // Another instance created it meanwhile, or rows for that month already sit in the default partition
+                logger.warn("Could not create transactions partition for {}", month.plusMonths(i), e);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${transactions.archive.cron:0 15 2 * * *}")
+    public void nightly() {
+        if (running.compareAndSet(false, true)) {
+            try {
+                execute();
+            } finally {
+                running.set(false);
+            }
+        } else {
+            logger.warn("Skipping scheduled archive run: a run is already in progress");
+        }
+    }
+
+    // Runs the archiver now and reports what it moved
+    public ArchiveRunDTO run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "An archive run is already in progress");
+        }
+        try {
+            return execute();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ArchiveRunDTO execute() {
+        ArchiveRunDTO run = new ArchiveRunDTO();
+        run.setStartedAt(LocalDateTime.now());
+        LocalDateTime horizon = LocalDate.now().minusDays(horizonDays).atStartOfDay();
+        run.setHorizon(horizon);
+
+        // Each batch commits on its own, so the rows locked at any moment stay few
+        long archived = 0;
+        int moved;
+        do {
+            moved = transactionArchiveRepository.archiveBatch(horizon, batchSize);
+            archived += moved;
+        } while (moved == batchSize);
+        run.setTransactionsArchived(archived);
+
+        // Months left with PENDING rows stay until those settle and a later run moves them
+        int dropped = 0;
+        for (String partition : transactionArchiveRepository.findPartitionsBefore(horizon.toLocalDate().withDayOfMonth(1))) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(
+                        status -> transactionArchiveRepository.dropIfEmpty(partition)))) {
+                    dropped++;
+                }
+            } catch (DataAccessException e) {
+                logger.warn("Could not drop transactions partition {}", partition, e);
+            }
+        }
+        run.setPartitionsDropped(dropped);
+        run.setFinishedAt(LocalDateTime.now());
+        logger.info("Archived {} transactions dated before {} and dropped {} partitions",
+                archived, horizon, dropped);
+        return run;
+    }
+}
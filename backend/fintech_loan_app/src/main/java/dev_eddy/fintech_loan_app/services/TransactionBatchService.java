@@ -0,0 +1,233 @@
+package dev_eddy.fintech_loan_app.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import dev_eddy.fintech_loan_app.dtos.BatchItemResultDTO;
+import dev_eddy.fintech_loan_app.dtos.BatchResultDTO;
+import dev_eddy.fintech_loan_app.dtos.CreateTransactionDTO;
+import dev_eddy.fintech_loan_app.entity.Transaction;
+import dev_eddy.fintech_loan_app.entity.User;
+import dev_eddy.fintech_loan_app.mappers.TransactionMapper;
+import dev_eddy.fintech_loan_app.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk ingestion of settlement files. All referenced users are resolved with
+ * one IN query and rows are persisted in chunks matching hibernate.jdbc.batch_size,
+ * so each chunk goes to Postgres as a single JDBC batch.
+ *
+ * Every chunk commits in a transaction of its own, and items are reported
+ * CREATED only once their chunk has committed. A chunk that fails is rolled
+ * back whole and its items are reported FAILED; the other chunks stand.
+ *
+ * Repayments (items with a loanId) are grouped by loan and posted through
+ * RepaymentService, which applies each loan's repayments in file order under
+ * the loan's lock, a chunk per transaction.
+ */
+@Service
+public class TransactionBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionBatchService.class);
+
+    private final UserRepository userRepository;
+    private final TransactionMapper transactionMapper;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final UserOverviewService userOverviewService;
+    private final OutboxService outboxService;
+    private final RepaymentService repaymentService;
+    private final TransactionTemplate chunkTransaction;
+    private final ObjectReader itemReader;
+    private final int batchSize;
+    private final int maxItems;
+
+    public TransactionBatchService(UserRepository userRepository,
+            TransactionMapper transactionMapper,
+            EntityManager entityManager,
+            Validator validator,
+            UserOverviewService userOverviewService,
+            OutboxService outboxService,
+            RepaymentService repaymentService,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+            @Value("${transactions.batch.max-items:10000}") int maxItems) {
+        this.userRepository = userRepository;
+        this.transactionMapper = transactionMapper;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.userOverviewService = userOverviewService;
+        this.outboxService = outboxService;
+        this.repaymentService = repaymentService;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.itemReader = objectMapper.readerFor(CreateTransactionDTO.class);
+        this.batchSize = batchSize;
+        this.maxItems = maxItems;
+    }
+
+    // Accepts either a JSON array or newline-delimited JSON objects
+    public List<CreateTransactionDTO> readItems(InputStream body) throws IOException {
+        List<CreateTransactionDTO> items = new ArrayList<>();
+        try (MappingIterator<CreateTransactionDTO> iterator = itemReader.readValues(body)) {
+            while (iterator.hasNextValue()) {
+                if (items.size() == maxItems) {
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                            "Batch exceeds " + maxItems + " transactions");
+                }
+                items.add(iterator.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed batch body: " + e.getOriginalMessage());
+        }
+        return items;
+    }
+
+    public BatchResultDTO createTransactions(List<CreateTransactionDTO> items) {
+        long started = System.nanoTime();
+
+        Set<Long> userIds = new HashSet<>();
+        for (CreateTransactionDTO item : items) {
+            if (item != null && item.getUserId() != null) {
+                userIds.add(item.getUserId());
+            }
+        }
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        BatchItemResultDTO[] results = new BatchItemResultDTO[items.size()];
+        List<Integer> chunk = new ArrayList<>(batchSize);
+        Map<Long, List<Integer>> repaymentsByLoan = new LinkedHashMap<>();
+        int created = 0;
+        for (int i = 0; i < items.size(); i++) {
+            String error = validate(items.get(i), users);
+            if (error != null) {
+                results[i] = new BatchItemResultDTO(i, "FAILED", null, error);
+                continue;
+            }
+            if (items.get(i).getLoanId() != null) {
+                repaymentsByLoan.computeIfAbsent(items.get(i).getLoanId(), id -> new ArrayList<>()).add(i);
+                continue;
+            }
+            chunk.add(i);
+            // Send each full chunk as one JDBC batch and keep the persistence context small
+            if (chunk.size() == batchSize) {
+                created += commitChunk(items, chunk, users, results);
+                chunk.clear();
+            }
+        }
+        created += commitChunk(items, chunk, users, results);
+        for (Map.Entry<Long, List<Integer>> loan : repaymentsByLoan.entrySet()) {
+            created += postRepayments(items, loan.getKey(), loan.getValue(), results);
+        }
+
+        long elapsedMicros = Math.max(1, (System.nanoTime() - started) / 1_000);
+        logger.debug("Ingested {} of {} transactions in {} ms ({} rows/s)",
+                created, items.size(), elapsedMicros / 1_000, created * 1_000_000L / elapsedMicros);
+
+        BatchResultDTO result = new BatchResultDTO();
+        result.setReceived(items.size());
+        result.setCreated(created);
+        result.setFailed(items.size() - created);
+        result.setItems(List.of(results));
+        return result;
+    }
+
+    // Returns the number of items created; the chunk's results are filled in either way
+    private int commitChunk(List<CreateTransactionDTO> items, List<Integer> chunk, Map<Long, User> users,
+                            BatchItemResultDTO[] results) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        try {
+            List<Transaction> persisted = chunkTransaction.execute(status -> {
+                List<Transaction> rows = new ArrayList<>(chunk.size());
+                Set<Long> touchedUsers = new HashSet<>();
+                for (int index : chunk) {
+                    CreateTransactionDTO item = items.get(index);
+                    Transaction transaction = transactionMapper.toEntity(item, users.get(item.getUserId()));
+                    entityManager.persist(transaction);
+                    outboxService.transactionPosted(transactionMapper.toDTO(transaction));
+                    touchedUsers.add(item.getUserId());
+                    rows.add(transaction);
+                }
+                userOverviewService.markDirty(touchedUsers);
+                entityManager.flush();
+                return rows;
+            });
+            for (int k = 0; k < chunk.size(); k++) {
+                results[chunk.get(k)] = new BatchItemResultDTO(chunk.get(k), "CREATED", persisted.get(k).getId(), null);
+            }
+            return chunk.size();
+        } catch (RuntimeException e) {
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            logger.warn("Batch chunk of {} transactions starting at item {} rolled back: {}",
+                    chunk.size(), chunk.get(0), cause);
+            for (int index : chunk) {
+                results[index] = new BatchItemResultDTO(index, "FAILED", null,
+                        "Not created: its chunk of " + chunk.size() + " was rolled back (" + cause + ")");
+            }
+            return 0;
+        }
+    }
+
+    private int postRepayments(List<CreateTransactionDTO> items, Long loanId, List<Integer> indexes,
+                               BatchItemResultDTO[] results) {
+        List<RepaymentService.RepaymentOutcome> outcomes = repaymentService.postRepayments(
+                loanId, indexes.stream().map(items::get).toList(), batchSize);
+        int created = 0;
+        for (int k = 0; k < indexes.size(); k++) {
+            int index = indexes.get(k);
+            RepaymentService.RepaymentOutcome outcome = outcomes.get(k);
+            if (outcome.posted() != null) {
+                results[index] = new BatchItemResultDTO(index, "CREATED", outcome.posted().getId(), null);
+                created++;
+            } else {
+                results[index] = new BatchItemResultDTO(index, "FAILED", null, outcome.error());
+            }
+        }
+        return created;
+    }
+
+    private String validate(CreateTransactionDTO item, Map<Long, User> users) {
+        if (item == null) {
+            return "Transaction is required";
+        }
+        Set<ConstraintViolation<CreateTransactionDTO>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!users.containsKey(item.getUserId())) {
+            return "User not found with id: " + item.getUserId();
+        }
+        return null;
+    }
+}
@@ -1,78 +1,158 @@
 package dev_eddy.fintech_loan_app.services;
 
+import dev_eddy.fintech_loan_app.dtos.BulkStatusResultDTO;
+import dev_eddy.fintech_loan_app.dtos.BulkStatusUpdateDTO;
 import dev_eddy.fintech_loan_app.dtos.TransactionDTO;
 import dev_eddy.fintech_loan_app.dtos.CreateTransactionDTO;
+import dev_eddy.fintech_loan_app.dtos.CursorPageDTO;
 import dev_eddy.fintech_loan_app.entity.User;
 import dev_eddy.fintech_loan_app.entity.Transaction;
 import dev_eddy.fintech_loan_app.exceptions.ResourceNotFoundException;
 import dev_eddy.fintech_loan_app.repository.UserRepository;
 import dev_eddy.fintech_loan_app.repository.TransactionRepository;
 import dev_eddy.fintech_loan_app.repository.LoanRepository;
+import dev_eddy.fintech_loan_app.repository.StatusUpdateRepository;
+import dev_eddy.fintech_loan_app.repository.TransactionArchiveRepository;
 import dev_eddy.fintech_loan_app.mappers.TransactionMapper;
+import dev_eddy.fintech_loan_app.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 @Transactional
 public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
+    private final UserCache userCache;
     private final TransactionMapper transactionMapper;
+    private final UserOverviewService userOverviewService;
+    private final StatusUpdateRepository statusUpdateRepository;
+    private final TransactionArchiveRepository transactionArchiveRepository;
+    private final OutboxService outboxService;
+    private final int bulkStatusMaxItems;
 
     @Autowired
     public TransactionService(TransactionRepository transactionRepository,
             UserRepository userRepository,
+            UserCache userCache,
             LoanRepository loanRepository,
-            TransactionMapper transactionMapper) {
+            TransactionMapper transactionMapper,
+            UserOverviewService userOverviewService,
+            StatusUpdateRepository statusUpdateRepository,
+            TransactionArchiveRepository transactionArchiveRepository,
+            OutboxService outboxService,
+            @Value("${admin.bulk-status.max-items:10000}") int bulkStatusMaxItems) {
         this.transactionRepository = transactionRepository;
         this.userRepository = userRepository;
+        this.userCache = userCache;
         this.transactionMapper = transactionMapper;
+        this.userOverviewService = userOverviewService;
+        this.statusUpdateRepository = statusUpdateRepository;
+        this.transactionArchiveRepository = transactionArchiveRepository;
+        this.outboxService = outboxService;
+        this.bulkStatusMaxItems = bulkStatusMaxItems;
     }
 
     public TransactionDTO createTransaction(CreateTransactionDTO createTransactionDTO) {
-        User user = userRepository.findById(createTransactionDTO.getUserId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
+        if (!userCache.exists(createTransactionDTO.getUserId())) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        User user = userRepository.getReferenceById(createTransactionDTO.getUserId());
 
         Transaction transaction = transactionMapper.toEntity(createTransactionDTO, user);
         Transaction savedTransaction = transactionRepository.save(transaction);
-        return transactionMapper.toDTO(savedTransaction);
+        userOverviewService.markDirty(createTransactionDTO.getUserId());
+        TransactionDTO created = transactionMapper.toDTO(savedTransaction);
+        outboxService.transactionPosted(created);
+        return created;
     }
 
-     public List<TransactionDTO> getAllUserTransactions() {
-        return transactionRepository.findAll().stream()
-                .map(transactionMapper::toDTO)
-                .collect(Collectors.toList());
+     public CursorPageDTO<TransactionDTO> getAllUserTransactions(String cursor, Integer size,
+            String status, Long userId) {
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        PageRequest page = PageRequest.ofSize(pageSize + 1);
+        List<TransactionDTO> rows = after == null
+                ? transactionRepository.findFirstPage(status, userId, page)
+                : transactionRepository.findPageAfter(status, userId, after.getCreatedAt(), after.getId(), page);
+        return PageCursor.toPage(rows, pageSize, Function.identity(),
+                TransactionDTO::getCreatedAt, TransactionDTO::getId);
     }
 
+    // Hot history only: transactions not yet moved to the archive
     public List<TransactionDTO> getUserTransactions(Long userId) {
-        return transactionRepository.findByUserId(userId).stream()
-                .map(transactionMapper::toDTO)
-                .collect(Collectors.toList());
+        return transactionRepository.findDTOsByUserId(userId);
+    }
+
+    public List<TransactionDTO> getUserTransactions(Long userId, boolean includeArchived) {
+        List<TransactionDTO> hot = getUserTransactions(userId);
+        if (!includeArchived) {
+            return hot;
+        }
+        List<TransactionDTO> all = new ArrayList<>(hot);
+        all.addAll(transactionArchiveRepository.findDTOsByUserId(userId));
+        // Old PENDING rows stay hot, so the two lists can interleave
+        all.sort(Comparator.comparing(TransactionDTO::getTransactionDate,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        return all;
     }
 
      public TransactionDTO getTransactionById(Long id) {
-         Transaction transaction = transactionRepository.findById(id)
+         return transactionRepository.findById(id)
+            .map(transactionMapper::toDTO)
+            .or(() -> transactionArchiveRepository.findDTOById(id))
             .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
-        return transactionMapper.toDTO(transaction);
     }
    
     public TransactionDTO updateTransactionStatus(Long id, String status) {
         Transaction transaction = transactionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
 
+        String previousStatus = transaction.getStatus();
         transaction.setStatus(status);
         Transaction updatedTransaction = transactionRepository.save(transaction);
-        return transactionMapper.toDTO(updatedTransaction);
+        userOverviewService.transactionChanged(transaction.getUser().getId(), transaction.getTransactionType(),
+                loanId(transaction), previousStatus, status, transaction.getAmount());
+        TransactionDTO updated = transactionMapper.toDTO(updatedTransaction);
+        outboxService.transactionStatusChanged(updated.getId(), updated.getLoanId(), updated.getUserId(),
+                previousStatus, status);
+        return updated;
     }
 
-    public void deleteTransaction(Long id) {
-        if (!transactionRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User not found with id: " + id);
+    // One set-based UPDATE for the whole selection instead of a load and save per transaction
+    public BulkStatusResultDTO updateTransactionStatuses(BulkStatusUpdateDTO request) {
+        StatusTransitions transitions = StatusTransitions.TRANSACTIONS;
+        Long[] ids = transitions.requestedIds(request, bulkStatusMaxItems);
+        List<StatusUpdateRepository.ChangedRow> changed = statusUpdateRepository.updateTransactions(ids,
+                request.getCurrentStatus(), request.getUserId(), transitions.sourcesFor(request.getStatus()),
+                request.getStatus(), bulkStatusMaxItems);
+
+        for (StatusUpdateRepository.ChangedRow row : changed) {
+            userOverviewService.transactionChanged(row.userId(), row.transactionType(), row.loanId(),
+                    row.previousStatus(), request.getStatus(), row.amount());
+            outboxService.transactionStatusChanged(row.id(), row.loanId(), row.userId(), row.previousStatus(),
+                    request.getStatus());
         }
-        transactionRepository.deleteById(id);
+        return transitions.toResult(request, ids, changed, statusUpdateRepository::findTransactionStatuses,
+                bulkStatusMaxItems);
+    }
+
+    public void deleteTransaction(Long id) {
+        Transaction transaction = transactionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        transactionRepository.delete(transaction);
+        userOverviewService.transactionChanged(transaction.getUser().getId(), transaction.getTransactionType(),
+                loanId(transaction), transaction.getStatus(), null, transaction.getAmount());
+    }
+
+    private static Long loanId(Transaction transaction) {
+        return transaction.getLoan() != null ? transaction.getLoan().getId() : null;
     }
 }
@@ -0,0 +1,138 @@
+package dev_eddy.fintech_loan_app.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import dev_eddy.fintech_loan_app.entity.User;
+import dev_eddy.fintech_loan_app.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded in-process cache of user records keyed by id and by email, in
+ * front of the lookups every loan, transaction and login starts with.
+ *
+ * Entries are immutable snapshots rather than entities, so nothing cached is
+ * ever attached to a persistence context. Writers that only need the foreign
+ * key should pair a cache hit with UserRepository.getReferenceById.
+ */
+@Service
+public class UserCache {
+
+    public record CachedUser(Long id, String name, String email, String phoneNumber, String password,
+                             String roles, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static CachedUser of(User user) {
+            return new CachedUser(user.getId(), user.getName(), user.getEmail(), user.getPhoneNumber(),
+                    user.getPassword(), user.getRoles(), user.getCreatedAt(), user.getUpdatedAt());
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final Cache<Long, CachedUser> byId;
+    private final Cache<String, CachedUser> byEmail;
+
+    public UserCache(UserRepository userRepository,
+            @Value("${users.cache.max-size:100000}") long maxSize,
+            @Value("${users.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<CachedUser> findById(Long id) {
+        CachedUser cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return userRepository.findById(id).map(this::put);
+    }
+
+    // The cached snapshot only; never goes to the database
+    public Optional<CachedUser> peek(Long id) {
+        return Optional.ofNullable(byId.getIfPresent(id));
+    }
+
+    public Optional<CachedUser> findByEmail(String email) {
+        CachedUser cached = byEmail.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return userRepository.findByEmail(email).map(this::put);
+    }
+
+    public boolean exists(Long id) {
+        return findById(id).isPresent();
+    }
+
+    /**
+     * Drops the entries for a user now and again once the surrounding
+     * transaction commits, so a reader racing the write cannot re-cache the
+     * old row for the rest of the TTL.
+     */
+    public void invalidate(Long id, String email) {
+        evict(id, email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(id, email);
+                }
+            });
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("byId", describe(byId));
+        stats.put("byEmail", describe(byEmail));
+        return stats;
+    }
+
+    private CachedUser put(User user) {
+        CachedUser cached = CachedUser.of(user);
+        byId.put(cached.id(), cached);
+        byEmail.put(cached.email(), cached);
+        return cached;
+    }
+
+    private void evict(Long id, String email) {
+        if (id != null) {
+            CachedUser cached = byId.getIfPresent(id);
+            byId.invalidate(id);
+            if (cached != null) {
+                byEmail.invalidate(cached.email());
+            }
+        }
+        if (email != null) {
+            byEmail.invalidate(email);
+        }
+    }
+
+    private static Map<String, Object> describe(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+}
@@ -0,0 +1,50 @@
+package dev_eddy.fintech_loan_app.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev_eddy.fintech_loan_app.dtos.DomainEventDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Forwards outbox events to every instance with a Postgres NOTIFY on
+ * CHANNEL, where UserEventStreamService picks them up for its SSE clients.
+ * Only one instance dispatches the outbox, but clients are connected to all
+ * of them. The NOTIFY runs in the dispatch transaction, so it goes out only
+ * if the batch commits.
+ */
+@Service
+public class UserEventBroadcaster implements DomainEventSubscriber {
+
+    static final String CHANNEL = "user_events";
+
+    // NOTIFY payloads must stay under 8000 bytes
+    private static final int MAX_PAYLOAD_LENGTH = 7900;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public UserEventBroadcaster(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void onEvent(DomainEventDTO event) {
+        String json = toJson(event);
+        if (json.length() > MAX_PAYLOAD_LENGTH) {
+            // Clients refetch the entity when an event arrives without its payload
+            event.setPayload(null);
+            json = toJson(event);
+        }
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, json);
+    }
+
+    private String toJson(DomainEventDTO event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize event " + event.getId(), e);
+        }
+    }
+}
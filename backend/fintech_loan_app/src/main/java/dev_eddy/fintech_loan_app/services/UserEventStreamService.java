@@ -0,0 +1,433 @@
+package dev_eddy.fintech_loan_app.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev_eddy.fintech_loan_app.exceptions.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server-sent event streams of a user's loan and transaction events.
+ *
+ * A dedicated connection LISTENs for the events UserEventBroadcaster
+ * NOTIFYs and fans each one out to the user's open streams. Fan-out only
+ * queues: every stream has a bounded queue drained by a small writer pool,
+ * so a slow client never holds up the listener or other clients. A stream
+ * whose queue fills up is closed, and the client reconnects.
+ *
+ * Event ids are "epoch.sequence", numbered by this instance. The last
+ * replay-size events of each user are kept for a while after their streams
+ * close, so a reconnect sending Last-Event-ID gets what it missed. When
+ * that is not possible (another instance, a restart, too far behind) the
+ * stream opens with a "resync" event and the client refetches instead.
+ * A fresh stream opens with "ready"; both carry the current position as id.
+ */
+@Service
+public class UserEventStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserEventStreamService.class);
+
+    static final String READY = "ready";
+    static final String RESYNC = "resync";
+    private static final Object HEARTBEAT = new Object();
+    private static final int LISTEN_POLL_MILLIS = 1000;
+
+    private record StreamEvent(String id, long seq, Long outboxId, String type, String json) {
+    }
+
+    private final DataSourceProperties dataSourceProperties;
+    private final UserCache userCache;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMillis;
+    private final long heartbeatSeconds;
+    private final int bufferSize;
+    private final int replaySize;
+    private final long retentionNanos;
+    private final int maxConnectionsPerUser;
+
+    private final ConcurrentHashMap<Long, UserStream> streams = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService writers;
+    private final ExecutorService listener = Executors.newSingleThreadExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor();
+    // Changes whenever events may have been missed (startup, listener reconnect), voiding older ids
+    private volatile String epoch = newEpoch();
+
+    public UserEventStreamService(DataSourceProperties dataSourceProperties,
+            UserCache userCache,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${events.sse.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${events.sse.heartbeat-seconds:15}") long heartbeatSeconds,
+            @Value("${events.sse.buffer-size:64}") int bufferSize,
+            @Value("${events.sse.replay-size:50}") int replaySize,
+            @Value("${events.sse.retention-seconds:300}") long retentionSeconds,
+            @Value("${events.sse.max-connections-per-user:5}") int maxConnectionsPerUser,
+            @Value("${events.sse.writer-threads:4}") int writerThreads) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.userCache = userCache;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeoutMillis;
+        this.heartbeatSeconds = heartbeatSeconds;
+        this.bufferSize = bufferSize;
+        // A replay has to fit in a fresh stream's queue
+        this.replaySize = Math.min(replaySize, bufferSize - 1);
+        this.retentionNanos = TimeUnit.SECONDS.toNanos(retentionSeconds);
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.writers = Executors.newFixedThreadPool(writerThreads);
+        meterRegistry.gauge("sse.connections", connections);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        listener.execute(this::listen);
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        listener.shutdownNow();
+        heartbeats.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    public SseEmitter subscribe(SessionTokenService.SessionPrincipal principal, Long userId, String lastEventId) {
+        if (!principal.userId().equals(userId) && !isAdmin(principal)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not allowed to follow user " + userId);
+        }
+        if (!userCache.exists(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeoutMillis));
+        while (true) {
+            UserStream stream = streams.computeIfAbsent(userId, id -> new UserStream(sequence.get()));
+            stream.lock.lock();
+            try {
+                // Retired by the idle sweep after we looked it up; take the replacement
+                if (stream.retired) {
+                    continue;
+                }
+                if (stream.subscribers.size() >= maxConnectionsPerUser) {
+                    throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                            "Too many open event streams for user " + userId);
+                }
+                stream.subscribers.add(subscriber);
+                connections.incrementAndGet();
+                open(stream, subscriber, lastEventId);
+            } finally {
+                stream.lock.unlock();
+            }
+            break;
+        }
+        subscriber.emitter.onCompletion(() -> subscriber.close(false));
+        subscriber.emitter.onTimeout(() -> subscriber.close(false));
+        subscriber.emitter.onError(e -> subscriber.close(false));
+        return subscriber.emitter;
+    }
+
+    // Called with the stream locked, so no event slips in between the replay and live delivery
+    private void open(UserStream stream, Subscriber subscriber, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            subscriber.offer(position(READY));
+            return;
+        }
+        long lastSeq = parseSeq(lastEventId);
+        if (lastSeq < stream.resumableAfter) {
+            subscriber.offer(position(RESYNC));
+            return;
+        }
+        for (StreamEvent event : stream.replay) {
+            if (event.seq() > lastSeq) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    private StreamEvent position(String type) {
+        long seq = sequence.get();
+        return new StreamEvent(epoch + "." + seq, seq, null, type, "{}");
+    }
+
+    // Sequence of an id from the current epoch, or -1
+    private long parseSeq(String eventId) {
+        int dot = eventId.lastIndexOf('.');
+        if (dot < 0 || !eventId.substring(0, dot).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dot + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void listen() {
+        String url = dataSourceProperties.determineUrl();
+        boolean connectedBefore = false;
+        while (!Thread.currentThread().isInterrupted()) {
+            // A connection of its own: LISTEN state must not leak into the pool
+            try (Connection connection = DriverManager.getConnection(url,
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + UserEventBroadcaster.CHANNEL);
+                }
+                if (connectedBefore) {
+                    resyncAll();
+                }
+                connectedBefore = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (!Thread.currentThread().isInterrupted()) {
+                    PGNotification[] notifications = pgConnection.getNotifications(LISTEN_POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            publish(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                logger.warn("Event listener connection failed; reconnecting", e);
+                try {
+                    Thread.sleep(LISTEN_POLL_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    void publish(String json) {
+        JsonNode event;
+        try {
+            event = objectMapper.readTree(json);
+        } catch (IOException e) {
+            logger.warn("Ignoring malformed event notification", e);
+            return;
+        }
+        UserStream stream = streams.get(event.path("userId").asLong());
+        if (stream == null) {
+            return;
+        }
+        Long outboxId = event.path("id").asLong();
+        stream.lock.lock();
+        try {
+            if (stream.retired || stream.contains(outboxId)) {
+                return;
+            }
+            long seq = sequence.incrementAndGet();
+            StreamEvent streamEvent = new StreamEvent(epoch + "." + seq, seq, outboxId, event.path("type").asText(), json);
+            stream.replay.addLast(streamEvent);
+            if (stream.replay.size() > replaySize) {
+                stream.resumableAfter = stream.replay.removeFirst().seq();
+            }
+            for (Subscriber subscriber : List.copyOf(stream.subscribers)) {
+                subscriber.offer(streamEvent);
+            }
+        } finally {
+            stream.lock.unlock();
+        }
+    }
+
+    // After a listener outage nothing buffered can be trusted to be complete
+    private void resyncAll() {
+        epoch = newEpoch();
+        for (UserStream stream : streams.values()) {
+            stream.lock.lock();
+            try {
+                stream.replay.clear();
+                stream.resumableAfter = sequence.get();
+                for (Subscriber subscriber : List.copyOf(stream.subscribers)) {
+                    subscriber.offer(position(RESYNC));
+                }
+            } finally {
+                stream.lock.unlock();
+            }
+        }
+    }
+
+    // Keeps idle connections open through proxies, and sweeps streams idle past the retention
+    private void heartbeat() {
+        long now = System.nanoTime();
+        try {
+            for (Map.Entry<Long, UserStream> entry : streams.entrySet()) {
+                UserStream stream = entry.getValue();
+                stream.lock.lock();
+                try {
+                    if (stream.subscribers.isEmpty() && now - stream.idleSince > retentionNanos) {
+                        stream.retired = true;
+                        streams.remove(entry.getKey(), stream);
+                        continue;
+                    }
+                    for (Subscriber subscriber : List.copyOf(stream.subscribers)) {
+                        subscriber.offer(HEARTBEAT);
+                    }
+                } finally {
+                    stream.lock.unlock();
+                }
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the schedule; the next tick retries
+            logger.warn("Event stream heartbeat failed", e);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        UserStream stream = streams.get(subscriber.userId);
+        if (stream == null) {
+            return;
+        }
+        stream.lock.lock();
+        try {
+            if (stream.subscribers.remove(subscriber) && stream.subscribers.isEmpty()) {
+                stream.idleSince = System.nanoTime();
+            }
+        } finally {
+            stream.lock.unlock();
+        }
+    }
+
+    private static boolean isAdmin(SessionTokenService.SessionPrincipal principal) {
+        return principal.roles() != null && principal.roles().toUpperCase().contains("ADMIN");
+    }
+
+    private static String newEpoch() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    // Recent events and open streams of one user; guarded by lock
+    private static final class UserStream {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<StreamEvent> replay = new ArrayDeque<>();
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        // Every event after this sequence is still in replay
+        private long resumableAfter;
+        private long idleSince = System.nanoTime();
+        private boolean retired;
+
+        private UserStream(long resumableAfter) {
+            this.resumableAfter = resumableAfter;
+        }
+
+        // At-least-once delivery can hand us an event twice
+        private boolean contains(Long outboxId) {
+            for (StreamEvent event : replay) {
+                if (outboxId.equals(event.outboxId())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        // Never blocks: a full queue means the client is not keeping up, so it is dropped
+        private void offer(Object item) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(item)) {
+                meterRegistry.counter("sse.dropped", "reason", "slow_consumer").increment();
+                logger.debug("Dropping slow event stream of user {}", userId);
+                close(true);
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    writers.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    close(true);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Object item;
+                while (!closed.get() && (item = queue.poll()) != null) {
+                    emitter.send(toSse(item));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the container completes the emitter
+                close(false);
+            } finally {
+                scheduled.set(false);
+                if (!closed.get() && !queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        private SseEmitter.SseEventBuilder toSse(Object item) {
+            if (item == HEARTBEAT) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            StreamEvent event = (StreamEvent) item;
+            return SseEmitter.event().id(event.id()).name(event.type()).data(event.json(), MediaType.APPLICATION_JSON);
+        }
+
+        private void close(boolean completeEmitter) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            queue.clear();
+            remove(this);
+            connections.decrementAndGet();
+            if (completeEmitter) {
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package dev_eddy.fintech_loan_app.services;
+
+import dev_eddy.fintech_loan_app.repository.UserOverviewRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Keeps the user_overviews read model in step with loan and transaction
+ * writes, so the dashboard reads one row instead of listing everything.
+ *
+ * Writers report what they changed for each user they touched; just before
+ * their transaction commits the summed deltas are added to the counters in
+ * that same transaction, and the next due date and recent list are re-read.
+ * A summary therefore commits or rolls back with the change that caused it.
+ * Writes never rescan a user's history; a periodic reconcile recomputes every
+ * row from the base tables to correct any drift.
+ */
+@Service
+public class UserOverviewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserOverviewService.class);
+
+    // Loans that count towards active_loans and outstanding_balance
+    private static final Set<String> LIVE_LOAN_STATUSES = Set.of("APPROVED", "ACTIVE", "OVERDUE");
+
+    private final UserOverviewRepository userOverviewRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int recentTransactions;
+    private final int reconcileChunkSize;
+
+    public UserOverviewService(UserOverviewRepository userOverviewRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${users.overview.recent-transactions:10}") int recentTransactions,
+            @Value("${users.overview.reconcile-chunk-size:500}") int reconcileChunkSize) {
+        this.userOverviewRepository = userOverviewRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recentTransactions = recentTransactions;
+        this.reconcileChunkSize = reconcileChunkSize;
+    }
+
+    // Refreshes the user's next due date and recent list when the current transaction commits
+    public void markDirty(Long userId) {
+        markDirty(List.of(userId));
+    }
+
+    public void markDirty(Collection<Long> userIds) {
+        for (Long userId : userIds) {
+            change(userId, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Records a loan moving from one status and outstanding amount to
+     * another; a null status stands for a loan created or deleted. The
+     * outstanding amount is the remaining balance, or the principal if none.
+     */
+    public void loanChanged(Long userId, String previousStatus, double previousOutstanding,
+                            String status, double outstanding) {
+        int before = isLive(previousStatus) ? 1 : 0;
+        int after = isLive(status) ? 1 : 0;
+        change(userId, after - before, after * outstanding - before * previousOutstanding, 0);
+    }
+
+    // As loanChanged, for a transaction; a null status stands for one created or deleted
+    public void transactionChanged(Long userId, String transactionType, Long loanId, String previousStatus,
+                                   String status, double amount) {
+        double before = countsAsRepaid(transactionType, loanId, previousStatus) ? amount : 0;
+        double after = countsAsRepaid(transactionType, loanId, status) ? amount : 0;
+        change(userId, 0, 0, after - before);
+    }
+
+    // Recomputes immediately in a transaction of its own (or the caller's)
+    public void refreshNow(Collection<Long> userIds) {
+        Long[] ids = new TreeSet<>(userIds).toArray(Long[]::new);
+        transactionTemplate.executeWithoutResult(status -> userOverviewRepository.recompute(ids, recentTransactions));
+    }
+
+    /**
+     * Recomputes every summary from the full loan and transaction history,
+     * one chunk of users per transaction, so a row a missed or misapplied
+     * delta left wrong heals within one interval.
+     */
+    @Scheduled(initialDelayString = "${users.overview.reconcile-interval-ms:3600000}",
+            fixedDelayString = "${users.overview.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        long afterId = 0;
+        int reconciled = 0;
+        List<Long> chunk;
+        do {
+            chunk = userOverviewRepository.findUserIds(afterId, reconcileChunkSize);
+            if (!chunk.isEmpty()) {
+                refreshNow(chunk);
+                afterId = chunk.get(chunk.size() - 1);
+                reconciled += chunk.size();
+            }
+        } while (chunk.size() == reconcileChunkSize);
+        logger.debug("Reconciled {} user overviews", reconciled);
+    }
+
+    private static boolean isLive(String loanStatus) {
+        return loanStatus != null && LIVE_LOAN_STATUSES.contains(loanStatus);
+    }
+
+    // Mirrors the lifetime_repaid filter of UserOverviewRepository.recompute
+    private static boolean countsAsRepaid(String transactionType, Long loanId, String status) {
+        return "COMPLETED".equals(status) && ("REPAYMENT".equals(transactionType) || loanId != null);
+    }
+
+    private void change(Long userId, int activeLoans, double outstandingBalance, double lifetimeRepaid) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Nothing to add the delta to the change's commit, so read the result back instead
+            refreshNow(List.of(userId));
+            return;
+        }
+        PendingChanges pending = null;
+        // Synchronizations are suspended with their transaction, so REQUIRES_NEW scopes keep separate sets
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges candidate && candidate.owner() == this) {
+                pending = candidate;
+                break;
+            }
+        }
+        if (pending == null) {
+            pending = new PendingChanges(this, new TreeMap<>());
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.deltas().computeIfAbsent(userId, id -> new Delta()).add(activeLoans, outstandingBalance,
+                lifetimeRepaid);
+    }
+
+    private static final class Delta {
+        private int activeLoans;
+        private double outstandingBalance;
+        private double lifetimeRepaid;
+
+        void add(int activeLoans, double outstandingBalance, double lifetimeRepaid) {
+            this.activeLoans += activeLoans;
+            this.outstandingBalance += outstandingBalance;
+            this.lifetimeRepaid += lifetimeRepaid;
+        }
+    }
+
+    private record PendingChanges(UserOverviewService owner, TreeMap<Long, Delta> deltas)
+            implements TransactionSynchronization {
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Pending entity changes must reach the database before the due dates and recent list are read
+            owner.entityManager.flush();
+            int size = deltas.size();
+            Long[] userIds = deltas.keySet().toArray(Long[]::new);
+            int[] activeLoans = new int[size];
+            double[] outstandingBalance = new double[size];
+            double[] lifetimeRepaid = new double[size];
+            int i = 0;
+            for (Delta delta : deltas.values()) {
+                activeLoans[i] = delta.activeLoans;
+                outstandingBalance[i] = delta.outstandingBalance;
+                lifetimeRepaid[i] = delta.lifetimeRepaid;
+                i++;
+            }
+            owner.userOverviewRepository.applyDeltas(userIds, activeLoans, outstandingBalance, lifetimeRepaid,
+                    owner.recentTransactions);
+        }
+    }
+}
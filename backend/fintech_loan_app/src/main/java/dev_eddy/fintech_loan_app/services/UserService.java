@@ -1,17 +1,26 @@
 // UserService.java
 package dev_eddy.fintech_loan_app.services;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import dev_eddy.fintech_loan_app.dtos.CreateUserDTO;
+import dev_eddy.fintech_loan_app.dtos.CursorPageDTO;
+import dev_eddy.fintech_loan_app.dtos.TransactionDTO;
 import dev_eddy.fintech_loan_app.dtos.UserDTO;
+import dev_eddy.fintech_loan_app.dtos.UserOverviewDTO;
 import dev_eddy.fintech_loan_app.entity.User;
 import dev_eddy.fintech_loan_app.exceptions.ResourceNotFoundException;
 import dev_eddy.fintech_loan_app.exceptions.EmailAlreadyExistsException;
+import dev_eddy.fintech_loan_app.repository.UserOverviewRepository;
 import dev_eddy.fintech_loan_app.repository.UserRepository;
 import dev_eddy.fintech_loan_app.mappers.UserMapper;
+import dev_eddy.fintech_loan_app.util.PageCursor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
-import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,11 +31,23 @@ public class UserService  {
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserCache userCache;
+    private final SessionTokenService sessionTokenService;
+    private final UserOverviewRepository userOverviewRepository;
+    private final UserOverviewService userOverviewService;
+    private final ObjectReader transactionsReader;
 
 
-    public UserService(UserRepository userRepository, UserMapper userMapper) {
+    public UserService(UserRepository userRepository, UserMapper userMapper, UserCache userCache,
+            SessionTokenService sessionTokenService, UserOverviewRepository userOverviewRepository,
+            UserOverviewService userOverviewService, ObjectMapper objectMapper) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.userCache = userCache;
+        this.sessionTokenService = sessionTokenService;
+        this.userOverviewRepository = userOverviewRepository;
+        this.userOverviewService = userOverviewService;
+        this.transactionsReader = objectMapper.readerFor(new TypeReference<List<TransactionDTO>>() { });
 
     }
 
@@ -52,15 +73,46 @@ public class UserService  {
     }
 
     public UserDTO getUserById(Long id) {
-        User user = userRepository.findById(id)
+        UserCache.CachedUser user = userCache.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         return userMapper.toDTO(user);
     }
 
-    public List<UserDTO> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(userMapper::toDTO)
-                .collect(Collectors.toList());
+    // One primary-key read of the maintained summary row
+    public UserOverviewDTO getOverview(Long id) {
+        if (!userCache.exists(id)) {
+            throw new ResourceNotFoundException("User not found with id: " + id);
+        }
+        UserOverviewRepository.StoredOverview stored = userOverviewRepository.find(id).orElseGet(() -> {
+            // Users with no writes since the read model was introduced get their row built once
+            userOverviewService.refreshNow(List.of(id));
+            return userOverviewRepository.find(id).orElseThrow();
+        });
+
+        UserOverviewDTO overview = new UserOverviewDTO();
+        overview.setUserId(id);
+        overview.setActiveLoans(stored.activeLoans());
+        overview.setOutstandingBalance(stored.outstandingBalance());
+        overview.setNextDueDate(stored.nextDueDate());
+        overview.setNextDueAmount(stored.nextDueAmount());
+        overview.setLifetimeRepaid(stored.lifetimeRepaid());
+        overview.setUpdatedAt(stored.updatedAt());
+        try {
+            overview.setRecentTransactions(transactionsReader.readValue(stored.recentTransactions()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored overview for user " + id + " is not readable", e);
+        }
+        return overview;
+    }
+
+    public CursorPageDTO<UserDTO> getAllUsers(String cursor, Integer size) {
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        PageRequest page = PageRequest.ofSize(pageSize + 1);
+        List<User> rows = after == null
+                ? userRepository.findFirstPage(page)
+                : userRepository.findPageAfter(after.getCreatedAt(), after.getId(), page);
+        return PageCursor.toPage(rows, pageSize, userMapper::toDTO, User::getCreatedAt, User::getId);
     }
 
     public UserDTO updateUser(Long id, CreateUserDTO updateUserDTO) {
@@ -73,12 +125,15 @@ public class UserService  {
             throw new EmailAlreadyExistsException("Email already exists: " + updateUserDTO.getEmail());
         }
 
+        userCache.invalidate(id, user.getEmail());
         user.setName(updateUserDTO.getName());
         user.setEmail(updateUserDTO.getEmail());
         user.setPhoneNumber(updateUserDTO.getPhoneNumber());
 
         if (updateUserDTO.getPassword() != null && !updateUserDTO.getPassword().isEmpty()) {
             user.setPassword(updateUserDTO.getPassword());
+            // A password change signs the user out everywhere
+            sessionTokenService.revokeUser(id);
         }
 
         User updatedUser = userRepository.save(user);
@@ -90,10 +145,12 @@ public class UserService  {
             throw new ResourceNotFoundException("User not found with id: " + id);
         }
         userRepository.deleteById(id);
+        userCache.invalidate(id, null);
+        sessionTokenService.revokeUser(id);
     }
     
     public UserDTO findByEmail(String email) {
-        User user = userRepository.findByEmail(email)
+        UserCache.CachedUser user = userCache.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
         return userMapper.toDTO(user);
     }
@@ -0,0 +1,90 @@
+package dev_eddy.fintech_loan_app.util;
+
+import dev_eddy.fintech_loan_app.dtos.CursorPageDTO;
+import dev_eddy.fintech_loan_app.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Opaque keyset cursor over (createdAt, id). Listings are ordered newest first,
+ * so the next page holds every row strictly "before" the last row returned.
+ */
+public final class PageCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    private PageCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static PageCursor of(LocalDateTime createdAt, Long id) {
+        return new PageCursor(createdAt, id);
+    }
+
+    // A missing or blank token means "start from the newest row"
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid page cursor: " + token);
+            }
+            return new PageCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid page cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Clamp the requested size into [1, MAX_PAGE_SIZE]
+    public static int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of pageSize + 1; the extra
+     * row only tells us whether another page exists and is never returned.
+     */
+    public static <E, D> CursorPageDTO<D> toPage(List<E> rows, int pageSize,
+                                                 Function<E, D> mapper,
+                                                 Function<E, LocalDateTime> createdAt,
+                                                 Function<E, Long> id) {
+        String nextCursor = null;
+        List<E> page = rows;
+        if (rows.size() > pageSize) {
+            page = rows.subList(0, pageSize);
+            E last = page.get(pageSize - 1);
+            nextCursor = of(createdAt.apply(last), id.apply(last)).encode();
+        }
+        List<D> items = page.stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+        return new CursorPageDTO<>(items, nextCursor, items.size());
+    }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getId() { return id; }
+}
@@ -0,0 +1,40 @@
+package dev_eddy.fintech_loan_app.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks addressed by a numeric key. Work on the same key is
+ * serialized while different keys almost always land on different stripes,
+ * without keeping one lock object per key.
+ */
+public final class StripedLocks {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public StripedLocks(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.locks = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public ReentrantLock lockFor(long key) {
+        // Fibonacci hashing spreads sequential ids across stripes
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return locks[(int) (hash >>> 32) & mask];
+    }
+
+    // Returns null if the lock could not be acquired in time
+    public ReentrantLock tryLock(long key, long timeout, TimeUnit unit) throws InterruptedException {
+        ReentrantLock lock = lockFor(key);
+        return lock.tryLock(timeout, unit) ? lock : null;
+    }
+
+    public int size() {
+        return locks.length;
+    }
+}
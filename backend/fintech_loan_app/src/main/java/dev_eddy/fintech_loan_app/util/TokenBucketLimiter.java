@@ -0,0 +1,69 @@
+package dev_eddy.fintech_loan_app.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-key token bucket holding {@code burst} tokens that refill at
+ * {@code permitsPerSecond}, implemented as GCRA: each key keeps only the
+ * time at which its bucket would next be empty, advanced with a CAS.
+ *
+ * A key untouched for long enough to refill completely is indistinguishable
+ * from a new one, so entries expire after that and memory tracks only
+ * recently active keys, capped by {@code maxKeys}.
+ */
+public final class TokenBucketLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final Ticker ticker;
+    private final Cache<Long, AtomicLong> buckets;
+
+    public TokenBucketLimiter(double permitsPerSecond, int burst, long maxKeys) {
+        this(permitsPerSecond, burst, maxKeys, Ticker.systemTicker());
+    }
+
+    public TokenBucketLimiter(double permitsPerSecond, int burst, long maxKeys, Ticker ticker) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.toleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(toleranceNanos + emissionIntervalNanos))
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Takes one token for {@code key}. Returns 0 when granted, otherwise the
+     * nanoseconds until a token is available.
+     */
+    public long tryAcquire(long key) {
+        AtomicLong emptyAt = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = ticker.read();
+            long current = emptyAt.get();
+            long start = Math.max(current, now);
+            long wait = start - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (emptyAt.compareAndSet(current, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    public long trackedKeys() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,27 @@
+-- Transactional outbox: domain events (LoanApplied, LoanStatusChanged,
+-- TransactionPosted, TransactionStatusChanged) are inserted here in the
+-- transaction of the change that raised them, and OutboxDispatcher delivers
+-- them to in-process subscribers afterwards. Delivered rows are deleted, so
+-- the table only holds the backlog and dead events.
+--
+-- Writers lock the loans their events refer to before inserting, so within a
+-- loan ids follow commit order and the dispatcher can deliver by id.
+CREATE TABLE outbox_events (
+    id                  bigint          GENERATED ALWAYS AS IDENTITY,
+    event_type          varchar(40)     NOT NULL,
+    -- Ordering key: events of one loan are delivered one after another
+    loan_id             bigint,
+    user_id             bigint          NOT NULL,
+    payload             jsonb           NOT NULL,
+    -- PENDING, or DEAD once outbox.dispatch.max-attempts deliveries have failed
+    status              varchar(16)     NOT NULL DEFAULT 'PENDING',
+    attempts            integer         NOT NULL DEFAULT 0,
+    next_attempt_at     timestamp(6)    NOT NULL DEFAULT now(),
+    last_error          text,
+    created_at          timestamp(6)    NOT NULL DEFAULT clock_timestamp(),
+    CONSTRAINT outbox_events_pkey PRIMARY KEY (id)
+);
+
+-- The dispatcher's scan, and its check for an earlier event of the same loan in backoff
+CREATE INDEX idx_outbox_events_pending ON outbox_events (id) WHERE status = 'PENDING';
+CREATE INDEX idx_outbox_events_pending_loan ON outbox_events (loan_id, id) WHERE status = 'PENDING';
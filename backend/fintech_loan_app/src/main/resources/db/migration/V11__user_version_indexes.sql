@@ -0,0 +1,5 @@
+-- Version of the per-user list responses (count and max(updated_at) for ETags),
+-- read as an index-only scan without touching the rows
+CREATE INDEX idx_loans_user_updated ON loans (user_id, updated_at);
+CREATE INDEX idx_transactions_user_updated ON transactions (user_id, updated_at);
+CREATE INDEX idx_transactions_archive_user_updated ON transactions_archive (user_id, updated_at);
@@ -0,0 +1,15 @@
+-- Repayments are applied to interest first (interest accrued since the last
+-- due date, then the rest of the current installment's interest) and only
+-- the remainder reduces the principal. Each repayment records that split,
+-- and its ledger entry credits the two parts separately:
+--   REPAYMENT  CASH +amount / RECEIVABLE -principal / INTEREST_INCOME -interest
+-- so RECEIVABLE stays the principal outstanding. Earlier repayments were
+-- applied to principal alone and keep a null split.
+
+ALTER TABLE transactions
+    ADD COLUMN interest_amount double precision,
+    ADD COLUMN principal_amount double precision;
+
+ALTER TABLE transactions_archive
+    ADD COLUMN interest_amount double precision,
+    ADD COLUMN principal_amount double precision;
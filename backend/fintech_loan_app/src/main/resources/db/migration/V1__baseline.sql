@@ -0,0 +1,51 @@
+-- Schema as previously generated by hibernate.ddl-auto=update from the
+-- original entities, with IDENTITY ids. Databases created that way are
+-- baselined at this version and skip it, so it must not change; everything
+-- the entities gained since is added from V2 on.
+
+CREATE TABLE users (
+    id              bigint          GENERATED BY DEFAULT AS IDENTITY,
+    name            varchar(255)    NOT NULL,
+    email           varchar(255)    NOT NULL,
+    phone_number    varchar(255),
+    password        varchar(255)    NOT NULL,
+    roles           varchar(255)    NOT NULL,
+    created_at      timestamp(6),
+    updated_at      timestamp(6),
+    CONSTRAINT users_pkey PRIMARY KEY (id),
+    CONSTRAINT users_email_key UNIQUE (email)
+);
+
+CREATE TABLE loans (
+    id                  bigint              GENERATED BY DEFAULT AS IDENTITY,
+    user_id             bigint              NOT NULL,
+    amount              double precision    NOT NULL,
+    tenure              integer             NOT NULL,
+    interest_rate       double precision    NOT NULL,
+    status              varchar(255)        NOT NULL,
+    applied_at          timestamp(6)        NOT NULL,
+    approved_at         timestamp(6),
+    repaid_at           timestamp(6),
+    next_payment_date   timestamp(6),
+    remaining_balance   double precision,
+    monthly_payment     double precision,
+    purpose             varchar(255),
+    created_at          timestamp(6),
+    updated_at          timestamp(6),
+    CONSTRAINT loans_pkey PRIMARY KEY (id),
+    CONSTRAINT loans_user_fk FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- Column names follow the entity fields (PhysicalNamingStrategyStandardImpl)
+CREATE TABLE transactions (
+    id                  bigint              GENERATED BY DEFAULT AS IDENTITY,
+    user_id             bigint              NOT NULL,
+    transactionType     varchar(255),
+    amount              double precision,
+    transactionDate     timestamp(6),
+    status              varchar(255),
+    created_at          timestamp(6),
+    updated_at          timestamp(6),
+    CONSTRAINT transactions_pkey PRIMARY KEY (id),
+    CONSTRAINT transactions_user_fk FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,40 @@
+-- What the entities gained between the V1 baseline and the switch to Flyway.
+-- A database baselined at V1 may already have some of it from ddl-auto=update,
+-- so every step is skipped where it is already in place.
+
+-- Ids moved from IDENTITY to pooled sequences. Tables created before the
+-- switch already hold rows; move each sequence past the highest existing id.
+-- A no-op on a fresh database and on sequences already ahead of their table.
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS loans_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('users_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM users), (SELECT last_value FROM users_seq)));
+SELECT setval('loans_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM loans), (SELECT last_value FROM loans_seq)));
+SELECT setval('transactions_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM transactions), (SELECT last_value FROM transactions_seq)));
+
+-- Repayments reference the loan they pay
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS loan_id bigint
+    CONSTRAINT transactions_loan_fk REFERENCES loans (id);
+
+-- End-of-day accrual state and the optimistic lock version
+ALTER TABLE loans
+    ADD COLUMN IF NOT EXISTS accrued_interest double precision,
+    ADD COLUMN IF NOT EXISTS missed_payments integer,
+    ADD COLUMN IF NOT EXISTS last_accrual_date date,
+    ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+CREATE SEQUENCE IF NOT EXISTS accrual_checkpoints_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS accrual_checkpoints (
+    id                  bigint          NOT NULL,
+    business_date       date            NOT NULL,
+    partition_start     bigint          NOT NULL,
+    partition_end       bigint          NOT NULL,
+    last_processed_id   bigint          NOT NULL,
+    loans_processed     bigint          NOT NULL,
+    completed           boolean         NOT NULL,
+    updated_at          timestamp(6),
+    CONSTRAINT accrual_checkpoints_pkey PRIMARY KEY (id),
+    CONSTRAINT accrual_checkpoints_partition_key UNIQUE (business_date, partition_start)
+);
@@ -0,0 +1,16 @@
+-- Per-user loan lookups, optionally narrowed by status; also backs the FK
+CREATE INDEX IF NOT EXISTS idx_loans_user_status ON loans (user_id, status);
+
+-- Per-user transaction history in date order; also backs the FK
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date ON transactions (user_id, transactionDate);
+
+-- FK from transactions to loans, checked on every loan delete
+CREATE INDEX IF NOT EXISTS idx_transactions_loan ON transactions (loan_id);
+
+-- The admin review queue: a small, hot slice of loans read newest first
+CREATE INDEX IF NOT EXISTS idx_loans_pending ON loans (created_at DESC, id DESC) WHERE status = 'PENDING';
+
+-- Keyset pagination order (createdAt DESC, id DESC) of the list endpoints
+CREATE INDEX IF NOT EXISTS idx_loans_created ON loans (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_transactions_created ON transactions (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_users_created ON users (created_at, id);
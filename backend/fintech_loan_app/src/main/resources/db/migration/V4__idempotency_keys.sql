@@ -0,0 +1,15 @@
+-- Idempotency-Key claims and stored responses for POST /api/loans and /api/transactions,
+-- shared by every instance. Rows are purged once expires_at has passed.
+CREATE TABLE idempotency_keys (
+    id                  varchar(320)    NOT NULL,
+    fingerprint         char(64)        NOT NULL,
+    status              varchar(16)     NOT NULL,
+    response_status     integer,
+    response_body       text,
+    locked_until        timestamp(6)    NOT NULL,
+    expires_at          timestamp(6)    NOT NULL,
+    created_at          timestamp(6)    NOT NULL DEFAULT now(),
+    CONSTRAINT idempotency_keys_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_idempotency_keys_expires ON idempotency_keys (expires_at);
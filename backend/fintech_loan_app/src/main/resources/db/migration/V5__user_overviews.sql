@@ -0,0 +1,16 @@
+-- Per-user dashboard summary, recomputed from loans and transactions inside
+-- every transaction that writes them (see UserOverviewService). Users without
+-- a row yet get one built on their first overview read.
+CREATE TABLE user_overviews (
+    user_id             bigint              NOT NULL,
+    active_loans        integer             NOT NULL DEFAULT 0,
+    outstanding_balance double precision    NOT NULL DEFAULT 0,
+    next_due_date       timestamp(6),
+    next_due_amount     double precision,
+    lifetime_repaid     double precision    NOT NULL DEFAULT 0,
+    -- Newest transactions first, as a JSON array of TransactionDTO
+    recent_transactions text                NOT NULL DEFAULT '[]',
+    updated_at          timestamp(6)        NOT NULL DEFAULT now(),
+    CONSTRAINT user_overviews_pkey PRIMARY KEY (user_id),
+    CONSTRAINT user_overviews_user_fk FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
@@ -0,0 +1,3 @@
+-- Bulk approval of settled transactions selects PENDING rows in id order;
+-- like idx_loans_pending this only covers the small, hot unsettled slice
+CREATE INDEX IF NOT EXISTS idx_transactions_pending ON transactions (id) WHERE status = 'PENDING';
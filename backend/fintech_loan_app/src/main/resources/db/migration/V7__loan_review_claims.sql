@@ -0,0 +1,6 @@
+-- Review-queue leases on PENDING loans. A reviewer owns a loan until
+-- review_lease_until; after that the claim is abandoned and the loan is
+-- back in the queue. Not mapped on the Loan entity, so entity saves leave
+-- the claim alone. The queue is read oldest first through idx_loans_pending.
+ALTER TABLE loans ADD COLUMN review_claimed_by bigint;
+ALTER TABLE loans ADD COLUMN review_lease_until timestamp(6);
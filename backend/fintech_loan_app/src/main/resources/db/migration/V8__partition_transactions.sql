@@ -0,0 +1,83 @@
+-- Range-partition transactions by month of transactionDate, so per-user history
+-- reads probe a bounded set of small partitions instead of one ever-growing
+-- table, and add transactions_archive for the settled rows the archiver moves
+-- out once they pass the archive horizon (transactions.archive.horizon-days).
+
+-- The partition key is part of the primary key and cannot be null
+UPDATE transactions SET transactionDate = coalesce(created_at, now()) WHERE transactionDate IS NULL;
+
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+ALTER INDEX transactions_pkey RENAME TO transactions_unpartitioned_pkey;
+
+-- ids stay unique through transactions_seq; Postgres can only enforce
+-- uniqueness together with the partition key
+CREATE TABLE transactions (
+    id                  bigint              NOT NULL,
+    user_id             bigint              NOT NULL,
+    loan_id             bigint,
+    transactionType     varchar(255),
+    amount              double precision,
+    transactionDate     timestamp(6)        NOT NULL,
+    status              varchar(255),
+    created_at          timestamp(6),
+    updated_at          timestamp(6),
+    CONSTRAINT transactions_pkey PRIMARY KEY (id, transactionDate),
+    CONSTRAINT transactions_user_fk FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT transactions_loan_fk FOREIGN KEY (loan_id) REFERENCES loans (id)
+) PARTITION BY RANGE (transactionDate);
+
+-- Catches rows dated outside every monthly partition; normally empty
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+-- Creates the monthly partition holding the given date, if it is missing.
+-- Called here for existing history and by TransactionArchiveService for the
+-- months ahead.
+CREATE FUNCTION create_transaction_partition(month date) RETURNS text AS $$
+DECLARE
+    start_date date := date_trunc('month', month);
+    partition_name text := 'transactions_p' || to_char(start_date, 'YYYYMM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, start_date, (start_date + interval '1 month')::date);
+    RETURN partition_name;
+END
+$$ LANGUAGE plpgsql;
+
+SELECT create_transaction_partition(month::date)
+FROM generate_series(
+        date_trunc('month', coalesce((SELECT min(transactionDate) FROM transactions_unpartitioned), now())),
+        date_trunc('month', now()) + interval '3 months',
+        interval '1 month') AS month;
+
+INSERT INTO transactions (id, user_id, loan_id, transactionType, amount, transactionDate, status,
+                          created_at, updated_at)
+SELECT id, user_id, loan_id, transactionType, amount, transactionDate, status, created_at, updated_at
+FROM transactions_unpartitioned;
+
+DROP TABLE transactions_unpartitioned;
+
+-- Same indexes as before, now created on every partition
+CREATE INDEX idx_transactions_user_date ON transactions (user_id, transactionDate);
+CREATE INDEX idx_transactions_loan ON transactions (loan_id);
+CREATE INDEX idx_transactions_created ON transactions (created_at, id);
+CREATE INDEX idx_transactions_pending ON transactions (id) WHERE status = 'PENDING';
+
+-- Settled history past the horizon; read only when a caller asks for it
+CREATE TABLE transactions_archive (
+    id                  bigint              NOT NULL,
+    user_id             bigint              NOT NULL,
+    loan_id             bigint,
+    transactionType     varchar(255),
+    amount              double precision,
+    transactionDate     timestamp(6)        NOT NULL,
+    status              varchar(255),
+    created_at          timestamp(6),
+    updated_at          timestamp(6),
+    archived_at         timestamp(6)        NOT NULL DEFAULT now(),
+    CONSTRAINT transactions_archive_pkey PRIMARY KEY (id),
+    CONSTRAINT transactions_archive_user_fk FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT transactions_archive_loan_fk FOREIGN KEY (loan_id) REFERENCES loans (id)
+);
+
+CREATE INDEX idx_transactions_archive_user_date ON transactions_archive (user_id, transactionDate);
+CREATE INDEX idx_transactions_archive_loan ON transactions_archive (loan_id);
@@ -0,0 +1,68 @@
+-- Append-only double-entry ledger per loan. Every entry is two postings that
+-- sum to zero:
+--   DISBURSEMENT  RECEIVABLE +amount / FUNDING -amount   (on approval)
+--   REPAYMENT     CASH       +amount / RECEIVABLE -amount
+-- so the RECEIVABLE balance is what the borrower still owes.
+--
+-- loans.ledger_entries numbers the entries of each loan. Posting bumps it in
+-- the same statement that inserts the legs, which serializes postings per
+-- loan on the loan row and gives every entry a gap-free sequence number.
+-- Every ledger.snapshot-every entries, and at period close, the balances are
+-- written to ledger_snapshots, so a balance at any point is one snapshot plus
+-- a bounded tail of postings.
+
+ALTER TABLE loans ADD COLUMN ledger_entries integer NOT NULL DEFAULT 0;
+
+CREATE TABLE ledger_postings (
+    loan_id         bigint          NOT NULL,
+    entry_seq       integer         NOT NULL,
+    account         varchar(20)     NOT NULL,
+    -- Debits positive, credits negative
+    amount          numeric(19, 2)  NOT NULL,
+    -- Denormalized from loans for audit queries
+    user_id         bigint          NOT NULL,
+    entry_type      varchar(20)     NOT NULL,
+    -- Transaction that caused the entry; transactions is partitioned, so no FK
+    transaction_id  bigint,
+    posted_at       timestamp(6)    NOT NULL DEFAULT clock_timestamp(),
+    CONSTRAINT ledger_postings_pkey PRIMARY KEY (loan_id, entry_seq, account),
+    CONSTRAINT ledger_postings_loan_fk FOREIGN KEY (loan_id) REFERENCES loans (id)
+);
+
+CREATE TABLE ledger_snapshots (
+    loan_id         bigint          NOT NULL,
+    -- Balances include every entry up to and including this one
+    entry_seq       integer         NOT NULL,
+    account         varchar(20)     NOT NULL,
+    balance         numeric(19, 2)  NOT NULL,
+    -- posted_at of entry entry_seq
+    as_of           timestamp(6)    NOT NULL,
+    -- THRESHOLD or PERIOD_CLOSE
+    reason          varchar(20)     NOT NULL,
+    created_at      timestamp(6)    NOT NULL DEFAULT now(),
+    CONSTRAINT ledger_snapshots_pkey PRIMARY KEY (loan_id, entry_seq, account),
+    CONSTRAINT ledger_snapshots_loan_fk FOREIGN KEY (loan_id) REFERENCES loans (id)
+);
+
+-- Latest snapshot at or before a point in time
+CREATE INDEX idx_ledger_snapshots_as_of ON ledger_snapshots (loan_id, as_of, entry_seq);
+
+-- Opening entries for loans disbursed before the ledger existed
+INSERT INTO ledger_postings (loan_id, entry_seq, account, amount, user_id, entry_type, posted_at)
+SELECT l.id, 1, leg.account, leg.sign * round(l.amount::numeric, 2), l.user_id, 'DISBURSEMENT',
+       coalesce(l.approved_at, l.applied_at)
+FROM loans l
+CROSS JOIN (VALUES ('RECEIVABLE', 1), ('FUNDING', -1)) AS leg(account, sign)
+WHERE l.status IN ('APPROVED', 'ACTIVE', 'OVERDUE', 'REPAID');
+
+INSERT INTO ledger_postings (loan_id, entry_seq, account, amount, user_id, entry_type, posted_at)
+SELECT l.id, 2, leg.account, leg.sign * round((l.amount - coalesce(l.remaining_balance, l.amount))::numeric, 2),
+       l.user_id, 'REPAYMENT', coalesce(l.repaid_at, l.updated_at, l.applied_at)
+FROM loans l
+CROSS JOIN (VALUES ('CASH', 1), ('RECEIVABLE', -1)) AS leg(account, sign)
+WHERE l.status IN ('APPROVED', 'ACTIVE', 'OVERDUE', 'REPAID')
+  AND round((l.amount - coalesce(l.remaining_balance, l.amount))::numeric, 2) > 0;
+
+UPDATE loans l SET ledger_entries = p.entries
+FROM (SELECT loan_id, max(entry_seq) AS entries FROM ledger_postings GROUP BY loan_id) p
+WHERE l.id = p.loan_id;
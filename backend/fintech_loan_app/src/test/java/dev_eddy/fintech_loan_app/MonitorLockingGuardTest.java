@@ -0,0 +1,75 @@
+package dev_eddy.fintech_loan_app;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pinning guardrail for the virtual-thread profile: a virtual thread that
+ * blocks (JDBC, lock waits, I/O) inside a synchronized block or method pins
+ * its carrier thread on Java 21. Application code uses java.util.concurrent
+ * locks instead, so any monitor in our own bytecode fails the build.
+ */
+class MonitorLockingGuardTest {
+
+    @Test
+    void applicationCodeHasNoSynchronizedBlocksOrMethods() throws IOException, URISyntaxException {
+        Path classes = Path.of(FintechLoanAppApplication.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<String> offenders = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(classes)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".class")).toList()) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    new ClassReader(in).accept(new MonitorFinder(offenders), ClassReader.SKIP_DEBUG);
+                }
+            }
+        }
+        assertThat(offenders).as("synchronized code pins virtual threads; use a ReentrantLock").isEmpty();
+    }
+
+    private static final class MonitorFinder extends ClassVisitor {
+
+        private final List<String> offenders;
+        private String className;
+
+        MonitorFinder(List<String> offenders) {
+            super(Opcodes.ASM9);
+            this.offenders = offenders;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName,
+                          String[] interfaces) {
+            className = name.replace('/', '.');
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+                                         String[] exceptions) {
+            String method = className + "#" + name;
+            if ((access & Opcodes.ACC_SYNCHRONIZED) != 0) {
+                offenders.add(method + " (synchronized method)");
+            }
+            return new MethodVisitor(Opcodes.ASM9) {
+                @Override
+                public void visitInsn(int opcode) {
+                    if (opcode == Opcodes.MONITORENTER) {
+                        offenders.add(method + " (synchronized block)");
+                    }
+                }
+            };
+        }
+    }
+}
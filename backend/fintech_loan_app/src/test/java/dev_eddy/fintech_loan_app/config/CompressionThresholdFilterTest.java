@@ -0,0 +1,42 @@
+package dev_eddy.fintech_loan_app.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressionThresholdFilterTest {
+
+    private final CompressionThresholdFilter filter = new CompressionThresholdFilter(DataSize.ofBytes(16));
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/loans");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void aBodyWithinTheThresholdGoesOutWithItsLength() throws Exception {
+        filter.doFilter(request, response, writing("{\"id\":1}"));
+
+        assertThat(response.getHeader("Content-Length")).isEqualTo("8");
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void aLargerBodyStreamsWithoutALength() throws Exception {
+        String body = "[" + "{\"id\":1},".repeat(10) + "{\"id\":2}]";
+
+        filter.doFilter(request, response, writing(body));
+
+        assertThat(response.getHeader("Content-Length")).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(body);
+    }
+
+    // The converters flush once they are done; that must not commit a small body early
+    private static FilterChain writing(String body) {
+        return (req, res) -> {
+            res.getOutputStream().write(body.getBytes());
+            res.getOutputStream().flush();
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package dev_eddy.fintech_loan_app.dtos;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev_eddy.fintech_loan_app.services.AmortizationService;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoanScheduleDTOTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AmortizationService amortizationService = new AmortizationService();
+
+    // Applied three months and a day ago, so three installment dates have passed
+    private final LocalDate firstDue = LocalDate.now().minusMonths(2).minusDays(1);
+
+    @Test
+    void pastDueInstallmentsOfAnActiveLoanAreOverdue() throws Exception {
+        LoanScheduleDTO schedule = amortizationService.schedule(1L, 1_200, 12, 12, firstDue, 1_200.0);
+        schedule.setRepayable(true);
+
+        assertThat(statuses(schedule).subList(0, 4)).containsExactly("OVERDUE", "OVERDUE", "OVERDUE", "PENDING");
+    }
+
+    @Test
+    void aPendingLoanHasNothingOverdue() throws Exception {
+        LoanScheduleDTO schedule = amortizationService.schedule(1L, 1_200, 12, 12, firstDue, 1_200.0);
+
+        assertThat(statuses(schedule)).containsOnly("PENDING");
+    }
+
+    @Test
+    void paidInstallmentsStayPaidWhateverTheDate() throws Exception {
+        LoanScheduleDTO schedule = amortizationService.schedule(1L, 1_200, 12, 12, firstDue, 0.0);
+        schedule.setRepayable(true);
+
+        assertThat(statuses(schedule)).containsOnly("PAID");
+    }
+
+    private List<String> statuses(LoanScheduleDTO schedule) throws Exception {
+        List<String> statuses = new ArrayList<>();
+        for (JsonNode installment : objectMapper.readTree(objectMapper.writeValueAsString(schedule))
+                .get("installments")) {
+            statuses.add(installment.get("status").asText());
+        }
+        return statuses;
+    }
+}
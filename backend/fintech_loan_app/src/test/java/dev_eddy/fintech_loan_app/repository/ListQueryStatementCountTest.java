@@ -0,0 +1,134 @@
+package dev_eddy.fintech_loan_app.repository;
+
+import dev_eddy.fintech_loan_app.dtos.CursorPageDTO;
+import dev_eddy.fintech_loan_app.dtos.LoanDTO;
+import dev_eddy.fintech_loan_app.dtos.TransactionDTO;
+import dev_eddy.fintech_loan_app.entity.Loan;
+import dev_eddy.fintech_loan_app.entity.Transaction;
+import dev_eddy.fintech_loan_app.entity.User;
+import dev_eddy.fintech_loan_app.mappers.LoanMapper;
+import dev_eddy.fintech_loan_app.mappers.TransactionMapper;
+import dev_eddy.fintech_loan_app.services.AmortizationService;
+import dev_eddy.fintech_loan_app.services.LedgerService;
+import dev_eddy.fintech_loan_app.services.LoanService;
+import dev_eddy.fintech_loan_app.services.LoanStatsService;
+import dev_eddy.fintech_loan_app.services.OutboxService;
+import dev_eddy.fintech_loan_app.services.TransactionService;
+import dev_eddy.fintech_loan_app.services.UserCache;
+import dev_eddy.fintech_loan_app.services.UserOverviewService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The list endpoints should cost exactly one SQL statement regardless of how
+ * many rows or distinct users come back, and never hydrate a User.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({LoanService.class, TransactionService.class, LoanMapper.class, TransactionMapper.class,
+        LoanStatsService.class, AmortizationService.class, UserCache.class, UserOverviewService.class,
+        UserOverviewRepository.class, StatusUpdateRepository.class, TransactionArchiveRepository.class,
+        LedgerService.class, LedgerRepository.class, OutboxService.class, OutboxRepository.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ListQueryStatementCountTest {
+
+    private static final int USERS = 3;
+    private static final int ROWS_PER_USER = 4;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private Statistics statistics;
+    private Long firstUserId;
+
+    @BeforeEach
+    void setUp() {
+        for (int u = 0; u < USERS; u++) {
+            User user = new User();
+            user.setName("user" + u);
+            user.setEmail("user" + u + "@example.com");
+            user.setPassword("secret");
+            user.setRoles("USER");
+            entityManager.persist(user);
+            if (firstUserId == null) {
+                firstUserId = user.getId();
+            }
+            for (int i = 0; i < ROWS_PER_USER; i++) {
+                Loan loan = new Loan();
+                loan.setUser(user);
+                loan.setAmount(1000.0 + i);
+                loan.setTenure(12);
+                loan.setInterestRate(15.0);
+                entityManager.persist(loan);
+
+                Transaction transaction = new Transaction();
+                transaction.setUser(user);
+                transaction.setTransactionType("DISBURSEMENT");
+                transaction.setAmount(1000.0 + i);
+                transaction.setTransactionDate(LocalDateTime.now());
+                transaction.setStatus("COMPLETED");
+                entityManager.persist(transaction);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void loanListsIssueOneStatement() {
+        CursorPageDTO<LoanDTO> page = countStatements(() -> loanService.getAllLoans(null, 50, null, null));
+        assertThat(page.getItems()).hasSize(USERS * ROWS_PER_USER);
+        assertThat(page.getItems()).allSatisfy(loan -> assertThat(loan.getUserId()).isNotNull());
+
+        List<LoanDTO> userLoans = countStatements(() -> loanService.getUserLoans(firstUserId));
+        assertThat(userLoans).hasSize(ROWS_PER_USER)
+                .allSatisfy(loan -> assertThat(loan.getUserId()).isEqualTo(firstUserId));
+    }
+
+    @Test
+    void transactionListsIssueOneStatement() {
+        CursorPageDTO<TransactionDTO> page = countStatements(
+                () -> transactionService.getAllUserTransactions(null, 50, null, null));
+        assertThat(page.getItems()).hasSize(USERS * ROWS_PER_USER);
+
+        List<TransactionDTO> userTransactions = countStatements(
+                () -> transactionService.getUserTransactions(firstUserId));
+        assertThat(userTransactions).hasSize(ROWS_PER_USER)
+                .allSatisfy(transaction -> assertThat(transaction.getUserId()).isEqualTo(firstUserId));
+    }
+
+    private <T> T countStatements(Supplier<T> call) {
+        statistics.clear();
+        T result = call.get();
+        assertThat(statistics.getPrepareStatementCount()).as("SQL statements").isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).as("entities loaded").isZero();
+        return result;
+    }
+}
@@ -0,0 +1,268 @@
+package dev_eddy.fintech_loan_app.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the repository queries against a seeded Postgres built by the Flyway
+ * migrations, then EXPLAINs the exact SQL and bind values Hibernate sent and
+ * fails if any plan contains a sequential scan of a non-empty relation.
+ *
+ * summarizeByStatus and streamAll read whole tables by design and are left out.
+ * Needs Docker; skipped when it is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanIndexTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final int USERS = 5_000;
+    private static final int LOANS = 50_000;
+    private static final int TRANSACTIONS = 100_000;
+    private static final Set<String> ACCRUING = Set.of("APPROVED", "ACTIVE", "OVERDUE");
+
+    // Statements executed while a query is being captured
+    private static final List<CapturedStatement> captured = new CopyOnWriteArrayList<>();
+    private static volatile boolean capturing;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccrualCheckpointRepository checkpointRepository;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO users (id, name, email, password, roles, created_at, updated_at)
+                SELECT g, 'user' || g, 'user' || g || '@example.com', 'secret', 'USER',
+                       now() - g * interval '1 minute', now()
+                FROM generate_series(1, ?) g""", USERS);
+        // ~2% PENDING, the rest spread over the later lifecycle states
+        jdbcTemplate.update("""
+                INSERT INTO loans (id, user_id, amount, tenure, interest_rate, status, applied_at,
+                                   remaining_balance, version, created_at, updated_at)
+                SELECT g, 1 + g % ?, 1000 + g % 5000, 12, 15.0,
+                       CASE WHEN g % 50 = 0 THEN 'PENDING'
+                            WHEN g % 10 < 5 THEN 'ACTIVE'
+                            WHEN g % 10 < 7 THEN 'REPAID'
+                            WHEN g % 10 < 8 THEN 'APPROVED'
+                            WHEN g % 10 < 9 THEN 'OVERDUE'
+                            ELSE 'REJECTED' END,
+                       now() - g * interval '1 minute', 1000, 0,
+                       now() - g * interval '1 minute', now()
+                FROM generate_series(1, ?) g""", USERS, LOANS);
+        jdbcTemplate.update("""
+                INSERT INTO transactions (id, user_id, loan_id, transactionType, amount, transactionDate,
+                                          status, created_at, updated_at)
+                SELECT g, 1 + g % ?, 1 + g % ?, 'REPAYMENT', 100, now() - g * interval '1 minute',
+                       'COMPLETED', now() - g * interval '1 minute', now()
+                FROM generate_series(1, ?) g""", USERS, LOANS, TRANSACTIONS);
+        jdbcTemplate.update("""
+                INSERT INTO accrual_checkpoints (id, business_date, partition_start, partition_end,
+                                                 last_processed_id, loans_processed, completed)
+                SELECT g, current_date - g / 100, (g % 100) * 500, (g % 100 + 1) * 500, 0, 0, true
+                FROM generate_series(1, 10000) g""");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void loanQueriesUseIndexes() {
+        LocalDateTime cursor = LocalDateTime.now().minusDays(10);
+        assertNoSeqScan("loans.findById", () -> loanRepository.findById(4_242L));
+        assertNoSeqScan("loans.findByUserId", () -> loanRepository.findByUserId(42L));
+        assertNoSeqScan("loans.findDTOsByUserId", () -> loanRepository.findDTOsByUserId(42L));
+        assertNoSeqScan("loans.findByStatus(PENDING)", () -> loanRepository.findByStatus("PENDING"));
+        assertNoSeqScan("loans.findFirstPage", () -> loanRepository.findFirstPage(null, null, page()));
+        assertNoSeqScan("loans.findPageAfter",
+                () -> loanRepository.findPageAfter(null, null, cursor, 20_000L, page()));
+        assertNoSeqScan("loans.findFirstPage(PENDING)",
+                () -> loanRepository.findFirstPage("PENDING", null, page()));
+        assertNoSeqScan("loans.findFirstPage(userId)", () -> loanRepository.findFirstPage(null, 42L, page()));
+        assertNoSeqScan("loans.findIdRange", () -> loanRepository.findIdRange(ACCRUING));
+        // Locks the rows it reads, so it only runs inside a transaction
+        assertNoSeqScan("loans.findChunk", () -> new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> loanRepository.findChunk(ACCRUING, 10_000L, 20_000L, PageRequest.ofSize(500))));
+    }
+
+    @Test
+    void transactionQueriesUseIndexes() {
+        LocalDateTime cursor = LocalDateTime.now().minusDays(10);
+        assertNoSeqScan("transactions.findById", () -> transactionRepository.findById(4_242L));
+        assertNoSeqScan("transactions.findByUserId", () -> transactionRepository.findByUserId(42L));
+        assertNoSeqScan("transactions.findDTOsByUserId", () -> transactionRepository.findDTOsByUserId(42L));
+        assertNoSeqScan("transactions.findFirstPage",
+                () -> transactionRepository.findFirstPage(null, null, page()));
+        assertNoSeqScan("transactions.findPageAfter",
+                () -> transactionRepository.findPageAfter(null, null, cursor, 20_000L, page()));
+        assertNoSeqScan("transactions.findFirstPage(userId)",
+                () -> transactionRepository.findFirstPage(null, 42L, page()));
+    }
+
+    @Test
+    void userAndCheckpointQueriesUseIndexes() {
+        assertNoSeqScan("users.findByEmail", () -> userRepository.findByEmail("user42@example.com"));
+        assertNoSeqScan("users.existsByEmail", () -> userRepository.existsByEmail("user42@example.com"));
+        assertNoSeqScan("users.findFirstPage", () -> userRepository.findFirstPage(page()));
+        assertNoSeqScan("users.findPageAfter",
+                () -> userRepository.findPageAfter(LocalDateTime.now().minusDays(1), 2_000L, page()));
+        assertNoSeqScan("checkpoints.findByBusinessDate",
+                () -> checkpointRepository.findByBusinessDateOrderByPartitionStart(LocalDate.now().minusDays(3)));
+    }
+
+    private static PageRequest page() {
+        return PageRequest.ofSize(51);
+    }
+
+    private void assertNoSeqScan(String name, Runnable query) {
+        captured.clear();
+        capturing = true;
+        try {
+            query.run();
+        } finally {
+            capturing = false;
+        }
+        assertThat(captured).as(name + " statements").isNotEmpty();
+        for (CapturedStatement statement : List.copyOf(captured)) {
+            String plan = explain(statement);
+            // Months created ahead of time are empty; a scan of one reads no pages
+            List<String> seqScans = plan.lines()
+                    .filter(line -> line.contains("Seq Scan") && !line.contains("(cost=0.00..0.00 "))
+                    .toList();
+            assertThat(seqScans).as(name + "\n" + statement.sql() + "\n" + plan).isEmpty();
+        }
+    }
+
+    private String explain(CapturedStatement statement) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+            for (BindCall bind : statement.binds()) {
+                bind.method().invoke(explain, bind.args());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = explain.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not EXPLAIN " + statement.sql(), e);
+        }
+    }
+
+    private record BindCall(Method method, Object[] args) {
+    }
+
+    private record CapturedStatement(String sql, List<BindCall> binds) {
+    }
+
+    // Wraps the pool so every prepared query and its bind values can be replayed under EXPLAIN
+    @TestConfiguration
+    static class CaptureConfig {
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource target)) {
+                        return bean;
+                    }
+                    return proxy(DataSource.class, target, (method, args, result) ->
+                            method.getName().equals("getConnection") ? wrapConnection((Connection) result) : result);
+                }
+            };
+        }
+
+        private static Connection wrapConnection(Connection target) {
+            return proxy(Connection.class, target, (method, args, result) ->
+                    method.getName().equals("prepareStatement")
+                            ? wrapStatement((PreparedStatement) result, (String) args[0])
+                            : result);
+        }
+
+        private static PreparedStatement wrapStatement(PreparedStatement target, String sql) {
+            List<BindCall> binds = new ArrayList<>();
+            return proxy(PreparedStatement.class, target, (method, args, result) -> {
+                // Parameter setters are (int index, value[, ...]); setFetchSize and friends take one argument
+                if (method.getName().startsWith("set") && args != null && args.length >= 2
+                        && method.getParameterTypes()[0] == int.class) {
+                    binds.add(new BindCall(method, args.clone()));
+                } else if (method.getName().equals("executeQuery") && capturing) {
+                    captured.add(new CapturedStatement(sql, List.copyOf(binds)));
+                }
+                return result;
+            });
+        }
+
+        private interface AfterCall {
+            Object apply(Method method, Object[] args, Object result) throws Exception;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, AfterCall after) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (self, method, args) -> {
+                try {
+                    return after.apply(method, args, method.invoke(target, args));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package dev_eddy.fintech_loan_app.repository;
+
+import dev_eddy.fintech_loan_app.dtos.LoanDTO;
+import dev_eddy.fintech_loan_app.services.ResourceVersionService;
+import dev_eddy.fintech_loan_app.services.UserCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * List versions against Postgres, where the set-based status updates stamp
+ * updated_at from the database clock while entity writes use the JVM clock.
+ * Needs Docker; skipped when it is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ResourceVersionRepository.class, ResourceVersionService.class, StatusUpdateRepository.class, UserCache.class})
+class ResourceVersionRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final long USER_ID = 1L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private StatusUpdateRepository statusUpdateRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    // Two pending loans, and one last written by an instance whose clock runs an hour ahead
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("TRUNCATE users, loans CASCADE");
+        jdbcTemplate.update("""
+                INSERT INTO users (id, name, email, password, roles, created_at, updated_at)
+                VALUES (?, 'user', 'user@example.com', 'secret', 'USER', now(), now())""", USER_ID);
+        jdbcTemplate.update("""
+                INSERT INTO loans (id, user_id, amount, tenure, interest_rate, status, applied_at,
+                                   remaining_balance, version, created_at, updated_at)
+                SELECT g, ?, 1000 * g, 12, 15.0, CASE WHEN g < 3 THEN 'PENDING' ELSE 'ACTIVE' END,
+                       now(), 1000 * g, 0, now() - g * interval '1 day',
+                       CASE WHEN g < 3 THEN now() - interval '1 day' ELSE now() + interval '1 hour' END
+                FROM generate_series(1, 3) g""", USER_ID);
+    }
+
+    @Test
+    void aBulkStatusChangeInvalidatesTheListETag() {
+        ResourceVersionService.Version before = resourceVersionService.userLoans(USER_ID).orElseThrow();
+
+        List<StatusUpdateRepository.ChangedRow> changed = statusUpdateRepository.updateLoans(
+                null, "PENDING", USER_ID, List.of("PENDING"), "APPROVED", 100);
+
+        ResourceVersionService.Version after = resourceVersionService.userLoans(USER_ID).orElseThrow();
+        assertThat(changed).hasSize(2);
+        // Neither the count nor the latest stamp moved; the ETag must still change
+        assertThat(after.count()).isEqualTo(before.count());
+        assertThat(after.lastModified()).isEqualTo(before.lastModified());
+        assertThat(after.eTag()).isNotEqualTo(before.eTag());
+    }
+
+    @Test
+    void theQueriedVersionMatchesTheOneDerivedFromTheLoadedList() {
+        statusUpdateRepository.updateLoans(null, "PENDING", USER_ID, List.of("PENDING"), "APPROVED", 100);
+
+        List<LoanDTO> loans = loanRepository.findDTOsByUserId(USER_ID);
+
+        assertThat(resourceVersionService.userLoans(USER_ID)).contains(
+                ResourceVersionService.of(loans, LoanDTO::getUpdatedAt));
+    }
+}
@@ -0,0 +1,102 @@
+package dev_eddy.fintech_loan_app.services;
+
+import dev_eddy.fintech_loan_app.dtos.LoanScheduleDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AmortizationServiceTest {
+
+    private static final LocalDate FIRST_DUE = LocalDate.of(2026, 1, 31);
+
+    private final AmortizationService amortizationService = new AmortizationService();
+
+    @Test
+    void installmentIsTheAnnuityPaymentRoundedToCents() {
+        assertThat(amortizationService.monthlyPayment(10_000, 12, 12)).isCloseTo(888.4879, within(0.0001));
+
+        LoanScheduleDTO schedule = amortizationService.schedule(1L, 10_000, 12, 12, FIRST_DUE, null);
+
+        assertThat(schedule.getMonthlyPayment()).isEqualTo(888.49);
+        // Every installment but the last pays exactly the rounded amount
+        assertThat(Arrays.copyOf(schedule.getPayments(), 11)).containsOnly(888.49);
+    }
+
+    @Test
+    void interestIsChargedOnTheOpeningBalanceOfEachMonth() {
+        LoanScheduleDTO schedule = amortizationService.schedule(1L, 10_000, 12, 12, FIRST_DUE, null);
+
+        assertThat(schedule.getInterest()[0]).isEqualTo(100.00);
+        assertThat(schedule.getPrincipal()[0]).isEqualTo(788.49);
+        assertThat(schedule.getBalance()[0]).isEqualTo(9211.51);
+        assertThat(schedule.getInterest()[1]).isEqualTo(92.12);
+        assertThat(schedule.getTotalInterest()).isEqualTo(661.86);
+    }
+
+    @Test
+    void finalInstallmentAbsorbsTheRoundingResidue() {
+        LoanScheduleDTO schedule = amortizationService.schedule(1L, 10_000, 12, 12, FIRST_DUE, null);
+
+        assertThat(schedule.getPrincipal()[11]).isEqualTo(879.67);
+        assertThat(schedule.getInterest()[11]).isEqualTo(8.80);
+        assertThat(schedule.getPayments()[11]).isEqualTo(888.47);
+        assertThat(schedule.getBalance()[11]).isZero();
+        assertThat(Arrays.stream(schedule.getPrincipal()).sum()).isCloseTo(10_000, within(0.001));
+    }
+
+    @Test
+    void zeroRateSplitsThePrincipalEvenly() {
+        LoanScheduleDTO schedule = amortizationService.schedule(1L, 1_200, 0, 12, FIRST_DUE, null);
+
+        assertThat(schedule.getPayments()).containsOnly(100.00);
+        assertThat(schedule.getInterest()).containsOnly(0.0);
+        assertThat(schedule.getTotalInterest()).isZero();
+        assertThat(amortizationService.scheduledBalance(1_200, 0, 12, 3)).isEqualTo(900);
+    }
+
+    @Test
+    void paidInstallmentsCountsRowsTheBalanceHasReached() {
+        assertThat(amortizationService.schedule(1L, 10_000, 12, 12, FIRST_DUE, 10_000.0).getPaidInstallments())
+                .isZero();
+        assertThat(amortizationService.schedule(1L, 10_000, 12, 12, FIRST_DUE, 8415.14).getPaidInstallments())
+                .isEqualTo(2);
+        assertThat(amortizationService.schedule(1L, 10_000, 12, 12, FIRST_DUE, 0.0).getPaidInstallments())
+                .isEqualTo(12);
+    }
+
+    @Test
+    void installmentsAreNumberedFromTheFirstDueDateThroughShortMonths() {
+        assertThat(amortizationService.installmentNumber(FIRST_DUE, FIRST_DUE)).isEqualTo(1);
+        // 31 Jan plus a month is 28 Feb, which MONTHS.between alone counts as no month at all
+        assertThat(amortizationService.installmentNumber(FIRST_DUE, LocalDate.of(2026, 2, 28))).isEqualTo(2);
+        assertThat(amortizationService.installmentNumber(FIRST_DUE, LocalDate.of(2026, 3, 30))).isEqualTo(2);
+        assertThat(amortizationService.installmentNumber(FIRST_DUE, LocalDate.of(2026, 3, 31))).isEqualTo(3);
+
+        assertThat(amortizationService.periodStart(FIRST_DUE.minusMonths(1), FIRST_DUE))
+                .isEqualTo(FIRST_DUE.minusMonths(1));
+        assertThat(amortizationService.periodStart(FIRST_DUE.minusMonths(1), LocalDate.of(2026, 3, 31)))
+                .isEqualTo(LocalDate.of(2026, 2, 28));
+    }
+
+    @Test
+    void aWholePeriodAccruesItsScheduledInterest() {
+        LocalDate start = LocalDate.of(2026, 2, 28);
+        LocalDate due = LocalDate.of(2026, 3, 31);
+
+        assertThat(amortizationService.periodInterest(10_000, 12, start, due, start, due)).isCloseTo(100, within(1e-9));
+        assertThat(amortizationService.periodInterest(10_000, 12, start, due, start.minusDays(5), start.plusDays(1)))
+                .isCloseTo(100.0 / 31, within(1e-9));
+        assertThat(amortizationService.periodInterest(10_000, 12, start, due, due, due.plusDays(3))).isZero();
+    }
+
+    @Test
+    void scheduledBalanceRunsFromPrincipalToZero() {
+        assertThat(amortizationService.scheduledBalance(10_000, 12, 12, 0)).isCloseTo(10_000, within(1e-9));
+        assertThat(amortizationService.scheduledBalance(10_000, 12, 12, 1)).isCloseTo(9211.51, within(0.01));
+        assertThat(amortizationService.scheduledBalance(10_000, 12, 12, 12)).isZero();
+    }
+}
@@ -0,0 +1,192 @@
+package dev_eddy.fintech_loan_app.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev_eddy.fintech_loan_app.dtos.CreateLoanDTO;
+import dev_eddy.fintech_loan_app.dtos.LoanDTO;
+import dev_eddy.fintech_loan_app.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceTest {
+
+    private static final String OPERATION = "POST /api/loans";
+
+    private final IdempotencyKeyRepository repository = mock(IdempotencyKeyRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final IdempotencyService service = new IdempotencyService(repository,
+            new ObjectMapper().registerModule(new JavaTimeModule()), new SimpleMeterRegistry(), transactionManager,
+            24, 5, 1000);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(call -> new SimpleTransactionStatus());
+        when(repository.complete(anyString(), anyString(), anyInt(), anyString())).thenReturn(true);
+    }
+
+    @Test
+    void concurrentDuplicatesCollapseOntoOneExecution() throws Exception {
+        when(repository.insertClaim(anyString(), anyString(), any(), any())).thenReturn(true);
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<ResponseEntity<LoanDTO>>> responses = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                responses.add(pool.submit(() -> service.execute("key-1", OPERATION, request(1000), LoanDTO.class,
+                        HttpStatus.CREATED, () -> {
+                            await(release);
+                            return createLoan();
+                        })));
+            }
+            // Give every caller time to arrive while the first is still running
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<ResponseEntity<LoanDTO>> response : responses) {
+                ResponseEntity<LoanDTO> entity = response.get(10, TimeUnit.SECONDS);
+                assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+                assertThat(entity.getBody().getId()).isEqualTo(1L);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(executions).hasValue(1);
+        verify(repository, times(1)).insertClaim(anyString(), anyString(), any(), any());
+        verify(repository, times(1)).complete(eq(OPERATION + " key-1"), anyString(), eq(201), anyString());
+    }
+
+    @Test
+    void replayReturnsStoredResponseWithoutRunningAgain() {
+        when(repository.insertClaim(anyString(), anyString(), any(), any())).thenReturn(true);
+        service.execute("key-2", OPERATION, request(1000), LoanDTO.class, HttpStatus.CREATED, this::createLoan);
+
+        ResponseEntity<LoanDTO> replay = service.execute("key-2", OPERATION, request(1000), LoanDTO.class,
+                HttpStatus.CREATED, this::createLoan);
+
+        assertThat(executions).hasValue(1);
+        assertThat(replay.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replay.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(replay.getBody().getAmount()).isEqualTo(1000.0);
+    }
+
+    @Test
+    void reusingAKeyWithADifferentBodyIsRejected() {
+        when(repository.insertClaim(anyString(), anyString(), any(), any())).thenReturn(true);
+        service.execute("key-3", OPERATION, request(1000), LoanDTO.class, HttpStatus.CREATED, this::createLoan);
+
+        assertThatThrownBy(() -> service.execute("key-3", OPERATION, request(2000), LoanDTO.class,
+                HttpStatus.CREATED, this::createLoan))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void failedAttemptReleasesTheKeyForARetry() {
+        when(repository.insertClaim(anyString(), anyString(), any(), any())).thenReturn(true);
+        Supplier<LoanDTO> failing = () -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThatThrownBy(() -> service.execute("key-4", OPERATION, request(1000), LoanDTO.class,
+                HttpStatus.CREATED, failing)).hasMessage("boom");
+        verify(repository).release(OPERATION + " key-4");
+
+        service.execute("key-4", OPERATION, request(1000), LoanDTO.class, HttpStatus.CREATED, this::createLoan);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void keyHeldByAnotherInstanceIsAConflict() {
+        AtomicReference<String> fingerprint = new AtomicReference<>();
+        when(repository.insertClaim(anyString(), anyString(), any(), any())).thenAnswer(call -> {
+            fingerprint.set(call.getArgument(1));
+            return false;
+        });
+        when(repository.find(OPERATION + " key-5")).thenAnswer(call -> Optional.of(
+                new IdempotencyKeyRepository.StoredKey(fingerprint.get(), IdempotencyKeyRepository.IN_PROGRESS,
+                        null, null, LocalDateTime.now().plusMinutes(1), LocalDateTime.now().plusHours(1))));
+
+        assertThatThrownBy(() -> service.execute("key-5", OPERATION, request(1000), LoanDTO.class,
+                HttpStatus.CREATED, this::createLoan))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        assertThat(executions).hasValue(0);
+    }
+
+    // The claim lapsed and another attempt completed the key first: this attempt's effect must not commit
+    @Test
+    void aResponseThatCannotBeStoredRollsBackItsEffect() {
+        when(repository.insertClaim(anyString(), anyString(), any(), any())).thenReturn(true);
+        when(repository.complete(anyString(), anyString(), anyInt(), anyString())).thenReturn(false);
+
+        assertThatThrownBy(() -> service.execute("key-6", OPERATION, request(1000), LoanDTO.class,
+                HttpStatus.CREATED, this::createLoan))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        // A rollback-only status is rolled back by the manager's commit
+        ArgumentCaptor<TransactionStatus> finished = ArgumentCaptor.forClass(TransactionStatus.class);
+        verify(transactionManager).commit(finished.capture());
+        assertThat(finished.getValue().isRollbackOnly()).isTrue();
+        // The key belongs to the attempt that completed it
+        verify(repository, never()).release(anyString());
+    }
+
+    private LoanDTO createLoan() {
+        executions.incrementAndGet();
+        LoanDTO loan = new LoanDTO();
+        loan.setId(1L);
+        loan.setAmount(1000.0);
+        return loan;
+    }
+
+    private static CreateLoanDTO request(double amount) {
+        CreateLoanDTO request = new CreateLoanDTO();
+        request.setUserId(7L);
+        request.setAmount(amount);
+        request.setTenure(12);
+        return request;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
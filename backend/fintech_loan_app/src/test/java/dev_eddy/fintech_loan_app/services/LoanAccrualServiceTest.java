@@ -0,0 +1,228 @@
+package dev_eddy.fintech_loan_app.services;
+
+import dev_eddy.fintech_loan_app.dtos.AccrualRunDTO;
+import dev_eddy.fintech_loan_app.entity.AccrualCheckpoint;
+import dev_eddy.fintech_loan_app.entity.Loan;
+import dev_eddy.fintech_loan_app.entity.User;
+import dev_eddy.fintech_loan_app.repository.AccrualCheckpointRepository;
+import dev_eddy.fintech_loan_app.repository.LoanRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs accruals against an in-memory loan book and checkpoint table. The
+ * balance and rate give 280.00 of interest a month, which over the 28-day
+ * installment period (18 Feb to 18 Mar) of a loan approved 20 days before the
+ * business date is exactly 10.00 a day.
+ */
+class LoanAccrualServiceTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2026, 3, 10);
+    private static final double BALANCE = 28_000.0;
+    private static final double RATE = 12.0;
+    private static final double MONTHLY_INTEREST = 280.0;
+    private static final double DAILY_INTEREST = 10.0;
+    private static final int CHUNK_SIZE = 2;
+
+    private final Map<Long, Loan> loans = new TreeMap<>();
+    private final Map<Long, AccrualCheckpoint> checkpoints = new TreeMap<>();
+    private final User borrower = new User();
+
+    private LoanRepository loanRepository;
+    private LoanAccrualService accrualService;
+
+    @BeforeEach
+    void setUp() {
+        borrower.setId(7L);
+
+        loanRepository = mock(LoanRepository.class);
+        when(loanRepository.findChunk(anyCollection(), anyLong(), anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    long afterId = invocation.getArgument(1);
+                    long toId = invocation.getArgument(2);
+                    Pageable page = invocation.getArgument(3);
+                    return loans.values().stream()
+                            .filter(loan -> loan.getId() > afterId && loan.getId() <= toId)
+                            .limit(page.getPageSize())
+                            .toList();
+                });
+        when(loanRepository.findIdRange(anyCollection())).thenAnswer(invocation -> {
+            List<Object[]> range = new ArrayList<>();
+            range.add(new Object[] { loans.keySet().stream().findFirst().orElse(null),
+                    loans.keySet().stream().reduce((first, last) -> last).orElse(null) });
+            return range;
+        });
+
+        AccrualCheckpointRepository checkpointRepository = mock(AccrualCheckpointRepository.class);
+        when(checkpointRepository.findByBusinessDateOrderByPartitionStart(BUSINESS_DATE))
+                .thenAnswer(invocation -> new ArrayList<>(checkpoints.values()));
+        when(checkpointRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(checkpoints.get(invocation.<Long>getArgument(0))));
+        when(checkpointRepository.save(any(AccrualCheckpoint.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(checkpointRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<AccrualCheckpoint> saved = invocation.getArgument(0);
+            saved.forEach(this::store);
+            return saved;
+        });
+
+        accrualService = new LoanAccrualService(loanRepository, checkpointRepository, new AmortizationService(),
+                mock(LoanStatsService.class), mock(UserOverviewService.class), mock(OutboxService.class),
+                mock(PlatformTransactionManager.class), 3, CHUNK_SIZE, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accrualService.shutdown();
+    }
+
+    @Test
+    void aMultiDayGapAccruesEveryMissedDay() throws Exception {
+        Loan loan = loan(1L, BUSINESS_DATE.minusDays(3));
+        loan.setAccruedInterest(5.0);
+
+        AccrualRunDTO run = runToCompletion();
+
+        assertThat(run.getState()).isEqualTo("COMPLETED");
+        assertThat(loan.getAccruedInterest()).isCloseTo(5.0 + 3 * DAILY_INTEREST, within(1e-9));
+        assertThat(loan.getLastAccrualDate()).isEqualTo(BUSINESS_DATE);
+    }
+
+    // Approved 8 Feb, so the first installment covers the 28 days to 8 Mar
+    @Test
+    void aGapAcrossADueDateCarriesTheUnpaidInterestForward() throws Exception {
+        Loan loan = loan(1L, BUSINESS_DATE.minusDays(5));
+        loan.setAccruedInterest(40.0);
+        loan.setApprovedAt(BUSINESS_DATE.minusDays(2).minusMonths(1).atStartOfDay());
+        loan.setNextPaymentDate(BUSINESS_DATE.minusDays(2).atStartOfDay());
+
+        AccrualRunDTO run = runToCompletion();
+
+        assertThat(run.getPaymentsRolled()).isEqualTo(1);
+        assertThat(loan.getNextPaymentDate()).isEqualTo(BUSINESS_DATE.minusDays(2).plusMonths(1).atStartOfDay());
+        // Unpaid 40.00, the three days up to 8 Mar, then two days into the 31-day period to 8 Apr
+        assertThat(loan.getAccruedInterest())
+                .isCloseTo(40.0 + 3 * DAILY_INTEREST + 2 * MONTHLY_INTEREST / 31, within(1e-9));
+        // The balance is ahead of schedule, so the due date passed without a missed payment
+        assertThat(loan.getStatus()).isEqualTo("ACTIVE");
+        assertThat(loan.getMissedPayments()).isZero();
+    }
+
+    // First due 31 Jan; the second installment fell due on 28 Feb, the next one is 31 Mar again
+    @Test
+    void dueDatesAreCountedFromTheFirstOneAndDoNotDriftAfterAShortMonth() throws Exception {
+        Loan loan = loan(1L, BUSINESS_DATE.minusDays(1));
+        loan.setApprovedAt(LocalDate.of(2025, 12, 31).atStartOfDay());
+        loan.setNextPaymentDate(LocalDate.of(2026, 2, 28).atStartOfDay());
+
+        AccrualRunDTO run = runToCompletion();
+
+        assertThat(run.getPaymentsRolled()).isEqualTo(1);
+        assertThat(loan.getNextPaymentDate()).isEqualTo(LocalDate.of(2026, 3, 31).atStartOfDay());
+    }
+
+    @Test
+    void aLoanAlreadyAccruedForTheDateIsLeftAlone() throws Exception {
+        Loan loan = loan(1L, BUSINESS_DATE);
+        loan.setAccruedInterest(5.0);
+
+        runToCompletion();
+
+        assertThat(loan.getAccruedInterest()).isEqualTo(5.0);
+    }
+
+    // An interrupted run left partition (0, 3] done and (3, 6] checkpointed after loan 4
+    @Test
+    void aRerunResumesFromThePartitionCheckpoints() throws Exception {
+        for (long id = 1; id <= 6; id++) {
+            loan(id, BUSINESS_DATE.minusDays(1));
+        }
+        store(checkpoint(0, 3, 3, 3, true));
+        store(checkpoint(3, 6, 4, 1, false));
+
+        AccrualRunDTO run = runToCompletion();
+
+        assertThat(run.getState()).isEqualTo("COMPLETED");
+        assertThat(run.getPartitions()).isEqualTo(2);
+        assertThat(run.getPartitionsCompleted()).isEqualTo(2);
+        assertThat(run.getLoansProcessed()).isEqualTo(2);
+        // The checkpoints were reused rather than the id range split again
+        verify(loanRepository, never()).findIdRange(anyCollection());
+        for (long id = 1; id <= 4; id++) {
+            assertThat(loans.get(id).getLastAccrualDate()).isEqualTo(BUSINESS_DATE.minusDays(1));
+            assertThat(loans.get(id).getAccruedInterest()).isNull();
+        }
+        for (long id = 5; id <= 6; id++) {
+            assertThat(loans.get(id).getLastAccrualDate()).isEqualTo(BUSINESS_DATE);
+            assertThat(loans.get(id).getAccruedInterest()).isCloseTo(DAILY_INTEREST, within(1e-9));
+        }
+        AccrualCheckpoint resumed = checkpoints.values().stream().skip(1).findFirst().orElseThrow();
+        assertThat(resumed.getLastProcessedId()).isEqualTo(6L);
+        assertThat(resumed.getLoansProcessed()).isEqualTo(3L);
+        assertThat(resumed.getCompleted()).isTrue();
+    }
+
+    private AccrualRunDTO runToCompletion() throws InterruptedException {
+        accrualService.start(BUSINESS_DATE);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ("RUNNING".equals(accrualService.getProgress().getState())) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        return accrualService.getProgress();
+    }
+
+    private Loan loan(long id, LocalDate lastAccrualDate) {
+        Loan loan = new Loan();
+        loan.setId(id);
+        loan.setUser(borrower);
+        loan.setAmount(100_000.0);
+        loan.setRemainingBalance(BALANCE);
+        loan.setInterestRate(RATE);
+        loan.setTenure(12);
+        loan.setStatus("ACTIVE");
+        loan.setApprovedAt(BUSINESS_DATE.minusDays(20).atStartOfDay());
+        loan.setLastAccrualDate(lastAccrualDate);
+        loans.put(id, loan);
+        return loan;
+    }
+
+    private static AccrualCheckpoint checkpoint(long start, long end, long lastProcessedId, long loansProcessed,
+                                                boolean completed) {
+        AccrualCheckpoint checkpoint = new AccrualCheckpoint();
+        checkpoint.setBusinessDate(BUSINESS_DATE);
+        checkpoint.setPartitionStart(start);
+        checkpoint.setPartitionEnd(end);
+        checkpoint.setLastProcessedId(lastProcessedId);
+        checkpoint.setLoansProcessed(loansProcessed);
+        checkpoint.setCompleted(completed);
+        return checkpoint;
+    }
+
+    private void store(AccrualCheckpoint checkpoint) {
+        long id = checkpoints.size() + 1L;
+        ReflectionTestUtils.setField(checkpoint, "id", id);
+        checkpoints.put(id, checkpoint);
+    }
+}
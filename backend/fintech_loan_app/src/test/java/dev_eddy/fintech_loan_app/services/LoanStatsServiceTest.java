@@ -0,0 +1,52 @@
+package dev_eddy.fintech_loan_app.services;
+
+import dev_eddy.fintech_loan_app.dtos.AdminStatsDTO;
+import dev_eddy.fintech_loan_app.repository.LoanRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LoanStatsServiceTest {
+
+    private final LoanRepository loanRepository = mock(LoanRepository.class);
+    private final LoanStatsService service = new LoanStatsService(loanRepository);
+
+    @Test
+    void reconcileReplacesDriftedCountersWithTheDatabaseTotals() {
+        service.loanCreated("PENDING", 1_000.0);
+        service.loanCreated("ACTIVE", 2_000.0);
+        when(loanRepository.summarizeByStatus()).thenReturn(rows(new Object[] { "ACTIVE", 3L, 9_000.0 }));
+
+        service.reconcile();
+
+        AdminStatsDTO stats = service.getStats();
+        assertThat(stats.getLoansByStatus()).containsOnlyKeys("ACTIVE").containsEntry("ACTIVE", 3L);
+        assertThat(stats.getTotalDisbursed()).isEqualTo(9_000.0);
+    }
+
+    // The loan commits after the query has read the table, and its delta lands before the correction
+    @Test
+    void aDeltaThatLandsWhileReconcilingIsKept() {
+        service.loanCreated("ACTIVE", 2_000.0);
+        when(loanRepository.summarizeByStatus()).thenAnswer(call -> {
+            service.loanStatusChanged("ACTIVE", "REPAID", 2_000.0);
+            return rows(new Object[] { "ACTIVE", 1L, 2_000.0 });
+        });
+
+        service.reconcile();
+
+        AdminStatsDTO stats = service.getStats();
+        assertThat(stats.getLoansByStatus()).containsOnlyKeys("REPAID").containsEntry("REPAID", 1L);
+        assertThat(stats.getTotalDisbursed()).isEqualTo(2_000.0);
+        assertThat(stats.getRepaymentRate()).isEqualTo(100.0);
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+}
@@ -0,0 +1,108 @@
+package dev_eddy.fintech_loan_app.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev_eddy.fintech_loan_app.dtos.DomainEventDTO;
+import dev_eddy.fintech_loan_app.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxDispatcherTest {
+
+    private final OutboxRepository repository = mock(OutboxRepository.class);
+    private final RecordingSubscriber subscriber = new RecordingSubscriber();
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("recordingSubscriber", subscriber);
+        dispatcher = new OutboxDispatcher(repository, beanFactory.getBeanProvider(DomainEventSubscriber.class),
+                new ObjectMapper(), new SimpleMeterRegistry(), mock(PlatformTransactionManager.class),
+                false, 250, 100, 3, 60);
+        dispatcher.start();
+        when(repository.tryLockDispatch()).thenReturn(true);
+    }
+
+    @Test
+    void deliversInIdOrderAndDeletesWhatWasDelivered() {
+        when(repository.findDispatchable(100)).thenReturn(List.of(
+                event(1L, 10L), event(2L, 20L), event(3L, 10L), event(4L, null)));
+
+        OutboxDispatcher.Batch batch = dispatcher.dispatchBatch();
+
+        assertThat(batch.delivered()).isEqualTo(4);
+        assertThat(subscriber.ids).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(subscriber.received.get(0).getPayload().get("status").asText()).isEqualTo("APPROVED");
+        verify(repository).deleteDelivered(new Long[] { 1L, 2L, 3L, 4L });
+        verify(repository, never()).recordFailures(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void aFailedEventHoldsBackTheRestOfItsLoanOnly() {
+        when(repository.findDispatchable(100)).thenReturn(List.of(
+                event(1L, 10L), event(2L, 20L), event(3L, 10L), event(4L, 20L)));
+        subscriber.failing = Set.of(2L);
+
+        OutboxDispatcher.Batch batch = dispatcher.dispatchBatch();
+
+        // 4 belongs to the same loan as the failed 2 and must not overtake it
+        assertThat(subscriber.ids).containsExactly(1L, 3L);
+        assertThat(batch.fetched()).isEqualTo(4);
+        assertThat(batch.delivered()).isEqualTo(2);
+        verify(repository).deleteDelivered(new Long[] { 1L, 3L });
+        ArgumentCaptor<List<OutboxRepository.Failure>> failures = ArgumentCaptor.forClass(List.class);
+        verify(repository).recordFailures(failures.capture(), eq(3), eq(60));
+        assertThat(failures.getValue()).extracting(OutboxRepository.Failure::id).containsExactly(2L);
+    }
+
+    @Test
+    void anotherInstanceHoldingTheLockMeansNothingIsDelivered() {
+        when(repository.tryLockDispatch()).thenReturn(false);
+
+        OutboxDispatcher.Batch batch = dispatcher.dispatchBatch();
+
+        assertThat(batch.fetched()).isZero();
+        assertThat(subscriber.ids).isEmpty();
+        verify(repository, never()).findDispatchable(anyInt());
+    }
+
+    private static OutboxRepository.PendingEvent event(Long id, Long loanId) {
+        return new OutboxRepository.PendingEvent(id, OutboxService.LOAN_STATUS_CHANGED, loanId, 7L,
+                LocalDateTime.now(), "{\"loanId\":" + loanId + ",\"status\":\"APPROVED\"}", 0, 5);
+    }
+
+    // Local stand-in for a real subscriber: records what it is given and fails on request
+    private static final class RecordingSubscriber implements DomainEventSubscriber {
+        private final List<Long> ids = new ArrayList<>();
+        private final List<DomainEventDTO> received = new ArrayList<>();
+        private Set<Long> failing = Set.of();
+
+        @Override
+        public void onEvent(DomainEventDTO event) {
+            if (failing.contains(event.getId())) {
+                throw new IllegalStateException("subscriber unavailable");
+            }
+            ids.add(event.getId());
+            received.add(event);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package dev_eddy.fintech_loan_app.services;
+
+import dev_eddy.fintech_loan_app.dtos.CreateTransactionDTO;
+import dev_eddy.fintech_loan_app.entity.Loan;
+import dev_eddy.fintech_loan_app.entity.Transaction;
+import dev_eddy.fintech_loan_app.entity.User;
+import dev_eddy.fintech_loan_app.mappers.TransactionMapper;
+import dev_eddy.fintech_loan_app.repository.LoanRepository;
+import dev_eddy.fintech_loan_app.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Hammers RepaymentService with concurrent repayments against an in-memory
+ * loan store that enforces the @Version check the way Hibernate does. Every
+ * read hands out a private copy and pauses before returning, so any posting
+ * that is not serialized would overwrite another's balance.
+ */
+class RepaymentServiceConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int REPAYMENTS_PER_THREAD = 200;
+    private static final double PRINCIPAL = 100_000.0;
+
+    private final Map<Long, StoredLoan> loans = new ConcurrentHashMap<>();
+    private final AtomicInteger versionConflicts = new AtomicInteger();
+    private final AtomicLong transactionsSaved = new AtomicLong();
+    private final User borrower = new User();
+
+    private RepaymentService repaymentService;
+
+    private static final class StoredLoan {
+        private double balance = PRINCIPAL;
+        private long version;
+        private final LocalDateTime approvedAt = LocalDateTime.now();
+    }
+
+    @BeforeEach
+    void setUp() {
+        borrower.setId(7L);
+        loans.put(1L, new StoredLoan());
+        loans.put(2L, new StoredLoan());
+
+        LoanRepository loanRepository = mock(LoanRepository.class);
+        when(loanRepository.findById(anyLong())).thenAnswer(invocation -> Optional.of(read(invocation.getArgument(0))));
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> write(invocation.getArgument(0)));
+
+        TransactionRepository transactionRepository = mock(TransactionRepository.class);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            transaction.setId(transactionsSaved.incrementAndGet());
+            return transaction;
+        });
+
+        repaymentService = new RepaymentService(loanRepository, transactionRepository, new TransactionMapper(),
+                new AmortizationService(), mock(LoanStatsService.class), mock(UserOverviewService.class),
+                mock(LedgerService.class), mock(OutboxService.class), mock(PlatformTransactionManager.class),
+                1024, 5_000);
+    }
+
+    @Test
+    void concurrentRepaymentsOnOneLoanAreNeverLost() throws Exception {
+        runConcurrently(List.of(1L));
+
+        int total = THREADS * REPAYMENTS_PER_THREAD;
+        assertThat(loans.get(1L).balance).isEqualTo(PRINCIPAL - total);
+        assertThat(loans.get(1L).version).isEqualTo(total);
+        assertThat(transactionsSaved.get()).isEqualTo(total);
+        // The striped lock alone serialized the writers; the version check never had to step in
+        assertThat(versionConflicts.get()).isZero();
+    }
+
+    @Test
+    void repaymentsOnDifferentLoansStayIndependent() throws Exception {
+        runConcurrently(List.of(1L, 2L));
+
+        int perLoan = THREADS * REPAYMENTS_PER_THREAD / 2;
+        assertThat(loans.get(1L).balance).isEqualTo(PRINCIPAL - perLoan);
+        assertThat(loans.get(2L).balance).isEqualTo(PRINCIPAL - perLoan);
+        assertThat(transactionsSaved.get()).isEqualTo(THREADS * REPAYMENTS_PER_THREAD);
+        assertThat(versionConflicts.get()).isZero();
+    }
+
+    // Each thread posts 1.00 repayments, round-robin over the given loans
+    private void runConcurrently(List<Long> loanIds) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long loanId = loanIds.get(t % loanIds.size());
+            results.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < REPAYMENTS_PER_THREAD; i++) {
+                    repaymentService.postRepayment(repayment(loanId));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+    }
+
+    private CreateTransactionDTO repayment(long loanId) {
+        CreateTransactionDTO dto = new CreateTransactionDTO();
+        dto.setUserId(borrower.getId());
+        dto.setLoanId(loanId);
+        dto.setTransactionType("REPAYMENT");
+        dto.setAmount(1.0);
+        return dto;
+    }
+
+    private Loan read(long id) {
+        StoredLoan stored = loans.get(id);
+        Loan loan = new Loan();
+        synchronized (stored) {
+            loan.setId(id);
+            loan.setUser(borrower);
+            loan.setAmount(PRINCIPAL);
+            loan.setTenure(60);
+            // Interest-free, so every repayment is principal and the balance is easy to check
+            loan.setInterestRate(0.0);
+            loan.setStatus("APPROVED");
+            loan.setApprovedAt(stored.approvedAt);
+            loan.setRemainingBalance(stored.balance);
+            ReflectionTestUtils.setField(loan, "version", stored.version);
+        }
+        // Widen the read-modify-write window
+        Thread.yield();
+        return loan;
+    }
+
+    private Loan write(Loan loan) {
+        StoredLoan stored = loans.get(loan.getId());
+        synchronized (stored) {
+            if (loan.getVersion() != stored.version) {
+                versionConflicts.incrementAndGet();
+                throw new ObjectOptimisticLockingFailureException(Loan.class, loan.getId());
+            }
+            stored.balance = loan.getRemainingBalance();
+            stored.version++;
+        }
+        return loan;
+    }
+}
@@ -0,0 +1,202 @@
+package dev_eddy.fintech_loan_app.services;
+
+import dev_eddy.fintech_loan_app.dtos.CreateTransactionDTO;
+import dev_eddy.fintech_loan_app.mappers.TransactionMapper;
+import dev_eddy.fintech_loan_app.repository.LedgerRepository;
+import dev_eddy.fintech_loan_app.repository.LoanRepository;
+import dev_eddy.fintech_loan_app.repository.OutboxRepository;
+import dev_eddy.fintech_loan_app.repository.TransactionRepository;
+import dev_eddy.fintech_loan_app.repository.UserOverviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Concurrent repayments on one loan against Postgres, through Hibernate's
+ * real @Version check. Two RepaymentService instances, each with its own
+ * lock stripes, stand in for two application instances: their postings are
+ * only kept apart by the version check and the retry on a stale write.
+ * Needs Docker; skipped when it is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TransactionMapper.class, AmortizationService.class, LoanStatsService.class, UserCache.class,
+        UserOverviewService.class, UserOverviewRepository.class, LedgerService.class, LedgerRepository.class,
+        OutboxService.class, OutboxRepository.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class RepaymentServicePostgresTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final long USER_ID = 1L;
+    private static final long LOAN_ID = 1L;
+    private static final int THREADS_PER_INSTANCE = 4;
+    private static final int REPAYMENTS_PER_THREAD = 25;
+    private static final double PRINCIPAL = 100_000.0;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionMapper transactionMapper;
+
+    @Autowired
+    private AmortizationService amortizationService;
+
+    @Autowired
+    private LoanStatsService loanStatsService;
+
+    @Autowired
+    private UserOverviewService userOverviewService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("TRUNCATE users, loans, transactions, ledger_postings, outbox_events CASCADE");
+        jdbcTemplate.update("""
+                INSERT INTO users (id, name, email, password, roles, created_at, updated_at)
+                VALUES (?, 'user', 'user@example.com', 'secret', 'USER', now(), now())""", USER_ID);
+        // Interest-free, so every repayment is principal
+        jdbcTemplate.update("""
+                INSERT INTO loans (id, user_id, amount, tenure, interest_rate, status, applied_at, approved_at,
+                                   remaining_balance, version, created_at, updated_at)
+                VALUES (?, ?, ?, 60, 0.0, 'ACTIVE', now(), now(), ?, 0, now(), now())""",
+                LOAN_ID, USER_ID, PRINCIPAL, PRINCIPAL);
+    }
+
+    @Test
+    void oneInstancePostsEveryRepayment() throws Exception {
+        int posted = runConcurrently(List.of(newInstance()));
+
+        assertThat(posted).isEqualTo(THREADS_PER_INSTANCE * REPAYMENTS_PER_THREAD);
+        assertLoanReflects(posted);
+    }
+
+    // A posting may run out of retries under this much contention, but none may be lost or applied twice
+    @Test
+    void twoInstancesNeverLoseOrDoubleApplyARepayment() throws Exception {
+        int posted = runConcurrently(List.of(newInstance(), newInstance()));
+
+        assertThat(posted).isPositive();
+        assertLoanReflects(posted);
+    }
+
+    private void assertLoanReflects(int posted) {
+        Map<String, Object> loan = jdbcTemplate.queryForMap(
+                "SELECT remaining_balance, version, ledger_entries FROM loans WHERE id = ?", LOAN_ID);
+        assertThat((Double) loan.get("remaining_balance")).isCloseTo(PRINCIPAL - posted, within(0.001));
+        assertThat(((Number) loan.get("version")).longValue()).isEqualTo(posted);
+        assertThat(((Number) loan.get("ledger_entries")).longValue()).isEqualTo(posted);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM transactions WHERE loan_id = ?",
+                Long.class, LOAN_ID)).isEqualTo(posted);
+
+        // The overview's per-posting deltas must add up to what the full recompute finds
+        assertOverviewReflects(posted);
+        userOverviewService.reconcile();
+        assertOverviewReflects(posted);
+    }
+
+    private void assertOverviewReflects(int posted) {
+        Map<String, Object> overview = jdbcTemplate.queryForMap(
+                "SELECT active_loans, outstanding_balance, lifetime_repaid FROM user_overviews WHERE user_id = ?",
+                USER_ID);
+        assertThat(((Number) overview.get("active_loans")).intValue()).isEqualTo(1);
+        assertThat((Double) overview.get("outstanding_balance")).isCloseTo(PRINCIPAL - posted, within(0.001));
+        assertThat((Double) overview.get("lifetime_repaid")).isCloseTo(posted, within(0.001));
+    }
+
+    // Each thread posts 1.00 repayments through its instance; returns how many were posted
+    private int runConcurrently(List<RepaymentService> instances) throws Exception {
+        int threads = THREADS_PER_INSTANCE * instances.size();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            RepaymentService instance = instances.get(t % instances.size());
+            results.add(pool.submit(() -> {
+                start.await();
+                int posted = 0;
+                for (int i = 0; i < REPAYMENTS_PER_THREAD; i++) {
+                    try {
+                        instance.postRepayment(repayment());
+                        posted++;
+                    } catch (OptimisticLockingFailureException e) {
+                        // Retries exhausted; the caller gets an error and nothing was written
+                    }
+                }
+                return posted;
+            }));
+        }
+        start.countDown();
+        try {
+            int posted = 0;
+            for (Future<Integer> result : results) {
+                posted += result.get(120, TimeUnit.SECONDS);
+            }
+            return posted;
+        } finally {
+            // A failed run must not keep posting into the next test's loan
+            pool.shutdownNow();
+            pool.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private RepaymentService newInstance() {
+        return new RepaymentService(loanRepository, transactionRepository, transactionMapper, amortizationService,
+                loanStatsService, userOverviewService, ledgerService, outboxService, transactionManager,
+                1024, 60_000);
+    }
+
+    private static CreateTransactionDTO repayment() {
+        CreateTransactionDTO dto = new CreateTransactionDTO();
+        dto.setUserId(USER_ID);
+        dto.setLoanId(LOAN_ID);
+        dto.setTransactionType("REPAYMENT");
+        dto.setAmount(1.0);
+        return dto;
+    }
+}
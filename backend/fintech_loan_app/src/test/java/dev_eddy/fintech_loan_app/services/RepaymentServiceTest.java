@@ -0,0 +1,176 @@
+package dev_eddy.fintech_loan_app.services;
+
+import dev_eddy.fintech_loan_app.dtos.CreateTransactionDTO;
+import dev_eddy.fintech_loan_app.dtos.TransactionDTO;
+import dev_eddy.fintech_loan_app.entity.Loan;
+import dev_eddy.fintech_loan_app.entity.Transaction;
+import dev_eddy.fintech_loan_app.entity.User;
+import dev_eddy.fintech_loan_app.exceptions.TransactionException;
+import dev_eddy.fintech_loan_app.mappers.TransactionMapper;
+import dev_eddy.fintech_loan_app.repository.LoanRepository;
+import dev_eddy.fintech_loan_app.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Applies repayments to a loan approved on 1 Jan 2026, whose first
+ * installment falls due on 1 Feb: a 31-day period earning a month of
+ * interest on the opening balance.
+ */
+class RepaymentServiceTest {
+
+    private static final LocalDate APPROVED = LocalDate.of(2026, 1, 1);
+    private static final LocalDate FIRST_DUE = LocalDate.of(2026, 2, 1);
+
+    private final AtomicLong transactionIds = new AtomicLong();
+    private final User borrower = new User();
+    private Loan loan;
+
+    private LedgerService ledgerService;
+    private RepaymentService repaymentService;
+
+    @BeforeEach
+    void setUp() {
+        borrower.setId(7L);
+
+        LoanRepository loanRepository = mock(LoanRepository.class);
+        when(loanRepository.findById(anyLong())).thenAnswer(invocation -> Optional.of(loan));
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionRepository transactionRepository = mock(TransactionRepository.class);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            transaction.setId(transactionIds.incrementAndGet());
+            return transaction;
+        });
+
+        ledgerService = mock(LedgerService.class);
+        repaymentService = new RepaymentService(loanRepository, transactionRepository, new TransactionMapper(),
+                new AmortizationService(), mock(LoanStatsService.class), mock(UserOverviewService.class),
+                ledgerService, mock(OutboxService.class), mock(PlatformTransactionManager.class), 16, 5_000);
+    }
+
+    // 120.00 of interest a month; the nightly job has accrued the first 10 days of it
+    private void loanPartWayThroughItsFirstPeriod() {
+        loan = loan(12_000.0);
+        loan.setAccruedInterest(38.71);
+        loan.setLastAccrualDate(APPROVED.plusDays(10));
+    }
+
+    @Test
+    void aRepaymentPaysAccruedThenScheduledInterestBeforePrincipal() {
+        loanPartWayThroughItsFirstPeriod();
+
+        TransactionDTO posted = repaymentService.postRepayment(repayment(500.0));
+
+        // 38.71 accrued plus the 81.29 still to accrue up to the due date
+        assertThat(posted.getAmount()).isEqualTo(500.0);
+        assertThat(posted.getInterestAmount()).isEqualTo(120.0);
+        assertThat(posted.getPrincipalAmount()).isEqualTo(380.0);
+        assertThat(loan.getRemainingBalance()).isEqualTo(11_620.0);
+        assertThat(loan.getAccruedInterest()).isZero();
+        assertThat(loan.getLastAccrualDate()).isEqualTo(FIRST_DUE);
+        // Still short of the first installment's closing balance, so that installment stays due
+        assertThat(loan.getNextPaymentDate()).isEqualTo(FIRST_DUE.atStartOfDay());
+        verify(ledgerService).postRepayment(1L, 500.0, 120.0, posted.getId());
+    }
+
+    @Test
+    void aSecondRepaymentInTheSamePeriodIsAllPrincipal() {
+        loanPartWayThroughItsFirstPeriod();
+        repaymentService.postRepayment(repayment(500.0));
+
+        TransactionDTO posted = repaymentService.postRepayment(repayment(200.0));
+
+        assertThat(posted.getInterestAmount()).isZero();
+        assertThat(posted.getPrincipalAmount()).isEqualTo(200.0);
+        assertThat(loan.getRemainingBalance()).isEqualTo(11_420.0);
+    }
+
+    @Test
+    void interestARepaymentDoesNotCoverStaysOwed() {
+        loanPartWayThroughItsFirstPeriod();
+
+        TransactionDTO posted = repaymentService.postRepayment(repayment(50.0));
+
+        assertThat(posted.getInterestAmount()).isEqualTo(50.0);
+        assertThat(posted.getPrincipalAmount()).isZero();
+        assertThat(loan.getRemainingBalance()).isEqualTo(12_000.0);
+        assertThat(loan.getAccruedInterest()).isEqualTo(70.0);
+    }
+
+    @Test
+    void moreThanTheBalancePlusInterestIsRefused() {
+        loanPartWayThroughItsFirstPeriod();
+
+        assertThatThrownBy(() -> repaymentService.postRepayment(repayment(12_120.01)))
+                .isInstanceOf(TransactionException.class)
+                .hasMessageContaining("12120.0 owed");
+        assertThat(loan.getRemainingBalance()).isEqualTo(12_000.0);
+        assertThat(loan.getAccruedInterest()).isEqualTo(38.71);
+        verify(ledgerService, never()).postRepayment(anyLong(), anyDouble(), anyDouble(), any());
+    }
+
+    @Test
+    void theScheduledInstallmentBringsTheBalanceToItsScheduleRow() {
+        loan = loan(10_000.0);
+
+        TransactionDTO posted = repaymentService.postRepayment(repayment(888.49));
+
+        // Row one of the 10,000 at 12% over 12 months schedule
+        assertThat(posted.getInterestAmount()).isEqualTo(100.0);
+        assertThat(posted.getPrincipalAmount()).isEqualTo(788.49);
+        assertThat(loan.getRemainingBalance()).isEqualTo(9_211.51);
+        assertThat(loan.getNextPaymentDate()).isEqualTo(FIRST_DUE.plusMonths(1).atStartOfDay());
+        verify(ledgerService).postRepayment(eq(1L), eq(888.49), eq(100.0), any());
+    }
+
+    @Test
+    void repayingTheWholeLoanSettlesItsInterestToo() {
+        loanPartWayThroughItsFirstPeriod();
+
+        repaymentService.postRepayment(repayment(12_120.0));
+
+        assertThat(loan.getStatus()).isEqualTo("REPAID");
+        assertThat(loan.getRemainingBalance()).isZero();
+        assertThat(loan.getAccruedInterest()).isZero();
+    }
+
+    private Loan loan(double principal) {
+        Loan loan = new Loan();
+        loan.setId(1L);
+        loan.setUser(borrower);
+        loan.setAmount(principal);
+        loan.setRemainingBalance(principal);
+        loan.setInterestRate(12.0);
+        loan.setTenure(12);
+        loan.setStatus("ACTIVE");
+        loan.setApprovedAt(APPROVED.atStartOfDay());
+        return loan;
+    }
+
+    private CreateTransactionDTO repayment(double amount) {
+        CreateTransactionDTO dto = new CreateTransactionDTO();
+        dto.setUserId(borrower.getId());
+        dto.setLoanId(1L);
+        dto.setTransactionType("REPAYMENT");
+        dto.setAmount(amount);
+        return dto;
+    }
+}
@@ -0,0 +1,123 @@
+package dev_eddy.fintech_loan_app.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionTokenServiceTest {
+
+    private static final String OLD_KEY = "k1:" + secret(1);
+    private static final String NEW_KEY = "k2:" + secret(2);
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void issuedTokenVerifiesToTheSameCaller() {
+        SessionTokenService service = service(OLD_KEY);
+        SessionTokenService.IssuedToken issued = service.issue(42L, "Admin");
+
+        SessionTokenService.SessionPrincipal principal = service.verify(issued.token()).orElseThrow();
+        assertThat(principal.userId()).isEqualTo(42L);
+        assertThat(principal.roles()).isEqualTo("Admin");
+        assertThat(principal.expiresAt()).isEqualTo(issued.expiresAt());
+    }
+
+    @Test
+    void tamperedOrMalformedTokensAreRejected() {
+        SessionTokenService service = service(OLD_KEY);
+        String token = service.issue(42L, "User").token();
+        String[] parts = token.split("\\.");
+
+        // Same signature over a payload claiming another role
+        String forged = service.issue(42L, "Admin").token().split("\\.")[1];
+        assertThat(service.verify(parts[0] + "." + forged + "." + parts[2])).isEmpty();
+        assertThat(service.verify(token.substring(0, token.length() - 2))).isEmpty();
+        assertThat(service.verify("not-a-token")).isEmpty();
+        assertThat(service.verify("k1.%%%.%%%")).isEmpty();
+        assertThat(service.verify("")).isEmpty();
+    }
+
+    @Test
+    void tokensExpireAfterTheConfiguredLifetime() {
+        SessionTokenService service = service(OLD_KEY);
+        String token = service.issue(42L, "User").token();
+
+        clock.advance(Duration.ofMinutes(59));
+        assertThat(service.verify(token)).isPresent();
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(service.verify(token)).isEmpty();
+    }
+
+    @Test
+    void rotatedKeysKeepVerifyingUntilRemoved() {
+        String token = service(OLD_KEY).issue(42L, "User").token();
+
+        SessionTokenService rotated = service(NEW_KEY + "," + OLD_KEY);
+        assertThat(rotated.verify(token)).isPresent();
+        assertThat(rotated.issue(42L, "User").token()).startsWith("k2.");
+
+        assertThat(service(NEW_KEY).verify(token)).isEmpty();
+    }
+
+    @Test
+    void revokedTokensAndUsersAreRejectedUntilExpiry() {
+        SessionTokenService service = service(OLD_KEY);
+        String first = service.issue(1L, "User").token();
+        String second = service.issue(1L, "User").token();
+        String other = service.issue(2L, "User").token();
+
+        service.revoke(service.verify(first).orElseThrow());
+        assertThat(service.verify(first)).isEmpty();
+        assertThat(service.verify(second)).isPresent();
+
+        service.revokeUser(2L);
+        assertThat(service.verify(other)).isEmpty();
+        clock.advance(Duration.ofMillis(1));
+        assertThat(service.verify(service.issue(2L, "User").token())).isPresent();
+
+        clock.advance(Duration.ofMinutes(61));
+        service.purgeRevocations();
+        assertThat(service.revokedCount()).isZero();
+    }
+
+    private SessionTokenService service(String keys) {
+        return new SessionTokenService(keys, Duration.ofMinutes(60), clock);
+    }
+
+    private static String secret(int seed) {
+        byte[] bytes = new byte[32];
+        Arrays.fill(bytes, (byte) seed);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package dev_eddy.fintech_loan_app.util;
+
+import dev_eddy.fintech_loan_app.dtos.CursorPageDTO;
+import dev_eddy.fintech_loan_app.exceptions.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 5, 4, 13, 30, 15, 123_456_000);
+
+    private record Row(long id, LocalDateTime createdAt) {
+    }
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        PageCursor decoded = PageCursor.decode(PageCursor.of(NOW, 42L).encode());
+
+        assertThat(decoded.getCreatedAt()).isEqualTo(NOW);
+        assertThat(decoded.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        assertThat(PageCursor.of(NOW, Long.MAX_VALUE).encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void missingOrBlankTokenStartsFromTheTop() {
+        assertThat(PageCursor.decode(null)).isNull();
+        assertThat(PageCursor.decode("  ")).isNull();
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        assertThatThrownBy(() -> PageCursor.decode("not base64!")).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> PageCursor.decode(token("no separator"))).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> PageCursor.decode(token("yesterday|42"))).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> PageCursor.decode(token(NOW + "|forty-two")))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void pageSizeIsClampedIntoRange() {
+        assertThat(PageCursor.pageSize(null)).isEqualTo(PageCursor.DEFAULT_PAGE_SIZE);
+        assertThat(PageCursor.pageSize(0)).isEqualTo(PageCursor.DEFAULT_PAGE_SIZE);
+        assertThat(PageCursor.pageSize(1)).isEqualTo(1);
+        assertThat(PageCursor.pageSize(PageCursor.MAX_PAGE_SIZE + 1)).isEqualTo(PageCursor.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void aFullPageWithTheLookaheadRowPointsAtItsLastRow() {
+        CursorPageDTO<Long> page = toPage(rows(4), 3);
+
+        assertThat(page.getItems()).containsExactly(1L, 2L, 3L);
+        assertThat(page.getSize()).isEqualTo(3);
+        PageCursor next = PageCursor.decode(page.getNextCursor());
+        assertThat(next.getId()).isEqualTo(3L);
+        assertThat(next.getCreatedAt()).isEqualTo(NOW.minusMinutes(3));
+    }
+
+    @Test
+    void exactlyAPageOfRowsIsTheLastPage() {
+        CursorPageDTO<Long> page = toPage(rows(3), 3);
+
+        assertThat(page.getItems()).containsExactly(1L, 2L, 3L);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void noRowsIsAnEmptyLastPage() {
+        CursorPageDTO<Long> page = toPage(List.of(), 3);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getSize()).isZero();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    // Rows newest first, as the page queries return them
+    private static List<Row> rows(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(id -> new Row(id, NOW.minusMinutes(id))).toList();
+    }
+
+    private static CursorPageDTO<Long> toPage(List<Row> rows, int pageSize) {
+        return PageCursor.toPage(rows, pageSize, Row::id, Row::createdAt, Row::id);
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
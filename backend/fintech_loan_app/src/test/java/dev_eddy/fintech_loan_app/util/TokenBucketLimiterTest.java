@@ -0,0 +1,71 @@
+package dev_eddy.fintech_loan_app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void allowsBurstThenRefillsAtTheConfiguredRate() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 5, 1000, now::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(1)).isZero();
+        }
+        long wait = limiter.tryAcquire(1);
+        assertThat(wait).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+        // Other users have their own bucket
+        assertThat(limiter.tryAcquire(2)).isZero();
+
+        now.addAndGet(wait);
+        assertThat(limiter.tryAcquire(1)).isZero();
+        assertThat(limiter.tryAcquire(1)).isPositive();
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws InterruptedException {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 50, 1000, now::get);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < 1000; i++) {
+            pool.execute(() -> {
+                if (limiter.tryAcquire(7) == 0) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(granted).hasValue(50);
+    }
+
+    @Test
+    void idleKeysAreDroppedOnceTheirBucketIsFull() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 10, 1_000_000, now::get);
+        for (long user = 0; user < 10_000; user++) {
+            limiter.tryAcquire(user);
+        }
+        assertThat(limiter.trackedKeys()).isEqualTo(10_000);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertThat(limiter.trackedKeys()).isZero();
+    }
+
+    @Test
+    void trackedKeysStayWithinTheCap() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 10, 1000, now::get);
+        for (long user = 0; user < 50_000; user++) {
+            limiter.tryAcquire(user);
+        }
+        assertThat(limiter.trackedKeys()).isLessThanOrEqualTo(1000);
+    }
+}
@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Runs the same closed-loop load against the app twice, once with the default
+# platform-thread Tomcat pool and once with the "virtual" profile, and writes
+# results/load-platform.json and results/load-virtual.json.
+#
+# Needs Java 21, a reachable database (see application.properties) and
+# `mvn install -DskipTests` in ../fintech_loan_app plus `mvn package` here.
+#
+# Usage: ./run-load-comparison.sh [url] [clients]
+set -euo pipefail
+
+cd "$(dirname "$0")"
+URL=${1:-http://localhost:8080/api/loans?size=20}
+CLIENTS=${2:-1000,2500,5000,10000}
+APP_JAR=$(ls ../fintech_loan_app/target/fintech_loan_app-*-exec.jar)
+# Same socket limit and pool size for both runs so only the threading model differs
+COMMON_ARGS=(--server.tomcat.max-connections=20000
+             --spring.datasource.hikari.maximum-pool-size=40
+             --spring.datasource.hikari.connection-timeout=60000)
+
+ulimit -n 65536 2>/dev/null || echo "warning: could not raise the open file limit"
+mkdir -p results
+
+run() {
+    local label=$1; shift
+    java -jar "$APP_JAR" "${COMMON_ARGS[@]}" "$@" > "results/server-$label.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null' EXIT
+    until curl -sf -o /dev/null "$URL"; do
+        kill -0 $pid 2>/dev/null || { echo "server exited, see results/server-$label.log"; exit 1; }
+        sleep 1
+    done
+    java -cp target/benchmarks.jar dev_eddy.fintech_loan_app.benchmarks.LoadBenchmark \
+        --url "$URL" --clients "$CLIENTS" --label "$label" --out "results/load-$label.json"
+    kill $pid
+    wait $pid 2>/dev/null || true
+    trap - EXIT
+}
+
+run platform
+run virtual --spring.profiles.active=virtual
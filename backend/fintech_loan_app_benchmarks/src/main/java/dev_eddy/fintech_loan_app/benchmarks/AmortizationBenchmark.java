@@ -0,0 +1,68 @@
+package dev_eddy.fintech_loan_app.benchmarks;
+
+import dev_eddy.fintech_loan_app.dtos.LoanScheduleDTO;
+import dev_eddy.fintech_loan_app.services.AmortizationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Installment math: the payment computed on every loan application, the
+ * expected balance used when posting repayments, and full schedule builds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AmortizationBenchmark {
+
+    @Param({ "12", "60", "360" })
+    public int tenure;
+
+    private final AmortizationService amortizationService = new AmortizationService();
+    private final LocalDate firstDueDate = LocalDate.of(2024, 2, 1);
+    private double amount = 250_000;
+    private double rate = 15.0;
+
+    @Setup
+    public void setUp() {
+        // Prime the annuity factor cache the way a running server would be
+        amortizationService.monthlyPayment(amount, rate, tenure);
+    }
+
+    @Benchmark
+    public double monthlyPayment() {
+        return amortizationService.monthlyPayment(amount, rate, tenure);
+    }
+
+    // Closed-form payment without the factor cache, as a reference point
+    @Benchmark
+    public double monthlyPaymentUncached() {
+        double monthlyRate = rate / 12 / 100;
+        double growth = Math.pow(1 + monthlyRate, tenure);
+        return amount * monthlyRate * growth / (growth - 1);
+    }
+
+    @Benchmark
+    public double scheduledBalance() {
+        return amortizationService.scheduledBalance(amount, rate, tenure, tenure / 2);
+    }
+
+    @Benchmark
+    public LoanScheduleDTO schedule() {
+        return amortizationService.schedule(1L, amount, rate, tenure, firstDueDate, amount);
+    }
+}
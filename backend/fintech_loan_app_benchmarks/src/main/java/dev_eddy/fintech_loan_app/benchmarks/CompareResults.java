@@ -0,0 +1,85 @@
+package dev_eddy.fintech_loan_app.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Diffs two JMH JSON result files (-rf json) benchmark by benchmark.
+ *
+ * Usage: java -cp target/benchmarks.jar dev_eddy.fintech_loan_app.benchmarks.CompareResults
+ *            base.json head.json [max-regression-percent]
+ *
+ * Exits with status 1 when a max regression is given and any benchmark got
+ * worse by more than that, so it can gate a CI job.
+ */
+public final class CompareResults {
+
+    private record Score(String mode, String unit, double value, double error) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: CompareResults <base.json> <head.json> [max-regression-percent]");
+            System.exit(2);
+        }
+        Map<String, Score> base = read(new File(args[0]));
+        Map<String, Score> head = read(new File(args[1]));
+        Double maxRegression = args.length > 2 ? Double.valueOf(args[2]) : null;
+
+        boolean failed = false;
+        System.out.printf("%-70s %14s %14s %9s  %s%n", "Benchmark", "Base", "Head", "Change", "Unit");
+        for (Map.Entry<String, Score> entry : head.entrySet()) {
+            Score now = entry.getValue();
+            Score before = base.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  %s%n", entry.getKey(), "-", now.value(), "new", now.unit());
+                continue;
+            }
+            double change = (now.value() - before.value()) / before.value() * 100;
+            // Throughput regresses when it drops, every time-based mode when it grows
+            double regression = "thrpt".equals(now.mode()) ? -change : change;
+            boolean beyondNoise = Math.abs(now.value() - before.value()) > now.error() + before.error();
+            String flag = "";
+            if (maxRegression != null && beyondNoise && regression > maxRegression) {
+                flag = "  REGRESSION";
+                failed = true;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%s%n",
+                    entry.getKey(), before.value(), now.value(), change, now.unit(), flag);
+        }
+        for (String removed : base.keySet()) {
+            if (!head.containsKey(removed)) {
+                System.out.printf("%-70s %14.3f %14s %9s%n", removed, base.get(removed).value(), "-", "removed");
+            }
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    // Keyed by benchmark name plus its @Param values
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText()
+                    .replace("dev_eddy.fintech_loan_app.benchmarks.", ""));
+            JsonNode params = run.path("params");
+            for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> param = it.next();
+                key.append(key.indexOf(":") < 0 ? ":" : ",").append(param.getKey()).append('=')
+                        .append(param.getValue().asText());
+            }
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(key.toString(), new Score(run.path("mode").asText(), metric.path("scoreUnit").asText(),
+                    metric.path("score").asDouble(), Double.isNaN(error) ? 0 : error));
+        }
+        return scores;
+    }
+}
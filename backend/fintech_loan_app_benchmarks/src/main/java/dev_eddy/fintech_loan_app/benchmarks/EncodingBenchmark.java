@@ -0,0 +1,112 @@
+package dev_eddy.fintech_loan_app.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import dev_eddy.fintech_loan_app.config.JacksonConfig;
+import dev_eddy.fintech_loan_app.dtos.LoanDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Time and size of a loan list body per response encoding. "json" is the
+ * plain Spring MVC mapper the endpoints used before; the others are what
+ * they send now: JSON with Blackbird, and CBOR and Smile with epoch-millis
+ * timestamps. gzip is applied the way Tomcat does for bodies above the
+ * compression threshold.
+ *
+ * The body size of each combination is printed at the end of its trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncodingBenchmark {
+
+    @Param({ "json", "json-blackbird", "cbor", "smile" })
+    public String encoding;
+
+    @Param({ "identity", "gzip" })
+    public String compression;
+
+    // A default page and a large per-user list
+    @Param({ "100", "1000" })
+    public int size;
+
+    private ObjectWriter writer;
+    private List<LoanDTO> loans;
+    private long bytes;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = switch (encoding) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "json-blackbird" -> Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+            case "cbor" -> JacksonConfig.binaryMapper(Jackson2ObjectMapperBuilder.json()
+                    .modulesToInstall(new BlackbirdModule()).factory(new CBORFactory()));
+            case "smile" -> JacksonConfig.binaryMapper(Jackson2ObjectMapperBuilder.json()
+                    .modulesToInstall(new BlackbirdModule()).factory(new SmileFactory()));
+            default -> throw new IllegalArgumentException("Unknown encoding " + encoding);
+        };
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, LoanDTO.class));
+        loans = Fixtures.loanDTOs(size);
+    }
+
+    @Benchmark
+    public long encodeLoans() throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        if (compression.equals("gzip")) {
+            try (GZIPOutputStream gzip = new GZIPOutputStream(counter)) {
+                writer.writeValue(gzip, loans);
+            }
+        } else {
+            writer.writeValue(counter, loans);
+        }
+        bytes = counter.count;
+        return bytes;
+    }
+
+    @TearDown(Level.Trial)
+    public void reportSize() {
+        System.out.printf("%n%s/%s, %d loans: %d bytes (%.1f per loan)%n",
+                encoding, compression, size, bytes, (double) bytes / size);
+    }
+
+    // Discards the bytes so the benchmark measures encoding, not buffer growth
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package dev_eddy.fintech_loan_app.benchmarks;
+
+import dev_eddy.fintech_loan_app.dtos.LoanDTO;
+import dev_eddy.fintech_loan_app.dtos.TransactionDTO;
+import dev_eddy.fintech_loan_app.entity.Loan;
+import dev_eddy.fintech_loan_app.entity.Transaction;
+import dev_eddy.fintech_loan_app.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic test data shared by the benchmarks, so runs on different
+ * commits see exactly the same inputs.
+ */
+final class Fixtures {
+
+    private static final String[] LOAN_STATUSES = { "PENDING", "APPROVED", "ACTIVE", "OVERDUE", "REPAID" };
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private Fixtures() {
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setId((long) i + 1);
+            user.setName("Borrower " + i);
+            user.setEmail("borrower" + i + "@example.com");
+            user.setPhoneNumber("+2348000" + String.format("%06d", i));
+            user.setPassword("secret");
+            user.setRoles("USER");
+            users.add(user);
+        }
+        return users;
+    }
+
+    static List<Loan> loans(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<User> users = users(Math.max(1, count / 10));
+        List<Loan> loans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Loan loan = new Loan();
+            loan.setId((long) i + 1);
+            loan.setUser(users.get(i % users.size()));
+            loan.setAmount(1_000 + random.nextInt(99_000) * 1.0);
+            loan.setTenure(12 * (1 + random.nextInt(5)));
+            loan.setInterestRate(15.0);
+            loan.setStatus(LOAN_STATUSES[random.nextInt(LOAN_STATUSES.length)]);
+            loan.setApprovedAt(EPOCH.plusMinutes(i).plusDays(1));
+            loan.setNextPaymentDate(EPOCH.plusMinutes(i).plusMonths(1));
+            loan.setRemainingBalance(loan.getAmount() * random.nextDouble());
+            loan.setMonthlyPayment(loan.getAmount() / loan.getTenure());
+            loan.setPurpose("Working capital");
+            loan.setAccruedInterest(random.nextDouble() * 100);
+            loan.setMissedPayments(random.nextInt(3));
+            loans.add(loan);
+        }
+        return loans;
+    }
+
+    static List<Transaction> transactions(int count) {
+        SplittableRandom random = new SplittableRandom(7);
+        List<Loan> loans = loans(Math.max(1, count / 10));
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Loan loan = loans.get(i % loans.size());
+            Transaction transaction = new Transaction();
+            transaction.setId((long) i + 1);
+            transaction.setUser(loan.getUser());
+            transaction.setLoan(loan);
+            transaction.setTransactionType(i % 4 == 0 ? "DISBURSEMENT" : "REPAYMENT");
+            transaction.setAmount(10 + random.nextInt(5_000) * 1.0);
+            transaction.setTransactionDate(EPOCH.plusMinutes(i));
+            transaction.setStatus("COMPLETED");
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    // Audit timestamps and appliedAt are only set by @PrePersist, so the DTO fixtures fill them in
+    static List<LoanDTO> loanDTOs(int count) {
+        List<LoanDTO> dtos = new ArrayList<>(count);
+        for (Loan loan : loans(count)) {
+            LocalDateTime appliedAt = loan.getApprovedAt().minusDays(1);
+            dtos.add(new LoanDTO(loan.getId(), loan.getUser().getId(), loan.getAmount(), loan.getTenure(),
+                    loan.getInterestRate(), loan.getStatus(), appliedAt, loan.getApprovedAt(),
+                    loan.getRepaidAt(), loan.getNextPaymentDate(), loan.getRemainingBalance(),
+                    loan.getMonthlyPayment(), loan.getPurpose(), loan.getAccruedInterest(),
+                    loan.getMissedPayments(), appliedAt, appliedAt));
+        }
+        return dtos;
+    }
+
+    static List<TransactionDTO> transactionDTOs(int count) {
+        List<TransactionDTO> dtos = new ArrayList<>(count);
+        for (Transaction transaction : transactions(count)) {
+            dtos.add(new TransactionDTO(transaction.getId(), transaction.getUser().getId(),
+                    transaction.getLoan().getId(), transaction.getTransactionType(), transaction.getAmount(),
+                    transaction.getInterestAmount(), transaction.getPrincipalAmount(),
+                    transaction.getTransactionDate(), transaction.getStatus(), transaction.getTransactionDate(),
+                    transaction.getTransactionDate()));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,204 @@
+package dev_eddy.fintech_loan_app.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Closed-loop HTTP load against a running server: each of N clients sends its
+ * next request as soon as the previous one completes. Used to compare the
+ * default platform-thread server with the virtual-thread profile; see
+ * run-load-comparison.sh.
+ *
+ * Usage: java -cp target/benchmarks.jar dev_eddy.fintech_loan_app.benchmarks.LoadBenchmark
+ *            --url http://localhost:8080/api/loans?size=20 --clients 1000,2500,5000,10000
+ *            [--warmup 10] [--duration 30] [--label platform] [--out results/load-platform.json]
+ *
+ * 10k clients need 10k sockets on both ends; raise `ulimit -n` accordingly.
+ */
+public final class LoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI uri = URI.create(options.getOrDefault("url", "http://localhost:8080/api/loans?size=20"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        String label = options.getOrDefault("label", "server");
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        System.out.printf("%-10s %8s %10s %8s %10s %10s %10s%n",
+                "label", "clients", "req/s", "errors", "p50 ms", "p99 ms", "max ms");
+        for (String level : options.getOrDefault("clients", "1000,2500,5000,10000").split(",")) {
+            int clients = Integer.parseInt(level.trim());
+            run(uri, clients, warmup, null);
+            Result result = run(uri, clients, duration, label);
+            rows.add(result.toRow());
+            System.out.printf("%-10s %8d %10.1f %8d %10.2f %10.2f %10.2f%n", label, clients,
+                    result.throughput(), result.errors(), result.percentileMs(50), result.percentileMs(99),
+                    result.histogram.maxMicros() / 1000.0);
+        }
+        if (options.containsKey("out")) {
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(options.get("out")), rows);
+        }
+    }
+
+    private static Result run(URI uri, int clients, Duration duration, String label) throws InterruptedException {
+        // A fresh client per level so connections from the previous level do not carry over
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+        Result result = new Result(label, clients);
+        long deadline = System.nanoTime() + duration.toNanos();
+        for (int i = 0; i < clients; i++) {
+            loop(http, request, result, deadline);
+        }
+        long started = System.nanoTime();
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        result.elapsedNanos = System.nanoTime() - started;
+        // Let in-flight requests drain before the next level
+        Thread.sleep(2_000);
+        return result;
+    }
+
+    private static void loop(HttpClient http, HttpRequest request, Result result, long deadline) {
+        long start = System.nanoTime();
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            long end = System.nanoTime();
+            if (end > deadline) {
+                return;
+            }
+            if (failure != null || response.statusCode() >= 500) {
+                result.errors.incrementAndGet();
+            } else {
+                result.histogram.record((end - start) / 1_000);
+            }
+            loop(http, request, result, deadline);
+        });
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static final class Result {
+        private final String label;
+        private final int clients;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final AtomicLong errors = new AtomicLong();
+        private long elapsedNanos;
+
+        Result(String label, int clients) {
+            this.label = label;
+            this.clients = clients;
+        }
+
+        double throughput() {
+            return histogram.count() / (elapsedNanos / 1e9);
+        }
+
+        long errors() {
+            return errors.get();
+        }
+
+        double percentileMs(double percentile) {
+            return histogram.percentileMicros(percentile) / 1000.0;
+        }
+
+        Map<String, Object> toRow() {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("label", label);
+            row.put("clients", clients);
+            row.put("requests", histogram.count());
+            row.put("errors", errors());
+            row.put("throughput", throughput());
+            row.put("p50Ms", percentileMs(50));
+            row.put("p99Ms", percentileMs(99));
+            row.put("p999Ms", percentileMs(99.9));
+            row.put("maxMs", histogram.maxMicros() / 1000.0);
+            return row;
+        }
+    }
+
+    /**
+     * Lock-free log-linear histogram of microsecond latencies with 64 linear
+     * sub-buckets per power of two, so any percentile is within ~1.6%.
+     */
+    static final class LatencyHistogram {
+        private static final int SUB_BUCKET_BITS = 7;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int HALF = SUB_BUCKETS / 2;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(64 * HALF + SUB_BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long micros) {
+            long value = Math.max(0, micros);
+            buckets.incrementAndGet(index(value));
+            count.incrementAndGet();
+            max.accumulateAndGet(value, Math::max);
+        }
+
+        long count() {
+            return count.get();
+        }
+
+        long maxMicros() {
+            return max.get();
+        }
+
+        long percentileMicros(double percentile) {
+            long total = count.get();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile / 100 * total);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), max.get());
+                }
+            }
+            return max.get();
+        }
+
+        // Values below SUB_BUCKETS are exact; above, each octave is split into HALF slots
+        static int index(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+            return shift * HALF + (int) (value >>> shift);
+        }
+
+        static long upperBound(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int shift = index / HALF - 1;
+            long subBucket = index - (long) shift * HALF;
+            return ((subBucket + 1) << shift) - 1;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package dev_eddy.fintech_loan_app.benchmarks;
+
+import dev_eddy.fintech_loan_app.entity.Loan;
+import dev_eddy.fintech_loan_app.entity.Transaction;
+import dev_eddy.fintech_loan_app.entity.User;
+import dev_eddy.fintech_loan_app.mappers.LoanMapper;
+import dev_eddy.fintech_loan_app.mappers.TransactionMapper;
+import dev_eddy.fintech_loan_app.mappers.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping throughput, reported per mapped entity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(MapperBenchmark.SIZE)
+public class MapperBenchmark {
+
+    static final int SIZE = 1_000;
+
+    private final LoanMapper loanMapper = new LoanMapper();
+    private final TransactionMapper transactionMapper = new TransactionMapper();
+    private final UserMapper userMapper = new UserMapper();
+
+    private List<Loan> loans;
+    private List<Transaction> transactions;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        loans = Fixtures.loans(SIZE);
+        transactions = Fixtures.transactions(SIZE);
+        users = Fixtures.users(SIZE);
+    }
+
+    @Benchmark
+    public void loanToDto(Blackhole blackhole) {
+        for (Loan loan : loans) {
+            blackhole.consume(loanMapper.toDTO(loan));
+        }
+    }
+
+    @Benchmark
+    public void transactionToDto(Blackhole blackhole) {
+        for (Transaction transaction : transactions) {
+            blackhole.consume(transactionMapper.toDTO(transaction));
+        }
+    }
+
+    @Benchmark
+    public void userToDto(Blackhole blackhole) {
+        for (User user : users) {
+            blackhole.consume(userMapper.toDTO(user));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package dev_eddy.fintech_loan_app.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import dev_eddy.fintech_loan_app.dtos.LoanDTO;
+import dev_eddy.fintech_loan_app.dtos.TransactionDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to write a list response body with an ObjectMapper configured the way
+ * Spring MVC builds its own. Returns the byte count so payload size changes
+ * show up next to the timing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int size;
+
+    private ObjectWriter loanWriter;
+    private ObjectWriter transactionWriter;
+    private List<LoanDTO> loans;
+    private List<TransactionDTO> transactions;
+
+    @Setup
+    public void setUp() {
+        // The app registers Blackbird on its mapper (JacksonConfig)
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+        loanWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, LoanDTO.class));
+        transactionWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, TransactionDTO.class));
+        loans = Fixtures.loanDTOs(size);
+        transactions = Fixtures.transactionDTOs(size);
+    }
+
+    @Benchmark
+    public long serializeLoans() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        loanWriter.writeValue(out, loans);
+        return out.count;
+    }
+
+    @Benchmark
+    public long serializeTransactions() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        transactionWriter.writeValue(out, transactions);
+        return out.count;
+    }
+
+    // Discards the bytes so the benchmark measures encoding, not buffer growth
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
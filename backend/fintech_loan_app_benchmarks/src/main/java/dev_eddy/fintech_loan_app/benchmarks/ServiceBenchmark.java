@@ -0,0 +1,177 @@
+package dev_eddy.fintech_loan_app.benchmarks;
+
+import dev_eddy.fintech_loan_app.FintechLoanAppApplication;
+import dev_eddy.fintech_loan_app.dtos.CreateLoanDTO;
+import dev_eddy.fintech_loan_app.dtos.CreateTransactionDTO;
+import dev_eddy.fintech_loan_app.dtos.CreateUserDTO;
+import dev_eddy.fintech_loan_app.dtos.CursorPageDTO;
+import dev_eddy.fintech_loan_app.dtos.LoanDTO;
+import dev_eddy.fintech_loan_app.dtos.LoanScheduleDTO;
+import dev_eddy.fintech_loan_app.dtos.TransactionDTO;
+import dev_eddy.fintech_loan_app.dtos.UserDTO;
+import dev_eddy.fintech_loan_app.services.LoanService;
+import dev_eddy.fintech_loan_app.services.TransactionService;
+import dev_eddy.fintech_loan_app.services.UserService;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service calls end to end through Spring transactions, Hibernate and
+ * Postgres, on the schema the Flyway migrations build, so the Postgres-only
+ * statements (sequences, arrays, ON CONFLICT) run as they do in production.
+ *
+ * Points at BENCHMARK_DATASOURCE_URL (default a local fintech_benchmarks
+ * database) with BENCHMARK_DATASOURCE_USERNAME and _PASSWORD. Each trial
+ * wipes that database's schema first, so never point it at real data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final int LOANS_PER_USER = 10;
+
+    // Environment rather than -D properties: JMH forks inherit the environment but not the launcher's properties
+    private static final String DATASOURCE_URL = env("BENCHMARK_DATASOURCE_URL",
+            "jdbc:postgresql://localhost:5432/fintech_benchmarks?reWriteBatchedInserts=true");
+    private static final String DATASOURCE_USERNAME = env("BENCHMARK_DATASOURCE_USERNAME", "postgres");
+    private static final String DATASOURCE_PASSWORD = env("BENCHMARK_DATASOURCE_PASSWORD", "admin");
+
+    private ConfigurableApplicationContext context;
+    private LoanService loanService;
+    private TransactionService transactionService;
+    private UserService userService;
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> loanIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        // Start every trial from an empty schema; the application's Flyway run then migrates it
+        Flyway.configure()
+                .dataSource(DATASOURCE_URL, DATASOURCE_USERNAME, DATASOURCE_PASSWORD)
+                .cleanDisabled(false)
+                .load()
+                .clean();
+        SpringApplication application = new SpringApplication(FintechLoanAppApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+                "--spring.datasource.url=" + DATASOURCE_URL,
+                "--spring.datasource.username=" + DATASOURCE_USERNAME,
+                "--spring.datasource.password=" + DATASOURCE_PASSWORD,
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--logging.file.name=",
+                "--logging.level.root=WARN",
+                "--logging.level.dev_eddy.fintech_loan_app.services=WARN",
+                "--loan.accrual.cron=-");
+        loanService = context.getBean(LoanService.class);
+        transactionService = context.getBean(TransactionService.class);
+        userService = context.getBean(UserService.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    private void seed() {
+        for (int u = 0; u < USERS; u++) {
+            CreateUserDTO user = new CreateUserDTO();
+            user.setName("Borrower " + u);
+            user.setEmail("borrower" + u + "@example.com");
+            user.setPassword("secret");
+            user.setRoles("USER");
+            Long userId = userService.createUser(user).getId();
+            userIds.add(userId);
+            for (int l = 0; l < LOANS_PER_USER; l++) {
+                loanIds.add(loanService.createLoan(loanApplication(userId)).getId());
+                transactionService.createTransaction(transaction(userId));
+            }
+        }
+    }
+
+    @Benchmark
+    public LoanDTO createLoan() {
+        return loanService.createLoan(loanApplication(randomUser()));
+    }
+
+    @Benchmark
+    public TransactionDTO createTransaction() {
+        return transactionService.createTransaction(transaction(randomUser()));
+    }
+
+    @Benchmark
+    public CursorPageDTO<LoanDTO> listLoansPage() {
+        return loanService.getAllLoans(null, 50, null, null);
+    }
+
+    @Benchmark
+    public List<LoanDTO> userLoans() {
+        return loanService.getUserLoans(randomUser());
+    }
+
+    @Benchmark
+    public List<TransactionDTO> userTransactions() {
+        return transactionService.getUserTransactions(randomUser());
+    }
+
+    @Benchmark
+    public UserDTO userById() {
+        return userService.getUserById(randomUser());
+    }
+
+    @Benchmark
+    public LoanScheduleDTO loanSchedule() {
+        return loanService.getLoanSchedule(loanIds.get(ThreadLocalRandom.current().nextInt(loanIds.size())));
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+
+    private Long randomUser() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+
+    private static CreateLoanDTO loanApplication(Long userId) {
+        CreateLoanDTO loan = new CreateLoanDTO();
+        loan.setUserId(userId);
+        loan.setAmount(50_000.0);
+        loan.setTenure(24);
+        loan.setPurpose("Working capital");
+        return loan;
+    }
+
+    private static CreateTransactionDTO transaction(Long userId) {
+        CreateTransactionDTO transaction = new CreateTransactionDTO();
+        transaction.setUserId(userId);
+        transaction.setTransactionType("DISBURSEMENT");
+        transaction.setAmount(50_000.0);
+        return transaction;
+    }
+}
@@ -0,0 +1,48 @@
+package dev_eddy.fintech_loan_app.benchmarks;
+
+import dev_eddy.fintech_loan_app.services.SessionTokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost: verifying the bearer token the filter sees
+ * on every call, and issuing one at login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionTokenBenchmark {
+
+    private final SessionTokenService sessionTokenService =
+            new SessionTokenService("bench:" + "A".repeat(44), 60);
+    private String token;
+
+    @Setup
+    public void setUp() {
+        token = sessionTokenService.issue(42L, "User").token();
+    }
+
+    @Benchmark
+    public Optional<SessionTokenService.SessionPrincipal> verify() {
+        return sessionTokenService.verify(token);
+    }
+
+    @Benchmark
+    public SessionTokenService.IssuedToken issue() {
+        return sessionTokenService.issue(42L, "User");
+    }
+}
@@ -36,6 +36,7 @@ const App: React.FC = () => {
                   <Route path="/transactions" element={<TransactionHistory />} />
                   <Route path="/repayment" element={<Repayment />} />
                   <Route path="/admin" element={<AdminDashboard />} />
+                  <Route path="/admin/loan-review" element={<LoanReview />} />
                   <Route path="/admin/loan-review/:id" element={<LoanReview />} />
                   <Route path="/admin/userloans" element={<UserLoans />} />
                   <Route path="/login" element={<LoginForm />} />
@@ -1,6 +1,6 @@
 import React, { createContext, useContext, useState, ReactNode, useEffect } from 'react';
 import axios from 'axios';
-import { userAPI } from '../services/api.ts';
+import { authAPI, sessionStore } from '../services/api.ts';
 import { loginUser, registerUser } from '../services/authservice.ts';
 
 
@@ -31,16 +31,17 @@ interface RegisterData {
 const AuthContext = createContext<AuthContextType | undefined>(undefined);
 
 export const AuthProvider = ({ children }: { children: ReactNode }) => {
-    const [user, setUser] = useState<AuthUser | null>(null);
-    const [isAuthenticated, setIsAuthenticated] = useState(false);
+    // A stored, unexpired session restores the user without asking the server for the profile
+    const [user, setUser] = useState<AuthUser | null>(() => sessionStore.get()?.user ?? null);
+    const [isAuthenticated, setIsAuthenticated] = useState(() => sessionStore.get() !== null);
 
     const login = async (email: string, password: string) => {
         try {
             const response = await loginUser({ email, password });
-            setUser(response);
+            setUser(response.user);
             setIsAuthenticated(true);
-            console.log('Login successful:', response);
-            return response;
+            console.log('Login successful:', response.user);
+            return response.user;
         } catch (error) {
             console.error('Login failed:', error);
             throw error;
@@ -61,29 +62,35 @@ export const AuthProvider = ({ children }: { children: ReactNode }) => {
     };
 
     const logout = () => {
+        if (sessionStore.get()) {
+            authAPI.logout().catch(() => undefined);
+        }
+        sessionStore.clear();
         setUser(null);
         setIsAuthenticated(false);
         console.log('User logged out');
     };
 
+    // Confirms the stored session is still valid (not expired or revoked)
     const getCurrentUser = async () => {
         try {
-            const response = await userAPI.getCurrentUser(user?.id || '');
-            setUser(response.data);
+            await authAPI.me();
+            setUser(sessionStore.get()?.user ?? null);
             setIsAuthenticated(true);
-            console.log('Fetched current user:', response.data);
         } catch (error) {
-            console.error('Failed to fetch current user:', error);
-            logout();
+            console.error('Session is no longer valid:', error);
+            sessionStore.clear();
+            setUser(null);
+            setIsAuthenticated(false);
         }
     };
 
     useEffect(() => {
-        // Automatically fetch user details if already authenticated (e.g., from a stored session)
-        if (!user && isAuthenticated) {
+        // Re-check a session restored from storage once on startup
+        if (isAuthenticated) {
             getCurrentUser();
         }
-    }, [isAuthenticated]);
+    }, []);
 
     const value = {
         user,
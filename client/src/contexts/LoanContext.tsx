@@ -1,5 +1,6 @@
 import React, { createContext, useContext, useState, useEffect, ReactNode } from 'react';
 import { loanAPI } from '../services/api.ts';
+import { DomainEvent, subscribeToUserEvents } from '../services/events.ts';
 import { useAuth } from './AuthContext.tsx';
 
 interface Loan {
@@ -54,11 +55,37 @@ export const LoanProvider = ({ children }: { children: ReactNode }) => {
     }
   };
 
+  // Replaces the loan with the same id, or adds it first like the server's newest-first order
+  const upsertLoan = (loan: Loan) => {
+    setLoans(current =>
+      current.some(l => l.id === loan.id) ? current.map(l => (l.id === loan.id ? loan : l)) : [loan, ...current]
+    );
+  };
+
+  // Status changes move balances and dates too, so the loan itself is reloaded
+  const reloadLoan = async (id: number) => {
+    try {
+      const response = await loanAPI.getLoanById(String(id));
+      upsertLoan(response.data);
+    } catch (err) {
+      console.error('Error reloading loan:', err);
+    }
+  };
+
+  const applyLoanEvent = (event: DomainEvent) => {
+    if (event.loanId == null) return;
+    if (event.type === 'LoanApplied' && event.payload) {
+      upsertLoan(event.payload);
+    } else if (event.type === 'LoanApplied' || event.type === 'LoanStatusChanged') {
+      reloadLoan(event.loanId);
+    }
+  };
+
   const createLoan = async (loanData: Partial<Loan>) => {
     try {
       setError(null);
-      await loanAPI.createLoan({ ...loanData, userId: user?.id });
-      await refreshLoans();
+      const response = await loanAPI.createLoan({ ...loanData, userId: user?.id });
+      upsertLoan(response.data);
     } catch (err) {
       setError('Failed to create loan');
       console.error('Error creating loan:', err);
@@ -70,8 +97,8 @@ export const LoanProvider = ({ children }: { children: ReactNode }) => {
     try {
 
       setError(null);
-      await loanAPI.updateLoanStatus(id, status);
-      await refreshLoans();
+      const response = await loanAPI.updateLoanStatus(id, status);
+      upsertLoan(response.data);
     } catch (err) {
       setError('Failed to update loan status');
       console.error('Error updating loan status:', err);
@@ -84,7 +111,7 @@ export const LoanProvider = ({ children }: { children: ReactNode }) => {
 
       setError(null);
       await loanAPI.deleteLoan(id);
-      await refreshLoans();
+      setLoans(current => current.filter(loan => loan.id !== Number(id)));
     } catch (err) {
       setError('Failed to delete loan');
       console.error('Error deleting loan:', err);
@@ -98,6 +125,15 @@ export const LoanProvider = ({ children }: { children: ReactNode }) => {
     }
   }, [user]);
 
+  // Keeps loans current from the server's event stream instead of polling the list
+  useEffect(() => {
+    if (!user?.id) return;
+    return subscribeToUserEvents(String(user.id), {
+      onEvent: applyLoanEvent,
+      onResync: refreshLoans,
+    });
+  }, [user]);
+
   const value: LoanContextType = {
     loans,
     userLoans: loans.filter(loan => loan.userId === Number(user?.id)),
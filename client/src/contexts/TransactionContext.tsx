@@ -1,5 +1,6 @@
 import React, { createContext, useContext, useState, useEffect, ReactNode } from 'react';
 import { transactionAPI } from '../services/api.ts';
+import { DomainEvent, subscribeToUserEvents } from '../services/events.ts';
 import { useAuth } from './AuthContext.tsx';
 
 interface Transaction {
@@ -44,11 +45,30 @@ export const TransactionProvider = ({ children }: { children: ReactNode }) => {
     }
   };
 
+  // Replaces the transaction with the same id, or adds it first like the server's newest-first order
+  const upsertTransaction = (transaction: Transaction) => {
+    setTransactions(current =>
+      current.some(t => t.id === transaction.id)
+        ? current.map(t => (t.id === transaction.id ? transaction : t))
+        : [transaction, ...current]
+    );
+  };
+
+  const applyTransactionEvent = (event: DomainEvent) => {
+    if (event.type === 'TransactionPosted') {
+      if (event.payload) upsertTransaction(event.payload);
+      else refreshTransactions();
+    } else if (event.type === 'TransactionStatusChanged' && event.payload) {
+      const { transactionId, status } = event.payload;
+      setTransactions(current => current.map(t => (t.id === transactionId ? { ...t, status } : t)));
+    }
+  };
+
   const createTransaction = async (transactionData: Partial<Transaction>) => {
     try {
       setError(null);
-      await transactionAPI.createTransaction({ ...transactionData, userId: user?.id });
-      await refreshTransactions();
+      const response = await transactionAPI.createTransaction({ ...transactionData, userId: user?.id });
+      upsertTransaction(response.data);
     } catch (err) {
       setError('Failed to create transaction');
       console.error('Error creating transaction:', err);
@@ -59,8 +79,8 @@ export const TransactionProvider = ({ children }: { children: ReactNode }) => {
   const updateTransactionStatus = async (id: string, status: string) => {
     try {
       setError(null);
-      await transactionAPI.updateTransactionStatus(id, status);
-      await refreshTransactions();
+      const response = await transactionAPI.updateTransactionStatus(id, status);
+      upsertTransaction(response.data);
     } catch (err) {
       setError('Failed to update transaction status');
       console.error('Error updating transaction status:', err);
@@ -72,7 +92,7 @@ export const TransactionProvider = ({ children }: { children: ReactNode }) => {
     try {
       setError(null);
       await transactionAPI.deleteTransaction(id);
-      await refreshTransactions();
+      setTransactions(current => current.filter(transaction => transaction.id !== Number(id)));
     } catch (err) {
       setError('Failed to delete transaction');
       console.error('Error deleting transaction:', err);
@@ -86,6 +106,15 @@ export const TransactionProvider = ({ children }: { children: ReactNode }) => {
     }
   }, [user]);
 
+  // Keeps transactions current from the server's event stream instead of polling the list
+  useEffect(() => {
+    if (!user?.id) return;
+    return subscribeToUserEvents(String(user.id), {
+      onEvent: applyTransactionEvent,
+      onResync: refreshTransactions,
+    });
+  }, [user]);
+
   const value: TransactionContextType = {
     transactions,
     error,
@@ -36,7 +36,7 @@ export const UserProvider = ({ children }: { children: ReactNode }) => {
     try {
       setError(null);
       const response = await userAPI.getAllUsers();
-      setUsers(response.data);
+      setUsers(response.data.items);
     } catch (err) {
       setError('Failed to fetch users');
       console.error('Error fetching users:', err);
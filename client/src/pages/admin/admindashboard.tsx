@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { BarChart, Bar, XAxis, YAxis, CartesianGrid, Tooltip } from 'recharts';
-import { loanAPI } from '../../services/api.ts';
+import { adminAPI, loanAPI } from '../../services/api.ts';
 
 interface Loan {
   id: number;
@@ -62,17 +62,18 @@ const AdminDashboard: React.FC = () => {
   useEffect(() => {
     const fetchDashboardData = async () => {
       try {
-        const response = await loanAPI.getAllLoans();
-        const loans: Loan[] = response.data;
-
-        const pendingLoans = loans.filter((loan) => loan.status === 'PENDING');
-        const approvedLoans = loans.filter((loan) => loan.status === 'APPROVED');
+        const [statsResponse, pendingResponse] = await Promise.all([
+          adminAPI.getStats(),
+          loanAPI.getAllLoans({ status: 'PENDING' }),
+        ]);
+        const serverStats = statsResponse.data;
+        const pendingLoans: Loan[] = pendingResponse.data.items;
 
         setStats({
-          totalLoans: loans.length,
-          pendingApprovals: pendingLoans.length,
-          totalDisbursed: `$${approvedLoans.reduce((sum, loan) => sum + loan.amount, 0).toLocaleString()}`,
-          repaymentRate: '85%', // Example value; should ideally come from a specific API.
+          totalLoans: serverStats.totalLoans,
+          pendingApprovals: serverStats.loansByStatus.PENDING || 0,
+          totalDisbursed: `$${serverStats.totalDisbursed.toLocaleString()}`,
+          repaymentRate: `${serverStats.repaymentRate.toFixed(1)}%`,
         });
 
         setPendingLoans(pendingLoans);
@@ -136,8 +137,14 @@ const AdminDashboard: React.FC = () => {
 
         {/* Pending Loans Section */}
         <div className="bg-white rounded-lg shadow mb-8">
-          <div className="p-6 border-b">
+          <div className="p-6 border-b flex justify-between items-center">
             <h2 className="text-xl font-semibold">Pending Loan Applications</h2>
+            <button
+              onClick={() => navigate('/admin/loan-review')}
+              className="bg-green-600 text-white px-4 py-2 rounded-lg hover:bg-green-700"
+            >
+              Review next application
+            </button>
           </div>
           <div className="p-6">
             <table className="w-full">
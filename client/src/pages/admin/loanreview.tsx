@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
 import { toast } from 'react-toastify';
-import { loanAPI } from '../../services/api.ts';
+import { loanAPI, reviewQueueAPI } from '../../services/api.ts';
 
 interface Loan {
   id: number;
@@ -47,11 +47,19 @@ const LoanReview: React.FC = () => {
   const [loan, setLoan] = useState<Loan | null>(null);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
+  // Set when the loan was claimed from the review queue rather than opened by id
+  const [leaseExpiresAt, setLeaseExpiresAt] = useState<string | null>(null);
 
   useEffect(() => {
     const fetchLoanDetails = async () => {
       try {
-        if (!id) return;
+        if (!id) {
+          // Claim the oldest unclaimed application so no other reviewer works it meanwhile
+          const response = await reviewQueueAPI.claim(1);
+          setLoan(response.data.loans[0] ?? null);
+          setLeaseExpiresAt(response.data.leaseExpiresAt);
+          return;
+        }
         const response = await loanAPI.getLoanById(id);
         setLoan(response.data);
       } catch (err) {
@@ -68,18 +76,36 @@ const LoanReview: React.FC = () => {
 
   const handleStatusUpdate = async (status: 'APPROVED' | 'REJECTED') => {
     try {
+      if (leaseExpiresAt && loan) {
+        await reviewQueueAPI.decide(loan.id, status);
+        toast.success(`Loan ${status.toLowerCase()}`);
+        navigate('/admin');
+        return;
+      }
       if (!id) return;
       await loanAPI.updateLoanStatus(id, status);
       toast.success(`Loan ${status.toLowerCase()}`);
       navigate('/admin/userloans');
+    } catch (err: any) {
+      toast.error(err.response?.status === 409
+        ? 'Your claim on this application expired; it has gone back to the queue'
+        : 'Failed to update loan status');
+      console.error(err);
+    }
+  };
+
+  const handleRelease = async () => {
+    try {
+      if (loan) await reviewQueueAPI.release(loan.id);
     } catch (err) {
-      toast.error('Failed to update loan status');
       console.error(err);
+    } finally {
+      navigate('/admin');
     }
   };
 
   if (loading) return <div>Loading...</div>;
-  if (!loan) return <div>No loan data found</div>;
+  if (!loan) return <div>{id ? 'No loan data found' : 'No applications waiting for review'}</div>;
 
   return (
     <div className="min-h-screen bg-gray-50 p-6">
@@ -100,6 +126,12 @@ const LoanReview: React.FC = () => {
           </span>
         </div>
 
+        {leaseExpiresAt && (
+          <div className="mb-4 p-4 bg-blue-50 border border-blue-200 rounded-lg text-blue-800">
+            Claimed for you until {new Date(leaseExpiresAt).toLocaleTimeString()}
+          </div>
+        )}
+
         {/* Loan Details */}
         <div className="bg-white rounded-lg shadow mb-6">
           <div className="p-6 border-b">
@@ -150,6 +182,14 @@ const LoanReview: React.FC = () => {
         {/* Action Buttons */}
         {loan.status === 'PENDING' && (
           <div className="flex justify-end space-x-4">
+            {leaseExpiresAt && (
+              <button
+                onClick={handleRelease}
+                className="px-6 py-3 bg-gray-200 text-gray-800 rounded-lg hover:bg-gray-300"
+              >
+                Return to Queue
+              </button>
+            )}
             <button
               onClick={() => handleStatusUpdate('REJECTED')}
               className="px-6 py-3 bg-red-600 text-white rounded-lg hover:bg-red-700"
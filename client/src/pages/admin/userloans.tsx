@@ -61,7 +61,7 @@ const UserLoans: React.FC = () => {
         const fetchLoans = async () => {
             try {
                 const response = await loanAPI.getAllLoans();
-                setLoans(response.data as Loan[]);
+                setLoans(response.data.items as Loan[]);
             } catch (err) {
                 setError('Failed to fetch loans. Showing mock data.');
                 setLoans(mockLoans); // Use mock data if API call fails
@@ -1,130 +1,92 @@
 import React, { useEffect, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
-import { loanAPI, transactionAPI } from '../../services/api.ts';
-import axios from 'axios';
+import { userAPI } from '../../services/api.ts';
+import { useAuth } from '../../contexts/AuthContext.tsx';
 
-interface Loan {
+interface Transaction {
   id: number;
   userId: number;
+  loanId: number | null;
+  transactionType: string;
   amount: number;
-  tenure: number;
-  interestRate: number;
+  transactionDate: string;
   status: string;
-  appliedAt: string;
-  approvedAt?: string | null;
-  repaidAt?: string | null;
-  nextPaymentDate?: string | null;
-  remainingBalance?: number | null;
-  monthlyPayment?: number | null;
-  purpose?: string | null;
   createdAt: string;
   updatedAt: string;
 }
 
-interface Transaction {
-  id: number;
+interface Overview {
   userId: number;
-  loanId: number;
-  transactionType: string;
-  amount: number;
-  transactionDate: string;
-  status: string;
-  createdAt: string;
+  activeLoans: number;
+  outstandingBalance: number;
+  nextDueDate: string | null;
+  nextDueAmount: number | null;
+  lifetimeRepaid: number;
+  recentTransactions: Transaction[];
   updatedAt: string;
 }
 
 const Dashboard: React.FC = () => {
   const navigate = useNavigate();
-  const [loanSummaries, setLoanSummaries] = useState<Loan[]>([]);
-  const [transactions, setTransactions] = useState<Transaction[]>([]);
-  const [balance, setBalance] = useState<string>('$0.00');
+  const { user } = useAuth();
+  const [overview, setOverview] = useState<Overview | null>(null);
   const [isLoading, setIsLoading] = useState<boolean>(true);
 
-  const mockLoans: Loan[] = [
-    {
-      id: 1,
-      userId: 1,
-      amount: 150000,
-      tenure: 24,
-      purpose: 'Home Improvement',
-      status: 'ACTIVE',
-      interestRate: 15,
-      monthlyPayment: 7250,
-      appliedAt: '2024-01-01T00:00:00Z',
-      createdAt: '2024-01-01T00:00:00Z',
-      updatedAt: '2024-01-01T00:00:00Z',
-    },
-    {
-      id: 2,
-      userId: 1,
-      amount: 20000,
-      tenure: 12,
-      purpose: 'Car Purchase',
-      status: 'PAID_OFF',
-      interestRate: 12,
-      monthlyPayment: 1850,
-      appliedAt: '2023-06-01T00:00:00Z',
-      createdAt: '2023-06-01T00:00:00Z',
-      updatedAt: '2023-06-01T00:00:00Z',
-    },
-  ];
-
-  const mockTransactions: Transaction[] = [
-    {
-      id: 1,
-      userId: 1,
-      loanId: 1,
-      transactionType: 'REPAYMENT',
-      amount: 7250,
-      transactionDate: '2024-03-15T00:00:00Z',
-      status: 'COMPLETED',
-      createdAt: '2024-03-15T00:00:00Z',
-      updatedAt: '2024-03-15T00:00:00Z',
-    },
-    {
-      id: 2,
-      userId: 1,
-      loanId: 1,
-      transactionType: 'DISBURSEMENT',
-      amount: 150000,
-      transactionDate: '2024-01-15T00:00:00Z',
-      status: 'COMPLETED',
-      createdAt: '2024-01-15T00:00:00Z',
-      updatedAt: '2024-01-15T00:00:00Z',
-    },
-  ];
+  const mockOverview: Overview = {
+    userId: 1,
+    activeLoans: 1,
+    outstandingBalance: 8450.75,
+    nextDueDate: '2024-04-15T00:00:00Z',
+    nextDueAmount: 7250,
+    lifetimeRepaid: 7250,
+    recentTransactions: [
+      {
+        id: 1,
+        userId: 1,
+        loanId: 1,
+        transactionType: 'REPAYMENT',
+        amount: 7250,
+        transactionDate: '2024-03-15T00:00:00Z',
+        status: 'COMPLETED',
+        createdAt: '2024-03-15T00:00:00Z',
+        updatedAt: '2024-03-15T00:00:00Z',
+      },
+      {
+        id: 2,
+        userId: 1,
+        loanId: null,
+        transactionType: 'DISBURSEMENT',
+        amount: 150000,
+        transactionDate: '2024-01-15T00:00:00Z',
+        status: 'COMPLETED',
+        createdAt: '2024-01-15T00:00:00Z',
+        updatedAt: '2024-01-15T00:00:00Z',
+      },
+    ],
+    updatedAt: '2024-03-15T00:00:00Z',
+  };
 
   useEffect(() => {
     const fetchDashboardData = async () => {
+      if (!user?.id) {
+        setIsLoading(false);
+        return;
+      }
       try {
         setIsLoading(true);
-
-        const [loanResponse, transactionResponse] = await Promise.all([
-          loanAPI.getAllLoans(),
-          transactionAPI.getUserTransactions('1'), // Replace with dynamic user ID if needed
-        ]);
-
-        setLoanSummaries(loanResponse.data || mockLoans);
-        setTransactions(transactionResponse.data || mockTransactions);
-
-        // Simulate balance calculation
-        const totalBalance = loanResponse.data.reduce(
-          (acc: number, loan: Loan) => acc + (loan.remainingBalance || 0),
-          0
-        );
-        setBalance(`$${totalBalance.toFixed(2)}`);
+        // One request for the whole dashboard instead of full loan and transaction lists
+        const response = await userAPI.getOverview(user.id);
+        setOverview(response.data);
       } catch (error) {
         console.error('Failed to fetch data from API:', error);
-        setLoanSummaries(mockLoans);
-        setTransactions(mockTransactions);
-        setBalance('$8,450.75'); // Mock balance
+        setOverview(mockOverview);
       } finally {
         setIsLoading(false);
       }
     };
 
     fetchDashboardData();
-  }, []);
+  }, [user?.id]);
 
   return (
     <div className="min-h-screen bg-gray-100 p-6">
@@ -133,38 +95,39 @@ const Dashboard: React.FC = () => {
 
         {isLoading ? (
           <p>Loading...</p>
-        ) : (
+        ) : overview && (
           <>
-            {/* Loan Summaries */}
-            <div className="mb-6">
-              <h2 className="text-xl font-medium text-gray-700 mb-3">Loan Summaries</h2>
-              <div className="space-y-4">
-                {loanSummaries.map((loan) => (
-                  <div key={loan.id} className="p-4 bg-white rounded-lg shadow">
-                    <h3 className="text-lg font-medium text-gray-800">{loan.purpose}</h3>
-                    <p className="text-sm text-gray-500">Amount: ${loan.amount}</p>
-                    <p className="text-sm text-gray-500">Tenure: {loan.tenure} months</p>
-                    <p className="text-sm text-gray-500">Interest Rate: {loan.interestRate}%</p>
-                    <p className="text-sm text-gray-500">Monthly Payment: ${loan.monthlyPayment}</p>
-                    <p className={`text-sm ${loan.status === 'ACTIVE' ? 'text-blue-600' : 'text-green-600'}`}>
-                      Status: {loan.status}
-                    </p>
-                  </div>
-                ))}
+            {/* Loan Summary */}
+            <div className="mb-6 grid grid-cols-1 md:grid-cols-3 gap-4">
+              <div className="p-4 bg-white rounded-lg shadow">
+                <h2 className="text-sm text-gray-500">Active Loans</h2>
+                <p className="text-lg text-gray-800 mt-2">{overview.activeLoans}</p>
+              </div>
+              <div className="p-4 bg-white rounded-lg shadow">
+                <h2 className="text-sm text-gray-500">Balance</h2>
+                <p className="text-lg text-gray-800 mt-2">${overview.outstandingBalance.toFixed(2)}</p>
+              </div>
+              <div className="p-4 bg-white rounded-lg shadow">
+                <h2 className="text-sm text-gray-500">Repaid to Date</h2>
+                <p className="text-lg text-gray-800 mt-2">${overview.lifetimeRepaid.toFixed(2)}</p>
               </div>
             </div>
 
-            {/* Balance */}
-            <div className="mb-6 p-4 bg-white rounded-lg shadow">
-              <h2 className="text-xl font-medium text-gray-700">Balance</h2>
-              <p className="text-lg text-gray-800 mt-2">{balance}</p>
-            </div>
+            {/* Next Payment */}
+            {overview.nextDueDate && (
+              <div className="mb-6 p-4 bg-white rounded-lg shadow">
+                <h2 className="text-xl font-medium text-gray-700">Next Payment</h2>
+                <p className="text-lg text-gray-800 mt-2">
+                  ${(overview.nextDueAmount || 0).toFixed(2)} on {new Date(overview.nextDueDate).toLocaleDateString()}
+                </p>
+              </div>
+            )}
 
             {/* Transactions */}
             <div className="mb-6">
-              <h2 className="text-xl font-medium text-gray-700 mb-3">Transaction History</h2>
+              <h2 className="text-xl font-medium text-gray-700 mb-3">Recent Transactions</h2>
               <div className="space-y-4">
-                {transactions.map((transaction) => (
+                {overview.recentTransactions.map((transaction) => (
                   <div key={transaction.id} className="p-4 bg-white rounded-lg shadow">
                     <p className="text-sm text-gray-800">Date: {transaction.transactionDate}</p>
                     <p className="text-sm text-gray-500">
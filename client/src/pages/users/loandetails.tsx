@@ -22,10 +22,12 @@ interface Loan {
 
 
 interface RepaymentScheduleItem {
-  id: number;
-  month: number;
+  number: number;
   dueDate: string;
-  amount: number;
+  payment: number;
+  principal: number;
+  interest: number;
+  balance: number;
   status: string;
 }
 
@@ -55,10 +57,10 @@ const mockLoan: Loan = {
 };
 
 const mockRepaymentSchedule: RepaymentScheduleItem[] = [
-  { id: 1, month: 1, dueDate: '2024-04-15', amount: 4500, status: 'PENDING' },
-  { id: 2, month: 2, dueDate: '2024-05-15', amount: 4500, status: 'PENDING' },
-  { id: 3, month: 3, dueDate: '2024-06-15', amount: 4500, status: 'PENDING' },
-  { id: 4, month: 4, dueDate: '2024-07-15', amount: 4500, status: 'PENDING' },
+  { number: 1, dueDate: '2024-04-15', payment: 4500, principal: 3875, interest: 625, balance: 46125, status: 'PENDING' },
+  { number: 2, dueDate: '2024-05-15', payment: 4500, principal: 3923, interest: 577, balance: 42202, status: 'PENDING' },
+  { number: 3, dueDate: '2024-06-15', payment: 4500, principal: 3972, interest: 528, balance: 38230, status: 'PENDING' },
+  { number: 4, dueDate: '2024-07-15', payment: 4500, principal: 4022, interest: 478, balance: 34208, status: 'PENDING' },
 ];
 
 const mockDocuments: Document[] = [
@@ -80,10 +82,13 @@ const LoanDetails: React.FC = () => {
       if (!id) return;
       
       try {
-        const response = await loanAPI.getLoanById(id);
+        const [response, scheduleResponse] = await Promise.all([
+          loanAPI.getLoanById(id),
+          loanAPI.getLoanSchedule(id),
+        ]);
         setLoan(response.data);
-        // Set mock data for schedule and documents
-        setRepaymentSchedule(mockRepaymentSchedule);
+        setRepaymentSchedule(scheduleResponse.data.installments);
+        // Set mock data for documents
         setDocuments(mockDocuments);
       } catch (err) {
         console.error('Error fetching loan details:', err);
@@ -199,10 +204,10 @@ const LoanDetails: React.FC = () => {
               </thead>
               <tbody className="divide-y divide-gray-200">
                 {repaymentSchedule.map((payment) => (
-                  <tr key={payment.id}>
-                    <td className="px-6 py-4 whitespace-nowrap">{payment.month}</td>
+                  <tr key={payment.number}>
+                    <td className="px-6 py-4 whitespace-nowrap">{payment.number}</td>
                     <td className="px-6 py-4 whitespace-nowrap">{payment.dueDate}</td>
-                    <td className="px-6 py-4 whitespace-nowrap">₦{payment.amount.toLocaleString()}</td>
+                    <td className="px-6 py-4 whitespace-nowrap">₦{payment.payment.toLocaleString()}</td>
                     <td className="px-6 py-4 whitespace-nowrap">
                       <span className={`px-2 py-1 rounded-full text-xs font-medium
                         ${payment.status === 'PAID' ? 'bg-green-100 text-green-800' :
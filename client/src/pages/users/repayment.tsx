@@ -1,28 +1,11 @@
 import React, { useState, useEffect } from 'react';
-import { loanAPI, transactionAPI } from '../../services/api.ts';
-
-interface Loan {
-  id: number;
-  userId: number; // Assuming `User` is referenced by ID
-  amount: number;
-  tenure: number; // Loan tenure in months
-  interestRate: number; // Interest rate as a percentage (e.g., 5.0 for 5%)
-  status: string; // e.g., "PENDING", "APPROVED", "REPAID"
-  appliedAt: string; // ISO string for LocalDateTime
-  approvedAt?: string | null; // Nullable, ISO string for LocalDateTime
-  repaidAt?: string | null; // Nullable, ISO string for LocalDateTime
-  nextPaymentDate?: string | null; // Nullable, ISO string for LocalDateTime
-  remainingBalance?: number | null; // Nullable
-  monthlyPayment?: number | null; // Nullable
-  purpose?: string | null; // Nullable, purpose of the loan
-  createdAt: string; // ISO string for LocalDateTime
-  updatedAt: string; // ISO string for LocalDateTime
-}
+import { userAPI } from '../../services/api.ts';
+import { useAuth } from '../../contexts/AuthContext.tsx';
 
 interface Transaction {
   id: number;
   userId: number; // Assuming `User` is referenced by ID
-  loanId: number; // Assuming `Loan` is referenced by ID
+  loanId: number | null; // Set for repayments posted against a loan
   transactionType: string; // e.g., "DISBURSEMENT" or "REPAYMENT"
   amount: number;
   transactionDate: string; // ISO string format for LocalDateTime
@@ -31,60 +14,57 @@ interface Transaction {
   updatedAt: string; // ISO string format for updated timestamp
 }
 
+interface Overview {
+  userId: number;
+  activeLoans: number; // APPROVED, ACTIVE or OVERDUE loans
+  outstandingBalance: number;
+  nextDueDate: string | null; // ISO string for LocalDateTime
+  nextDueAmount: number | null;
+  lifetimeRepaid: number;
+  recentTransactions: Transaction[]; // Newest first
+  updatedAt: string;
+}
+
 // Mock data matching the interfaces
-const mockLoan: Loan = {
-  id: 1,
+const mockOverview: Overview = {
   userId: 1,
-  amount: 50000,
-  tenure: 12,
-  interestRate: 15,
-  status: 'APPROVED',
-  appliedAt: new Date().toISOString(),
-  approvedAt: new Date().toISOString(),
-  repaidAt: null,
-  nextPaymentDate: new Date(Date.now() + 30 * 24 * 60 * 60 * 1000).toISOString(),
-  remainingBalance: 45000,
-  monthlyPayment: 4500,
-  purpose: 'Business Expansion',
-  createdAt: new Date().toISOString(),
+  activeLoans: 1,
+  outstandingBalance: 45000,
+  nextDueDate: new Date(Date.now() + 30 * 24 * 60 * 60 * 1000).toISOString(),
+  nextDueAmount: 4500,
+  lifetimeRepaid: 5000,
+  recentTransactions: [],
   updatedAt: new Date().toISOString()
 };
 
 const Repayment: React.FC = () => {
-  const [loan, setLoan] = useState<Loan | null>(null);
-  const [transactions, setTransactions] = useState<Transaction[]>([]);
+  const { user } = useAuth();
+  const [overview, setOverview] = useState<Overview | null>(null);
   const [isLoading, setIsLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
 
   useEffect(() => {
     const fetchData = async () => {
+      if (!user?.id) {
+        setIsLoading(false);
+        return;
+      }
       try {
-        // In a real app, you'd get the userId from auth context
-        const userId = "1"; // placeholder
-        const loansResponse = await loanAPI.getUserLoans(userId);
-        const activeLoan = loansResponse.data[0]; // Assuming we want the first active loan
-        
-        if (activeLoan) {
-          const transactionsResponse = await transactionAPI.getUserTransactions(userId);
-          setLoan(activeLoan);
-          setTransactions(transactionsResponse.data);
-        } else {
-          // Fallback to mock data
-          setLoan(mockLoan);
-          setTransactions([]);
-        }
+        // The overview already carries the balance, next installment and recent payments
+        const response = await userAPI.getOverview(user.id);
+        setOverview(response.data);
       } catch (err) {
         console.error('Error fetching data:', err);
         setError('Failed to load loan data');
         // Fallback to mock data
-        setLoan(mockLoan);
+        setOverview(mockOverview);
       } finally {
         setIsLoading(false);
       }
     };
 
     fetchData();
-  }, []);
+  }, [user?.id]);
 
   if (isLoading) {
     return <div className="min-h-screen flex items-center justify-center">Loading...</div>;
@@ -94,12 +74,14 @@ const Repayment: React.FC = () => {
     return <div className="min-h-screen flex items-center justify-center text-red-600">{error}</div>;
   }
 
-  if (!loan) {
+  if (!overview || overview.activeLoans === 0) {
     return <div className="min-h-screen flex items-center justify-center">No active loan found</div>;
   }
 
-  const totalPaid = loan.amount - (loan.remainingBalance || 0);
-  const progressPercentage = Math.round((totalPaid / loan.amount) * 100);
+  const transactions = overview.recentTransactions.filter((transaction) => transaction.loanId !== null);
+  const totalPaid = overview.lifetimeRepaid;
+  const totalOwed = totalPaid + overview.outstandingBalance;
+  const progressPercentage = totalOwed > 0 ? Math.round((totalPaid / totalOwed) * 100) : 0;
 
   return (
     <div className="min-h-screen bg-gray-50 p-6">
@@ -109,16 +91,16 @@ const Repayment: React.FC = () => {
         {/* Loan Summary Cards */}
         <div className="grid grid-cols-1 md:grid-cols-3 gap-6 mb-8">
           <div className="bg-white p-6 rounded-lg shadow">
-            <h3 className="text-sm text-gray-500 mb-2">Total Loan Amount</h3>
-            <p className="text-2xl font-bold text-gray-900">₦{loan.amount.toLocaleString()}</p>
+            <h3 className="text-sm text-gray-500 mb-2">Active Loans</h3>
+            <p className="text-2xl font-bold text-gray-900">{overview.activeLoans}</p>
           </div>
           <div className="bg-white p-6 rounded-lg shadow">
             <h3 className="text-sm text-gray-500 mb-2">Remaining Balance</h3>
-            <p className="text-2xl font-bold text-blue-600">₦{(loan.remainingBalance || 0).toLocaleString()}</p>
+            <p className="text-2xl font-bold text-blue-600">₦{overview.outstandingBalance.toLocaleString()}</p>
           </div>
           <div className="bg-white p-6 rounded-lg shadow">
-            <h3 className="text-sm text-gray-500 mb-2">Monthly Payment</h3>
-            <p className="text-2xl font-bold text-green-600">₦{(loan.monthlyPayment || 0).toLocaleString()}</p>
+            <h3 className="text-sm text-gray-500 mb-2">Next Installment</h3>
+            <p className="text-2xl font-bold text-green-600">₦{(overview.nextDueAmount || 0).toLocaleString()}</p>
           </div>
         </div>
 
@@ -128,8 +110,8 @@ const Repayment: React.FC = () => {
             <div>
               <h3 className="text-blue-800 font-medium">Next Payment Due</h3>
               <p className="text-blue-600 text-sm">
-                ₦{(loan.monthlyPayment || 0).toLocaleString()} on {
-                  new Date(loan.nextPaymentDate || '').toLocaleDateString()
+                ₦{(overview.nextDueAmount || 0).toLocaleString()} on {
+                  new Date(overview.nextDueDate || '').toLocaleDateString()
                 }
               </p>
             </div>
@@ -142,13 +124,13 @@ const Repayment: React.FC = () => {
         {/* Payment Schedule */}
         <div className="bg-white rounded-lg shadow mb-8">
           <div className="p-6 border-b">
-            <h2 className="text-xl font-semibold">Payment Schedule</h2>
+            <h2 className="text-xl font-semibold">Recent Payments</h2>
           </div>
           <div className="overflow-x-auto">
             <table className="w-full">
               <thead className="bg-gray-50">
                 <tr>
-                  <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase">Due Date</th>
+                  <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase">Date</th>
                   <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase">Amount</th>
                   <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase">Status</th>
                 </tr>
@@ -200,8 +182,8 @@ const Repayment: React.FC = () => {
                 <p className="font-medium">₦{totalPaid.toLocaleString()}</p>
               </div>
               <div>
-                <p className="text-gray-500">Interest Rate</p>
-                <p className="font-medium">{loan.interestRate}%</p>
+                <p className="text-gray-500">Outstanding</p>
+                <p className="font-medium">₦{overview.outstandingBalance.toLocaleString()}</p>
               </div>
             </div>
           </div>
@@ -50,6 +50,7 @@ const TransactionHistory: React.FC = () => {
   const [endDate, setEndDate] = useState<Date | null>(null);
   const [transactionType, setTransactionType] = useState<string>('all');
   const [searchQuery, setSearchQuery] = useState<string>('');
+  const [includeArchived, setIncludeArchived] = useState(false);
   const [currentPage, setCurrentPage] = useState(1);
   const itemsPerPage = 10;
   const [transactions, setTransactions] = useState<Transaction[]>([]);
@@ -63,7 +64,7 @@ const TransactionHistory: React.FC = () => {
         setError(null);
         // Assuming we have the current user's ID stored somewhere
         const userId = '1'; // Replace with actual user ID
-        const response = await transactionAPI.getUserTransactions(userId);
+        const response = await transactionAPI.getUserTransactions(userId, includeArchived);
         setTransactions(response.data);
       } catch (err) {
         toast.error('Failed to fetch transactions. Using mock data instead.');
@@ -75,7 +76,7 @@ const TransactionHistory: React.FC = () => {
     };
 
     fetchTransactions();
-  }, []);
+  }, [includeArchived]);
 
   const filteredTransactions = transactions.filter(transaction => {
     const matchesType = transactionType === 'all' || transaction.transactionType === transactionType;
@@ -154,6 +155,14 @@ const TransactionHistory: React.FC = () => {
                 <option value="DISBURSEMENT">Disbursement</option>
                 <option value="REPAYMENT">Repayment</option>
               </select>
+              <label className="mt-2 flex items-center space-x-2 text-sm text-gray-600">
+                <input
+                  type="checkbox"
+                  checked={includeArchived}
+                  onChange={(e) => setIncludeArchived(e.target.checked)}
+                />
+                <span>Include archived history</span>
+              </label>
             </div>
 
             {/* Reset Button */}
@@ -9,20 +9,72 @@ const api = axios.create({
   },
 });
 
+// Session issued by POST /auth/login; the token is verified by the server on every request
+export interface StoredSession {
+  token: string;
+  expiresAt: number; // epoch seconds
+  user: any;
+}
 
+const SESSION_KEY = 'session';
+
+export const sessionStore = {
+  get: (): StoredSession | null => {
+    const raw = localStorage.getItem(SESSION_KEY);
+    if (!raw) return null;
+    const session: StoredSession = JSON.parse(raw);
+    if (session.expiresAt * 1000 <= Date.now()) {
+      localStorage.removeItem(SESSION_KEY);
+      return null;
+    }
+    return session;
+  },
+  set: (session: StoredSession) => localStorage.setItem(SESSION_KEY, JSON.stringify(session)),
+  clear: () => localStorage.removeItem(SESSION_KEY),
+};
+
+api.interceptors.request.use((config) => {
+  const session = sessionStore.get();
+  if (session) {
+    config.headers.Authorization = `Bearer ${session.token}`;
+  }
+  return config;
+});
+
+// List endpoints are keyset-paginated: pass back `nextCursor` to fetch the next page
+export interface PageParams {
+  cursor?: string;
+  size?: number;
+  status?: string;
+  userId?: number | string;
+}
+
+export const authAPI = {
+  // Identity from the token alone; fails with 401 once the session is expired or revoked
+  me: () => api.get('/auth/me'),
+  logout: () => api.post('/auth/logout'),
+};
 
 export const userAPI = {
-  getAllUsers: () => api.get('/users'),
+  getAllUsers: (params?: PageParams) => api.get('/users', { params }),
   getCurrentUser: (id: string) => api.get(`/users/${id}`),
+  // Dashboard summary: active loans, balance, next payment, repaid to date and recent transactions
+  getOverview: (id: string) => api.get(`/users/${id}/overview`),
   updateUser: (id: string, data: any) => api.patch(`/users/user/{id}/${id}`, data),
   deleteUser: (id: string) => api.delete(`/users/admin/{id}/${id}`),
   getUserByEmail: (email: string) => api.get(`/users/search`, { params: { email } }),
 };
 
 export const loanAPI = {
-  createLoan: (data: any) => api.post('/loans', data),
-  getAllLoans: () => api.get('/loans'),
+  // One key per submission: a retried request is answered with the first response, not a duplicate loan
+  createLoan: (data: any, idempotencyKey: string = crypto.randomUUID()) =>
+    api.post('/loans', data, { headers: { 'Idempotency-Key': idempotencyKey } }),
+  getAllLoans: (params?: PageParams) => api.get('/loans', { params }),
   getLoanById: (id: string) => api.get(`/loans/${id}`),
+  getLoanSchedule: (id: string) => api.get(`/loans/${id}/schedule`),
+  // Ledger postings in entry order and per-account balances, optionally as of an ISO date-time
+  getLoanLedger: (id: string, afterSeq?: number) => api.get(`/loans/${id}/ledger`, { params: { afterSeq } }),
+  getLoanLedgerBalance: (id: string, asOf?: string) => api.get(`/loans/${id}/ledger/balance`, { params: { asOf } }),
   // Get loan by user id
   getUserLoans: (userId: string) => api.get(`/loans/user/${userId}`),
   updateLoanStatus: (id: string, status: string) =>  api.patch(`/loans/admin/${id}/status`,status),
@@ -30,11 +82,28 @@ export const loanAPI = {
 };
 
 export const transactionAPI = {
-  createTransaction: (data: any) => api.post('/transactions', data),
-  getAllTransactions: () => api.get('/transactions'),
+  createTransaction: (data: any, idempotencyKey: string = crypto.randomUUID()) =>
+    api.post('/transactions', data, { headers: { 'Idempotency-Key': idempotencyKey } }),
+  getAllTransactions: (params?: PageParams) => api.get('/transactions', { params }),
   getUserTransactionById: (id: string) => api.get(`/transactions/${id}`),
   // Get transaction by user id
-  getUserTransactions: (userId: string) => api.get(`/transactions/user/${userId}`),
+  // Recent (unarchived) history unless includeArchived is set
+  getUserTransactions: (userId: string, includeArchived: boolean = false) =>
+    api.get(`/transactions/user/${userId}`, { params: { includeArchived } }),
   updateTransactionStatus: (id: string, status: string) => api.patch(`/transactions/${id}/status`,status),
   deleteTransaction: (id: string) => api.delete(`/transactions/admin/${id}`)
 };
+
+export const adminAPI = {
+  getStats: () => api.get('/admin/stats'),
+};
+
+// Pending loans leased to one reviewer at a time; a lapsed lease returns the loan to the queue
+export const reviewQueueAPI = {
+  getStats: () => api.get('/admin/review-queue'),
+  claim: (size: number = 1) => api.post('/admin/review-queue/claim', null, { params: { size } }),
+  decide: (loanId: number, status: 'APPROVED' | 'REJECTED') =>
+    api.post(`/admin/review-queue/${loanId}/decision`, null, { params: { status } }),
+  release: (loanId: number) => api.post(`/admin/review-queue/${loanId}/release`),
+  renew: (loanId: number) => api.post(`/admin/review-queue/${loanId}/renew`),
+};
@@ -1,4 +1,5 @@
 import axios from 'axios';
+import { sessionStore, StoredSession } from './api.ts';
 
 
 const API_URL = 'http://localhost:8080/api'; // Base API URL
@@ -15,7 +16,8 @@ const API_URL = 'http://localhost:8080/api'; // Base API URL
 export const loginUser = async (credentials: { email: string; password: string }) => {
 
     try {
-        const response = await axios.post(`${API_URL}/auth/login`, credentials);
+        const response = await axios.post<StoredSession>(`${API_URL}/auth/login`, credentials);
+        sessionStore.set(response.data);
         // const { name, email, roles } = response.data;
         // console.log(response.data);
         // user = { name, email, roles };
@@ -0,0 +1,143 @@
+import { sessionStore } from './api.ts';
+
+const EVENTS_BASE_URL = 'http://localhost:8080/api';
+
+// Envelope of every event on GET /users/{id}/events; payload is null when it was too large to send
+export interface DomainEvent<T = any> {
+  id: number;
+  type: 'LoanApplied' | 'LoanStatusChanged' | 'TransactionPosted' | 'TransactionStatusChanged';
+  loanId: number | null;
+  userId: number;
+  createdAt: string;
+  payload: T | null;
+}
+
+export interface UserEventHandlers {
+  onEvent: (event: DomainEvent) => void;
+  // Events may have been missed (reconnect without a resumable position): reload from the API
+  onResync: () => void;
+}
+
+const RETRY_MIN_MS = 1000;
+const RETRY_MAX_MS = 30000;
+
+// One connection per user, shared by every context listening to it
+class UserEventStream {
+  private handlers = new Set<UserEventHandlers>();
+  private controller: AbortController | null = null;
+  private lastEventId: string | null = null;
+  private connectedBefore = false;
+  private retryMs = RETRY_MIN_MS;
+  private retryTimer: ReturnType<typeof setTimeout> | null = null;
+
+  constructor(private userId: string) {}
+
+  add(handlers: UserEventHandlers) {
+    this.handlers.add(handlers);
+    if (!this.controller && !this.retryTimer) this.connect();
+  }
+
+  // Returns true once nobody is listening and the connection is closed
+  remove(handlers: UserEventHandlers): boolean {
+    this.handlers.delete(handlers);
+    if (this.handlers.size > 0) return false;
+    this.controller?.abort();
+    this.controller = null;
+    if (this.retryTimer) clearTimeout(this.retryTimer);
+    this.retryTimer = null;
+    return true;
+  }
+
+  // EventSource cannot send the Authorization header, so the stream is read with fetch
+  private async connect() {
+    const session = sessionStore.get();
+    if (!session) return;
+    const controller = new AbortController();
+    this.controller = controller;
+    const headers: Record<string, string> = {
+      Accept: 'text/event-stream',
+      Authorization: `Bearer ${session.token}`,
+    };
+    if (this.lastEventId) headers['Last-Event-ID'] = this.lastEventId;
+    try {
+      const response = await fetch(`${EVENTS_BASE_URL}/users/${this.userId}/events`, {
+        headers,
+        signal: controller.signal,
+      });
+      if (!response.ok || !response.body) throw new Error(`Event stream failed: ${response.status}`);
+      await this.read(response.body.getReader());
+    } catch (err) {
+      if (controller.signal.aborted) return;
+      console.error('Event stream interrupted:', err);
+    }
+    if (controller.signal.aborted) return;
+    this.controller = null;
+    this.retryTimer = setTimeout(() => {
+      this.retryTimer = null;
+      this.connect();
+    }, this.retryMs);
+    this.retryMs = Math.min(this.retryMs * 2, RETRY_MAX_MS);
+  }
+
+  private async read(reader: ReadableStreamDefaultReader<Uint8Array>) {
+    const decoder = new TextDecoder();
+    let buffer = '';
+    for (;;) {
+      const { done, value } = await reader.read();
+      if (done) return;
+      buffer += decoder.decode(value, { stream: true }).replace(/\r\n?/g, '\n');
+      let end;
+      while ((end = buffer.indexOf('\n\n')) >= 0) {
+        this.dispatch(buffer.slice(0, end));
+        buffer = buffer.slice(end + 2);
+      }
+    }
+  }
+
+  private dispatch(block: string) {
+    let id: string | null = null;
+    let name = 'message';
+    const data: string[] = [];
+    for (const line of block.split('\n')) {
+      if (!line || line.startsWith(':')) continue;
+      const colon = line.indexOf(':');
+      const field = colon < 0 ? line : line.slice(0, colon);
+      const value = colon < 0 ? '' : line.slice(colon + 1).replace(/^ /, '');
+      if (field === 'id') id = value;
+      else if (field === 'event') name = value;
+      else if (field === 'data') data.push(value);
+    }
+    // Heartbeats are comment-only blocks
+    if (id === null && data.length === 0) return;
+    if (id !== null) this.lastEventId = id;
+    this.retryMs = RETRY_MIN_MS;
+
+    if (name === 'resync' || (name === 'ready' && this.connectedBefore)) {
+      this.connectedBefore = true;
+      this.handlers.forEach((h) => h.onResync());
+      return;
+    }
+    if (name === 'ready') {
+      this.connectedBefore = true;
+      return;
+    }
+    const event: DomainEvent = JSON.parse(data.join('\n'));
+    this.handlers.forEach((h) => h.onEvent(event));
+  }
+}
+
+const streams = new Map<string, UserEventStream>();
+
+// Follows a user's loan and transaction events until the returned function is called
+export const subscribeToUserEvents = (userId: string, handlers: UserEventHandlers) => {
+  let stream = streams.get(userId);
+  if (!stream) {
+    stream = new UserEventStream(userId);
+    streams.set(userId, stream);
+  }
+  stream.add(handlers);
+  const subscribed = stream;
+  return () => {
+    if (subscribed.remove(handlers)) streams.delete(userId);
+  };
+};